@@ -1,10 +1,15 @@
 package com.spectrayan.sse.server.bridge.cloudstream;
 
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
 import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
 import com.spectrayan.sse.server.bridge.SseBridgeMessage;
 import com.spectrayan.sse.server.config.SseServerProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -24,7 +29,7 @@ import java.util.function.Consumer;
  * <ol>
  *   <li>Registers a {@link CloudStreamBroadcastBridge} bean that replaces the default
  *       {@code NoOpBroadcastBridge} from {@code sse-server}.</li>
- *   <li>Registers a functional {@code Consumer<Message<SseBridgeMessage>>} bean named
+ *   <li>Registers a functional {@code Consumer<Message<byte[]>>} bean named
  *       {@code sseBridgeConsumer} that Spring Cloud Stream auto-binds to the input
  *       channel.</li>
  * </ol>
@@ -44,6 +49,8 @@ import java.util.function.Consumer;
  * <p>
  * The outbound destination name is taken from
  * {@link SseServerProperties.Bridge#getChannelName()} (default: {@code sse-broadcast}).
+ * The wire format follows {@link SseServerProperties.Bridge#getCodec()}, or a custom
+ * {@link SseBridgeCodec} bean.
  *
  * @since 2.0.0
  */
@@ -68,6 +75,7 @@ public class CloudStreamBridgeAutoConfiguration {
     @ConditionalOnMissingBean(SseBroadcastBridge.class)
     public CloudStreamBroadcastBridge sseBroadcastBridge(
             StreamBridge streamBridge,
+            ObjectProvider<SseBridgeCodec> codec,
             SseServerProperties properties) {
 
         SseServerProperties.Bridge bridgeProps = properties.getBridge();
@@ -76,9 +84,8 @@ public class CloudStreamBridgeAutoConfiguration {
             instanceId = UUID.randomUUID().toString();
             log.info("No bridge.instance-id configured; generated: {}", instanceId);
         }
-        String channelName = bridgeProps.getChannelName();
-
-        return new CloudStreamBroadcastBridge(streamBridge, instanceId, channelName);
+        return new CloudStreamBroadcastBridge(streamBridge, codec.getIfAvailable(BinarySseBridgeCodec::new),
+                new SseBridgeInterest(instanceId, bridgeProps), new SseBridgeHealth("cloud-stream", bridgeProps.getResilience()));
     }
 
     /**
@@ -88,23 +95,23 @@ public class CloudStreamBridgeAutoConfiguration {
      * {@code sseBridgeConsumer-in-0}.
      * <p>
      * When a message arrives from the shared channel (any broker), this consumer
-     * extracts the {@link SseBridgeMessage} payload and delegates to
-     * {@link CloudStreamBroadcastBridge#handleIncoming(SseBridgeMessage)} for
+     * hands the raw frame to {@link CloudStreamBroadcastBridge#receive(Message)},
+     * which decodes the {@link SseBridgeMessage} (or unpacks a batch of them) for
      * self-deduplication and local sink injection.
      *
      * @param bridge the cloud stream bridge bean
      * @return a consumer that processes incoming bridge messages
      */
     @Bean
-    public Consumer<Message<SseBridgeMessage>> sseBridgeConsumer(
+    public Consumer<Message<byte[]>> sseBridgeConsumer(
             CloudStreamBroadcastBridge bridge) {
         return message -> {
-            SseBridgeMessage payload = message.getPayload();
             if (log.isTraceEnabled()) {
                 log.trace("Received bridge message: topic={} origin={}",
-                        payload.topic(), payload.originInstanceId());
+                        message.getHeaders().get(CloudStreamBroadcastBridge.HEADER_TOPIC),
+                        message.getHeaders().get(CloudStreamBroadcastBridge.HEADER_ORIGIN_INSTANCE));
             }
-            bridge.handleIncoming(payload);
+            bridge.receive(message);
         };
     }
 }
@@ -1,5 +1,10 @@
 package com.spectrayan.sse.server.bridge.cloudstream;
 
+import com.spectrayan.sse.server.bridge.JsonSseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
 import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
 import com.spectrayan.sse.server.bridge.SseBroadcastListener;
 import com.spectrayan.sse.server.bridge.SseBridgeMessage;
@@ -8,7 +13,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Spring Cloud Stream implementation of {@link SseBroadcastBridge}.
@@ -16,18 +30,46 @@ import org.springframework.messaging.support.MessageBuilder;
  * <b>Publishing</b> uses {@link StreamBridge} for imperative, dynamic sending.
  * The destination name is derived from
  * {@link SseServerProperties.Bridge#getChannelName()} (default: {@code sse-broadcast}).
+ * Payloads are frames of the configured {@link SseBridgeCodec}, labelled with its
+ * content type.
+ * <p>
+ * <b>Batching</b>: {@link #publishBatch(SseBridgeBatch)} sends the messages of each topic in a
+ * {@link SseBridgeBatch} as one message, marked with the {@value #HEADER_BATCH} header and carrying
+ * the topic's {@value #HEADER_TOPIC} header like single messages, so binders partitioning by topic
+ * keep each topic's order.
  * <p>
- * <b>Receiving</b> is handled by a functional {@code Consumer<Message<SseBridgeMessage>>}
+ * <b>Receiving</b> is handled by a functional {@code Consumer<Message<byte[]>>}
  * bean registered in {@link CloudStreamBridgeAutoConfiguration}. When a message arrives
  * from the shared channel, the auto-configuration delegates to
- * {@link #handleIncoming(SseBridgeMessage)} which forwards to the registered
- * {@link SseBroadcastListener}.
+ * {@link #receive(Message)}, which decodes the frame and forwards its messages in
+ * order to the registered {@link SseBroadcastListener}.
  * <p>
  * <b>Self-deduplication:</b> Each instance is identified by a unique
  * {@link SseServerProperties.Bridge#getInstanceId()} (auto-generated UUID if not
  * configured). Messages originating from this instance are filtered out by comparing
  * the {@link SseBridgeMessage#originInstanceId()} before forwarding to the listener.
  * <p>
+ * <b>Interest routing:</b> with {@code bridge.routing.mode} {@code TOPIC} or {@code SHARDED},
+ * every message carries the route of its topic (see {@link SseBridgeInterest}) in the
+ * {@value #HEADER_ROUTE} header, and instances announce the routes they serve with messages
+ * marked by the {@value #HEADER_INTEREST} header on the same destination. Messages of topics no
+ * other instance serves are not sent, and receivers drop messages for routes they do not serve
+ * before decoding them. Bindings are static, so every instance still receives every message
+ * that is sent; a broker that routes by key can use the route header (for example RabbitMQ's
+ * {@code routing-key-expression: headers['sse-route']}).
+ * <p>
+ * <b>Cluster mode:</b> with {@code bridge.routing.ownership}, events of topics owned by another
+ * instance are sent with the owner's inbox ({@code <channel>:owner:<instanceId>}) as their route,
+ * and only the owner accepts them, as forwarded events. Closing the bridge announces the
+ * instance's departure so the others take over its topics at once.
+ * <p>
+ * <b>Resilience:</b> the binder re-establishes its consumer connections itself; the bridge guards
+ * sending ({@code bridge.resilience.*}, see {@link SseBridgeHealth}). After repeated failed sends
+ * it answers {@link #hasRemoteInterest(String)} with {@code false} (and owns every topic in cluster
+ * mode), so emitters deliver locally instead of waiting on a binder that blocks while the broker
+ * is down; every {@code open-duration} one send probes the broker. When a send succeeds again, a
+ * routed bridge re-announces its interest and asks the others for theirs.
+ * <p>
  * The actual messaging broker (Kafka, RabbitMQ, Google Cloud Pub/Sub, Pulsar,
  * Azure Event Hubs, etc.) is determined entirely by which Spring Cloud Stream
  * <b>binder</b> dependency the end user adds to their classpath. This class has
@@ -43,14 +85,24 @@ public class CloudStreamBroadcastBridge implements SseBroadcastBridge {
     static final String HEADER_ORIGIN_INSTANCE = "sse-origin-instance";
     /** Header key for the SSE topic name. */
     static final String HEADER_TOPIC = "sse-topic";
+    /** Header marking a message whose payload is a {@link SseBridgeBatch}. */
+    static final String HEADER_BATCH = "sse-batch";
+    /** Header carrying the route of the message's topics. */
+    static final String HEADER_ROUTE = "sse-route";
+    /** Header marking an interest announcement. */
+    static final String HEADER_INTEREST = "sse-interest";
 
     private final StreamBridge streamBridge;
     private final String bindingName;
     private final String instanceId;
+    private final SseBridgeCodec codec;
+    private final SseBridgeInterest interest;
+    private final SseBridgeHealth health;
     private volatile SseBroadcastListener listener;
+    private volatile Disposable refresh;
 
     /**
-     * Create a new bridge backed by Spring Cloud Stream.
+     * Create a new bridge backed by Spring Cloud Stream, exchanging JSON (the 2.0.x wire format).
      *
      * @param streamBridge the Spring Cloud Stream bridge for imperative sending
      * @param instanceId   unique id for this instance (for self-deduplication)
@@ -59,22 +111,87 @@ public class CloudStreamBroadcastBridge implements SseBroadcastBridge {
     public CloudStreamBroadcastBridge(StreamBridge streamBridge,
                                       String instanceId,
                                       String channelName) {
+        this(streamBridge, instanceId, channelName, new JsonSseBridgeCodec());
+    }
+
+    /**
+     * Create a new bridge backed by Spring Cloud Stream, exchanging frames of the given codec.
+     *
+     * @param streamBridge the Spring Cloud Stream bridge for imperative sending
+     * @param instanceId   unique id for this instance (for self-deduplication)
+     * @param channelName  the binding/destination name to send to
+     * @param codec        wire format of bridge messages
+     * @since 2.1.0
+     */
+    public CloudStreamBroadcastBridge(StreamBridge streamBridge,
+                                      String instanceId,
+                                      String channelName,
+                                      SseBridgeCodec codec) {
+        this(streamBridge, codec, SseBridgeInterest.broadcast(instanceId, channelName));
+    }
+
+    /**
+     * Create a new bridge backed by Spring Cloud Stream, routing messages by interest as
+     * configured in {@code interest}.
+     *
+     * @param streamBridge the Spring Cloud Stream bridge for imperative sending
+     * @param codec        wire format of bridge messages
+     * @param interest     routing state carrying the binding name and this instance's id
+     * @since 2.1.0
+     */
+    public CloudStreamBroadcastBridge(StreamBridge streamBridge,
+                                      SseBridgeCodec codec,
+                                      SseBridgeInterest interest) {
+        this(streamBridge, codec, interest,
+                new SseBridgeHealth("cloud-stream", new SseServerProperties.Bridge.Resilience()));
+    }
+
+    /**
+     * Create a new bridge backed by Spring Cloud Stream, routing messages by interest as
+     * configured in {@code interest} and falling back to local-only delivery as configured
+     * in {@code health}.
+     *
+     * @param streamBridge the Spring Cloud Stream bridge for imperative sending
+     * @param codec        wire format of bridge messages
+     * @param interest     routing state carrying the binding name and this instance's id
+     * @param health       circuit breaker guarding sends
+     * @since 2.1.0
+     */
+    public CloudStreamBroadcastBridge(StreamBridge streamBridge,
+                                      SseBridgeCodec codec,
+                                      SseBridgeInterest interest,
+                                      SseBridgeHealth health) {
         this.streamBridge = streamBridge;
-        this.instanceId = instanceId;
-        this.bindingName = channelName;
-        log.info("CloudStreamBroadcastBridge initialized: instanceId={} channel={}",
-                instanceId, channelName);
+        this.instanceId = interest.instanceId();
+        this.bindingName = interest.channelName();
+        this.codec = codec;
+        this.interest = interest;
+        this.health = health;
+        if (interest.isRouted()) {
+            // Interest announced or expired during an outage is resynchronized in both directions
+            health.onRecovery(() -> announce(interest.syncRequest()));
+        }
+        log.info("CloudStreamBroadcastBridge initialized: instanceId={} channel={} codec={} routed={}",
+                instanceId, bindingName, codec.getClass().getSimpleName(), interest.isRouted());
     }
 
     @Override
     public void publish(SseBridgeMessage message) {
-        Message<SseBridgeMessage> msg = MessageBuilder
-                .withPayload(message)
-                .setHeader(HEADER_ORIGIN_INSTANCE, instanceId)
-                .setHeader(HEADER_TOPIC, message.topic())
-                .build();
-
-        boolean sent = streamBridge.send(bindingName, msg);
+        Message<byte[]> msg;
+        try {
+            msg = toMessage(message);
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to encode bridge message for topic {}: {}", message.topic(), e.getMessage());
+            return;
+        }
+        boolean sent;
+        try {
+            sent = send(msg);
+        } catch (RuntimeException e) {
+            log.warn("StreamBridge failed to send SSE bridge message for topic {} (binding={}): {}",
+                    message.topic(), bindingName, e.getMessage());
+            return;
+        }
         if (!sent) {
             log.warn("StreamBridge failed to send SSE bridge message for topic {} (binding={})",
                     message.topic(), bindingName);
@@ -84,22 +201,264 @@ public class CloudStreamBroadcastBridge implements SseBroadcastBridge {
         }
     }
 
+    /**
+     * Send on the subscribing thread (the async publish stage's publisher thread) and fail when the
+     * binder does not accept the message.
+     */
+    @Override
+    public Mono<Void> publishAsync(SseBridgeMessage message) {
+        if (health.state() == SseBridgeHealth.State.OPEN) return health.suspend(1);
+        return Mono.fromRunnable(() -> {
+            if (!send(toMessage(message))) {
+                throw new IllegalStateException("StreamBridge failed to send to binding " + bindingName);
+            }
+        });
+    }
+
+    /**
+     * Send the batch as one message in a single {@link StreamBridge#send} call, or one message
+     * per route (keeping the order within each) with interest routing.
+     */
+    @Override
+    public Mono<Void> publishBatch(SseBridgeBatch batch) {
+        if (health.state() == SseBridgeHealth.State.OPEN) return health.suspend(batch.messages().size());
+        Map<String, List<SseBridgeMessage>> byTopic = new LinkedHashMap<>();
+        for (SseBridgeMessage message : batch.messages()) {
+            byTopic.computeIfAbsent(message.topic(), topic -> new ArrayList<>()).add(message);
+        }
+        if (byTopic.size() == 1) {
+            String topic = batch.messages().get(0).topic();
+            return Mono.fromRunnable(() -> sendBatch(topic, batch));
+        }
+        return Flux.fromIterable(byTopic.entrySet())
+                .concatMap(entry -> Mono.fromRunnable(() ->
+                        sendBatch(entry.getKey(), new SseBridgeBatch(batch.originInstanceId(), entry.getValue()))))
+                .then();
+    }
+
+    private void sendBatch(String topic, SseBridgeBatch batch) {
+        MessageBuilder<byte[]> msg = MessageBuilder
+                .withPayload(codec.encode(batch))
+                .setHeader(MessageHeaders.CONTENT_TYPE, codec.contentType())
+                .setHeader(HEADER_ORIGIN_INSTANCE, instanceId)
+                .setHeader(HEADER_TOPIC, topic)
+                .setHeader(HEADER_BATCH, batch.messages().size());
+        if (interest.isRouted()) msg.setHeader(HEADER_ROUTE, interest.route(topic));
+        if (!send(msg.build())) {
+            throw new IllegalStateException("StreamBridge failed to send to binding " + bindingName);
+        }
+    }
+
+    /** Send a message, reporting the outcome to the circuit breaker. */
+    private boolean send(Message<byte[]> message) {
+        boolean sent;
+        try {
+            sent = streamBridge.send(bindingName, message);
+        } catch (RuntimeException e) {
+            health.recordFailure(e);
+            throw e;
+        }
+        if (sent) {
+            health.recordSuccess();
+        } else {
+            health.recordFailure(new IllegalStateException("StreamBridge failed to send to binding " + bindingName));
+        }
+        return sent;
+    }
+
+    private Message<byte[]> toMessage(SseBridgeMessage message) {
+        return toMessage(message, interest.isRouted() ? interest.route(message.topic()) : null);
+    }
+
+    private Message<byte[]> toMessage(SseBridgeMessage message, String route) {
+        MessageBuilder<byte[]> msg = MessageBuilder
+                .withPayload(codec.encode(message))
+                .setHeader(MessageHeaders.CONTENT_TYPE, codec.contentType())
+                .setHeader(HEADER_ORIGIN_INSTANCE, instanceId)
+                .setHeader(HEADER_TOPIC, message.topic());
+        if (route != null) msg.setHeader(HEADER_ROUTE, route);
+        return msg.build();
+    }
+
+    /**
+     * Whether this instance owns the topic in cluster mode; every topic while the bridge delivers
+     * locally only, so events are not forwarded to owners they cannot reach.
+     */
+    @Override
+    public boolean ownsTopic(String topic) {
+        return health.isLocalOnly() || interest.ownsTopic(topic);
+    }
+
+    /**
+     * Send the event with the inbox of the topic's owner as its route.
+     */
+    @Override
+    public void forward(SseBridgeMessage message) {
+        Message<byte[]> msg;
+        try {
+            msg = toMessage(message, interest.inbox(interest.owner(message.topic())));
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to encode bridge message for topic {}: {}", message.topic(), e.getMessage());
+            return;
+        }
+        try {
+            if (!send(msg)) {
+                log.warn("StreamBridge failed to forward SSE bridge message for topic {} (binding={})",
+                        message.topic(), bindingName);
+            }
+        } catch (RuntimeException e) {
+            log.warn("StreamBridge failed to forward SSE bridge message for topic {} (binding={}): {}",
+                    message.topic(), bindingName, e.getMessage());
+        }
+    }
+
+    /**
+     * Register the listener and, with interest routing, start exchanging interest announcements.
+     */
     @Override
     public void subscribe(SseBroadcastListener listener) {
         this.listener = listener;
         log.debug("SseBroadcastListener registered on CloudStreamBroadcastBridge");
+        if (interest.isRouted() && refresh == null) {
+            announce(interest.syncRequest());
+            this.refresh = Flux.interval(interest.refreshInterval())
+                    .subscribe(tick -> announce(interest.snapshot()));
+        }
+    }
+
+    /**
+     * Record the topic and announce its route when newly served. Not announced while the bridge
+     * delivers locally only (the resynchronization on recovery carries it), since a binder may block
+     * sending while the broker is down.
+     */
+    @Override
+    public void topicActivated(String topic) {
+        if (interest.activate(topic) && !health.isLocalOnly()) {
+            announce(interest.joined(interest.route(topic)));
+        }
+    }
+
+    @Override
+    public void topicDeactivated(String topic) {
+        if (interest.deactivate(topic) && !health.isLocalOnly()) {
+            announce(interest.left(interest.route(topic)));
+        }
+    }
+
+    @Override
+    public SseBridgeInterest interest() {
+        return interest;
+    }
+
+    /**
+     * Whether another instance serves the topic; {@code false} while the bridge delivers locally only,
+     * except for the send probing the broker.
+     */
+    @Override
+    public boolean hasRemoteInterest(String topic) {
+        return interest.hasRemoteInterest(topic) && health.allowRemote();
+    }
+
+    /** @return the health of this bridge's connection to the broker */
+    @Override
+    public SseBridgeHealth health() {
+        return health;
+    }
+
+    private void announce(byte[] announcement) {
+        Message<byte[]> msg = MessageBuilder
+                .withPayload(announcement)
+                .setHeader(MessageHeaders.CONTENT_TYPE, "application/octet-stream")
+                .setHeader(HEADER_ORIGIN_INSTANCE, instanceId)
+                .setHeader(HEADER_INTEREST, true)
+                .build();
+        try {
+            if (!send(msg)) {
+                log.warn("StreamBridge failed to send bridge interest announcement (binding={})", bindingName);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to send bridge interest announcement (binding={}): {}", bindingName, e.getMessage());
+        }
     }
 
     @Override
     public void close() {
         log.info("CloudStreamBroadcastBridge closing: instanceId={}", instanceId);
+        if (refresh != null) {
+            refresh.dispose();
+            announce(interest.farewell());
+        }
         this.listener = null;
     }
 
     /**
      * Invoked by the functional consumer bean
-     * ({@link CloudStreamBridgeAutoConfiguration#sseBridgeConsumer}) when a
-     * message arrives from the shared channel.
+     * ({@link CloudStreamBridgeAutoConfiguration#sseBridgeConsumer}) with the raw
+     * frame of a message from the shared channel. The frame is decoded with the
+     * configured codec and its messages are delivered in order. Interest
+     * announcements update the routing state, events forwarded to this instance's
+     * inbox are delivered as forwarded events, and messages for routes this
+     * instance does not serve are dropped without decoding.
+     *
+     * @param message the incoming message
+     */
+    void receive(Message<byte[]> message) {
+        try {
+            if (message.getHeaders().containsKey(HEADER_INTEREST)) {
+                if (interest.receive(message.getPayload())) announce(interest.snapshot());
+                return;
+            }
+            Object route = message.getHeaders().get(HEADER_ROUTE);
+            if (route != null && interest.isOwnership() && interest.inbox().equals(route.toString())) {
+                handleForwarded(codec.decode(message.getPayload()));
+                return;
+            }
+            if (route != null && !interest.serves(route.toString())) {
+                log.trace("Dropping bridge message for unserved route {}", route);
+                return;
+            }
+            handleIncoming(codec.decode(message.getPayload()));
+        } catch (Exception e) {
+            log.warn("Failed to deserialize SSE bridge message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver the messages of an incoming batch in order. Self-originated
+     * batches are skipped as a whole.
+     *
+     * @param batch the deserialized batch
+     */
+    void handleIncoming(SseBridgeBatch batch) {
+        if (instanceId.equals(batch.originInstanceId())) {
+            log.trace("Skipping self-originated bridge batch: messages={}", batch.messages().size());
+            return;
+        }
+        for (SseBridgeMessage message : batch.messages()) {
+            handleIncoming(message);
+        }
+    }
+
+    /**
+     * Deliver events other instances forwarded to this instance's inbox in cluster mode.
+     *
+     * @param batch the deserialized batch
+     */
+    void handleForwarded(SseBridgeBatch batch) {
+        SseBroadcastListener current = listener;
+        if (current == null) return;
+        for (SseBridgeMessage message : batch.messages()) {
+            try {
+                current.onForwardedEvent(message);
+            } catch (Throwable t) {
+                log.warn("Error processing forwarded SSE bridge event for topic {}: {}",
+                        message.topic(), t.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Invoked for each incoming message, or each message of an incoming batch.
      * <p>
      * Self-originated messages are filtered out by comparing instance ids.
      *
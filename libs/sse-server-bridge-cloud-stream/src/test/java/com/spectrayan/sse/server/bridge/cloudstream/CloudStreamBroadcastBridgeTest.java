@@ -1,8 +1,20 @@
 package com.spectrayan.sse.server.bridge.cloudstream;
 
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
 import com.spectrayan.sse.server.bridge.SseBroadcastListener;
 import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.config.SseServerProperties;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -84,6 +96,19 @@ class CloudStreamBroadcastBridgeTest {
         verify(streamBridge, times(1)).send(eq("sse-broadcast"), any());
     }
 
+    @Test
+    void publishAsyncErrorsOnSendFailure() {
+        var streamBridge = mock(org.springframework.cloud.stream.function.StreamBridge.class);
+        when(streamBridge.send(anyString(), any())).thenReturn(true, false);
+
+        var bridge = new CloudStreamBroadcastBridge(streamBridge, INSTANCE_A, "sse-broadcast");
+
+        var msg = new SseBridgeMessage(INSTANCE_A, "topic1", "evt", "data", "id1", System.currentTimeMillis());
+        assertDoesNotThrow(() -> bridge.publishAsync(msg).block());
+        // Failures surface as an error signal so the async publish stage can count them
+        assertThrows(IllegalStateException.class, () -> bridge.publishAsync(msg).block());
+    }
+
     @Test
     void closeNullsOutListener() {
         var streamBridge = mock(org.springframework.cloud.stream.function.StreamBridge.class);
@@ -112,4 +137,190 @@ class CloudStreamBroadcastBridgeTest {
         // Exception in listener should be caught, not propagated
         assertDoesNotThrow(() -> bridge.handleIncoming(msg));
     }
+
+    @Test
+    void publishBatchSendsOneMessagePerTopicThatReceiversUnpackInOrder() {
+        var streamBridge = mock(org.springframework.cloud.stream.function.StreamBridge.class);
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        var publisher = new CloudStreamBroadcastBridge(streamBridge, INSTANCE_A, "sse-broadcast");
+
+        var batch = new SseBridgeBatch(INSTANCE_A, List.of(
+                new SseBridgeMessage(INSTANCE_A, "topic1", "evt", "one", "1", 1L),
+                new SseBridgeMessage(INSTANCE_A, "topic2", "evt", "two", "2", 2L),
+                new SseBridgeMessage(INSTANCE_A, "topic1", "evt", "three", "3", 3L)));
+        publisher.publishBatch(batch).block();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge, times(2)).send(eq("sse-broadcast"), sent.capture());
+        assertEquals(List.of("topic1", "topic2"), sent.getAllValues().stream()
+                .map(m -> m.getHeaders().get(CloudStreamBroadcastBridge.HEADER_TOPIC)).toList());
+        assertEquals(List.of(2, 1), sent.getAllValues().stream()
+                .map(m -> m.getHeaders().get(CloudStreamBroadcastBridge.HEADER_BATCH)).toList());
+
+        // Simulate the binder delivering the payloads to another instance
+        var receiver = new CloudStreamBroadcastBridge(streamBridge, INSTANCE_B, "sse-broadcast");
+        var listener = mock(SseBroadcastListener.class);
+        receiver.subscribe(listener);
+        sent.getAllValues().forEach(receiver::receive);
+
+        var received = ArgumentCaptor.forClass(SseBridgeMessage.class);
+        verify(listener, times(3)).onRemoteEvent(received.capture());
+        assertEquals(List.of("1", "3", "2"), received.getAllValues().stream().map(SseBridgeMessage::id).toList());
+    }
+
+    @Test
+    void receiveDecodesSingleMessages() {
+        var streamBridge = mock(org.springframework.cloud.stream.function.StreamBridge.class);
+        var bridge = new CloudStreamBroadcastBridge(streamBridge, INSTANCE_A, "sse-broadcast");
+        var listener = mock(SseBroadcastListener.class);
+        bridge.subscribe(listener);
+
+        var msg = new SseBridgeMessage(INSTANCE_B, "topic1", "evt", "data", "id1", 1L);
+        bridge.receive(MessageBuilder.withPayload(JsonMapper.builder().build().writeValueAsBytes(msg)).build());
+
+        verify(listener, times(1)).onRemoteEvent(msg);
+    }
+
+    @Test
+    void binaryCodecFramesAreLabelledAndDecodedByReceivers() {
+        var streamBridge = mock(org.springframework.cloud.stream.function.StreamBridge.class);
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        var publisher = new CloudStreamBroadcastBridge(streamBridge, INSTANCE_A, "sse-broadcast",
+                new BinarySseBridgeCodec());
+
+        var msg = new SseBridgeMessage(INSTANCE_A, "topic1", "evt", "{\"v\":1}", "id1", 1L);
+        publisher.publish(msg);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge).send(eq("sse-broadcast"), sent.capture());
+        assertEquals("application/octet-stream", sent.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        assertEquals("topic1", sent.getValue().getHeaders().get(CloudStreamBroadcastBridge.HEADER_TOPIC));
+
+        var receiver = new CloudStreamBroadcastBridge(streamBridge, INSTANCE_B, "sse-broadcast",
+                new BinarySseBridgeCodec());
+        var listener = mock(SseBroadcastListener.class);
+        receiver.subscribe(listener);
+        receiver.receive(sent.getValue());
+
+        verify(listener).onRemoteEvent(msg);
+    }
+
+    @Test
+    void routedMessagesCarryTheRouteAndUnservedRoutesAreDroppedBeforeDecoding() {
+        var streamBridge = mock(org.springframework.cloud.stream.function.StreamBridge.class);
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        var bridgeProps = new SseServerProperties.Bridge();
+        bridgeProps.getRouting().setMode(SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        var publisher = new CloudStreamBroadcastBridge(streamBridge, new BinarySseBridgeCodec(),
+                new SseBridgeInterest(INSTANCE_A, bridgeProps));
+        var receiver = new CloudStreamBroadcastBridge(streamBridge, new BinarySseBridgeCodec(),
+                new SseBridgeInterest(INSTANCE_B, bridgeProps));
+        var listener = mock(SseBroadcastListener.class);
+        receiver.subscribe(listener);
+        receiver.topicActivated("user-1");
+
+        var wanted = new SseBridgeMessage(INSTANCE_A, "user-1", null, "hello", "1", 1L);
+        publisher.publishBatch(new SseBridgeBatch(INSTANCE_A, List.of(wanted,
+                new SseBridgeMessage(INSTANCE_A, "user-2", null, "elsewhere", "2", 2L)))).block();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge, atLeast(1)).send(eq("sse-broadcast"), sent.capture());
+        List<Message<byte[]>> data = sent.getAllValues().stream()
+                .filter(m -> !m.getHeaders().containsKey(CloudStreamBroadcastBridge.HEADER_INTEREST))
+                .toList();
+        assertEquals(List.of("sse-broadcast:user-1", "sse-broadcast:user-2"),
+                data.stream().map(m -> m.getHeaders().get(CloudStreamBroadcastBridge.HEADER_ROUTE)).toList());
+
+        // Deliver everything, including the receiver's own announcements, to both instances
+        for (Message<byte[]> message : sent.getAllValues()) {
+            receiver.receive(message);
+            publisher.receive(message);
+        }
+        verify(listener, times(1)).onRemoteEvent(wanted);
+        verifyNoMoreInteractions(listener);
+        receiver.close();
+    }
+
+    @Test
+    void clusterModeRoutesForwardedEventsToTheOwnersInbox() {
+        var streamBridge = mock(org.springframework.cloud.stream.function.StreamBridge.class);
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        var bridgeProps = new SseServerProperties.Bridge();
+        bridgeProps.getRouting().setMode(SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        bridgeProps.getRouting().setOwnership(true);
+        var a = new CloudStreamBroadcastBridge(streamBridge, new BinarySseBridgeCodec(),
+                new SseBridgeInterest(INSTANCE_A, bridgeProps));
+        var b = new CloudStreamBroadcastBridge(streamBridge, new BinarySseBridgeCodec(),
+                new SseBridgeInterest(INSTANCE_B, bridgeProps));
+        var listenerA = mock(SseBroadcastListener.class);
+        var listenerB = mock(SseBroadcastListener.class);
+        a.subscribe(listenerA);
+        b.subscribe(listenerB);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge, atLeast(1)).send(eq("sse-broadcast"), sent.capture());
+        for (Message<byte[]> message : sent.getAllValues()) {
+            a.receive(message);
+            b.receive(message);
+        }
+        String topic = java.util.stream.IntStream.range(0, 100).mapToObj(i -> "user-" + i)
+                .filter(t -> !a.ownsTopic(t)).findFirst().orElseThrow();
+        assertTrue(b.ownsTopic(topic));
+
+        var event = new SseBridgeMessage(INSTANCE_A, topic, null, "hello", "1", 1L);
+        a.forward(event);
+        verify(streamBridge, atLeast(1)).send(eq("sse-broadcast"), sent.capture());
+        Message<byte[]> forwarded = sent.getValue();
+        assertEquals("sse-broadcast:owner:" + INSTANCE_B, forwarded.getHeaders().get(CloudStreamBroadcastBridge.HEADER_ROUTE));
+        a.receive(forwarded);
+        b.receive(forwarded);
+        verify(listenerB).onForwardedEvent(event);
+        verify(listenerA, never()).onForwardedEvent(any());
+        verify(listenerB, never()).onRemoteEvent(any());
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void failedSendsSwitchToLocalOnlyDeliveryUntilAProbeSucceeds() throws InterruptedException {
+        var streamBridge = mock(org.springframework.cloud.stream.function.StreamBridge.class);
+        when(streamBridge.send(anyString(), any())).thenReturn(false);
+        var bridgeProps = new SseServerProperties.Bridge();
+        bridgeProps.getRouting().setMode(SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        bridgeProps.getResilience().setFailureThreshold(2);
+        bridgeProps.getResilience().setOpenDuration(java.time.Duration.ofMillis(200));
+        var health = new SseBridgeHealth("cloud-stream", bridgeProps.getResilience());
+        var bridge = new CloudStreamBroadcastBridge(streamBridge, new BinarySseBridgeCodec(),
+                new SseBridgeInterest(INSTANCE_A, bridgeProps), health);
+        var message = new SseBridgeMessage(INSTANCE_A, "user-1", null, "hello", "1", 1L);
+
+        bridge.publish(message);
+        bridge.publish(message);
+        assertEquals(SseBridgeHealth.State.OPEN, health.state());
+        assertFalse(bridge.hasRemoteInterest("user-1"));
+        assertTrue(bridge.ownsTopic("user-1"));
+        assertThrows(IllegalStateException.class, () -> bridge.publishAsync(message).block());
+        bridge.topicActivated("user-1");
+        verify(streamBridge, times(2)).send(anyString(), any());
+
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        Thread.sleep(250);
+        assertTrue(bridge.hasRemoteInterest("user-1"));
+        assertFalse(bridge.hasRemoteInterest("user-1"), "one probe per open duration");
+        bridge.publish(message);
+        assertTrue(health.isHealthy());
+
+        // The probe was followed by a sync request carrying the route activated during the outage
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge, times(4)).send(eq("sse-broadcast"), sent.capture());
+        Message<byte[]> sync = sent.getValue();
+        assertEquals(Boolean.TRUE, sync.getHeaders().get(CloudStreamBroadcastBridge.HEADER_INTEREST));
+        var peer = new SseBridgeInterest(INSTANCE_B, bridgeProps);
+        assertTrue(peer.receive(sync.getPayload()));
+    }
 }
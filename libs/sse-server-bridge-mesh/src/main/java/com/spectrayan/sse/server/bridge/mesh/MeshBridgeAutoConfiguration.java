@@ -0,0 +1,83 @@
+package com.spectrayan.sse.server.bridge.mesh;
+
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.metrics.SseMetrics;
+import io.netty.bootstrap.ServerBootstrap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Auto-configuration that activates the TCP mesh broadcast bridge when
+ * {@code sse-server-bridge-mesh} is on the classpath.
+ * <p>
+ * This replaces the default {@code NoOpBroadcastBridge} from {@code sse-server}.
+ * Instances need to reach each other on the mesh port:
+ * <pre>{@code
+ * spectrayan.sse.server.bridge.mesh.bind-address=0.0.0.0                 # default: loopback only
+ * spectrayan.sse.server.bridge.mesh.shared-secret=${MESH_SECRET}         # authenticates peers
+ * spectrayan.sse.server.bridge.mesh.port=7470
+ * spectrayan.sse.server.bridge.mesh.peers=10.0.0.11:7470,10.0.0.12:7470  # static peers
+ * spectrayan.sse.server.bridge.mesh.dns-name=sse-headless                 # and/or DNS discovery
+ * spectrayan.sse.server.bridge.instance-id=                               # auto UUID
+ * spectrayan.sse.server.bridge.codec=BINARY                               # or JSON
+ * }</pre>
+ * With Micrometer present, the frames the mesh dropped are exported as {@code sse.bridge.frames.dropped}.
+ *
+ * @since 2.1.0
+ */
+@AutoConfiguration
+@ConditionalOnClass(ServerBootstrap.class)
+@ConditionalOnProperty(prefix = "spectrayan.sse.server.bridge",
+        name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(MeshBridgeProperties.class)
+public class MeshBridgeAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(MeshBridgeAutoConfiguration.class);
+
+    /**
+     * The TCP mesh broadcast bridge bean; closed on shutdown.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SseBroadcastBridge.class)
+    public MeshBroadcastBridge sseBroadcastBridge(
+            ObjectProvider<SseBridgeCodec> codec,
+            SseServerProperties properties,
+            MeshBridgeProperties meshProperties) {
+
+        String instanceId = properties.getBridge().getInstanceId();
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = UUID.randomUUID().toString().substring(0, 8);
+            log.info("No bridge.instance-id configured; generated: {}", instanceId);
+        }
+        return new MeshBroadcastBridge(codec.getIfAvailable(BinarySseBridgeCodec::new), instanceId, meshProperties);
+    }
+
+    /**
+     * Exports the frames dropped by the mesh bridge through the SSE metrics, when Micrometer is present.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MeshMetricsConfiguration {
+
+        @Bean
+        SmartInitializingSingleton sseMeshBridgeMetrics(ObjectProvider<SseMetrics> metrics,
+                                                        ObjectProvider<MeshBroadcastBridge> bridge) {
+            return () -> metrics.ifAvailable(m -> bridge.ifAvailable(b ->
+                    m.registerBridgeDroppedFrames("mesh", b, MeshBroadcastBridge::droppedFrames)));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.spectrayan.sse.server.bridge.mesh;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TCP mesh bridge settings ({@code spectrayan.sse.server.bridge.mesh.*}). The instance id and
+ * codec are configured under {@code spectrayan.sse.server.bridge}.
+ *
+ * @since 2.1.0
+ */
+@ConfigurationProperties(prefix = "spectrayan.sse.server.bridge.mesh")
+public class MeshBridgeProperties {
+
+    /**
+     * Address the mesh listener binds to. Loopback by default; set it to an address other instances can reach,
+     * such as {@code 0.0.0.0} or the pod IP, together with {@code shared-secret}.
+     */
+    private String bindAddress = "127.0.0.1";
+    /** Port the mesh listener binds to, and the port of peers found through {@code dns-name}. */
+    private int port = 7470;
+    /** Static peers as {@code host:port}. May include this instance, which is skipped. */
+    private List<String> peers = new ArrayList<>();
+    /**
+     * Host name resolving to every instance, such as a Kubernetes headless service. Each address
+     * becomes a peer on {@code port}.
+     */
+    private String dnsName;
+    /** How often peers are resolved again, connecting to new ones and dropping removed ones. */
+    private Duration discoveryInterval = Duration.ofSeconds(10);
+    /** Frames queued per peer while it is slow or disconnected; further frames for it are dropped. */
+    private int queueCapacity = 10_000;
+    /** Largest frame accepted from a peer. */
+    private int maxFrameLength = 4 * 1024 * 1024;
+    /** Timeout for connecting to a peer. */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /** Delay before reconnecting to a peer; doubles per failed attempt up to {@code max-reconnect-backoff}. */
+    private Duration reconnectBackoff = Duration.ofMillis(200);
+    /** Longest delay between reconnect attempts. */
+    private Duration maxReconnectBackoff = Duration.ofSeconds(10);
+    /**
+     * Secret shared by every instance. When set, both ends of a connection authenticate with an HMAC-SHA256
+     * challenge-response before any frame is sent or accepted; without it any host reaching the mesh port can
+     * inject events.
+     */
+    private String sharedSecret;
+    /** Netty I/O threads shared by the listener and the peer connections. */
+    private int ioThreads = 2;
+
+    public String getBindAddress() {
+        return bindAddress;
+    }
+
+    public void setBindAddress(String bindAddress) {
+        this.bindAddress = bindAddress;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public List<String> getPeers() {
+        return peers;
+    }
+
+    public void setPeers(List<String> peers) {
+        this.peers = peers;
+    }
+
+    public String getDnsName() {
+        return dnsName;
+    }
+
+    public void setDnsName(String dnsName) {
+        this.dnsName = dnsName;
+    }
+
+    public Duration getDiscoveryInterval() {
+        return discoveryInterval;
+    }
+
+    public void setDiscoveryInterval(Duration discoveryInterval) {
+        this.discoveryInterval = discoveryInterval;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxFrameLength() {
+        return maxFrameLength;
+    }
+
+    public void setMaxFrameLength(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReconnectBackoff() {
+        return reconnectBackoff;
+    }
+
+    public void setReconnectBackoff(Duration reconnectBackoff) {
+        this.reconnectBackoff = reconnectBackoff;
+    }
+
+    public Duration getMaxReconnectBackoff() {
+        return maxReconnectBackoff;
+    }
+
+    public void setMaxReconnectBackoff(Duration maxReconnectBackoff) {
+        this.maxReconnectBackoff = maxReconnectBackoff;
+    }
+
+    public String getSharedSecret() {
+        return sharedSecret;
+    }
+
+    public void setSharedSecret(String sharedSecret) {
+        this.sharedSecret = sharedSecret;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public void setIoThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+    }
+}
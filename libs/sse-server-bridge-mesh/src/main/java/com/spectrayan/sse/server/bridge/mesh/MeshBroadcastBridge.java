@@ -0,0 +1,347 @@
+package com.spectrayan.sse.server.bridge.mesh;
+
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Brokerless {@link SseBroadcastBridge} over direct TCP connections between instances.
+ * <p>
+ * <b>Topology</b>: every instance listens on {@code mesh.port} and opens one outbound connection
+ * to each peer, so a message reaches every other instance in one hop. Peers come from the static
+ * {@code mesh.peers} list and the addresses {@code mesh.dns-name} resolves to, re-resolved every
+ * {@code mesh.discovery-interval} on Reactor's bounded elastic scheduler, since name resolution blocks;
+ * this instance's own address is skipped.
+ * <p>
+ * <b>Framing</b>: each frame is a 4-byte big-endian length followed by a frame of the configured
+ * {@link SseBridgeCodec}. {@link #publishBatch(SseBridgeBatch)} sends a whole batch as one frame.
+ * <p>
+ * <b>Back-pressure and reconnects</b>: every peer has a bounded outbound queue drained from its
+ * connection's event loop, flushing once per drain. A slow or unreachable peer fills only its own
+ * queue — frames beyond {@code mesh.queue-capacity} are dropped for that peer and counted — and is
+ * reconnected with exponential backoff, receiving what is still queued once it is back.
+ * Publishing never blocks.
+ * <p>
+ * <b>Authentication</b>: with {@code mesh.shared-secret} set, both ends of every connection answer
+ * an HMAC challenge from the other before frames flow, so frames are neither accepted from nor sent
+ * to a host without the secret. Without it the listener accepts
+ * frames from any host that reaches it, so a warning is logged when it is bound to a non-loopback
+ * address.
+ * <p>
+ * <b>Self-deduplication</b>: messages originating from this instance are skipped on receipt, like
+ * the other bridges.
+ * <p>
+ * Interest routing ({@code bridge.routing.mode}) does not apply: every peer receives every message.
+ *
+ * @since 2.1.0
+ */
+public class MeshBroadcastBridge implements SseBroadcastBridge {
+
+    private static final Logger log = LoggerFactory.getLogger(MeshBroadcastBridge.class);
+
+    private final SseBridgeCodec codec;
+    private final String instanceId;
+    private final MeshBridgeProperties settings;
+    private final Supplier<Set<InetSocketAddress>> discovery;
+    private final EventLoopGroup group;
+    private final Bootstrap clientBootstrap;
+    private final Channel server;
+    private final InetSocketAddress localAddress;
+    private final Map<InetSocketAddress, MeshPeer> peers = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final ChannelGroup inbound = new DefaultChannelGroup("sse-mesh-inbound", GlobalEventExecutor.INSTANCE);
+    private final MeshHandshake handshake;
+    private final Disposable discovering;
+    private volatile SseBroadcastListener listener;
+
+    /**
+     * Create a mesh bridge, bind its listener and start connecting to the configured peers.
+     *
+     * @param codec      wire format of frames
+     * @param instanceId unique id for this instance (for self-deduplication)
+     * @param settings   listener, peer discovery and connection settings
+     */
+    public MeshBroadcastBridge(SseBridgeCodec codec, String instanceId, MeshBridgeProperties settings) {
+        this(codec, instanceId, settings, () -> configuredPeers(settings));
+    }
+
+    MeshBroadcastBridge(SseBridgeCodec codec, String instanceId, MeshBridgeProperties settings,
+                        Supplier<Set<InetSocketAddress>> discovery) {
+        this.codec = codec;
+        this.instanceId = instanceId;
+        this.settings = settings;
+        this.discovery = discovery;
+        this.handshake = MeshHandshake.of(settings.getSharedSecret(), settings.getConnectTimeout());
+        this.group = new MultiThreadIoEventLoopGroup(Math.max(1, settings.getIoThreads()),
+                new DefaultThreadFactory("sse-mesh", true), NioIoHandler.newFactory());
+        this.clientBootstrap = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis());
+        try {
+            this.server = new ServerBootstrap()
+                    .group(group)
+                    .channel(NioServerSocketChannel.class)
+                    .option(ChannelOption.SO_REUSEADDR, true)
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childHandler(new ChannelInitializer<>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            inbound.add(ch);
+                            ch.pipeline().addLast(
+                                    new LengthFieldBasedFrameDecoder(settings.getMaxFrameLength(), 0, 4, 0, 4));
+                            if (handshake != null) {
+                                ch.pipeline().addLast(new LengthFieldPrepender(4), handshake.listener());
+                            }
+                            ch.pipeline().addLast(new Inbound());
+                        }
+                    })
+                    .bind(settings.getBindAddress(), settings.getPort())
+                    .sync()
+                    .channel();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            group.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+            throw new IllegalStateException("Interrupted while binding the SSE mesh listener", e);
+        } catch (RuntimeException e) {
+            group.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+            throw new IllegalStateException("Failed to bind the SSE mesh listener on "
+                    + settings.getBindAddress() + ":" + settings.getPort(), e);
+        }
+        this.localAddress = (InetSocketAddress) server.localAddress();
+        log.info("MeshBroadcastBridge initialized: instanceId={} listening={} codec={}",
+                instanceId, localAddress, codec.getClass().getSimpleName());
+        if (handshake == null && !localAddress.getAddress().isLoopbackAddress()) {
+            log.warn("SSE mesh listener {} accepts events from any host that reaches it; set "
+                    + "spectrayan.sse.server.bridge.mesh.shared-secret to authenticate peers", localAddress);
+        }
+
+        refreshPeers();
+        long interval = Math.max(1, settings.getDiscoveryInterval().toMillis());
+        // Off the I/O threads: resolving mesh.dns-name blocks
+        this.discovering = Schedulers.boundedElastic()
+                .schedulePeriodically(this::refreshPeers, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** @return the address the mesh listener is bound to */
+    public InetSocketAddress localAddress() {
+        return localAddress;
+    }
+
+    /** @return peers with an open outbound connection */
+    public int connectedPeers() {
+        return (int) peers.values().stream().filter(MeshPeer::isConnected).count();
+    }
+
+    /** @return frames dropped because a peer's outbound queue was full */
+    public long droppedFrames() {
+        return dropped.sum();
+    }
+
+    /**
+     * Resolve the peers again, connecting to new ones and closing connections to removed ones.
+     */
+    void refreshPeers() {
+        Set<InetSocketAddress> found;
+        try {
+            found = discovery.get();
+        } catch (RuntimeException e) {
+            log.warn("SSE mesh peer discovery failed: {}", e.getMessage());
+            return;
+        }
+        for (InetSocketAddress address : found) {
+            if (isSelf(address) || peers.containsKey(address)) continue;
+            MeshPeer peer = new MeshPeer(address, clientBootstrap, settings, dropped, handshake);
+            if (peers.putIfAbsent(address, peer) == null) {
+                log.info("SSE mesh peer discovered: {}", address);
+                peer.connect();
+            }
+        }
+        peers.values().removeIf(peer -> {
+            if (found.contains(peer.address())) return false;
+            log.info("SSE mesh peer removed: {}", peer.address());
+            peer.close();
+            return true;
+        });
+    }
+
+    private boolean isSelf(InetSocketAddress address) {
+        if (address.getPort() != localAddress.getPort() || address.getAddress() == null) return false;
+        InetAddress host = address.getAddress();
+        if (host.isLoopbackAddress() || host.isAnyLocalAddress()) return true;
+        try {
+            return NetworkInterface.getByInetAddress(host) != null;
+        } catch (SocketException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void publish(SseBridgeMessage message) {
+        byte[] frame;
+        try {
+            frame = codec.encode(message);
+        } catch (Exception e) {
+            log.warn("Failed to serialize bridge message for topic {}: {}", message.topic(), e.getMessage());
+            return;
+        }
+        send(frame);
+    }
+
+    /**
+     * Queue the message for every peer; completes once it is queued, not when peers received it.
+     */
+    @Override
+    public Mono<Void> publishAsync(SseBridgeMessage message) {
+        return Mono.fromRunnable(() -> send(codec.encode(message)));
+    }
+
+    /**
+     * Queue the batch as one frame for every peer.
+     */
+    @Override
+    public Mono<Void> publishBatch(SseBridgeBatch batch) {
+        return Mono.fromRunnable(() -> send(codec.encode(batch)));
+    }
+
+    private void send(byte[] frame) {
+        for (MeshPeer peer : peers.values()) {
+            if (!peer.offer(frame) && log.isDebugEnabled()) {
+                log.debug("SSE mesh queue full, dropping frame for peer {}", peer.address());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(SseBroadcastListener listener) {
+        this.listener = listener;
+        log.debug("SseBroadcastListener registered on MeshBroadcastBridge");
+    }
+
+    @Override
+    public void close() {
+        log.info("MeshBroadcastBridge closing: instanceId={}", instanceId);
+        this.listener = null;
+        discovering.dispose();
+        peers.values().forEach(MeshPeer::close);
+        peers.clear();
+        server.close().awaitUninterruptibly();
+        inbound.close().awaitUninterruptibly();
+        group.shutdownGracefully(0, 2, TimeUnit.SECONDS).awaitUninterruptibly();
+    }
+
+    /**
+     * Process a decoded frame from a peer, delivering its messages in order. Self-originated
+     * batches are skipped as a whole.
+     */
+    void handleIncoming(SseBridgeBatch batch) {
+        SseBroadcastListener current = listener;
+        if (current == null || instanceId.equals(batch.originInstanceId())) return;
+        for (SseBridgeMessage message : batch.messages()) {
+            if (instanceId.equals(message.originInstanceId())) continue;
+            try {
+                current.onRemoteEvent(message);
+                if (log.isDebugEnabled()) {
+                    log.debug("Delivered remote bridge event: topic={} from={}",
+                            message.topic(), message.originInstanceId());
+                }
+            } catch (Throwable t) {
+                log.warn("Error processing remote mesh bridge event for topic {}: {}",
+                        message.topic(), t.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Peers from {@code mesh.peers} and the addresses of {@code mesh.dns-name}. Unresolvable
+     * entries are skipped until a later refresh resolves them.
+     */
+    static Set<InetSocketAddress> configuredPeers(MeshBridgeProperties settings) {
+        Set<InetSocketAddress> found = new LinkedHashSet<>();
+        for (String peer : settings.getPeers()) {
+            int colon = peer.lastIndexOf(':');
+            String host = colon > 0 ? peer.substring(0, colon).trim() : peer.trim();
+            int port = colon > 0 ? Integer.parseInt(peer.substring(colon + 1).trim()) : settings.getPort();
+            InetSocketAddress address = new InetSocketAddress(host, port);
+            if (address.isUnresolved()) {
+                log.debug("SSE mesh peer {} does not resolve yet", peer);
+            } else {
+                found.add(address);
+            }
+        }
+        String dnsName = settings.getDnsName();
+        if (dnsName != null && !dnsName.isBlank()) {
+            try {
+                for (InetAddress address : InetAddress.getAllByName(dnsName)) {
+                    found.add(new InetSocketAddress(address, settings.getPort()));
+                }
+            } catch (UnknownHostException e) {
+                log.debug("SSE mesh DNS name {} does not resolve: {}", dnsName, e.getMessage());
+            }
+        }
+        return found;
+    }
+
+    /** Decodes frames from an inbound peer connection. */
+    private final class Inbound extends SimpleChannelInboundHandler<ByteBuf> {
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            SseBridgeBatch batch;
+            try {
+                batch = codec.decode(ByteBufUtil.getBytes(frame));
+            } catch (Exception e) {
+                log.warn("Failed to decode mesh bridge frame from {}: {}", ctx.channel().remoteAddress(), e.getMessage());
+                return;
+            }
+            handleIncoming(batch);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("Mesh connection from {} failed: {}", ctx.channel().remoteAddress(), cause.getMessage());
+            ctx.close();
+        }
+    }
+}
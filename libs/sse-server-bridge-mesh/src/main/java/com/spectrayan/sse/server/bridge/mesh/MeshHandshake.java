@@ -0,0 +1,183 @@
+package com.spectrayan.sse.server.bridge.mesh;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.util.ReferenceCountUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Authenticates mesh connections in both directions with the shared secret ({@code mesh.shared-secret}).
+ * <p>
+ * The listener sends every accepted connection a random challenge. The connecting peer answers with the
+ * HMAC-SHA256 of that challenge keyed by the secret, followed by a random challenge of its own, which the
+ * listener answers in turn. The listener reads frames only after a correct answer, and the connecting peer
+ * sends frames only after the listener proved the secret too, so events never reach an impostor listener.
+ * Each side's answer covers its role, so neither can be replayed as the other's. A connection whose answer does
+ * not match, or that does not complete the exchange within the connect timeout, is closed. The secret itself
+ * never crosses the wire.
+ */
+final class MeshHandshake {
+
+    private static final Logger log = LoggerFactory.getLogger(MeshHandshake.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int CHALLENGE_LENGTH = 32;
+    private static final int ANSWER_LENGTH = 32;
+    private static final byte LISTENER = 'L';
+    private static final byte CONNECTOR = 'C';
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKeySpec key;
+    private final long timeoutNanos;
+
+    private MeshHandshake(String secret, Duration timeout) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * @return the handshake for {@code secret}, or {@code null} when no secret is configured
+     */
+    static MeshHandshake of(String secret, Duration timeout) {
+        return secret == null || secret.isEmpty() ? null : new MeshHandshake(secret, timeout);
+    }
+
+    /** The answer of the side playing {@code role} to {@code challenge}. */
+    private byte[] respond(byte role, byte[] challenge) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(role);
+            return mac.doFinal(challenge);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * @return the handler challenging a connection accepted by the listener; removes itself once it answered the
+     *         connecting peer's challenge
+     */
+    ChannelHandler listener() {
+        return new Challenger();
+    }
+
+    /**
+     * Handlers answering the listener's challenge on an outbound connection and challenging the listener. They
+     * remove themselves once the listener answered correctly and pass the channel to {@code authenticated}.
+     */
+    ChannelHandler[] connector(Consumer<Channel> authenticated) {
+        Responder responder = new Responder(authenticated);
+        return new ChannelHandler[]{responder.decoder, responder};
+    }
+
+    private void closeUnlessDone(ChannelHandlerContext ctx, ChannelHandler handler, String side) {
+        ctx.executor().schedule(() -> {
+            if (ctx.channel().isActive() && ctx.pipeline().context(handler) != null) {
+                log.warn("Mesh {} {}: handshake not completed within {}ms", side, ctx.channel().remoteAddress(),
+                        TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+                ctx.close();
+            }
+        }, timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Challenges an inbound connection, answers its challenge once it answered correctly, and then lets its
+     * frames through.
+     */
+    private final class Challenger extends ChannelInboundHandlerAdapter {
+
+        private final byte[] challenge = new byte[CHALLENGE_LENGTH];
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            RANDOM.nextBytes(challenge);
+            ctx.writeAndFlush(Unpooled.wrappedBuffer(challenge));
+            closeUnlessDone(ctx, this, "connection from");
+            ctx.fireChannelActive();
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (!ctx.channel().isActive()) {
+                // Frames decoded after a failed answer
+                ReferenceCountUtil.release(msg);
+                return;
+            }
+            byte[] reply;
+            try {
+                reply = ByteBufUtil.getBytes((ByteBuf) msg);
+            } finally {
+                ReferenceCountUtil.release(msg);
+            }
+            boolean authenticated = reply.length == ANSWER_LENGTH + CHALLENGE_LENGTH && MessageDigest.isEqual(
+                    respond(CONNECTOR, challenge), Arrays.copyOf(reply, ANSWER_LENGTH));
+            if (authenticated) {
+                byte[] theirs = Arrays.copyOfRange(reply, ANSWER_LENGTH, reply.length);
+                ctx.writeAndFlush(Unpooled.wrappedBuffer(respond(LISTENER, theirs)));
+                ctx.pipeline().remove(this);
+            } else {
+                log.warn("Mesh connection from {} rejected: authentication failed", ctx.channel().remoteAddress());
+                ctx.close();
+            }
+        }
+    }
+
+    /** Answers the challenge sent by the peer's listener, then checks the listener's answer to its own. */
+    private final class Responder extends SimpleChannelInboundHandler<ByteBuf> {
+
+        private final LengthFieldBasedFrameDecoder decoder =
+                new LengthFieldBasedFrameDecoder(Math.max(CHALLENGE_LENGTH, ANSWER_LENGTH) + 4, 0, 4, 0, 4);
+        private final Consumer<Channel> authenticated;
+        // set once the listener's challenge was answered
+        private byte[] challenge;
+
+        Responder(Consumer<Channel> authenticated) {
+            this.authenticated = authenticated;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            closeUnlessDone(ctx, this, "peer");
+            ctx.fireChannelActive();
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            if (challenge == null) {
+                challenge = new byte[CHALLENGE_LENGTH];
+                RANDOM.nextBytes(challenge);
+                ctx.writeAndFlush(Unpooled.wrappedBuffer(
+                        respond(CONNECTOR, ByteBufUtil.getBytes(frame)), challenge));
+                return;
+            }
+            if (!MessageDigest.isEqual(respond(LISTENER, challenge), ByteBufUtil.getBytes(frame))) {
+                log.warn("Mesh peer {} rejected: its listener failed authentication", ctx.channel().remoteAddress());
+                ctx.close();
+                return;
+            }
+            ctx.pipeline().remove(decoder);
+            ctx.pipeline().remove(this);
+            authenticated.accept(ctx.channel());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.spectrayan.sse.server.bridge.mesh;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.handler.codec.LengthFieldPrepender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound connection to one peer of the mesh.
+ * <p>
+ * Frames are queued (bounded by the queue capacity) and written from the connection's event loop,
+ * as many as the socket accepts, with one flush per drain — frames published in a burst go out in
+ * few syscalls. While the peer is disconnected frames stay queued and the connection is retried
+ * with exponential backoff; once the queue is full further frames for the peer are dropped.
+ * <p>
+ * With a shared secret, frames are written only after the peer's listener challenge was answered.
+ */
+final class MeshPeer {
+
+    private static final Logger log = LoggerFactory.getLogger(MeshPeer.class);
+
+    private final InetSocketAddress address;
+    private final Bootstrap bootstrap;
+    private final int capacity;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final LongAdder dropped;
+    private final boolean handshaking;
+    private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private volatile Channel channel;
+    private volatile boolean closed;
+    // only touched from connect and handshake callbacks, which never overlap
+    private long backoffNanos;
+
+    MeshPeer(InetSocketAddress address, Bootstrap base, MeshBridgeProperties settings, LongAdder dropped,
+             MeshHandshake handshake) {
+        this.address = address;
+        this.capacity = Math.max(1, settings.getQueueCapacity());
+        this.initialBackoffNanos = settings.getReconnectBackoff().toNanos();
+        this.maxBackoffNanos = settings.getMaxReconnectBackoff().toNanos();
+        this.backoffNanos = initialBackoffNanos;
+        this.dropped = dropped;
+        this.handshaking = handshake != null;
+        this.bootstrap = base.clone().handler(new ChannelInitializer<>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ch.pipeline().addLast(new LengthFieldPrepender(4));
+                if (handshake != null) ch.pipeline().addLast(handshake.connector(MeshPeer.this::ready));
+                ch.pipeline().addLast(new Writability());
+            }
+        });
+    }
+
+    InetSocketAddress address() {
+        return address;
+    }
+
+    boolean isConnected() {
+        Channel current = channel;
+        return current != null && current.isActive();
+    }
+
+    /**
+     * Queue a frame for the peer.
+     *
+     * @return {@code false} when the queue is full and the frame was dropped
+     */
+    boolean offer(byte[] frame) {
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.offer(frame);
+        scheduleDrain();
+        return true;
+    }
+
+    void connect() {
+        if (closed) return;
+        bootstrap.connect(address).addListener((ChannelFutureListener) this::connected);
+    }
+
+    private void connected(ChannelFuture future) {
+        if (!future.isSuccess()) {
+            log.debug("Mesh peer {} unreachable: {}", address, future.cause() != null ? future.cause().getMessage() : "");
+            reconnectLater(future.channel());
+            return;
+        }
+        Channel ch = future.channel();
+        if (closed) {
+            ch.close();
+            return;
+        }
+        ch.closeFuture().addListener(closedFuture -> {
+            channel = null;
+            if (!closed) {
+                log.info("Mesh peer disconnected: {} (queued frames={})", address, queued.get());
+                reconnectLater(ch);
+            }
+        });
+        if (!handshaking) ready(ch);
+    }
+
+    /** Start writing to {@code ch}: once connected, or once the handshake is answered. */
+    private void ready(Channel ch) {
+        if (closed || !ch.isActive()) return;
+        backoffNanos = initialBackoffNanos;
+        channel = ch;
+        log.info("Mesh peer connected: {}", address);
+        scheduleDrain();
+    }
+
+    private void reconnectLater(Channel ch) {
+        if (closed) return;
+        long delay = backoffNanos;
+        backoffNanos = Math.min(backoffNanos * 2, maxBackoffNanos);
+        ch.eventLoop().schedule(this::connect, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void scheduleDrain() {
+        Channel ch = channel;
+        if (ch != null && ch.isActive() && drainScheduled.compareAndSet(false, true)) {
+            ch.eventLoop().execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        Channel ch = channel;
+        if (ch == null || !ch.isActive()) return;
+        boolean written = false;
+        byte[] frame;
+        while (ch.isWritable() && (frame = queue.poll()) != null) {
+            queued.decrementAndGet();
+            ch.write(Unpooled.wrappedBuffer(frame), ch.voidPromise());
+            written = true;
+        }
+        if (written) ch.flush();
+        if (!queue.isEmpty() && ch.isWritable()) scheduleDrain();
+    }
+
+    void close() {
+        closed = true;
+        Channel ch = channel;
+        if (ch != null) ch.close();
+        queue.clear();
+        queued.set(0);
+    }
+
+    /** Resumes draining once the socket accepts writes again; closes the connection on errors. */
+    private final class Writability extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+            if (ctx.channel().isWritable()) scheduleDrain();
+            ctx.fireChannelWritabilityChanged();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("Mesh peer {} connection error: {}", address, cause.getMessage());
+            ctx.close();
+        }
+    }
+}
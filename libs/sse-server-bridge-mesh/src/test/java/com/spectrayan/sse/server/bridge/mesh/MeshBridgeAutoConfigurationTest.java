@@ -0,0 +1,47 @@
+package com.spectrayan.sse.server.bridge.mesh;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.metrics.SseMetrics;
+import com.spectrayan.sse.server.topic.TopicRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that verify the auto-configuration creates the mesh bridge and exports its metrics.
+ */
+class MeshBridgeAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MeshBridgeAutoConfiguration.class))
+            .withBean(SseServerProperties.class)
+            .withPropertyValues("spectrayan.sse.server.bridge.mesh.port=0");
+
+    @Test
+    void bridgeListensOnLoopbackByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(MeshBroadcastBridge.class);
+            assertThat(context.getBean(MeshBroadcastBridge.class).localAddress().getAddress().isLoopbackAddress())
+                    .isTrue();
+        });
+    }
+
+    @Test
+    void droppedFramesAreExportedThroughTheSseMetrics() {
+        MeterRegistry meters = new SimpleMeterRegistry();
+        contextRunner
+                .withBean(SseMetrics.class, () -> new SseMetrics(meters, (Supplier<TopicRegistry>) () -> null,
+                        new SseServerProperties()))
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(meters.get("sse.bridge.frames.dropped").tag("bridge", "mesh").functionCounter().count())
+                            .isZero();
+                });
+    }
+}
@@ -0,0 +1,243 @@
+package com.spectrayan.sse.server.bridge.mesh;
+
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MeshBroadcastBridge} running several mesh nodes on localhost.
+ */
+class MeshBroadcastBridgeTest {
+
+    private final Set<InetSocketAddress> members = ConcurrentHashMap.newKeySet();
+    private final List<MeshBroadcastBridge> nodes = new ArrayList<>();
+
+    @AfterEach
+    void closeNodes() {
+        nodes.forEach(MeshBroadcastBridge::close);
+    }
+
+    private static MeshBridgeProperties settings(int port) {
+        MeshBridgeProperties settings = new MeshBridgeProperties();
+        settings.setBindAddress("127.0.0.1");
+        settings.setPort(port);
+        settings.setDiscoveryInterval(Duration.ofMillis(50));
+        settings.setReconnectBackoff(Duration.ofMillis(20));
+        settings.setMaxReconnectBackoff(Duration.ofMillis(100));
+        settings.setIoThreads(1);
+        return settings;
+    }
+
+    private static MeshBridgeProperties secured(MeshBridgeProperties settings, String secret) {
+        settings.setSharedSecret(secret);
+        return settings;
+    }
+
+    private MeshBroadcastBridge node(String instanceId, MeshBridgeProperties settings) {
+        MeshBroadcastBridge node = new MeshBroadcastBridge(new BinarySseBridgeCodec(), instanceId, settings,
+                () -> Set.copyOf(members));
+        members.add(new InetSocketAddress("127.0.0.1", node.localAddress().getPort()));
+        nodes.add(node);
+        return node;
+    }
+
+    private static SseBridgeMessage message(String origin, String id) {
+        return new SseBridgeMessage(origin, "t", "evt", "data-" + id, id, 1_000L);
+    }
+
+    @Test
+    void messagesReachEveryOtherNodeInOneHopButNotTheirOrigin() throws InterruptedException {
+        var a = node("a", settings(0));
+        var b = node("b", settings(0));
+        var c = node("c", settings(0));
+        List<SseBridgeMessage> receivedA = new CopyOnWriteArrayList<>();
+        List<SseBridgeMessage> receivedB = new CopyOnWriteArrayList<>();
+        List<SseBridgeMessage> receivedC = new CopyOnWriteArrayList<>();
+        a.subscribe(receivedA::add);
+        b.subscribe(receivedB::add);
+        c.subscribe(receivedC::add);
+        awaitTrue(() -> a.connectedPeers() == 2 && b.connectedPeers() == 2 && c.connectedPeers() == 2);
+
+        a.publish(message("a", "1"));
+        a.publishBatch(new SseBridgeBatch("a", List.of(message("a", "2"), message("a", "3")))).block();
+        c.publishAsync(message("c", "x")).block();
+
+        awaitTrue(() -> receivedB.size() == 4 && receivedC.size() == 3 && receivedA.size() == 1);
+        assertEquals(List.of("1", "2", "3"), receivedC.stream().map(SseBridgeMessage::id).toList());
+        assertEquals(Set.of("1", "2", "3", "x"), Set.copyOf(receivedB.stream().map(SseBridgeMessage::id).toList()));
+        assertEquals("x", receivedA.getFirst().id());
+        assertEquals("data-1", receivedC.getFirst().payload());
+    }
+
+    @Test
+    void queuedFramesAreDeliveredAfterThePeerComesBack() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        var a = node("a", settings(0));
+        var b = node("b", settings(port));
+        awaitTrue(() -> a.connectedPeers() == 1);
+
+        b.close();
+        nodes.remove(b);
+        awaitTrue(() -> a.connectedPeers() == 0);
+        for (int i = 1; i <= 3; i++) {
+            a.publish(message("a", String.valueOf(i)));
+        }
+
+        List<SseBridgeMessage> received = new CopyOnWriteArrayList<>();
+        var restarted = node("b", settings(port));
+        restarted.subscribe(received::add);
+        awaitTrue(() -> received.size() == 3);
+        assertEquals(List.of("1", "2", "3"), received.stream().map(SseBridgeMessage::id).toList());
+    }
+
+    @Test
+    void framesBeyondThePeerQueueCapacityAreDropped() throws Exception {
+        int unreachable;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            unreachable = probe.getLocalPort();
+        }
+        MeshBridgeProperties settings = settings(0);
+        settings.setQueueCapacity(2);
+        var a = node("a", settings);
+        members.add(new InetSocketAddress("127.0.0.1", unreachable));
+        // Let discovery pick up the unreachable peer
+        Thread.sleep(150);
+
+        for (int i = 1; i <= 5; i++) {
+            a.publish(message("a", String.valueOf(i)));
+        }
+
+        assertEquals(3, a.droppedFrames());
+    }
+
+    @Test
+    void peersSharingTheSecretAuthenticateTheirConnections() throws InterruptedException {
+        var a = node("a", secured(settings(0), "s3cret"));
+        var b = node("b", secured(settings(0), "s3cret"));
+        List<String> received = new CopyOnWriteArrayList<>();
+        b.subscribe(m -> received.add(m.id()));
+        awaitTrue(() -> a.connectedPeers() == 1);
+
+        a.publish(message("a", "1"));
+
+        awaitTrue(() -> received.equals(List.of("1")));
+    }
+
+    @Test
+    void framesFromConnectionsWithoutTheSecretAreRejected() throws InterruptedException {
+        var a = node("a", secured(settings(0), "s3cret"));
+        var intruder = node("intruder", settings(0));
+        List<String> received = new CopyOnWriteArrayList<>();
+        a.subscribe(m -> received.add(m.id()));
+
+        long deadline = System.currentTimeMillis() + 500;
+        for (int i = 0; System.currentTimeMillis() < deadline; i++) {
+            intruder.publish(message("intruder", Integer.toString(i)));
+            Thread.sleep(10);
+        }
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void nothingIsSentToAListenerThatCannotProveTheSecret() throws Exception {
+        try (ServerSocket impostor = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            members.add(new InetSocketAddress("127.0.0.1", impostor.getLocalPort()));
+            MeshBridgeProperties settings = secured(settings(0), "s3cret");
+            settings.setConnectTimeout(Duration.ofMillis(300));
+            var a = node("a", settings);
+            a.publish(message("a", "1"));
+
+            try (Socket connection = impostor.accept()) {
+                connection.setSoTimeout(5_000);
+                DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+                out.writeInt(32);
+                out.write(new byte[32]);
+                out.flush();
+                // The peer answers and challenges back, then gives up on the listener's silence
+                byte[] received = connection.getInputStream().readAllBytes();
+                assertEquals(4 + 32 + 32, received.length);
+            }
+            assertEquals(0, a.connectedPeers());
+        }
+    }
+
+    @Test
+    void peersAreRediscoveredOffTheIoThreads() throws InterruptedException {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        var a = new MeshBroadcastBridge(new BinarySseBridgeCodec(), "a", settings(0), () -> {
+            threads.add(Thread.currentThread().getName());
+            return Set.of();
+        });
+        nodes.add(a);
+
+        awaitTrue(() -> threads.size() >= 3);
+        assertTrue(threads.stream().skip(1).noneMatch(name -> name.startsWith("sse-mesh")), threads::toString);
+    }
+
+    @Test
+    void staticPeersAndTheirPortsAreParsed() {
+        MeshBridgeProperties settings = settings(7470);
+        settings.setPeers(List.of("127.0.0.1:7471", "localhost"));
+
+        Set<InetSocketAddress> peers = MeshBroadcastBridge.configuredPeers(settings);
+
+        assertTrue(peers.contains(new InetSocketAddress("127.0.0.1", 7471)));
+        assertTrue(peers.stream().anyMatch(peer -> peer.getPort() == 7470));
+    }
+
+    @Test
+    void crossNodeLatencyIsOneHop() throws InterruptedException {
+        var a = node("a", settings(0));
+        var b = node("b", settings(0));
+        int rounds = 2_000;
+        List<Long> latencies = new CopyOnWriteArrayList<>();
+        b.subscribe(message -> latencies.add(System.nanoTime() - Long.parseLong(message.id())));
+        awaitTrue(() -> a.connectedPeers() == 1);
+
+        // Warm up class loading and JIT, then measure messages sent one at a time
+        for (int phase = 0; phase < 2; phase++) {
+            latencies.clear();
+            for (int i = 0; i < rounds; i++) {
+                int expected = i + 1;
+                a.publish(new SseBridgeMessage("a", "t", null, "tick", Long.toString(System.nanoTime()), 0L));
+                long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (latencies.size() < expected) {
+                    if (System.nanoTime() > deadline) fail("Message " + expected + " not delivered within 5s");
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        assertTrue(sorted[rounds / 2] < Duration.ofMillis(50).toNanos());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("Condition not met within 5s");
+            Thread.sleep(5);
+        }
+    }
+}
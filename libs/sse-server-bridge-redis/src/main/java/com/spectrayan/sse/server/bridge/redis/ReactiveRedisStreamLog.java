@@ -0,0 +1,90 @@
+package com.spectrayan.sse.server.bridge.redis;
+
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveStreamCommands.AddStreamRecord;
+import org.springframework.data.redis.connection.stream.ByteBufferRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RedisStreamLog} on one reactive connection. Appends go out as a single {@code XADD}
+ * command stream, which the driver pipelines; blocking reads run on the driver's dedicated
+ * connection, so they do not hold up appends.
+ */
+class ReactiveRedisStreamLog implements RedisStreamLog {
+
+    private static final ByteBuffer FIELD = ByteBuffer.wrap("f".getBytes(StandardCharsets.UTF_8));
+
+    private final ReactiveRedisConnection connection;
+    private final long maxLength;
+
+    ReactiveRedisStreamLog(ReactiveRedisConnectionFactory connectionFactory, long maxLength) {
+        this.connection = connectionFactory.getReactiveConnection();
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public Mono<Void> append(String key, List<byte[]> frames) {
+        ByteBuffer stream = buffer(key);
+        return connection.streamCommands()
+                .xAdd(Flux.fromIterable(frames)
+                        .map(frame -> AddStreamRecord.of(StreamRecords.rawBuffer(Map.of(FIELD.duplicate(),
+                                        ByteBuffer.wrap(frame))).withStreamKey(stream.duplicate()))
+                                .maxlen(maxLength)
+                                .approximateTrimming(true)))
+                .then();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Flux<Entry> read(Map<String, String> offsets, int count, Duration block) {
+        StreamOffset<ByteBuffer>[] streams = offsets.entrySet().stream()
+                .map(offset -> StreamOffset.create(buffer(offset.getKey()), ReadOffset.from(offset.getValue())))
+                .toArray(StreamOffset[]::new);
+        return connection.streamCommands()
+                .xRead(StreamReadOptions.empty().count(count).block(block), streams)
+                .map(ReactiveRedisStreamLog::entry);
+    }
+
+    @Override
+    public Mono<String> lastId(String key) {
+        return latest(key, 1).next().map(Entry::id).defaultIfEmpty("0-0");
+    }
+
+    @Override
+    public Flux<Entry> latest(String key, int count) {
+        return connection.streamCommands()
+                .xRevRange(buffer(key), Range.unbounded(), Limit.limit().count(count))
+                .map(ReactiveRedisStreamLog::entry);
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+    }
+
+    private static Entry entry(ByteBufferRecord record) {
+        ByteBuffer value = record.getValue().get(FIELD);
+        byte[] frame = new byte[value != null ? value.remaining() : 0];
+        if (value != null) value.duplicate().get(frame);
+        return new Entry(StandardCharsets.UTF_8.decode(record.getStream().duplicate()).toString(),
+                record.getId().getValue(), frame);
+    }
+
+    private static ByteBuffer buffer(String key) {
+        return ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,9 @@
 package com.spectrayan.sse.server.bridge.redis;
 
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
 import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
 import com.spectrayan.sse.server.config.SseServerProperties;
 import org.slf4j.Logger;
@@ -8,9 +12,15 @@ import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
-import tools.jackson.databind.json.JsonMapper;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.util.UUID;
 
@@ -33,6 +43,9 @@ import java.util.UUID;
  * spectrayan.sse.server.bridge.enabled=true          # default
  * spectrayan.sse.server.bridge.channel-name=sse-broadcast
  * spectrayan.sse.server.bridge.instance-id=           # auto UUID
+ * spectrayan.sse.server.bridge.codec=BINARY           # or JSON (2.0.x wire format)
+ * spectrayan.sse.server.bridge.routing.mode=BROADCAST # or TOPIC / SHARDED (interest routing)
+ * spectrayan.sse.server.bridge.redis.transport=PUBSUB # or STREAMS (durable, with catch-up and replay)
  * }</pre>
  *
  * @since 2.0.0
@@ -41,31 +54,81 @@ import java.util.UUID;
 @ConditionalOnClass(ReactiveStringRedisTemplate.class)
 @ConditionalOnProperty(prefix = "spectrayan.sse.server.bridge",
         name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RedisBridgeProperties.class)
 public class RedisBridgeAutoConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(RedisBridgeAutoConfiguration.class);
 
+    /**
+     * Listener container sharing one Redis connection across the bridge's channel subscriptions.
+     *
+     * @since 2.1.0
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "sseBridgeListenerContainer")
+    @ConditionalOnProperty(prefix = "spectrayan.sse.server.bridge.redis",
+            name = "transport", havingValue = "PUBSUB", matchIfMissing = true)
+    public ReactiveRedisMessageListenerContainer sseBridgeListenerContainer(
+            ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveRedisMessageListenerContainer(connectionFactory);
+    }
+
     /**
      * The Redis Pub/Sub–backed broadcast bridge bean.
      * <p>
      * Replaces the {@code NoOpBroadcastBridge} from {@code sse-server} core
      * because the core registers its default with {@code @ConditionalOnMissingBean}.
+     * Frames are published as raw bytes in the format of the {@link SseBridgeCodec} bean.
      */
     @Bean
     @ConditionalOnMissingBean(SseBroadcastBridge.class)
+    @ConditionalOnProperty(prefix = "spectrayan.sse.server.bridge.redis",
+            name = "transport", havingValue = "PUBSUB", matchIfMissing = true)
     public RedisBroadcastBridge sseBroadcastBridge(
-            ReactiveStringRedisTemplate redisTemplate,
+            ReactiveRedisConnectionFactory connectionFactory,
+            ReactiveRedisMessageListenerContainer sseBridgeListenerContainer,
+            ObjectProvider<SseBridgeCodec> codec,
             SseServerProperties properties) {
 
         SseServerProperties.Bridge bridgeProps = properties.getBridge();
+        String instanceId = instanceId(bridgeProps);
+        ReactiveRedisTemplate<String, byte[]> redisTemplate = new ReactiveRedisTemplate<>(connectionFactory,
+                RedisSerializationContext.<String, byte[]>newSerializationContext(RedisSerializer.string())
+                        .value(RedisSerializer.byteArray())
+                        .build());
+
+        return new RedisBroadcastBridge(redisTemplate, sseBridgeListenerContainer,
+                codec.getIfAvailable(BinarySseBridgeCodec::new), new SseBridgeInterest(instanceId, bridgeProps),
+                new SseBridgeHealth("redis", bridgeProps.getResilience()));
+    }
+
+    /**
+     * The Redis Streams–backed broadcast bridge bean, used with
+     * {@code spectrayan.sse.server.bridge.redis.transport=STREAMS}.
+     *
+     * @since 2.1.0
+     */
+    @Bean
+    @ConditionalOnMissingBean(SseBroadcastBridge.class)
+    @ConditionalOnProperty(prefix = "spectrayan.sse.server.bridge.redis",
+            name = "transport", havingValue = "STREAMS")
+    public RedisStreamsBroadcastBridge sseStreamsBroadcastBridge(
+            ReactiveRedisConnectionFactory connectionFactory,
+            ObjectProvider<SseBridgeCodec> codec,
+            SseServerProperties properties,
+            RedisBridgeProperties redisProperties) {
+
+        SseServerProperties.Bridge bridgeProps = properties.getBridge();
+        return new RedisStreamsBroadcastBridge(connectionFactory, codec.getIfAvailable(BinarySseBridgeCodec::new),
+                new SseBridgeInterest(instanceId(bridgeProps), bridgeProps), redisProperties.getStreams());
+    }
+
+    private static String instanceId(SseServerProperties.Bridge bridgeProps) {
         String instanceId = bridgeProps.getInstanceId();
         if (instanceId == null || instanceId.isBlank()) {
             instanceId = UUID.randomUUID().toString().substring(0, 8);
             log.info("No bridge.instance-id configured; generated: {}", instanceId);
         }
-        String channelName = bridgeProps.getChannelName();
-        JsonMapper jsonMapper = JsonMapper.builder().build();
-
-        return new RedisBroadcastBridge(redisTemplate, jsonMapper, channelName, instanceId);
+        return instanceId;
     }
 }
@@ -0,0 +1,100 @@
+package com.spectrayan.sse.server.bridge.redis;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Redis-specific bridge settings ({@code spectrayan.sse.server.bridge.redis.*}). The channel name,
+ * instance id, codec and routing are configured under {@code spectrayan.sse.server.bridge}.
+ *
+ * @since 2.1.0
+ */
+@ConfigurationProperties(prefix = "spectrayan.sse.server.bridge.redis")
+public class RedisBridgeProperties {
+
+    /** How messages travel through Redis. */
+    private Transport transport = Transport.PUBSUB;
+    /** Settings of the {@code STREAMS} transport. */
+    private Streams streams = new Streams();
+
+    public enum Transport {
+        /** Fire-and-forget Pub/Sub channels ({@link RedisBroadcastBridge}). */
+        PUBSUB,
+        /** Durable streams read from a remembered offset ({@link RedisStreamsBroadcastBridge}). */
+        STREAMS
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public Streams getStreams() {
+        return streams;
+    }
+
+    public void setStreams(Streams streams) {
+        this.streams = streams;
+    }
+
+    /**
+     * Redis Streams transport: messages are appended with {@code XADD} to a stream named after the
+     * channel (or route), and every instance reads them with {@code XREAD} from the last entry it saw.
+     */
+    public static class Streams {
+        /** Entries kept per stream ({@code XADD MAXLEN ~}); bounds catch-up and replay history. */
+        private long maxLength = 10_000;
+        /** Maximum entries returned by one {@code XREAD}. */
+        private int readCount = 512;
+        /** How long one {@code XREAD} blocks waiting for new entries. */
+        private Duration pollTimeout = Duration.ofSeconds(1);
+        /** Delay before reading again after a failed {@code XREAD}; doubles per failure up to 30 seconds. */
+        private Duration retryBackoff = Duration.ofMillis(100);
+        /** Maximum entries scanned backwards to find a {@code Last-Event-ID}; 0 disables replay. */
+        private int replayScan = 1_000;
+
+        public long getMaxLength() {
+            return maxLength;
+        }
+
+        public void setMaxLength(long maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        public int getReadCount() {
+            return readCount;
+        }
+
+        public void setReadCount(int readCount) {
+            this.readCount = readCount;
+        }
+
+        public Duration getPollTimeout() {
+            return pollTimeout;
+        }
+
+        public void setPollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public int getReplayScan() {
+            return replayScan;
+        }
+
+        public void setReplayScan(int replayScan) {
+            this.replayScan = replayScan;
+        }
+    }
+}
@@ -1,25 +1,71 @@
 package com.spectrayan.sse.server.bridge.redis;
 
+import com.spectrayan.sse.server.bridge.JsonSseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
 import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
 import com.spectrayan.sse.server.bridge.SseBroadcastListener;
 import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.config.SseServerProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 /**
  * Redis Pub/Sub implementation of {@link SseBroadcastBridge}.
  * <p>
- * <b>Publishing</b>: Serializes {@link SseBridgeMessage} to JSON and publishes
- * to a Redis channel via {@link ReactiveStringRedisTemplate}.
+ * <b>Publishing</b>: Encodes {@link SseBridgeMessage} with the configured
+ * {@link SseBridgeCodec} (compact binary by default) and publishes it to a Redis
+ * channel.
+ * <p>
+ * <b>Batching</b>: {@link #publishBatch(SseBridgeBatch)} publishes a whole
+ * {@link SseBridgeBatch} as one frame (one {@code PUBLISH}).
  * <p>
  * <b>Receiving</b>: Uses reactive Redis Pub/Sub to listen on the same channel.
- * Incoming messages are deserialized and forwarded to the registered
- * {@link SseBroadcastListener}.
+ * Incoming frames are decoded and forwarded to the registered
+ * {@link SseBroadcastListener}; batches are unpacked in order.
+ * <p>
+ * <b>Interest routing</b>: with {@code bridge.routing.mode} {@code TOPIC} or {@code SHARDED},
+ * messages are published to the route channel of their topic (see {@link SseBridgeInterest}),
+ * which an instance subscribes to only while it serves a topic on it. Instances announce their
+ * routes on {@code <channel>:interest}, and messages of topics no other instance serves are
+ * not published at all.
+ * <p>
+ * <b>Cluster mode</b>: with {@code bridge.routing.ownership}, events of topics owned by another
+ * instance are forwarded to the owner's inbox channel ({@code <channel>:owner:<instanceId>}), and
+ * this instance receives the events forwarded to it on its own inbox. Closing the bridge announces
+ * the instance's departure so the others take over its topics at once.
+ * <p>
+ * <b>Resilience</b>: failed subscriptions are re-established with exponential backoff
+ * ({@code bridge.resilience.*}, see {@link SseBridgeHealth}), and count as re-established once
+ * Redis confirmed them. While Redis is unreachable the
+ * bridge answers {@link #hasRemoteInterest(String)} with {@code false} (and owns every topic in
+ * cluster mode), so the emitter delivers locally without publishing; every
+ * {@code open-duration} one publish or interest announcement probes Redis. When Redis answers
+ * again, a routed bridge re-announces its interest and asks the others for theirs. Messages
+ * published during the outage are not recovered, as with any Pub/Sub subscriber.
  * <p>
  * <b>Self-deduplication</b>: Each instance is identified by a unique
  * {@code instanceId}. Messages originating from this instance are filtered out
@@ -34,15 +80,23 @@ public class RedisBroadcastBridge implements SseBroadcastBridge {
 
     private static final Logger log = LoggerFactory.getLogger(RedisBroadcastBridge.class);
 
-    private final ReactiveStringRedisTemplate redisTemplate;
-    private final JsonMapper jsonMapper;
+    private final BiFunction<String, byte[], Mono<Long>> sender;
+    // Emits a channel's frames once Redis confirmed the subscription
+    private final Function<String, Mono<Flux<byte[]>>> receiver;
+    private final SseBridgeCodec codec;
+    private final SseBridgeInterest interest;
+    private final SseBridgeHealth health;
     private final String channel;
     private final String instanceId;
+    // route channel -> its subscription, with interest routing; guarded by this
+    private final Map<String, Disposable> routes = new HashMap<>();
     private volatile SseBroadcastListener listener;
     private volatile Disposable subscription;
+    private volatile Disposable refresh;
+    private volatile Disposable inbox;
 
     /**
-     * Create a new Redis Pub/Sub bridge.
+     * Create a new Redis Pub/Sub bridge exchanging JSON text (the 2.0.x wire format).
      *
      * @param redisTemplate reactive Redis template for Pub/Sub operations
      * @param jsonMapper    Jackson 3 mapper for serialization
@@ -53,45 +107,249 @@ public class RedisBroadcastBridge implements SseBroadcastBridge {
                                 JsonMapper jsonMapper,
                                 String channel,
                                 String instanceId) {
-        this.redisTemplate = redisTemplate;
-        this.jsonMapper = jsonMapper;
-        this.channel = channel;
-        this.instanceId = instanceId;
-        log.info("RedisBroadcastBridge initialized: instanceId={} channel={}", instanceId, channel);
-
-        startListening();
-    }
-
-    private void startListening() {
-        this.subscription = redisTemplate
-                .listenTo(ChannelTopic.of(channel))
-                .map(ReactiveSubscription.Message::getMessage)
-                .subscribe(json -> {
-                    try {
-                        SseBridgeMessage msg = jsonMapper.readValue(json, SseBridgeMessage.class);
-                        handleIncoming(msg);
-                    } catch (Exception e) {
-                        log.warn("Failed to deserialize Redis bridge message: {}", e.getMessage());
-                    }
-                }, error -> log.error("Redis Pub/Sub subscription error on channel {}: {}",
-                        channel, error.getMessage()));
-        log.info("Redis Pub/Sub subscription active on channel: {}", channel);
+        this((to, frame) -> redisTemplate.convertAndSend(to, new String(frame, StandardCharsets.UTF_8)),
+                from -> redisTemplate.listenToLater(ChannelTopic.of(from))
+                        .map(messages -> messages.map(message -> message.getMessage().getBytes(StandardCharsets.UTF_8))),
+                new JsonSseBridgeCodec(jsonMapper), SseBridgeInterest.broadcast(instanceId, channel));
+    }
+
+    /**
+     * Create a new Redis Pub/Sub bridge exchanging frames of the given codec.
+     *
+     * @param redisOperations reactive Redis operations with raw byte values for Pub/Sub
+     * @param codec           wire format of bridge messages
+     * @param channel         Redis channel name for the fan-out
+     * @param instanceId      unique id for this instance (for self-deduplication)
+     * @since 2.1.0
+     */
+    public RedisBroadcastBridge(ReactiveRedisOperations<String, byte[]> redisOperations,
+                                SseBridgeCodec codec,
+                                String channel,
+                                String instanceId) {
+        this(redisOperations::convertAndSend,
+                from -> redisOperations.listenToLater(ChannelTopic.of(from))
+                        .map(messages -> messages.map(ReactiveSubscription.Message::getMessage)),
+                codec, SseBridgeInterest.broadcast(instanceId, channel));
+    }
+
+    /**
+     * Create a new Redis Pub/Sub bridge that shares one subscription connection across its
+     * channels and routes messages by interest as configured in {@code interest}.
+     *
+     * @param redisOperations reactive Redis operations with raw byte values for publishing
+     * @param container       listener container for the subscriptions of this bridge
+     * @param codec           wire format of bridge messages
+     * @param interest        routing state carrying the channel name and this instance's id
+     * @since 2.1.0
+     */
+    public RedisBroadcastBridge(ReactiveRedisOperations<String, byte[]> redisOperations,
+                                ReactiveRedisMessageListenerContainer container,
+                                SseBridgeCodec codec,
+                                SseBridgeInterest interest) {
+        this(redisOperations, container, codec, interest, defaultHealth());
+    }
+
+    /**
+     * Create a new Redis Pub/Sub bridge that shares one subscription connection across its
+     * channels, routes messages by interest as configured in {@code interest} and falls back to
+     * local-only delivery as configured in {@code health}.
+     *
+     * @param redisOperations reactive Redis operations with raw byte values for publishing
+     * @param container       listener container for the subscriptions of this bridge
+     * @param codec           wire format of bridge messages
+     * @param interest        routing state carrying the channel name and this instance's id
+     * @param health          circuit breaker and resubscription policy
+     * @since 2.1.0
+     */
+    public RedisBroadcastBridge(ReactiveRedisOperations<String, byte[]> redisOperations,
+                                ReactiveRedisMessageListenerContainer container,
+                                SseBridgeCodec codec,
+                                SseBridgeInterest interest,
+                                SseBridgeHealth health) {
+        this(redisOperations::convertAndSend,
+                from -> container.receiveLater(List.of(ChannelTopic.of(from)),
+                                SerializationPair.fromSerializer(RedisSerializer.string()), SerializationPair.byteArray())
+                        .map(messages -> messages.map(ReactiveSubscription.Message::getMessage)),
+                codec, interest, health);
+    }
+
+    RedisBroadcastBridge(BiFunction<String, byte[], Mono<Long>> sender,
+                         Function<String, Mono<Flux<byte[]>>> receiver,
+                         SseBridgeCodec codec,
+                         SseBridgeInterest interest) {
+        this(sender, receiver, codec, interest, defaultHealth());
+    }
+
+    RedisBroadcastBridge(BiFunction<String, byte[], Mono<Long>> sender,
+                         Function<String, Mono<Flux<byte[]>>> receiver,
+                         SseBridgeCodec codec,
+                         SseBridgeInterest interest,
+                         SseBridgeHealth health) {
+        this.sender = sender;
+        this.receiver = receiver;
+        this.codec = codec;
+        this.interest = interest;
+        this.health = health;
+        this.channel = interest.channelName();
+        this.instanceId = interest.instanceId();
+        log.info("RedisBroadcastBridge initialized: instanceId={} channel={} codec={} routed={}",
+                instanceId, channel, codec.getClass().getSimpleName(), interest.isRouted());
+
+        if (interest.isRouted()) {
+            // Interest announced or expired during an outage is resynchronized in both directions
+            health.onRecovery(() -> announce(interest.syncRequest()));
+            startAnnouncing();
+            if (interest.isOwnership()) {
+                this.inbox = listen(interest.inbox(), this::handleForwarded);
+            }
+        } else {
+            this.subscription = listen(channel);
+        }
+    }
+
+    private static SseBridgeHealth defaultHealth() {
+        return new SseBridgeHealth("redis", new SseServerProperties.Bridge.Resilience());
+    }
+
+    private Disposable listen(String from) {
+        return listen(from, this::handleIncoming);
+    }
+
+    private Disposable listen(String from, Consumer<SseBridgeBatch> handler) {
+        return subscribe(from, frame -> {
+            try {
+                handler.accept(codec.decode(frame));
+            } catch (Exception e) {
+                log.warn("Failed to decode Redis bridge message: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Subscribe to a channel, resubscribing with backoff whenever the subscription fails or ends; only disposing
+     * it stops receiving. The subscription counts as re-established once Redis confirmed it, not when it is
+     * requested.
+     */
+    private Disposable subscribe(String from, Consumer<byte[]> onFrame) {
+        Disposable listening = Mono.defer(() -> receiver.apply(from))
+                .doOnNext(frames -> health.subscribed(from))
+                .flatMapMany(frames -> frames.concatWith(Flux.error(
+                        () -> new IllegalStateException("Redis ended the subscription to " + from))))
+                .retryWhen(health.resubscribe(from))
+                .subscribe(onFrame, error -> log.error("Redis Pub/Sub subscription error on channel {}: {}",
+                        from, error.getMessage()));
+        log.debug("Redis Pub/Sub subscription active on channel: {}", from);
+        return listening;
+    }
+
+    private void startAnnouncing() {
+        this.subscription = subscribe(interest.controlChannel(), frame -> {
+            try {
+                if (interest.receive(frame)) announce(interest.snapshot());
+            } catch (Exception e) {
+                log.warn("Failed to decode Redis bridge interest announcement: {}", e.getMessage());
+            }
+        });
+        announce(interest.syncRequest());
+        this.refresh = Flux.interval(interest.refreshInterval())
+                .subscribe(tick -> announce(interest.snapshot()));
+        log.info("Redis Pub/Sub interest routing active on channel: {}", interest.controlChannel());
+    }
+
+    /**
+     * Publish an interest announcement. Announcements are sent while the bridge delivers locally only,
+     * so the periodic snapshot also probes whether Redis is reachable again.
+     */
+    private void announce(byte[] announcement) {
+        send(interest.controlChannel(), announcement)
+                .subscribe(receivers -> { },
+                        error -> log.warn("Failed to announce bridge interest on channel {}: {}",
+                                interest.controlChannel(), error.getMessage()));
+    }
+
+    /**
+     * Subscribe to the topic's route channel when it is the first local topic on it.
+     */
+    @Override
+    public synchronized void topicActivated(String topic) {
+        if (!interest.activate(topic)) return;
+        String route = interest.route(topic);
+        routes.put(route, listen(route));
+        announce(interest.joined(route));
+    }
+
+    /**
+     * Unsubscribe from the topic's route channel when no other local topic uses it.
+     */
+    @Override
+    public synchronized void topicDeactivated(String topic) {
+        if (!interest.deactivate(topic)) return;
+        String route = interest.route(topic);
+        Disposable listening = routes.remove(route);
+        if (listening != null) listening.dispose();
+        health.unsubscribed(route);
+        announce(interest.left(route));
+    }
+
+    @Override
+    public SseBridgeInterest interest() {
+        return interest;
+    }
+
+    /**
+     * Whether another instance serves the topic; {@code false} while the bridge delivers locally only,
+     * except for the publish probing Redis.
+     */
+    @Override
+    public boolean hasRemoteInterest(String topic) {
+        return interest.hasRemoteInterest(topic) && health.allowRemote();
+    }
+
+    /**
+     * Whether this instance owns the topic in cluster mode; every topic while the bridge delivers
+     * locally only, so events are not forwarded to owners they cannot reach.
+     */
+    @Override
+    public boolean ownsTopic(String topic) {
+        return health.isLocalOnly() || interest.ownsTopic(topic);
+    }
+
+    /** @return the health of this bridge's connection to Redis */
+    @Override
+    public SseBridgeHealth health() {
+        return health;
+    }
+
+    /**
+     * Publish the event to the inbox channel of the topic's owner.
+     */
+    @Override
+    public void forward(SseBridgeMessage message) {
+        String to = interest.inbox(interest.owner(message.topic()));
+        try {
+            send(to, codec.encode(message))
+                    .subscribe(receivers -> {
+                        if (receivers == 0) log.debug("No owner listening on Redis channel={}", to);
+                    }, error -> log.warn("Failed to forward to Redis channel={}: {}", to, error.getMessage()));
+        } catch (Exception e) {
+            log.warn("Failed to serialize bridge message for topic {}: {}", message.topic(), e.getMessage());
+        }
     }
 
     @Override
     public void publish(SseBridgeMessage message) {
+        String to = interest.route(message.topic());
         try {
-            String json = jsonMapper.writeValueAsString(message);
-            redisTemplate.convertAndSend(channel, json)
+            send(to, codec.encode(message))
                     .subscribe(
                             receivers -> {
                                 if (log.isDebugEnabled()) {
                                     log.debug("Published to Redis channel={} receivers={} topic={}",
-                                            channel, receivers, message.topic());
+                                            to, receivers, message.topic());
                                 }
                             },
                             error -> log.warn("Failed to publish to Redis channel={}: {}",
-                                    channel, error.getMessage())
+                                    to, error.getMessage())
                     );
         } catch (Exception e) {
             log.warn("Failed to serialize bridge message for topic {}: {}",
@@ -99,6 +357,64 @@ public class RedisBroadcastBridge implements SseBroadcastBridge {
         }
     }
 
+    /**
+     * Publish and complete once Redis has accepted the message, so the async publish stage can bound
+     * in-flight requests and observe failures.
+     */
+    @Override
+    public Mono<Void> publishAsync(SseBridgeMessage message) {
+        if (health.state() == SseBridgeHealth.State.OPEN) return health.suspend(1);
+        String to = interest.route(message.topic());
+        return Mono.fromCallable(() -> codec.encode(message))
+                .flatMap(frame -> send(to, frame))
+                .doOnNext(receivers -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Published to Redis channel={} receivers={} topic={}",
+                                to, receivers, message.topic());
+                    }
+                })
+                .then();
+    }
+
+    /**
+     * Publish the batch as one frame in a single {@code PUBLISH}, or one frame per route
+     * channel (keeping the order within each) with interest routing.
+     */
+    @Override
+    public Mono<Void> publishBatch(SseBridgeBatch batch) {
+        if (health.state() == SseBridgeHealth.State.OPEN) return health.suspend(batch.messages().size());
+        if (!interest.isRouted()) {
+            return publishFrame(channel, batch);
+        }
+        Map<String, List<SseBridgeMessage>> byRoute = new LinkedHashMap<>();
+        for (SseBridgeMessage message : batch.messages()) {
+            byRoute.computeIfAbsent(interest.route(message.topic()), route -> new ArrayList<>()).add(message);
+        }
+        return Flux.fromIterable(byRoute.entrySet())
+                .concatMap(entry -> publishFrame(entry.getKey(),
+                        new SseBridgeBatch(batch.originInstanceId(), entry.getValue())))
+                .then();
+    }
+
+    private Mono<Void> publishFrame(String to, SseBridgeBatch batch) {
+        return Mono.fromCallable(() -> codec.encode(batch))
+                .flatMap(frame -> send(to, frame))
+                .doOnNext(receivers -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Published batch to Redis channel={} receivers={} messages={}",
+                                to, receivers, batch.messages().size());
+                    }
+                })
+                .then();
+    }
+
+    /** Send a frame, reporting the outcome to the circuit breaker. */
+    private Mono<Long> send(String to, byte[] frame) {
+        return sender.apply(to, frame)
+                .doOnSuccess(receivers -> health.recordSuccess())
+                .doOnError(health::recordFailure);
+    }
+
     @Override
     public void subscribe(SseBroadcastListener listener) {
         this.listener = listener;
@@ -108,12 +424,51 @@ public class RedisBroadcastBridge implements SseBroadcastBridge {
     @Override
     public void close() {
         log.info("RedisBroadcastBridge closing: instanceId={}", instanceId);
+        if (interest.isRouted()) announce(interest.farewell());
         if (subscription != null && !subscription.isDisposed()) {
             subscription.dispose();
         }
+        if (refresh != null) refresh.dispose();
+        if (inbox != null) inbox.dispose();
+        synchronized (this) {
+            routes.values().forEach(Disposable::dispose);
+            routes.clear();
+        }
         this.listener = null;
     }
 
+    /**
+     * Process a decoded frame from Redis Pub/Sub (a single message arrives as a batch
+     * of one), delivering its messages in order. Self-originated batches are skipped
+     * as a whole.
+     */
+    void handleIncoming(SseBridgeBatch batch) {
+        if (instanceId.equals(batch.originInstanceId())) {
+            log.trace("Skipping self-originated bridge batch: messages={}", batch.messages().size());
+            return;
+        }
+        for (SseBridgeMessage message : batch.messages()) {
+            handleIncoming(message);
+        }
+    }
+
+    /**
+     * Process a frame received on this instance's inbox in cluster mode: events other
+     * instances forwarded because this instance owns their topics.
+     */
+    void handleForwarded(SseBridgeBatch batch) {
+        SseBroadcastListener current = listener;
+        if (current == null) return;
+        for (SseBridgeMessage message : batch.messages()) {
+            try {
+                current.onForwardedEvent(message);
+            } catch (Throwable t) {
+                log.warn("Error processing forwarded Redis bridge event for topic {}: {}",
+                        message.topic(), t.getMessage());
+            }
+        }
+    }
+
     /**
      * Process an incoming message from Redis Pub/Sub.
      * Self-originated messages are filtered out by comparing instance ids.
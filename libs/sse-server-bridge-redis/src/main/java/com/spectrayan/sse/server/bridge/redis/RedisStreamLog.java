@@ -0,0 +1,53 @@
+package com.spectrayan.sse.server.bridge.redis;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Redis Streams commands used by {@link RedisStreamsBroadcastBridge}, so the bridge can run
+ * against an in-process stand-in in tests.
+ */
+interface RedisStreamLog {
+
+    /**
+     * Append frames to a stream as one entry each, pipelined, trimming the stream to its maximum length.
+     *
+     * @param key    stream key
+     * @param frames encoded bridge frames, in order
+     * @return completes once every entry was added
+     */
+    Mono<Void> append(String key, List<byte[]> frames);
+
+    /**
+     * Read entries after the given ids, blocking up to {@code block} when there are none.
+     *
+     * @param offsets stream key to the id of the last entry seen
+     * @param count   maximum entries returned
+     * @param block   maximum wait for new entries
+     * @return entries in stream order per key
+     */
+    Flux<Entry> read(Map<String, String> offsets, int count, Duration block);
+
+    /**
+     * @param key stream key
+     * @return id of the newest entry, or {@code 0-0} when the stream is empty
+     */
+    Mono<String> lastId(String key);
+
+    /**
+     * @param key   stream key
+     * @param count maximum entries returned
+     * @return the newest entries, newest first
+     */
+    Flux<Entry> latest(String key, int count);
+
+    /** Release connections held for reading. */
+    void close();
+
+    /** A stream entry carrying one encoded frame. */
+    record Entry(String key, String id, byte[] frame) { }
+}
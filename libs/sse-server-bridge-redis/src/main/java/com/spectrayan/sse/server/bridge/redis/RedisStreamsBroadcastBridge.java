@@ -0,0 +1,262 @@
+package com.spectrayan.sse.server.bridge.redis;
+
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Streams implementation of {@link SseBroadcastBridge}, selected with
+ * {@code spectrayan.sse.server.bridge.redis.transport=STREAMS}.
+ * <p>
+ * <b>Publishing</b>: Each {@link SseBridgeMessage} is encoded with the configured
+ * {@link SseBridgeCodec} and appended as one stream entry ({@code XADD ... MAXLEN ~ n})
+ * to the stream named after the channel, or after the topic's route with interest routing.
+ * <p>
+ * <b>Batching</b>: {@link #publishBatch(SseBridgeBatch)} appends one entry per message,
+ * pipelining the {@code XADD}s of a route instead of waiting for each reply.
+ * <p>
+ * <b>Receiving</b>: Every instance reads the streams it serves with {@code XREAD} from the id
+ * of the last entry it saw. Offsets are set to {@code $} (entries added from then on) when the
+ * bridge subscribes or a route is first served, and pinned to the stream's newest entry once Redis
+ * reports it, so a read blocked meanwhile and the reads after it miss nothing. Offsets are kept
+ * across failed reads, so after a connection hiccup the instance resumes exactly where it left off
+ * instead of losing what was published meanwhile.
+ * <p>
+ * <b>Replay</b>: {@link #replay(String, String)} looks up a client's {@code Last-Event-ID} among
+ * the newest entries of the topic's stream and returns the topic's events after it, so a client
+ * reconnecting to any instance catches up on events emitted anywhere in the cluster.
+ * <p>
+ * <b>Interest routing</b>: with {@code TOPIC} or {@code SHARDED} routing an instance reads only
+ * the route streams of topics it serves. Messages are still appended when no other instance
+ * serves the topic, since the stream is also the replay history.
+ * <p>
+ * <b>Self-deduplication</b>: entries originating from this instance are read but not delivered.
+ *
+ * @since 2.1.0
+ */
+public class RedisStreamsBroadcastBridge implements SseBroadcastBridge {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisStreamsBroadcastBridge.class);
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofSeconds(30);
+    /** {@code XREAD} offset of entries added after the read starts. */
+    static final String NEW_ENTRIES = "$";
+
+    private final RedisStreamLog streamLog;
+    private final SseBridgeCodec codec;
+    private final SseBridgeInterest interest;
+    private final RedisBridgeProperties.Streams settings;
+    private final String channel;
+    private final String instanceId;
+    // stream key -> id of the last entry read from it
+    private final Map<String, String> offsets = new ConcurrentHashMap<>();
+    private volatile SseBroadcastListener listener;
+    private volatile Disposable reader;
+
+    /**
+     * Create a new Redis Streams bridge.
+     *
+     * @param connectionFactory factory of the connection used for stream commands
+     * @param codec             wire format of stream entries
+     * @param interest          routing state carrying the channel name and this instance's id
+     * @param settings          stream length, read and replay settings
+     */
+    public RedisStreamsBroadcastBridge(ReactiveRedisConnectionFactory connectionFactory,
+                                       SseBridgeCodec codec,
+                                       SseBridgeInterest interest,
+                                       RedisBridgeProperties.Streams settings) {
+        this(new ReactiveRedisStreamLog(connectionFactory, settings.getMaxLength()), codec, interest, settings);
+    }
+
+    RedisStreamsBroadcastBridge(RedisStreamLog streamLog,
+                                SseBridgeCodec codec,
+                                SseBridgeInterest interest,
+                                RedisBridgeProperties.Streams settings) {
+        this.streamLog = streamLog;
+        this.codec = codec;
+        this.interest = interest;
+        this.settings = settings;
+        this.channel = interest.channelName();
+        this.instanceId = interest.instanceId();
+        log.info("RedisStreamsBroadcastBridge initialized: instanceId={} stream={} codec={} routed={} maxLength={}",
+                instanceId, channel, codec.getClass().getSimpleName(), interest.isRouted(), settings.getMaxLength());
+    }
+
+    /**
+     * Start reading the stream of the route, from the moment of activation, when it is the first local topic on it.
+     */
+    @Override
+    public void topicActivated(String topic) {
+        if (interest.activate(topic)) track(interest.route(topic));
+    }
+
+    /**
+     * Stop reading the stream of the route when no other local topic uses it.
+     */
+    @Override
+    public void topicDeactivated(String topic) {
+        if (interest.deactivate(topic)) offsets.remove(interest.route(topic));
+    }
+
+    /**
+     * Read the stream from now on: {@code $} right away, replaced by the newest entry's id when Redis reports it,
+     * unless an entry was read meanwhile. {@code $} alone would skip entries added between two reads.
+     */
+    private void track(String key) {
+        if (offsets.putIfAbsent(key, NEW_ENTRIES) != null) return;
+        streamLog.lastId(key).subscribe(id -> offsets.replace(key, NEW_ENTRIES, id),
+                error -> log.warn("Failed to read the last entry of Redis stream {}, reading entries added from now on: {}",
+                        key, error.getMessage()));
+    }
+
+    @Override
+    public void publish(SseBridgeMessage message) {
+        publishAsync(message).subscribe(null,
+                error -> log.warn("Failed to append to Redis stream={} topic={}: {}",
+                        interest.route(message.topic()), message.topic(), error.getMessage()));
+    }
+
+    /**
+     * Append the message and complete once Redis has accepted it.
+     */
+    @Override
+    public Mono<Void> publishAsync(SseBridgeMessage message) {
+        String to = interest.route(message.topic());
+        return Mono.fromCallable(() -> codec.encode(message))
+                .flatMap(frame -> streamLog.append(to, List.of(frame)))
+                .doOnSuccess(done -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Appended to Redis stream={} topic={}", to, message.topic());
+                    }
+                });
+    }
+
+    /**
+     * Append one entry per message with pipelined {@code XADD}s, keeping the order within each stream.
+     */
+    @Override
+    public Mono<Void> publishBatch(SseBridgeBatch batch) {
+        Map<String, List<byte[]>> byRoute = new LinkedHashMap<>();
+        for (SseBridgeMessage message : batch.messages()) {
+            byRoute.computeIfAbsent(interest.route(message.topic()), route -> new ArrayList<>())
+                    .add(codec.encode(message));
+        }
+        return Flux.fromIterable(byRoute.entrySet())
+                .flatMap(entry -> streamLog.append(entry.getKey(), entry.getValue())
+                        .doOnSuccess(done -> {
+                            if (log.isDebugEnabled()) {
+                                log.debug("Appended batch to Redis stream={} messages={}",
+                                        entry.getKey(), entry.getValue().size());
+                            }
+                        }))
+                .then();
+    }
+
+    /**
+     * Scan the newest {@code replay-scan} entries of the topic's stream for {@code lastEventId}.
+     */
+    @Override
+    public Flux<SseBridgeMessage> replay(String topic, String lastEventId) {
+        if (settings.getReplayScan() <= 0 || lastEventId == null) return Flux.empty();
+        return streamLog.latest(interest.route(topic), settings.getReplayScan())
+                .concatMapIterable(entry -> decode(entry).messages().reversed())
+                .filter(message -> topic.equals(message.topic()))
+                .takeUntil(message -> lastEventId.equals(message.id()))
+                .collectList()
+                .flatMapMany(newestFirst -> {
+                    if (newestFirst.isEmpty() || !lastEventId.equals(newestFirst.getLast().id())) {
+                        log.debug("Last-Event-ID {} not found in Redis stream for topic {}", lastEventId, topic);
+                        return Flux.empty();
+                    }
+                    return Flux.fromIterable(newestFirst.subList(0, newestFirst.size() - 1).reversed());
+                });
+    }
+
+    /**
+     * Register the listener and start reading: the shared stream, or the route streams of served topics.
+     */
+    @Override
+    public void subscribe(SseBroadcastListener listener) {
+        this.listener = listener;
+        if (!interest.isRouted()) track(channel);
+        this.reader = Flux.defer(this::readOnce)
+                .repeat()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, settings.getRetryBackoff())
+                        .maxBackoff(MAX_RETRY_BACKOFF)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Redis stream read failed, resuming from {}: {}",
+                                offsets, signal.failure().getMessage())))
+                .subscribe(this::onEntry);
+        log.debug("SseBroadcastListener registered on RedisStreamsBroadcastBridge");
+    }
+
+    private Flux<RedisStreamLog.Entry> readOnce() {
+        if (offsets.isEmpty()) {
+            return Mono.delay(settings.getPollTimeout()).thenMany(Flux.empty());
+        }
+        return streamLog.read(Map.copyOf(offsets), settings.getReadCount(), settings.getPollTimeout());
+    }
+
+    private void onEntry(RedisStreamLog.Entry entry) {
+        // Entries of a stream no longer served are dropped; it is re-read from its newest entry when served again
+        if (offsets.computeIfPresent(entry.key(), (key, previous) -> entry.id()) == null) return;
+        SseBridgeBatch batch;
+        try {
+            batch = decode(entry);
+        } catch (Exception e) {
+            log.warn("Failed to decode Redis stream entry {} of {}: {}", entry.id(), entry.key(), e.getMessage());
+            return;
+        }
+        handleIncoming(batch);
+    }
+
+    private SseBridgeBatch decode(RedisStreamLog.Entry entry) {
+        return codec.decode(entry.frame());
+    }
+
+    @Override
+    public void close() {
+        log.info("RedisStreamsBroadcastBridge closing: instanceId={}", instanceId);
+        if (reader != null) reader.dispose();
+        offsets.clear();
+        streamLog.close();
+        this.listener = null;
+    }
+
+    /**
+     * Deliver the messages of a decoded entry in order. Self-originated entries are skipped.
+     */
+    void handleIncoming(SseBridgeBatch batch) {
+        SseBroadcastListener current = listener;
+        if (current == null || instanceId.equals(batch.originInstanceId())) return;
+        for (SseBridgeMessage message : batch.messages()) {
+            if (instanceId.equals(message.originInstanceId())) continue;
+            try {
+                current.onRemoteEvent(message);
+                if (log.isDebugEnabled()) {
+                    log.debug("Delivered remote bridge event: topic={} from={}",
+                            message.topic(), message.originInstanceId());
+                }
+            } catch (Throwable t) {
+                log.warn("Error processing remote Redis stream event for topic {}: {}",
+                        message.topic(), t.getMessage());
+            }
+        }
+    }
+}
@@ -1,11 +1,28 @@
 package com.spectrayan.sse.server.bridge.redis;
 
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
 import com.spectrayan.sse.server.bridge.SseBroadcastListener;
 import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.config.SseServerProperties;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -22,9 +39,9 @@ class RedisBroadcastBridgeTest {
 
     private RedisBroadcastBridge createBridge(String instanceId) {
         var redisTemplate = mock(ReactiveStringRedisTemplate.class);
-        // Mock listenTo to return empty Flux (no real Redis connection)
-        when(redisTemplate.listenTo(any(org.springframework.data.redis.listener.ChannelTopic.class)))
-                .thenReturn(reactor.core.publisher.Flux.empty());
+        // Mock listenToLater to confirm a silent subscription (no real Redis connection)
+        doReturn(Mono.just(reactor.core.publisher.Flux.never()))
+                .when(redisTemplate).listenToLater(any(org.springframework.data.redis.listener.ChannelTopic.class));
         var jsonMapper = JsonMapper.builder().build();
         return new RedisBroadcastBridge(redisTemplate, jsonMapper, "sse-broadcast", instanceId);
     }
@@ -99,4 +116,306 @@ class RedisBroadcastBridgeTest {
         bridge.handleIncoming(msg);
         verify(listener, times(1)).onRemoteEvent(msg);
     }
+
+    @Test
+    void publishBatchSendsOneDocumentThatReceiversUnpackInOrder() {
+        var sender = mock(ReactiveStringRedisTemplate.class);
+        doReturn(Mono.just(reactor.core.publisher.Flux.never())).when(sender).listenToLater(any(ChannelTopic.class));
+        when(sender.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        var publisher = new RedisBroadcastBridge(sender, JsonMapper.builder().build(), "sse-broadcast", INSTANCE_A);
+
+        var batch = new SseBridgeBatch(INSTANCE_A, List.of(
+                new SseBridgeMessage(INSTANCE_A, "topic1", "evt", "one", "1", 1L),
+                new SseBridgeMessage(INSTANCE_A, "topic1", "evt", "two", "2", 2L)));
+        publisher.publishBatch(batch).block();
+
+        var json = ArgumentCaptor.forClass(String.class);
+        verify(sender, times(1)).convertAndSend(eq("sse-broadcast"), json.capture());
+
+        // Feed the published document to a receiver on another instance
+        Sinks.Many<ReactiveSubscription.Message<String, String>> inbound = Sinks.many().unicast().onBackpressureBuffer();
+        var receiverTemplate = mock(ReactiveStringRedisTemplate.class);
+        doReturn(Mono.just(inbound.asFlux())).when(receiverTemplate).listenToLater(any(ChannelTopic.class));
+        var receiver = new RedisBroadcastBridge(receiverTemplate, JsonMapper.builder().build(), "sse-broadcast", INSTANCE_B);
+        var listener = mock(SseBroadcastListener.class);
+        receiver.subscribe(listener);
+        inbound.tryEmitNext(new ReactiveSubscription.ChannelMessage<>("sse-broadcast", json.getValue()));
+
+        var received = ArgumentCaptor.forClass(SseBridgeMessage.class);
+        verify(listener, times(2)).onRemoteEvent(received.capture());
+        assertEquals(List.of("1", "2"), received.getAllValues().stream().map(SseBridgeMessage::id).toList());
+    }
+
+    @Test
+    void handleIncomingSkipsSelfOriginatedBatches() {
+        var bridge = createBridge(INSTANCE_A);
+        var listener = mock(SseBroadcastListener.class);
+        bridge.subscribe(listener);
+
+        bridge.handleIncoming(new SseBridgeBatch(INSTANCE_A, List.of(
+                new SseBridgeMessage(INSTANCE_A, "topic1", null, "data", null, 1L))));
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void binaryCodecPublishesRawFramesThatReceiversDecode() {
+        ReactiveRedisOperations<String, byte[]> sender = mock(ReactiveRedisOperations.class);
+        doReturn(Mono.just(reactor.core.publisher.Flux.never())).when(sender).listenToLater(any(ChannelTopic.class));
+        when(sender.convertAndSend(anyString(), any(byte[].class))).thenReturn(Mono.just(1L));
+        var publisher = new RedisBroadcastBridge(sender, new BinarySseBridgeCodec(), "sse-broadcast", INSTANCE_A);
+
+        var msg = new SseBridgeMessage(INSTANCE_A, "topic1", "evt", "data", "1", 1L);
+        publisher.publishAsync(msg).block();
+
+        var frame = ArgumentCaptor.forClass(byte[].class);
+        verify(sender, times(1)).convertAndSend(eq("sse-broadcast"), frame.capture());
+
+        Sinks.Many<ReactiveSubscription.Message<String, byte[]>> inbound = Sinks.many().unicast().onBackpressureBuffer();
+        ReactiveRedisOperations<String, byte[]> receiverOps = mock(ReactiveRedisOperations.class);
+        doReturn(Mono.just(inbound.asFlux())).when(receiverOps).listenToLater(any(ChannelTopic.class));
+        var receiver = new RedisBroadcastBridge(receiverOps, new BinarySseBridgeCodec(), "sse-broadcast", INSTANCE_B);
+        var listener = mock(SseBroadcastListener.class);
+        receiver.subscribe(listener);
+        inbound.tryEmitNext(new ReactiveSubscription.ChannelMessage<>("sse-broadcast", frame.getValue()));
+
+        verify(listener, times(1)).onRemoteEvent(msg);
+    }
+
+    @Test
+    void routedInstancesOnlyReceiveTopicsTheyServe() throws InterruptedException {
+        var pubSub = new InMemoryPubSub();
+        var a = new RedisBroadcastBridge(pubSub::publish, pubSub::subscribe, new BinarySseBridgeCodec(), routed(INSTANCE_A));
+        var b = new RedisBroadcastBridge(pubSub::publish, pubSub::subscribe, new BinarySseBridgeCodec(), routed(INSTANCE_B));
+        var listenerB = mock(SseBroadcastListener.class);
+        b.subscribe(listenerB);
+
+        b.topicActivated("user-1");
+        // Every topic counts as served until the start-up grace period (one refresh interval) is over
+        long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.SECONDS.toNanos(5);
+        while (a.hasRemoteInterest("user-2") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(a.hasRemoteInterest("user-2"));
+        assertTrue(a.hasRemoteInterest("user-1"));
+
+        var wanted = new SseBridgeMessage(INSTANCE_A, "user-1", null, "hello", "1", 1L);
+        a.publishBatch(new SseBridgeBatch(INSTANCE_A, List.of(wanted,
+                new SseBridgeMessage(INSTANCE_A, "user-2", null, "elsewhere", "2", 2L)))).block();
+        verify(listenerB, times(1)).onRemoteEvent(any());
+        verify(listenerB).onRemoteEvent(wanted);
+        assertEquals(List.of("sse-broadcast:user-1", "sse-broadcast:user-2"), pubSub.dataChannels);
+
+        b.topicDeactivated("user-1");
+        assertFalse(a.hasRemoteInterest("user-1"));
+        assertTrue(pubSub.channels.get("sse-broadcast:user-1").isEmpty());
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void clusterModeForwardsToTheOwnersInboxAndHandsTopicsOverOnClose() {
+        var pubSub = new InMemoryPubSub();
+        var a = new RedisBroadcastBridge(pubSub::publish, pubSub::subscribe, new BinarySseBridgeCodec(), owning(INSTANCE_A));
+        var b = new RedisBroadcastBridge(pubSub::publish, pubSub::subscribe, new BinarySseBridgeCodec(), owning(INSTANCE_B));
+        var listenerA = mock(SseBroadcastListener.class);
+        var listenerB = mock(SseBroadcastListener.class);
+        a.subscribe(listenerA);
+        b.subscribe(listenerB);
+
+        // Both instances learned of each other through the interest sync on start-up and agree on owners
+        String topic = java.util.stream.IntStream.range(0, 100).mapToObj(i -> "user-" + i)
+                .filter(t -> !a.ownsTopic(t)).findFirst().orElseThrow();
+        assertTrue(b.ownsTopic(topic));
+
+        var event = new SseBridgeMessage(INSTANCE_A, topic, null, "hello", "1", 1L);
+        a.forward(event);
+        verify(listenerB).onForwardedEvent(event);
+        verify(listenerA, never()).onForwardedEvent(any());
+        assertEquals(List.of("sse-broadcast:owner:" + INSTANCE_B), pubSub.dataChannels);
+
+        b.close();
+        assertTrue(a.ownsTopic(topic));
+        a.close();
+    }
+
+    @Test
+    void lostSubscriptionsAreReestablishedAndTheBridgeDeliversLocallyUntilRedisAnswers() throws InterruptedException {
+        var pubSub = new InMemoryPubSub();
+        var health = new SseBridgeHealth("redis", resilience());
+        var bridge = new RedisBroadcastBridge(pubSub::publish, pubSub::subscribe, new BinarySseBridgeCodec(),
+                SseBridgeInterest.broadcast(INSTANCE_A, "sse-broadcast"), health);
+        var listener = mock(SseBroadcastListener.class);
+        bridge.subscribe(listener);
+
+        pubSub.fail("sse-broadcast");
+        assertTrue(bridge.ownsTopic("user-1"));
+        assertFalse(bridge.hasRemoteInterest("user-1"), "local-only while Redis is unreachable");
+        long suspended = health.suspendedOperations();
+        assertThrows(SseBridgeHealth.SuspendedException.class,
+                () -> bridge.publishAsync(new SseBridgeMessage(INSTANCE_A, "user-1", null, "x", null, 1L)).block());
+        assertEquals(suspended + 1, health.suspendedOperations());
+
+        awaitSubscribers(pubSub, "sse-broadcast", 1);
+        assertTrue(health.resubscribes() > 0);
+        var remote = new SseBridgeMessage(INSTANCE_B, "user-1", null, "after", "2", 2L);
+        pubSub.publish("sse-broadcast", new BinarySseBridgeCodec().encode(remote)).block();
+        verify(listener, timeout(1000)).onRemoteEvent(remote);
+
+        // The first publish after the open duration probes Redis and closes the circuit
+        Thread.sleep(250);
+        assertTrue(bridge.hasRemoteInterest("user-1"));
+        bridge.publish(new SseBridgeMessage(INSTANCE_A, "user-1", null, "probe", null, 3L));
+        assertTrue(health.isHealthy());
+        assertTrue(bridge.hasRemoteInterest("user-1"));
+        bridge.close();
+    }
+
+    @Test
+    void subscriptionsRedisEndsAreReestablished() throws InterruptedException {
+        var pubSub = new InMemoryPubSub();
+        var health = new SseBridgeHealth("redis", resilience());
+        var bridge = new RedisBroadcastBridge(pubSub::publish, pubSub::subscribe, new BinarySseBridgeCodec(),
+                SseBridgeInterest.broadcast(INSTANCE_A, "sse-broadcast"), health);
+        var listener = mock(SseBroadcastListener.class);
+        bridge.subscribe(listener);
+        awaitSubscribers(pubSub, "sse-broadcast", 1);
+
+        pubSub.complete("sse-broadcast");
+        long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.SECONDS.toNanos(5);
+        while (health.resubscribes() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, health.resubscribes());
+        awaitSubscribers(pubSub, "sse-broadcast", 1);
+        var remote = new SseBridgeMessage(INSTANCE_B, "user-1", null, "after", "1", 1L);
+        pubSub.publish("sse-broadcast", new BinarySseBridgeCodec().encode(remote)).block();
+        verify(listener, timeout(1000)).onRemoteEvent(remote);
+        bridge.close();
+    }
+
+    @Test
+    void aResubscriptionCountsOnlyOnceRedisConfirmedIt() throws InterruptedException {
+        var pubSub = new InMemoryPubSub();
+        var health = new SseBridgeHealth("redis", resilience());
+        var attempts = new java.util.concurrent.atomic.AtomicInteger();
+        Sinks.One<Flux<byte[]>> confirmation = Sinks.one();
+        var bridge = new RedisBroadcastBridge(pubSub::publish,
+                channel -> attempts.incrementAndGet() == 1
+                        ? Mono.just(Flux.<byte[]>error(new IllegalStateException("Connection reset")))
+                        : confirmation.asMono(),
+                new BinarySseBridgeCodec(), SseBridgeInterest.broadcast(INSTANCE_A, "sse-broadcast"), health);
+        long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.SECONDS.toNanos(5);
+        while (attempts.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, attempts.get());
+
+        // Redis accepts the probe while the resubscription is still pending
+        Thread.sleep(250);
+        assertTrue(bridge.hasRemoteInterest("user-1"));
+        bridge.publish(new SseBridgeMessage(INSTANCE_A, "user-1", null, "probe", null, 1L));
+        assertTrue(health.isLocalOnly());
+
+        confirmation.tryEmitValue(pubSub.listen("sse-broadcast"));
+        Thread.sleep(250);
+        assertTrue(bridge.hasRemoteInterest("user-1"));
+        bridge.publish(new SseBridgeMessage(INSTANCE_A, "user-1", null, "probe", null, 2L));
+        assertTrue(health.isHealthy());
+        bridge.close();
+    }
+
+    @Test
+    void failedPublishesOpenTheCircuitAndRecoveryResynchronizesInterest() throws InterruptedException {
+        var pubSub = new InMemoryPubSub();
+        var health = new SseBridgeHealth("redis", resilience());
+        var a = new RedisBroadcastBridge(pubSub::publish, pubSub::subscribe, new BinarySseBridgeCodec(), routed(INSTANCE_A), health);
+        a.subscribe(mock(SseBroadcastListener.class));
+
+        pubSub.down = true;
+        a.publish(new SseBridgeMessage(INSTANCE_A, "user-1", null, "lost", null, 1L));
+        a.publish(new SseBridgeMessage(INSTANCE_A, "user-1", null, "lost", null, 2L));
+        assertEquals(SseBridgeHealth.State.OPEN, health.state());
+        assertFalse(a.hasRemoteInterest("user-1"));
+
+        // Interest announcements keep probing; the first one Redis accepts closes the circuit
+        var control = new java.util.concurrent.CopyOnWriteArrayList<byte[]>();
+        pubSub.listen("sse-broadcast:interest").subscribe(control::add);
+        pubSub.down = false;
+        // The circuit closes before the catch-up action sends its sync request
+        long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.SECONDS.toNanos(5);
+        while ((!health.isHealthy() || control.size() < 2) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(health.isHealthy());
+        assertEquals(1, health.catchUps());
+        assertTrue(control.size() >= 2, "snapshot probe followed by a sync request");
+        a.close();
+    }
+
+    private static void awaitSubscribers(InMemoryPubSub pubSub, String channel, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + java.util.concurrent.TimeUnit.SECONDS.toNanos(5);
+        while (pubSub.channels.getOrDefault(channel, List.of()).size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, pubSub.channels.get(channel).size());
+    }
+
+    private static SseServerProperties.Bridge.Resilience resilience() {
+        var resilience = new SseServerProperties.Bridge.Resilience();
+        resilience.setFailureThreshold(2);
+        resilience.setOpenDuration(java.time.Duration.ofMillis(200));
+        resilience.setRetryBackoff(java.time.Duration.ofMillis(10));
+        return resilience;
+    }
+
+    private static SseBridgeInterest owning(String instanceId) {
+        var bridge = new SseServerProperties.Bridge();
+        bridge.getRouting().setMode(SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        bridge.getRouting().setOwnership(true);
+        return new SseBridgeInterest(instanceId, bridge);
+    }
+
+    private static SseBridgeInterest routed(String instanceId) {
+        var bridge = new SseServerProperties.Bridge();
+        bridge.getRouting().setMode(SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        bridge.getRouting().setInterestRefresh(java.time.Duration.ofMillis(100));
+        return new SseBridgeInterest(instanceId, bridge);
+    }
+
+    /** Synchronous stand-in for Redis Pub/Sub channels. */
+    private static final class InMemoryPubSub {
+        final Map<String, List<Sinks.Many<byte[]>>> channels = new ConcurrentHashMap<>();
+        final List<String> dataChannels = new ArrayList<>();
+        volatile boolean down;
+
+        Mono<Long> publish(String channel, byte[] frame) {
+            if (down) return Mono.error(new IllegalStateException("Connection refused"));
+            if (!channel.endsWith(":interest")) dataChannels.add(channel);
+            List<Sinks.Many<byte[]>> subscribers = channels.getOrDefault(channel, List.of());
+            subscribers.forEach(sink -> sink.tryEmitNext(frame));
+            return Mono.just((long) subscribers.size());
+        }
+
+        /** Subscribe to the channel, confirmed at once. */
+        Mono<Flux<byte[]>> subscribe(String channel) {
+            return Mono.fromSupplier(() -> listen(channel));
+        }
+
+        Flux<byte[]> listen(String channel) {
+            Sinks.Many<byte[]> sink = Sinks.many().unicast().onBackpressureBuffer();
+            List<Sinks.Many<byte[]>> subscribers = channels.computeIfAbsent(channel, c -> new java.util.concurrent.CopyOnWriteArrayList<>());
+            subscribers.add(sink);
+            return sink.asFlux().doFinally(signal -> subscribers.remove(sink));
+        }
+
+        void complete(String channel) {
+            channels.getOrDefault(channel, List.of()).forEach(Sinks.Many::tryEmitComplete);
+        }
+
+        void fail(String channel) {
+            channels.getOrDefault(channel, List.of())
+                    .forEach(sink -> sink.tryEmitError(new IllegalStateException("Connection reset")));
+        }
+    }
 }
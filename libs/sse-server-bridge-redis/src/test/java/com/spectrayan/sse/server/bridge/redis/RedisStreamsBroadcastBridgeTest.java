@@ -0,0 +1,287 @@
+package com.spectrayan.sse.server.bridge.redis;
+
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RedisStreamsBroadcastBridge} against an in-process stand-in for the Redis stream commands.
+ */
+class RedisStreamsBroadcastBridgeTest {
+
+    private static final String INSTANCE_A = "instance-a";
+    private static final String INSTANCE_B = "instance-b";
+
+    private static RedisBridgeProperties.Streams settings() {
+        RedisBridgeProperties.Streams settings = new RedisBridgeProperties.Streams();
+        settings.setPollTimeout(Duration.ofMillis(20));
+        settings.setRetryBackoff(Duration.ofMillis(5));
+        return settings;
+    }
+
+    private static RedisStreamsBroadcastBridge bridge(InMemoryStreamLog streams, String instanceId) {
+        return new RedisStreamsBroadcastBridge(streams, new BinarySseBridgeCodec(),
+                SseBridgeInterest.broadcast(instanceId, "sse-broadcast"), settings());
+    }
+
+    private static SseBridgeMessage message(String origin, String topic, String id) {
+        return new SseBridgeMessage(origin, topic, "evt", "data-" + id, id, 1_000L);
+    }
+
+    @Test
+    void appendedMessagesReachOtherInstancesButNotTheirOrigin() throws InterruptedException {
+        var streams = new InMemoryStreamLog();
+        var a = bridge(streams, INSTANCE_A);
+        var b = bridge(streams, INSTANCE_B);
+        List<SseBridgeMessage> receivedA = new CopyOnWriteArrayList<>();
+        List<SseBridgeMessage> receivedB = new CopyOnWriteArrayList<>();
+        a.subscribe(receivedA::add);
+        b.subscribe(receivedB::add);
+        awaitTrue(() -> streams.reads.get() > 2);
+
+        a.publishAsync(message(INSTANCE_A, "t", "1")).block();
+        a.publish(message(INSTANCE_A, "t", "2"));
+
+        awaitTrue(() -> receivedB.size() == 2);
+        assertEquals(List.of("1", "2"), receivedB.stream().map(SseBridgeMessage::id).toList());
+        assertEquals("data-1", receivedB.get(0).payload());
+        assertTrue(receivedA.isEmpty());
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void readerResumesFromItsOffsetAfterFailedReads() throws InterruptedException {
+        var streams = new InMemoryStreamLog();
+        var a = bridge(streams, INSTANCE_A);
+        var b = bridge(streams, INSTANCE_B);
+        List<SseBridgeMessage> received = new CopyOnWriteArrayList<>();
+        b.subscribe(received::add);
+        awaitTrue(() -> streams.reads.get() > 2);
+
+        a.publishAsync(message(INSTANCE_A, "t", "1")).block();
+        awaitTrue(() -> received.size() == 1);
+
+        // Connection hiccup: reads fail while messages keep being appended
+        streams.failingReads.set(3);
+        for (int i = 2; i <= 5; i++) {
+            a.publishAsync(message(INSTANCE_A, "t", String.valueOf(i))).block();
+        }
+
+        awaitTrue(() -> received.size() == 5);
+        Thread.sleep(50);
+        assertEquals(List.of("1", "2", "3", "4", "5"), received.stream().map(SseBridgeMessage::id).toList());
+        assertEquals(0, streams.failingReads.get());
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void startsReadingAtTheNewestEntryAndDoesNotRedeliverHistory() throws InterruptedException {
+        var streams = new InMemoryStreamLog();
+        var a = bridge(streams, INSTANCE_A);
+        a.publishAsync(message(INSTANCE_A, "t", "old")).block();
+
+        var b = bridge(streams, INSTANCE_B);
+        List<SseBridgeMessage> received = new CopyOnWriteArrayList<>();
+        b.subscribe(received::add);
+        awaitTrue(() -> streams.reads.get() > 2);
+        a.publishAsync(message(INSTANCE_A, "t", "new")).block();
+
+        awaitTrue(() -> !received.isEmpty());
+        assertEquals(List.of("new"), received.stream().map(SseBridgeMessage::id).toList());
+        b.close();
+    }
+
+    @Test
+    void readsTheStreamFromActivationWhenItsNewestEntryCannotBeLookedUp() throws InterruptedException {
+        var streams = new InMemoryStreamLog();
+        var a = bridge(streams, INSTANCE_A);
+        a.publishAsync(message(INSTANCE_A, "t", "old")).block();
+        streams.failingLastIds.set(1);
+
+        var b = bridge(streams, INSTANCE_B);
+        List<SseBridgeMessage> received = new CopyOnWriteArrayList<>();
+        b.subscribe(received::add);
+
+        awaitTrue(() -> streams.readKeys.contains("sse-broadcast"));
+        assertEquals(0, streams.failingLastIds.get());
+        Thread.sleep(50);
+        assertTrue(received.isEmpty());
+        b.close();
+        a.close();
+    }
+
+    @Test
+    void replayReturnsTheTopicsEventsAfterTheLastEventIdOldestFirst() {
+        var streams = new InMemoryStreamLog();
+        var a = bridge(streams, INSTANCE_A);
+        var b = bridge(streams, INSTANCE_B);
+        a.publishAsync(message(INSTANCE_A, "t", "1")).block();
+        b.publishAsync(message(INSTANCE_B, "t", "2")).block();
+        a.publishAsync(message(INSTANCE_A, "other", "x")).block();
+        a.publishAsync(message(INSTANCE_A, "t", "3")).block();
+
+        assertEquals(List.of("2", "3"), b.replay("t", "1").map(SseBridgeMessage::id).collectList().block());
+        assertEquals(List.of(), b.replay("t", "3").map(SseBridgeMessage::id).collectList().block());
+        assertEquals(List.of(), b.replay("t", "unknown").map(SseBridgeMessage::id).collectList().block());
+    }
+
+    @Test
+    void replayDoesNotScanBeyondTheConfiguredLimit() {
+        var streams = new InMemoryStreamLog();
+        RedisBridgeProperties.Streams settings = settings();
+        settings.setReplayScan(2);
+        var a = new RedisStreamsBroadcastBridge(streams, new BinarySseBridgeCodec(),
+                SseBridgeInterest.broadcast(INSTANCE_A, "sse-broadcast"), settings);
+        for (int i = 1; i <= 4; i++) {
+            a.publishAsync(message(INSTANCE_A, "t", String.valueOf(i))).block();
+        }
+
+        assertEquals(List.of("4"), a.replay("t", "3").map(SseBridgeMessage::id).collectList().block());
+        assertEquals(List.of(), a.replay("t", "1").map(SseBridgeMessage::id).collectList().block());
+    }
+
+    @Test
+    void publishBatchAppendsOneEntryPerMessageInOnePipelinedCall() {
+        var streams = new InMemoryStreamLog();
+        var a = bridge(streams, INSTANCE_A);
+        var batch = new SseBridgeBatch(INSTANCE_A, List.of(
+                message(INSTANCE_A, "t", "1"), message(INSTANCE_A, "t", "2"), message(INSTANCE_A, "t", "3")));
+
+        a.publishBatch(batch).block();
+
+        assertEquals(List.of(3), streams.appendSizes);
+        var codec = new BinarySseBridgeCodec();
+        assertEquals(List.of("1", "2", "3"), streams.entries("sse-broadcast").stream()
+                .map(entry -> codec.decode(entry.frame()).messages().getFirst().id())
+                .toList());
+    }
+
+    @Test
+    void routedInstancesReadOnlyTheStreamsOfTopicsTheyServe() throws InterruptedException {
+        var streams = new InMemoryStreamLog();
+        SseServerProperties.Bridge config = new SseServerProperties.Bridge();
+        config.getRouting().setMode(SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        var a = new RedisStreamsBroadcastBridge(streams, new BinarySseBridgeCodec(),
+                new SseBridgeInterest(INSTANCE_A, config), settings());
+        var b = new RedisStreamsBroadcastBridge(streams, new BinarySseBridgeCodec(),
+                new SseBridgeInterest(INSTANCE_B, config), settings());
+        List<SseBridgeMessage> received = new CopyOnWriteArrayList<>();
+        b.subscribe(received::add);
+        b.topicActivated("user-1");
+        awaitTrue(() -> streams.readKeys.contains("sse-broadcast:user-1"));
+
+        // Appended even without remote interest, since the stream is the replay history
+        assertTrue(a.hasRemoteInterest("user-2"));
+        a.publishAsync(message(INSTANCE_A, "user-2", "skip")).block();
+        a.publishAsync(message(INSTANCE_A, "user-1", "keep")).block();
+
+        awaitTrue(() -> !received.isEmpty());
+        assertEquals(List.of("keep"), received.stream().map(SseBridgeMessage::id).toList());
+        assertEquals(1, streams.entries("sse-broadcast:user-2").size());
+        assertFalse(streams.readKeys.contains("sse-broadcast:user-2"));
+
+        b.topicDeactivated("user-1");
+        streams.readKeys.clear();
+        Thread.sleep(60);
+        assertFalse(streams.readKeys.contains("sse-broadcast:user-1"));
+        b.close();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("Condition not met within 5s");
+            Thread.sleep(5);
+        }
+    }
+
+    /** Streams held in memory with Redis ids; blocking reads wait briefly and return nothing. */
+    private static final class InMemoryStreamLog implements RedisStreamLog {
+        final Map<String, List<Entry>> streams = new ConcurrentHashMap<>();
+        final AtomicLong sequence = new AtomicLong();
+        final AtomicInteger reads = new AtomicInteger();
+        final AtomicInteger failingReads = new AtomicInteger();
+        final AtomicInteger failingLastIds = new AtomicInteger();
+        final List<Integer> appendSizes = new CopyOnWriteArrayList<>();
+        final Set<String> readKeys = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Mono<Void> append(String key, List<byte[]> frames) {
+            return Mono.fromRunnable(() -> {
+                appendSizes.add(frames.size());
+                List<Entry> stream = streams.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+                synchronized (stream) {
+                    for (byte[] frame : frames) {
+                        stream.add(new Entry(key, sequence.incrementAndGet() + "-0", frame));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Flux<Entry> read(Map<String, String> offsets, int count, Duration block) {
+            reads.incrementAndGet();
+            readKeys.addAll(offsets.keySet());
+            if (failingReads.get() > 0) {
+                failingReads.decrementAndGet();
+                return Flux.error(new IllegalStateException("connection reset"));
+            }
+            List<Entry> found = new ArrayList<>();
+            offsets.forEach((key, offset) -> {
+                if (RedisStreamsBroadcastBridge.NEW_ENTRIES.equals(offset)) return; // nothing is newer yet
+                entries(key).stream()
+                        .filter(entry -> seq(entry.id()) > seq(offset))
+                        .forEach(found::add);
+            });
+            if (found.isEmpty()) return Mono.delay(Duration.ofMillis(5)).thenMany(Flux.empty());
+            return Flux.fromIterable(found.subList(0, Math.min(count, found.size())));
+        }
+
+        @Override
+        public Mono<String> lastId(String key) {
+            if (failingLastIds.get() > 0) {
+                failingLastIds.decrementAndGet();
+                return Mono.error(new IllegalStateException("connection reset"));
+            }
+            List<Entry> stream = entries(key);
+            return Mono.just(stream.isEmpty() ? "0-0" : stream.getLast().id());
+        }
+
+        @Override
+        public Flux<Entry> latest(String key, int count) {
+            List<Entry> newestFirst = new ArrayList<>(entries(key)).reversed();
+            return Flux.fromIterable(newestFirst.subList(0, Math.min(count, newestFirst.size())));
+        }
+
+        @Override
+        public void close() { }
+
+        List<Entry> entries(String key) {
+            return streams.getOrDefault(key, List.of());
+        }
+
+        private static long seq(String id) {
+            return Long.parseLong(id.substring(0, id.indexOf('-')));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.spectrayan.sse.server.bridge.shm;
+
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+import java.util.UUID;
+
+/**
+ * Auto-configuration that activates the shared-memory broadcast bridge when
+ * {@code sse-server-bridge-shm} is on the classpath.
+ * <p>
+ * This replaces the default {@code NoOpBroadcastBridge} from {@code sse-server}.
+ * Processes on the same host with the same channel name share one ring:
+ * <pre>{@code
+ * spectrayan.sse.server.bridge.channel-name=sse-broadcast   # ring file <directory>/sse-broadcast.ring
+ * spectrayan.sse.server.bridge.shm.directory=/dev/shm
+ * spectrayan.sse.server.bridge.shm.capacity=16MB
+ * }</pre>
+ *
+ * @since 2.1.0
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "spectrayan.sse.server.bridge",
+        name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SharedMemoryBridgeProperties.class)
+public class SharedMemoryBridgeAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedMemoryBridgeAutoConfiguration.class);
+
+    /**
+     * The shared-memory broadcast bridge bean; its reader thread stops on shutdown.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SseBroadcastBridge.class)
+    public SharedMemoryBroadcastBridge sseBroadcastBridge(
+            ObjectProvider<SseBridgeCodec> codec,
+            SseServerProperties properties,
+            SharedMemoryBridgeProperties shmProperties) {
+
+        SseServerProperties.Bridge bridgeProps = properties.getBridge();
+        String instanceId = bridgeProps.getInstanceId();
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = UUID.randomUUID().toString().substring(0, 8);
+            log.info("No bridge.instance-id configured; generated: {}", instanceId);
+        }
+        return new SharedMemoryBroadcastBridge(codec.getIfAvailable(BinarySseBridgeCodec::new), instanceId,
+                shmProperties.ringFile(bridgeProps.getChannelName()), shmProperties);
+    }
+}
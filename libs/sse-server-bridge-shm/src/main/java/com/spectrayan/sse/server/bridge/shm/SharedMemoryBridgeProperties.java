@@ -0,0 +1,77 @@
+package com.spectrayan.sse.server.bridge.shm;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Shared-memory bridge settings ({@code spectrayan.sse.server.bridge.shm.*}). The ring file is named
+ * after {@code spectrayan.sse.server.bridge.channel-name}; processes using the same directory and
+ * channel name exchange events.
+ *
+ * @since 2.1.0
+ */
+@ConfigurationProperties(prefix = "spectrayan.sse.server.bridge.shm")
+public class SharedMemoryBridgeProperties {
+
+    /** Directory of the ring file; defaults to {@code /dev/shm}, or the temp directory where it does not exist. */
+    private String directory;
+    /** Data capacity of a new ring, a power of two. Processes attaching to an existing ring keep its size. */
+    private DataSize capacity = DataSize.ofMegabytes(16);
+    /** Longest pause of an idle reader between polls; it spins and yields before pausing. */
+    private Duration maxIdle = Duration.ofMillis(1);
+    /** How long a record claimed by a producer may stay unwritten before readers skip it. */
+    private Duration stallTimeout = Duration.ofSeconds(1);
+
+    /**
+     * The ring file for a channel.
+     *
+     * @param channelName the bridge channel name
+     * @return {@code <directory>/<channelName>.ring}
+     */
+    public Path ringFile(String channelName) {
+        Path dir;
+        if (directory != null && !directory.isBlank()) {
+            dir = Path.of(directory);
+        } else {
+            Path shm = Path.of("/dev/shm");
+            dir = Files.isDirectory(shm) ? shm : Path.of(System.getProperty("java.io.tmpdir"));
+        }
+        return dir.resolve(channelName + ".ring");
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(DataSize capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getMaxIdle() {
+        return maxIdle;
+    }
+
+    public void setMaxIdle(Duration maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    public Duration getStallTimeout() {
+        return stallTimeout;
+    }
+
+    public void setStallTimeout(Duration stallTimeout) {
+        this.stallTimeout = stallTimeout;
+    }
+}
@@ -0,0 +1,200 @@
+package com.spectrayan.sse.server.bridge.shm;
+
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link SseBroadcastBridge} for SSE server processes on the same host, exchanging events through a
+ * memory-mapped ring buffer (by default under {@code /dev/shm}).
+ * <p>
+ * <b>Publishing</b>: a message (or a whole {@link SseBridgeBatch}) is encoded once with the
+ * configured {@link SseBridgeCodec} and copied into the ring — a CAS and a memory copy, no broker,
+ * no syscall. Publishing never waits for readers.
+ * <p>
+ * <b>Receiving</b>: a reader thread polls the ring with its own cursor. While records arrive it
+ * spins; when idle it yields and then parks for up to {@code shm.max-idle}. A reader that falls more
+ * than the ring capacity behind loses the overwritten records and resumes at the newest one.
+ * <p>
+ * <b>Self-deduplication</b>: every process reads its own records too; they are skipped by comparing
+ * {@link SseBridgeMessage#originInstanceId()}, as in the other bridges.
+ * <p>
+ * Only processes on one host share the ring; combine hosts with another bridge. Interest routing
+ * ({@code bridge.routing.mode}) does not apply.
+ *
+ * @since 2.1.0
+ */
+public class SharedMemoryBroadcastBridge implements SseBroadcastBridge {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedMemoryBroadcastBridge.class);
+    private static final int POLL_LIMIT = 256;
+    private static final int SPIN_POLLS = 1_000;
+    private static final int YIELD_POLLS = 1_100;
+
+    private final SseBridgeCodec codec;
+    private final String instanceId;
+    private final SharedMemoryRing ring;
+    private final SharedMemoryRing.Reader reader;
+    private final long maxIdleNanos;
+    private final Path file;
+    private volatile SseBroadcastListener listener;
+    private volatile boolean running;
+    private volatile Thread readerThread;
+
+    /**
+     * Create a bridge on the ring in {@code file}, creating the ring if no other process did yet.
+     *
+     * @param codec      wire format of ring records
+     * @param instanceId unique id for this instance (for self-deduplication)
+     * @param file       ring file shared by the processes
+     * @param settings   ring capacity and reader settings
+     * @throws UncheckedIOException when the ring cannot be created or mapped
+     */
+    public SharedMemoryBroadcastBridge(SseBridgeCodec codec, String instanceId, Path file,
+                                       SharedMemoryBridgeProperties settings) {
+        this.codec = codec;
+        this.instanceId = instanceId;
+        this.file = file;
+        try {
+            this.ring = SharedMemoryRing.open(file, (int) settings.getCapacity().toBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map shared memory ring " + file, e);
+        }
+        this.reader = ring.reader(settings.getStallTimeout().toNanos());
+        this.maxIdleNanos = Math.max(1_000, settings.getMaxIdle().toNanos());
+        log.info("SharedMemoryBroadcastBridge initialized: instanceId={} ring={} capacity={} codec={}",
+                instanceId, file, ring.capacity(), codec.getClass().getSimpleName());
+    }
+
+    /** @return times the reader fell a full ring behind and skipped to the newest record */
+    public long lappedReads() {
+        return reader.laps();
+    }
+
+    /** @return records skipped because their producer did not finish writing them */
+    public long stalledRecords() {
+        return reader.stalls();
+    }
+
+    @Override
+    public void publish(SseBridgeMessage message) {
+        byte[] frame;
+        try {
+            frame = codec.encode(message);
+        } catch (Exception e) {
+            log.warn("Failed to serialize bridge message for topic {}: {}", message.topic(), e.getMessage());
+            return;
+        }
+        append(frame, message.topic());
+    }
+
+    /**
+     * Write the batch into the ring as one record.
+     */
+    @Override
+    public Mono<Void> publishBatch(SseBridgeBatch batch) {
+        return Mono.fromRunnable(() -> append(codec.encode(batch), null));
+    }
+
+    private void append(byte[] frame, String topic) {
+        if (!ring.offer(frame)) {
+            log.warn("Bridge frame of {} bytes exceeds the shared memory ring record limit of {} bytes{}",
+                    frame.length, ring.maxPayload(), topic != null ? " (topic " + topic + ")" : "");
+        }
+    }
+
+    /**
+     * Register the listener and start the reader thread.
+     */
+    @Override
+    public synchronized void subscribe(SseBroadcastListener listener) {
+        this.listener = listener;
+        if (readerThread != null) return;
+        running = true;
+        Thread thread = new Thread(this::readLoop, "sse-shm-reader");
+        thread.setDaemon(true);
+        readerThread = thread;
+        thread.start();
+        log.debug("SseBroadcastListener registered on SharedMemoryBroadcastBridge");
+    }
+
+    private void readLoop() {
+        int idle = 0;
+        while (running) {
+            int read;
+            try {
+                read = reader.poll(this::onRecord, POLL_LIMIT);
+            } catch (RuntimeException e) {
+                log.warn("Shared memory ring read failed: {}", e.getMessage());
+                read = 0;
+            }
+            if (read > 0) {
+                idle = 0;
+            } else if (++idle < SPIN_POLLS) {
+                Thread.onSpinWait();
+            } else if (idle < YIELD_POLLS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(Math.min(maxIdleNanos, 1_000L << Math.min(idle - YIELD_POLLS, 20)));
+            }
+        }
+    }
+
+    private void onRecord(byte[] frame) {
+        SseBridgeBatch batch;
+        try {
+            batch = codec.decode(frame);
+        } catch (Exception e) {
+            log.warn("Failed to decode shared memory bridge record: {}", e.getMessage());
+            return;
+        }
+        handleIncoming(batch);
+    }
+
+    @Override
+    public void close() {
+        log.info("SharedMemoryBroadcastBridge closing: instanceId={} ring={}", instanceId, file);
+        running = false;
+        Thread thread = readerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.listener = null;
+    }
+
+    /**
+     * Deliver the messages of a record in order. Self-originated records are skipped.
+     */
+    void handleIncoming(SseBridgeBatch batch) {
+        SseBroadcastListener current = listener;
+        if (current == null || instanceId.equals(batch.originInstanceId())) return;
+        for (SseBridgeMessage message : batch.messages()) {
+            if (instanceId.equals(message.originInstanceId())) continue;
+            try {
+                current.onRemoteEvent(message);
+                if (log.isDebugEnabled()) {
+                    log.debug("Delivered remote bridge event: topic={} from={}",
+                            message.topic(), message.originInstanceId());
+                }
+            } catch (Throwable t) {
+                log.warn("Error processing remote shared memory bridge event for topic {}: {}",
+                        message.topic(), t.getMessage());
+            }
+        }
+    }
+}
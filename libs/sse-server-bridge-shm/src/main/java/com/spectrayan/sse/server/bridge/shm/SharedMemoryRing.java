@@ -0,0 +1,282 @@
+package com.spectrayan.sse.server.bridge.shm;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Multi-producer broadcast ring buffer in a memory-mapped file, shared by every process mapping it.
+ * <p>
+ * Layout: a 128-byte header (magic, version, data capacity and, on its own cache line, the tail
+ * counter) followed by the data region. Records are 16-byte aligned:
+ * <pre>
+ * record := int64 commit mark | int32 length | int32 unused | payload
+ * </pre>
+ * A producer claims space by advancing the tail with a CAS, writes length and payload, and commits by
+ * storing the complement of the record's absolute position as its commit mark, with release semantics
+ * (complemented so the zeroed memory of a new ring never looks committed). A record that would cross the end of
+ * the region is preceded by a padding record (negative length) filling the rest of it.
+ * <p>
+ * Every reader keeps its own cursor, so each one sees every record: a record is readable once its
+ * commit mark matches the cursor. Producers never wait for readers; a reader that falls more than the
+ * capacity behind has been overwritten ("lapped") and resumes at the tail. Whether a record was
+ * overwritten while it was being copied is detected by re-reading the tail afterwards. A record
+ * claimed but not committed for longer than the stall timeout (its producer died mid-write) is skipped
+ * on its own: the reader resumes at the end the record's length gives when a committed record or the
+ * tail is found there, and otherwise at the next committed record after it.
+ */
+final class SharedMemoryRing {
+
+    private static final int MAGIC = 0x53534552;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    static final int TAIL_OFFSET = 64;
+    static final int HEADER_LENGTH = 128;
+    static final int RECORD_HEADER_LENGTH = 16;
+    private static final int ALIGNMENT = 16;
+    private static final int MIN_CAPACITY = 4096;
+
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long mask;
+    private final int maxPayload;
+
+    private SharedMemoryRing(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1L;
+        this.maxPayload = capacity / 8 - RECORD_HEADER_LENGTH;
+    }
+
+    /**
+     * Map the ring in {@code file}, creating and initializing it when it does not exist yet.
+     * An existing ring keeps its capacity.
+     *
+     * @param file     ring file, typically under {@code /dev/shm}
+     * @param capacity data capacity in bytes for a new ring; a power of two of at least 4 KiB
+     * @return the mapped ring
+     * @throws IOException when the file cannot be created or mapped
+     */
+    static SharedMemoryRing open(Path file, int capacity) throws IOException {
+        if (capacity < MIN_CAPACITY || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two of at least "
+                    + MIN_CAPACITY + " bytes: " + capacity);
+        }
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        // File locks are held per JVM, so opens within one JVM must not overlap
+        synchronized (SharedMemoryRing.class) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                int existing = 0;
+                if (channel.size() >= HEADER_LENGTH) {
+                    ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH)
+                            .order(ByteOrder.nativeOrder());
+                    if (header.getInt(MAGIC_OFFSET) == MAGIC) {
+                        if (header.getInt(VERSION_OFFSET) != VERSION) {
+                            throw new IOException("Unsupported shared memory ring version in " + file);
+                        }
+                        existing = header.getInt(CAPACITY_OFFSET);
+                    }
+                }
+                int size = existing > 0 ? existing : capacity;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH + (long) size);
+                buffer.order(ByteOrder.nativeOrder());
+                if (existing == 0) {
+                    buffer.putInt(VERSION_OFFSET, VERSION);
+                    buffer.putInt(CAPACITY_OFFSET, size);
+                    LONG.setVolatile(buffer, TAIL_OFFSET, 0L);
+                    INT.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+                }
+                return new SharedMemoryRing(buffer, size);
+            }
+        }
+    }
+
+    /** @return data capacity in bytes */
+    int capacity() {
+        return capacity;
+    }
+
+    /** @return the largest payload a record can carry (an eighth of the capacity, less the record header) */
+    int maxPayload() {
+        return maxPayload;
+    }
+
+    /**
+     * Append a record. Never waits for readers.
+     *
+     * @param payload record payload
+     * @return {@code false} when the payload exceeds {@link #maxPayload()}
+     */
+    boolean offer(byte[] payload) {
+        if (payload.length > maxPayload) return false;
+        int recordLength = align(RECORD_HEADER_LENGTH + payload.length);
+        long start;
+        int padding;
+        do {
+            start = (long) LONG.getVolatile(buffer, TAIL_OFFSET);
+            int toEnd = capacity - (int) (start & mask);
+            padding = recordLength > toEnd ? toEnd : 0;
+        } while (!LONG.compareAndSet(buffer, TAIL_OFFSET, start, start + padding + recordLength));
+
+        if (padding > 0) {
+            int index = HEADER_LENGTH + (int) (start & mask);
+            INT.set(buffer, index + 8, -padding);
+            LONG.setRelease(buffer, index, ~start);
+            start += padding;
+        }
+        int index = HEADER_LENGTH + (int) (start & mask);
+        INT.set(buffer, index + 8, payload.length);
+        buffer.put(index + RECORD_HEADER_LENGTH, payload);
+        LONG.setRelease(buffer, index, ~start);
+        return true;
+    }
+
+    /**
+     * Create a reader positioned at the tail, reading records appended from now on.
+     *
+     * @param stallTimeoutNanos how long a claimed record may stay uncommitted before it is skipped
+     * @return a new reader; not thread-safe
+     */
+    Reader reader(long stallTimeoutNanos) {
+        return new Reader(tail(), stallTimeoutNanos);
+    }
+
+    private long tail() {
+        return (long) LONG.getVolatile(buffer, TAIL_OFFSET);
+    }
+
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /** Receives record payloads. */
+    @FunctionalInterface
+    interface Handler {
+        void onRecord(byte[] payload);
+    }
+
+    /** A cursor over the ring; each reader sees every record appended after it was created. */
+    final class Reader {
+        private final long stallTimeoutNanos;
+        private long position;
+        private long stalledSince;
+        private long laps;
+        private long stalls;
+
+        private Reader(long position, long stallTimeoutNanos) {
+            this.position = position;
+            this.stallTimeoutNanos = stallTimeoutNanos;
+        }
+
+        /** @return times this reader was overwritten and resumed at the tail */
+        long laps() {
+            return laps;
+        }
+
+        /** @return uncommitted records skipped after the stall timeout */
+        long stalls() {
+            return stalls;
+        }
+
+        /**
+         * Hand up to {@code limit} committed records to {@code handler}, in ring order.
+         *
+         * @return records read
+         */
+        int poll(Handler handler, int limit) {
+            int read = 0;
+            while (read < limit) {
+                int index = HEADER_LENGTH + (int) (position & mask);
+                long mark = (long) LONG.getAcquire(buffer, index);
+                if (mark != ~position) {
+                    long tail = tail();
+                    if (tail - position > capacity) {
+                        lapped(tail);
+                        continue;
+                    }
+                    if (tail != position && stalled(tail)) continue;
+                    break;
+                }
+                stalledSince = 0;
+                int length = (int) INT.get(buffer, index + 8);
+                // Keep the plain reads before the tail re-reads validating them
+                VarHandle.acquireFence();
+                if (tail() - position > capacity || length > maxPayload || length < -capacity) {
+                    lapped(tail());
+                    continue;
+                }
+                if (length < 0) {
+                    position -= length;
+                    continue;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(index + RECORD_HEADER_LENGTH, payload);
+                VarHandle.acquireFence();
+                long tail = tail();
+                if (tail - position > capacity) {
+                    lapped(tail);
+                    continue;
+                }
+                position += align(RECORD_HEADER_LENGTH + length);
+                handler.onRecord(payload);
+                read++;
+            }
+            return read;
+        }
+
+        private void lapped(long tail) {
+            laps++;
+            stalledSince = 0;
+            position = tail;
+        }
+
+        private boolean stalled(long tail) {
+            long now = System.nanoTime();
+            if (stalledSince == 0) {
+                stalledSince = now;
+                return false;
+            }
+            if (now - stalledSince < stallTimeoutNanos) return false;
+            stalls++;
+            stalledSince = 0;
+            position = afterStalled(tail);
+            return true;
+        }
+
+        /**
+         * Where reading resumes after the uncommitted record at the cursor: its end when its length was
+         * written and a committed record or the tail follows there, else the next committed record, else
+         * the tail.
+         */
+        private long afterStalled(long tail) {
+            int length = (int) INT.get(buffer, HEADER_LENGTH + (int) (position & mask) + 8);
+            if (length <= maxPayload && length >= -capacity) {
+                long end = position + (length < 0 ? -length : align(RECORD_HEADER_LENGTH + length));
+                if (end == tail || end < tail && committed(end)) return end;
+            }
+            for (long next = position + ALIGNMENT; next < tail; next += ALIGNMENT) {
+                if (committed(next)) return next;
+            }
+            return tail;
+        }
+
+        private boolean committed(long at) {
+            return (long) LONG.getAcquire(buffer, HEADER_LENGTH + (int) (at & mask)) == ~at;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.spectrayan.sse.server.bridge.shm;
+
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SharedMemoryBroadcastBridge}. Each bridge maps the ring file separately, as
+ * separate processes would.
+ */
+class SharedMemoryBroadcastBridgeTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<SharedMemoryBroadcastBridge> bridges = new ArrayList<>();
+
+    @AfterEach
+    void closeBridges() {
+        bridges.forEach(SharedMemoryBroadcastBridge::close);
+    }
+
+    private SharedMemoryBroadcastBridge bridge(String instanceId) {
+        SharedMemoryBridgeProperties settings = new SharedMemoryBridgeProperties();
+        settings.setDirectory(dir.toString());
+        settings.setCapacity(DataSize.ofMegabytes(1));
+        var bridge = new SharedMemoryBroadcastBridge(new BinarySseBridgeCodec(), instanceId,
+                settings.ringFile("sse-broadcast"), settings);
+        bridges.add(bridge);
+        return bridge;
+    }
+
+    private static SseBridgeMessage message(String origin, String id) {
+        return new SseBridgeMessage(origin, "t", "evt", "data-" + id, id, 1_000L);
+    }
+
+    @Test
+    void messagesReachOtherProcessesButNotTheirOrigin() throws InterruptedException {
+        var a = bridge("a");
+        var b = bridge("b");
+        List<SseBridgeMessage> receivedA = new CopyOnWriteArrayList<>();
+        List<SseBridgeMessage> receivedB = new CopyOnWriteArrayList<>();
+        a.subscribe(receivedA::add);
+        b.subscribe(receivedB::add);
+
+        a.publish(message("a", "1"));
+        a.publishBatch(new SseBridgeBatch("a", List.of(message("a", "2"), message("a", "3")))).block();
+        b.publishAsync(message("b", "x")).block();
+
+        awaitTrue(() -> receivedB.size() == 3 && receivedA.size() == 1);
+        assertEquals(List.of("1", "2", "3"), receivedB.stream().map(SseBridgeMessage::id).toList());
+        assertEquals("data-1", receivedB.getFirst().payload());
+        assertEquals("x", receivedA.getFirst().id());
+    }
+
+    @Test
+    void ringFileIsNamedAfterTheChannel() {
+        SharedMemoryBridgeProperties settings = new SharedMemoryBridgeProperties();
+        settings.setDirectory("/tmp/rings");
+
+        assertEquals(Path.of("/tmp/rings/orders.ring"), settings.ringFile("orders"));
+    }
+
+    @Test
+    void deliveryLatencyBetweenProcesses() throws InterruptedException {
+        var a = bridge("a");
+        var b = bridge("b");
+        int rounds = 20_000;
+        long[] latencies = new long[rounds];
+        AtomicInteger received = new AtomicInteger();
+        b.subscribe(message -> {
+            int i = received.get();
+            latencies[i] = System.nanoTime() - message.timestamp();
+            received.set(i + 1);
+        });
+
+        // Warm up, then measure messages sent one at a time; waiting yields so it also works on one CPU
+        for (int phase = 0; phase < 2; phase++) {
+            received.set(0);
+            for (int i = 0; i < rounds; i++) {
+                a.publish(new SseBridgeMessage("a", "t", null, "tick", null, System.nanoTime()));
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (received.get() <= i) {
+                    if (System.nanoTime() > deadline) fail("Message " + i + " not delivered within 5s");
+                    Thread.yield();
+                }
+            }
+        }
+
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        assertTrue(sorted[rounds / 2] < TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, b.lappedReads());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("Condition not met within 5s");
+            Thread.sleep(5);
+        }
+    }
+}
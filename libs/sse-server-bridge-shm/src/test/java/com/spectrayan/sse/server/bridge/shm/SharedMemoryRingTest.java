@@ -0,0 +1,156 @@
+package com.spectrayan.sse.server.bridge.shm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedMemoryRingTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] record(int producer, int sequence, int size) {
+        ByteBuffer buf = ByteBuffer.allocate(Math.max(8, size));
+        buf.putInt(producer).putInt(sequence);
+        return buf.array();
+    }
+
+    @Test
+    void concurrentProducersOnSeparateMappingsAreReadCompletelyAndInProducerOrder() throws Exception {
+        Path file = dir.resolve("ring");
+        // Large enough for every record, so the reader cannot be lapped however it is scheduled
+        SharedMemoryRing first = SharedMemoryRing.open(file, 1 << 23);
+        SharedMemoryRing second = SharedMemoryRing.open(file, 1 << 12);
+        assertEquals(1 << 23, second.capacity(), "attaching keeps the existing capacity");
+        SharedMemoryRing.Reader reader = SharedMemoryRing.open(file, 1 << 23).reader(TimeUnit.SECONDS.toNanos(1));
+
+        int producers = 4;
+        int perProducer = 20_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            SharedMemoryRing ring = p % 2 == 0 ? first : second;
+            int producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    assertTrue(ring.offer(record(producer, i, 8 + (i % 40))));
+                }
+            }));
+        }
+
+        int[] next = new int[producers];
+        int total = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (total < producers * perProducer && System.nanoTime() < deadline) {
+            total += reader.poll(payload -> {
+                ByteBuffer buf = ByteBuffer.wrap(payload);
+                int producer = buf.getInt();
+                assertEquals(next[producer]++, buf.getInt());
+            }, 1_000);
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(producers * perProducer, total);
+        assertEquals(0, reader.laps());
+        for (int p = 0; p < producers; p++) assertEquals(perProducer, next[p]);
+    }
+
+    @Test
+    void recordsWrapAroundTheEndOfTheRing() throws Exception {
+        SharedMemoryRing ring = SharedMemoryRing.open(dir.resolve("ring"), 4096);
+        SharedMemoryRing.Reader reader = ring.reader(TimeUnit.SECONDS.toNanos(1));
+        List<Integer> read = new ArrayList<>();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(ring.offer(record(0, i, 8 + (i * 7) % 300)));
+            reader.poll(payload -> read.add(ByteBuffer.wrap(payload).getInt(4)), 10);
+        }
+
+        assertEquals(1_000, read.size());
+        for (int i = 0; i < read.size(); i++) assertEquals(i, read.get(i));
+        assertEquals(0, reader.laps());
+    }
+
+    @Test
+    void aReaderOverwrittenByProducersResumesAtTheTail() throws Exception {
+        SharedMemoryRing ring = SharedMemoryRing.open(dir.resolve("ring"), 4096);
+        SharedMemoryRing.Reader reader = ring.reader(TimeUnit.SECONDS.toNanos(1));
+
+        for (int i = 0; i < 200; i++) ring.offer(record(0, i, 64));
+        assertEquals(0, reader.poll(payload -> fail("overwritten records must not be read"), 1_000));
+        assertEquals(1, reader.laps());
+
+        ring.offer(record(0, 200, 64));
+        List<Integer> read = new ArrayList<>();
+        reader.poll(payload -> read.add(ByteBuffer.wrap(payload).getInt(4)), 10);
+        assertEquals(List.of(200), read);
+    }
+
+    @Test
+    void oversizedPayloadsAreRejected() throws Exception {
+        SharedMemoryRing ring = SharedMemoryRing.open(dir.resolve("ring"), 4096);
+
+        assertFalse(ring.offer(new byte[ring.maxPayload() + 1]));
+        assertTrue(ring.offer(new byte[ring.maxPayload()]));
+    }
+
+    @Test
+    void aRecordClaimedButNeverCommittedIsSkippedAfterTheStallTimeout() throws Exception {
+        Path file = dir.resolve("ring");
+        SharedMemoryRing ring = SharedMemoryRing.open(file, 4096);
+        SharedMemoryRing.Reader reader = ring.reader(TimeUnit.MILLISECONDS.toNanos(20));
+
+        // A producer that died after claiming 32 bytes
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, SharedMemoryRing.HEADER_LENGTH);
+            header.order(ByteOrder.nativeOrder()).putLong(SharedMemoryRing.TAIL_OFFSET, 32);
+        }
+        ring.offer(record(0, 1, 8));
+
+        List<Integer> read = new ArrayList<>();
+        assertEquals(0, reader.poll(payload -> read.add(ByteBuffer.wrap(payload).getInt(4)), 10));
+        Thread.sleep(40);
+        assertEquals(1, reader.poll(payload -> read.add(ByteBuffer.wrap(payload).getInt(4)), 10));
+        assertEquals(1, reader.stalls());
+
+        ring.offer(record(0, 2, 8));
+        reader.poll(payload -> read.add(ByteBuffer.wrap(payload).getInt(4)), 10);
+        assertEquals(List.of(1, 2), read);
+    }
+
+    @Test
+    void aStalledRecordWhoseLengthWasWrittenIsSkippedWithoutTheRecordsAfterIt() throws Exception {
+        Path file = dir.resolve("ring");
+        SharedMemoryRing ring = SharedMemoryRing.open(file, 4096);
+        SharedMemoryRing.Reader reader = ring.reader(TimeUnit.MILLISECONDS.toNanos(20));
+
+        // A producer that died after claiming 48 bytes and writing the length of its 20-byte payload
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, SharedMemoryRing.HEADER_LENGTH + 64);
+            mapped.order(ByteOrder.nativeOrder());
+            mapped.putLong(SharedMemoryRing.TAIL_OFFSET, 48);
+            mapped.putInt(SharedMemoryRing.HEADER_LENGTH + 8, 20);
+            // Stale bytes of an older lap that look like a commit mark inside the stalled record
+            mapped.putLong(SharedMemoryRing.HEADER_LENGTH + 16, ~16L);
+        }
+        for (int i = 1; i <= 3; i++) ring.offer(record(0, i, 8));
+
+        List<Integer> read = new ArrayList<>();
+        reader.poll(payload -> read.add(ByteBuffer.wrap(payload).getInt(4)), 10);
+        Thread.sleep(40);
+        reader.poll(payload -> read.add(ByteBuffer.wrap(payload).getInt(4)), 10);
+
+        assertEquals(List.of(1, 2, 3), read);
+        assertEquals(1, reader.stalls());
+    }
+}
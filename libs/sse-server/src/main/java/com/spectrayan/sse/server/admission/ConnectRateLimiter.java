@@ -0,0 +1,129 @@
+package com.spectrayan.sse.server.admission;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limiter for SSE connects, implemented with GCRA (generic cell rate algorithm).
+ * <p>
+ * Behavior:
+ * - Each bucket is a single {@code long} holding its theoretical arrival time, updated with one CAS per
+ *   acquire; no timers or refill threads.
+ * - The global bucket limits connects across the node. Per-client buckets (per IP, per principal) live in a
+ *   fixed array of {@code client-slots} cells addressed by key hash, so memory stays constant no matter how
+ *   many clients connect. Keys sharing a cell share its budget, which only matters when a cell is hot.
+ * - Cells are addressed by Fibonacci hashing: the high bits of {@code hash * 0x9E3779B9}, which depend on every
+ *   bit of the key's hash.
+ * - A rejected acquire returns how long the caller should wait before the bucket admits again. A token taken
+ *   for a connect that another bucket then rejected can be handed back with {@link #releaseGlobal()} or
+ *   {@link #release(String)}.
+ */
+public final class ConnectRateLimiter {
+
+    private final LongSupplier clock;
+    private final long origin;
+    private final Bucket global;
+    private final Bucket perClient;
+    private final AtomicLongArray globalCell = new AtomicLongArray(1);
+    private final AtomicLongArray clientCells;
+    private final int slotShift;
+
+    /**
+     * Create a limiter from configuration.
+     *
+     * @param admission admission settings
+     */
+    public ConnectRateLimiter(SseServerProperties.Admission admission) {
+        this(admission, System::nanoTime);
+    }
+
+    ConnectRateLimiter(SseServerProperties.Admission admission, LongSupplier clock) {
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        this.global = Bucket.of(admission.getGlobalRate(), admission.getGlobalBurst());
+        this.perClient = Bucket.of(admission.getPerClientRate(), admission.getPerClientBurst());
+        int slots = Integer.highestOneBit(Math.max(1, admission.getClientSlots() - 1) << 1);
+        this.clientCells = perClient != null ? new AtomicLongArray(slots) : null;
+        this.slotShift = Integer.SIZE - Integer.numberOfTrailingZeros(slots);
+    }
+
+    /**
+     * Take a token from the global bucket.
+     *
+     * @return {@code 0} when admitted, otherwise nanoseconds until the bucket admits again
+     */
+    public long tryAcquireGlobal() {
+        return global == null ? 0 : global.acquire(globalCell, 0, now());
+    }
+
+    /**
+     * Take a token from the bucket of a client key (e.g. {@code "ip:10.0.0.1"}).
+     *
+     * @param key client key
+     * @return {@code 0} when admitted, otherwise nanoseconds until the key's bucket admits again
+     */
+    public long tryAcquire(String key) {
+        if (perClient == null || key == null) return 0;
+        return perClient.acquire(clientCells, slot(key), now());
+    }
+
+    /**
+     * Return a token taken with {@link #tryAcquireGlobal()} for a connect that was rejected afterwards.
+     */
+    public void releaseGlobal() {
+        if (global != null) global.release(globalCell, 0);
+    }
+
+    /**
+     * Return a token taken with {@link #tryAcquire(String)} for a connect that was rejected afterwards.
+     *
+     * @param key client key the token was taken for
+     */
+    public void release(String key) {
+        if (perClient != null && key != null) perClient.release(clientCells, slot(key));
+    }
+
+    int slot(String key) {
+        // 32-bit shifts are a no-op in Java, so a single cell is addressed explicitly
+        return slotShift == Integer.SIZE ? 0 : (key.hashCode() * 0x9E3779B9) >>> slotShift;
+    }
+
+    /** Whether per-client buckets are configured. */
+    boolean perClientEnabled() {
+        return perClient != null;
+    }
+
+    private long now() {
+        // Relative to construction so zero-initialized cells start with a full burst
+        return clock.getAsLong() - origin;
+    }
+
+    private record Bucket(long interval, long window) {
+
+        static Bucket of(double ratePerSecond, int burst) {
+            if (ratePerSecond <= 0) return null;
+            long interval = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+            return new Bucket(interval, interval * Math.max(1, burst));
+        }
+
+        long acquire(AtomicLongArray cells, int index, long now) {
+            for (;;) {
+                long tat = cells.get(index);
+                long next = Math.max(tat, now) + interval;
+                long excess = next - now - window;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (cells.compareAndSet(index, tat, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        void release(AtomicLongArray cells, int index) {
+            cells.addAndGet(index, -interval);
+        }
+    }
+}
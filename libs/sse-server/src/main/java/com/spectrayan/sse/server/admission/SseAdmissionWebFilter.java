@@ -0,0 +1,137 @@
+package com.spectrayan.sse.server.admission;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebFilter admitting SSE connects ({@code GET <base-path>/**}) through {@link ConnectRateLimiter} buckets
+ * before any session, topic or stream work happens.
+ * <p>
+ * Behavior ({@code spectrayan.sse.server.admission.*}):
+ * - Takes a token from the per-IP bucket, then the per-principal bucket (when a principal is present), then
+ *   the global bucket; the first exhausted bucket rejects the connect, and the tokens already taken from the
+ *   other buckets are handed back so a rejected connect costs the client nothing.
+ * - {@code SERVICE_UNAVAILABLE}: rejected connects get {@code 503} with a {@code Retry-After} header.
+ * - {@code SSE_RETRY}: rejected connects get an empty event stream carrying only a {@code retry:} line, so
+ *   {@code EventSource} clients (which give up on non-200 responses) reconnect after the hinted delay.
+ * - The hinted delay is the time until the bucket admits again plus a random jitter of up to
+ *   {@code retry-jitter}, spreading a reconnect storm instead of replaying it.
+ */
+public class SseAdmissionWebFilter implements WebFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(SseAdmissionWebFilter.class);
+
+    private final SseServerProperties.Admission admission;
+    private final ConnectRateLimiter limiter;
+    private final String basePath;
+
+    public SseAdmissionWebFilter(SseServerProperties properties) {
+        this(properties, new ConnectRateLimiter(properties.getAdmission()));
+    }
+
+    SseAdmissionWebFilter(SseServerProperties properties, ConnectRateLimiter limiter) {
+        this.admission = properties.getAdmission();
+        this.limiter = limiter;
+        String base = properties.getBasePath() != null ? properties.getBasePath() : "/sse";
+        this.basePath = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!isConnect(exchange)) {
+            return chain.filter(exchange);
+        }
+        String ipKey = admission.isPerIp() ? ipKey(exchange) : null;
+        if (ipKey != null) {
+            long wait = limiter.tryAcquire(ipKey);
+            if (wait > 0) {
+                return reject(exchange, wait, "ip");
+            }
+        }
+        if (admission.isPerPrincipal() && limiter.perClientEnabled()) {
+            return exchange.getPrincipal()
+                    .map(principal -> "principal:" + principal.getName())
+                    .defaultIfEmpty("")
+                    .flatMap(principalKey -> {
+                        if (principalKey.isEmpty()) {
+                            return admitGlobal(exchange, chain, ipKey, null);
+                        }
+                        long wait = limiter.tryAcquire(principalKey);
+                        if (wait > 0) {
+                            limiter.release(ipKey);
+                            return reject(exchange, wait, "principal");
+                        }
+                        return admitGlobal(exchange, chain, ipKey, principalKey);
+                    });
+        }
+        return admitGlobal(exchange, chain, ipKey, null);
+    }
+
+    @Override
+    public int getOrder() {
+        return admission.getFilterOrder();
+    }
+
+    private Mono<Void> admitGlobal(ServerWebExchange exchange, WebFilterChain chain, String ipKey, String principalKey) {
+        long wait = limiter.tryAcquireGlobal();
+        if (wait > 0) {
+            limiter.release(ipKey);
+            limiter.release(principalKey);
+            return reject(exchange, wait, "global");
+        }
+        return chain.filter(exchange);
+    }
+
+    private boolean isConnect(ServerWebExchange exchange) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        return path.startsWith(basePath + "/");
+    }
+
+    private static String ipKey(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) return null;
+        return "ip:" + (remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString());
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, long waitNanos, String scope) {
+        long jitter = admission.getRetryJitter() != null ? admission.getRetryJitter().toMillis() : 0;
+        long delayMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos)
+                + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        long retryAfterSeconds = Math.max(1, (delayMillis + 999) / 1000);
+        log.debug("SSE connect rejected by {} admission bucket: path={} retryAfter={}s", scope,
+                exchange.getRequest().getPath(), retryAfterSeconds);
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        if (admission.getRejection() == SseServerProperties.Admission.Rejection.SSE_RETRY) {
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            response.getHeaders().setCacheControl("no-cache");
+            DataBuffer body = response.bufferFactory()
+                    .wrap(("retry: " + Math.max(1, delayMillis) + "\n\n").getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        return response.setComplete();
+    }
+}
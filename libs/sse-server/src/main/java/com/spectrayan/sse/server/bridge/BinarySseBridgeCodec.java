@@ -0,0 +1,296 @@
+package com.spectrayan.sse.server.bridge;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary {@link SseBridgeCodec} (default).
+ * <p>
+ * Frame layout (version 2; varints are unsigned LEB128):
+ * <pre>
+ * frame     := 0xB5 0x02 varint(originCount) string* varint(messageCount) message*
+ * message   := varint(originIndex) string(topic) nullable(eventName) nullable(id) timestamp varint(sequence)
+ *              nullable(payload)
+ * timestamp := varint(epochMillis) for the first message, zigzag varint(delta to the previous) after it
+ * string    := varint(length) bytes
+ * nullable  := varint(length + 1) bytes, or 0 for {@code null}
+ * </pre>
+ * Origin instance ids are written once per frame and referenced by index. Their UTF-8 form is cached on both
+ * sides (the receiver remembers the last 16 peers), so an instance id is neither
+ * re-encoded per message nor decoded into a new string per frame.
+ * <p>
+ * The payload travels as SSE data bytes, encoded once by the sender: character sequences as UTF-8 text, any
+ * other object as JSON. Receivers get it back as a {@link String}, which the SSE writer emits as-is — no
+ * JSON parsing on receive and no re-serialization per subscriber. Strings are written exactly as they would
+ * be locally; for other payloads the JSON comes from this codec's mapper rather than the HTTP encoder.
+ * <p>
+ * Version 1 frames (without {@code sequence}) are still decoded, as unsequenced messages.
+ *
+ * @since 2.1.0
+ */
+public class BinarySseBridgeCodec implements SseBridgeCodec {
+
+    private static final byte MAGIC = (byte) 0xB5;
+    private static final byte VERSION = 2;
+    private static final byte VERSION_UNSEQUENCED = 1;
+    private static final int ORIGIN_CACHE_SIZE = 16;
+
+    private final JsonMapper jsonMapper;
+    private volatile Utf8 encodedOrigin = new Utf8("", new byte[0]);
+    // Recently decoded origins; racy updates are benign since entries are immutable
+    private final Utf8[] decodedOrigins = new Utf8[ORIGIN_CACHE_SIZE];
+    private int nextDecodedOrigin;
+
+    /**
+     * Create a codec encoding non-text payloads with a default {@link JsonMapper}.
+     */
+    public BinarySseBridgeCodec() {
+        this(JsonMapper.builder().build());
+    }
+
+    /**
+     * Create a codec encoding non-text payloads with the given mapper.
+     *
+     * @param jsonMapper Jackson 3 mapper for payloads that are not character sequences
+     */
+    public BinarySseBridgeCodec(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public byte[] encode(SseBridgeMessage message) {
+        return encode(List.of(message));
+    }
+
+    @Override
+    public byte[] encode(SseBridgeBatch batch) {
+        return encode(batch.messages());
+    }
+
+    @Override
+    public SseBridgeBatch decode(byte[] frame) {
+        Reader in = new Reader(frame);
+        if (frame.length < 2 || in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary bridge frame");
+        }
+        byte version = in.readByte();
+        if (version != VERSION && version != VERSION_UNSEQUENCED) {
+            throw new IllegalArgumentException("Unsupported binary bridge frame version " + version);
+        }
+        int originCount = in.readLength();
+        String[] origins = new String[originCount];
+        for (int i = 0; i < originCount; i++) {
+            origins[i] = readOrigin(in);
+        }
+        int count = in.readLength();
+        List<SseBridgeMessage> messages = new ArrayList<>(count);
+        long timestamp = 0;
+        for (int i = 0; i < count; i++) {
+            int origin = in.readLength();
+            if (origin >= originCount) throw new IllegalArgumentException("Invalid origin index " + origin);
+            String topic = in.readString();
+            String eventName = in.readNullableString();
+            String id = in.readNullableString();
+            timestamp = i == 0 ? in.readVarLong() : timestamp + zigzagDecode(in.readVarLong());
+            long sequence = version == VERSION ? in.readVarLong() : 0L;
+            String payload = in.readNullableString();
+            messages.add(new SseBridgeMessage(origins[origin], topic, eventName, payload, id, timestamp, sequence));
+        }
+        return new SseBridgeBatch(originCount > 0 ? origins[0] : null, messages);
+    }
+
+    private byte[] encode(List<SseBridgeMessage> messages) {
+        List<String> origins = new ArrayList<>(1);
+        int[] originIndex = new int[messages.size()];
+        byte[][] payloads = new byte[messages.size()][];
+        int estimate = 16;
+        for (int i = 0; i < messages.size(); i++) {
+            SseBridgeMessage message = messages.get(i);
+            int index = origins.indexOf(message.originInstanceId());
+            if (index < 0) {
+                index = origins.size();
+                origins.add(message.originInstanceId());
+            }
+            originIndex[i] = index;
+            payloads[i] = payloadBytes(message.payload());
+            estimate += 32 + (payloads[i] != null ? payloads[i].length : 0);
+        }
+
+        Writer out = new Writer(estimate);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeVarLong(origins.size());
+        for (String origin : origins) {
+            out.writeBytes(originBytes(origin));
+        }
+        out.writeVarLong(messages.size());
+        long previous = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            SseBridgeMessage message = messages.get(i);
+            out.writeVarLong(originIndex[i]);
+            out.writeBytes(utf8(message.topic()));
+            out.writeNullableBytes(message.eventName() != null ? utf8(message.eventName()) : null);
+            out.writeNullableBytes(message.id() != null ? utf8(message.id()) : null);
+            out.writeVarLong(i == 0 ? message.timestamp() : zigzagEncode(message.timestamp() - previous));
+            previous = message.timestamp();
+            out.writeVarLong(message.sequence());
+            out.writeNullableBytes(payloads[i]);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] payloadBytes(Object payload) {
+        if (payload == null) return null;
+        if (payload instanceof CharSequence text) return utf8(text.toString());
+        return jsonMapper.writeValueAsBytes(payload);
+    }
+
+    private byte[] originBytes(String origin) {
+        if (origin == null) return new byte[0];
+        Utf8 cached = encodedOrigin;
+        if (cached.value.equals(origin)) return cached.bytes;
+        byte[] bytes = utf8(origin);
+        encodedOrigin = new Utf8(origin, bytes);
+        return bytes;
+    }
+
+    private String readOrigin(Reader in) {
+        int length = in.readLength();
+        int from = in.skip(length);
+        for (Utf8 cached : decodedOrigins) {
+            if (cached != null && Arrays.equals(in.data, from, from + length, cached.bytes, 0, cached.bytes.length)) {
+                return cached.value;
+            }
+        }
+        byte[] bytes = Arrays.copyOfRange(in.data, from, from + length);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        int slot = nextDecodedOrigin;
+        decodedOrigins[slot] = new Utf8(value, bytes);
+        nextDecodedOrigin = (slot + 1) % ORIGIN_CACHE_SIZE;
+        return value;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long zigzagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long zigzagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** A string together with its UTF-8 form. */
+    private record Utf8(String value, byte[] bytes) { }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void writeByte(byte b) {
+            ensure(1);
+            buf[pos++] = b;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeNullableBytes(byte[] bytes) {
+            if (bytes == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(bytes.length + 1L);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return pos == buf.length ? buf : Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() {
+            if (pos >= data.length) throw new IllegalArgumentException("Truncated bridge frame");
+            return data[pos++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint in bridge frame");
+        }
+
+        int readLength() {
+            // Lengths and counts never exceed the remaining bytes (+1 for nullable lengths)
+            long value = readVarLong();
+            if (value < 0 || value > data.length - pos + 1L) {
+                throw new IllegalArgumentException("Invalid length in bridge frame");
+            }
+            return (int) value;
+        }
+
+        /** Advance past {@code length} bytes, returning their start offset. */
+        int skip(int length) {
+            if (length < 0 || length > data.length - pos) throw new IllegalArgumentException("Truncated bridge frame");
+            int from = pos;
+            pos += length;
+            return from;
+        }
+
+        String readString() {
+            int length = readLength();
+            int from = skip(length);
+            return new String(data, from, length, StandardCharsets.UTF_8);
+        }
+
+        String readNullableString() {
+            int length = readLength();
+            if (length == 0) return null;
+            int from = skip(length - 1);
+            return new String(data, from, length - 1, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.spectrayan.sse.server.bridge;
+
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * JSON {@link SseBridgeCodec}: a message is its JSON object, a batch is an object with a
+ * {@code messages} array. This is the format of 2.0.x bridges; use it while a channel
+ * still has 2.0.x instances on it.
+ * <p>
+ * Payloads travel as JSON values and arrive as the corresponding Jackson types (maps,
+ * lists, strings), which are serialized again for each subscriber.
+ * <p>
+ * Messages without a {@code sequence} (2.0.x senders) decode as unsequenced.
+ *
+ * @since 2.1.0
+ */
+public class JsonSseBridgeCodec implements SseBridgeCodec {
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Create a codec with a default {@link JsonMapper}.
+     */
+    public JsonSseBridgeCodec() {
+        this(JsonMapper.builder().build());
+    }
+
+    /**
+     * Create a codec with the given mapper.
+     *
+     * @param jsonMapper Jackson 3 mapper for messages and payloads
+     */
+    public JsonSseBridgeCodec(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public byte[] encode(SseBridgeMessage message) {
+        return jsonMapper.writeValueAsBytes(message);
+    }
+
+    @Override
+    public byte[] encode(SseBridgeBatch batch) {
+        return jsonMapper.writeValueAsBytes(batch);
+    }
+
+    @Override
+    public SseBridgeBatch decode(byte[] frame) {
+        JsonNode node;
+        try {
+            node = jsonMapper.readTree(frame);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Not a JSON bridge frame: " + e.getMessage(), e);
+        }
+        if (node.has("messages")) {
+            return reader(SseBridgeBatch.class).readValue(node);
+        }
+        SseBridgeMessage message = reader(SseBridgeMessage.class).readValue(node);
+        return new SseBridgeBatch(message.originInstanceId(), List.of(message));
+    }
+
+    private ObjectReader reader(Class<?> type) {
+        // A missing sequence is read as 0
+        return jsonMapper.readerFor(type).without(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES);
+    }
+
+    @Override
+    public String contentType() {
+        return "application/json";
+    }
+}
@@ -0,0 +1,21 @@
+package com.spectrayan.sse.server.bridge;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Envelope carrying several {@link SseBridgeMessage}s in one broker operation.
+ * <p>
+ * Built by the asynchronous publish stage when
+ * {@code spectrayan.sse.server.bridge.batch.enabled=true}. Messages are kept in
+ * emission order; receivers unpack them in that order, so per-topic ordering is
+ * preserved.
+ *
+ * @param originInstanceId unique identifier of the instance that emitted the events
+ * @param messages         messages in emission order; never empty
+ * @since 2.1.0
+ */
+public record SseBridgeBatch(
+        String originInstanceId,
+        List<SseBridgeMessage> messages
+) implements Serializable {}
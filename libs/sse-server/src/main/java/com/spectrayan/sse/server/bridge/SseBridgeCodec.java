@@ -0,0 +1,58 @@
+package com.spectrayan.sse.server.bridge;
+
+/**
+ * SPI for the wire format of bridge messages.
+ * <p>
+ * Bridge implementations encode outgoing {@link SseBridgeMessage}s and
+ * {@link SseBridgeBatch}es with a codec and decode whatever arrives from the
+ * shared channel with the same codec. Every instance on a channel must use the
+ * same codec.
+ * <p>
+ * Implementations:
+ * <ul>
+ *   <li>{@link BinarySseBridgeCodec} — compact binary frames carrying the payload
+ *       as pre-encoded SSE data (default).</li>
+ *   <li>{@link JsonSseBridgeCodec} — the JSON format used by 2.0.x bridges.</li>
+ * </ul>
+ * A custom codec may be registered as a Spring bean to replace the configured one.
+ * Implementations must be thread-safe.
+ *
+ * @since 2.1.0
+ */
+public interface SseBridgeCodec {
+
+    /**
+     * Encode a single message.
+     *
+     * @param message the message to encode; never {@code null}
+     * @return the encoded frame
+     */
+    byte[] encode(SseBridgeMessage message);
+
+    /**
+     * Encode several messages as one frame, keeping their order.
+     *
+     * @param batch the messages to encode; never {@code null} or empty
+     * @return the encoded frame
+     */
+    byte[] encode(SseBridgeBatch batch);
+
+    /**
+     * Decode a frame produced by {@link #encode(SseBridgeMessage)} or {@link #encode(SseBridgeBatch)}.
+     * A single message is returned as a batch of one.
+     *
+     * @param frame the encoded frame
+     * @return the decoded messages in their original order
+     * @throws IllegalArgumentException when the frame is not in this codec's format
+     */
+    SseBridgeBatch decode(byte[] frame);
+
+    /**
+     * MIME type of the encoded frames, for transports that label their messages.
+     *
+     * @return the content type
+     */
+    default String contentType() {
+        return "application/octet-stream";
+    }
+}
@@ -0,0 +1,324 @@
+package com.spectrayan.sse.server.bridge;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Broker health and circuit breaker shared by bridge implementations
+ * ({@code spectrayan.sse.server.bridge.resilience.*}).
+ * <p>
+ * Tracks the outcome of broker operations and the bridge's subscriptions, and decides whether the instance uses
+ * the broker or delivers locally only. A bridge:
+ * <ul>
+ *   <li>reports every completed broker operation to {@link #recordSuccess()} or {@link #recordFailure(Throwable)};</li>
+ *   <li>resubscribes failed subscriptions with {@link #resubscribe(String)}, and reports a subscription being
+ *       (re-)established to {@link #subscribed(String)} once the broker confirmed it;</li>
+ *   <li>fails operations queued before the circuit opened with {@link #suspend(int)} rather than sending them;</li>
+ *   <li>answers {@code false} from {@link SseBroadcastBridge#hasRemoteInterest(String)}, and {@code true} from
+ *       {@link SseBroadcastBridge#ownsTopic(String)}, when {@link #allowRemote()} is {@code false};</li>
+ *   <li>registers {@linkplain #onRecovery(Runnable) catch-up actions}, such as re-announcing its interest, run
+ *       when the broker is reachable again.</li>
+ * </ul>
+ * The circuit opens after {@code failure-threshold} consecutive failed operations or when a subscription is lost,
+ * unless {@code circuit-breaker} is disabled.
+ * While it is open the emitter delivers events to local subscribers only and never waits on the broker. Every
+ * {@code open-duration} one operation is let through as a probe; the circuit closes when an operation succeeds
+ * and no subscription is still being re-established, and opens again when the probe fails.
+ * <p>
+ * Outages, their duration, suspended publishes, resubscriptions and catch-up actions are counted per bridge and
+ * registered with {@link com.spectrayan.sse.server.metrics.SseMetrics} by the emitter using the bridge (see
+ * {@link SseBroadcastBridge#health()}).
+ *
+ * @since 2.1.0
+ */
+public class SseBridgeHealth {
+
+    private static final Logger log = LoggerFactory.getLogger(SseBridgeHealth.class);
+
+    /** State of the circuit between this instance and the broker. */
+    public enum State {
+        /** The broker is used. */
+        CLOSED,
+        /** Local-only delivery; the broker is not used until the next probe. */
+        OPEN,
+        /** Local-only delivery while one probe is in flight. */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final SseServerProperties.Bridge.Resilience config;
+    private final boolean circuitBreaker;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final Set<String> lostSubscriptions = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> recoveryActions = new CopyOnWriteArrayList<>();
+    private final LongAdder outages = new LongAdder();
+    private final LongAdder outageNanos = new LongAdder();
+    private final LongAdder suspended = new LongAdder();
+    private final LongAdder resubscribes = new LongAdder();
+    private final LongAdder catchUps = new LongAdder();
+    // Whether the current outage's suspended operations were logged
+    private final AtomicBoolean suspensionLogged = new AtomicBoolean();
+    private volatile State state = State.CLOSED;
+    // guarded by this
+    private long outageStart;
+    private long probeAt;
+
+    /**
+     * Create the health state of a bridge from the bridge configuration.
+     *
+     * @param name   the bridge's name, for logging
+     * @param config resilience settings
+     */
+    public SseBridgeHealth(String name, SseServerProperties.Bridge.Resilience config) {
+        this(name, config, System::nanoTime);
+    }
+
+    SseBridgeHealth(String name, SseServerProperties.Bridge.Resilience config, LongSupplier nanoClock) {
+        this.name = name;
+        this.config = config;
+        this.circuitBreaker = config.isCircuitBreaker();
+        this.failureThreshold = Math.max(1, config.getFailureThreshold());
+        this.openNanos = Math.max(0, config.getOpenDuration().toNanos());
+        this.nanoClock = nanoClock;
+    }
+
+    /** @return the bridge's name */
+    public String name() {
+        return name;
+    }
+
+    /** Times the bridge switched to local-only delivery. */
+    public long outages() {
+        return outages.sum();
+    }
+
+    /** Total time of the outages that ended, in nanoseconds. */
+    public long outageNanos() {
+        return outageNanos.sum();
+    }
+
+    /** Remote operations not attempted because the bridge delivered locally only. */
+    public long suspendedOperations() {
+        return suspended.sum();
+    }
+
+    /** Attempts to re-establish a failed subscription. */
+    public long resubscribes() {
+        return resubscribes.sum();
+    }
+
+    /** Catch-up actions run after the broker became reachable again. */
+    public long catchUps() {
+        return catchUps.sum();
+    }
+
+    /** @return the current state of the circuit */
+    public State state() {
+        return state;
+    }
+
+    /** @return {@code true} when the circuit is closed and every subscription is established */
+    public boolean isHealthy() {
+        return state == State.CLOSED && lostSubscriptions.isEmpty();
+    }
+
+    /**
+     * Whether the next remote operation may use the broker. While the circuit is open this answers
+     * {@code true} once per {@code open-duration}, to the caller whose operation probes the broker; other
+     * calls are counted as suspended.
+     *
+     * @return {@code false} when the instance delivers locally only
+     */
+    public boolean allowRemote() {
+        if (state == State.CLOSED) return true;
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            if (state == State.CLOSED) return true;
+            if (now - probeAt >= openNanos) {
+                // A probe whose outcome was never reported (lost reply) counts as failed once the next one is due
+                state = State.HALF_OPEN;
+                probeAt = now;
+                return true;
+            }
+        }
+        suspended.increment();
+        return false;
+    }
+
+    /**
+     * Fail remote operations that were queued before the circuit opened, such as the messages of an async
+     * publish stage, without sending them. They are counted as suspended; the first suspension of each outage
+     * is logged.
+     *
+     * @param operations number of operations not attempted
+     * @param <T>        the operation's result type
+     * @return a {@link Mono} failing with {@link SuspendedException}
+     */
+    public <T> Mono<T> suspend(int operations) {
+        suspended.add(operations);
+        if (suspensionLogged.compareAndSet(false, true)) {
+            log.info("SSE bridge {} is delivering locally only, queued remote operations are discarded until "
+                    + "the broker is reachable again", name);
+        }
+        return Mono.error(new SuspendedException(name));
+    }
+
+    /** @return {@code true} while the circuit is open, without taking the probe */
+    public boolean isLocalOnly() {
+        return state != State.CLOSED;
+    }
+
+    /**
+     * Record a broker operation that succeeded. Closes the circuit unless a subscription is still being
+     * re-established, and then runs the catch-up actions.
+     */
+    public void recordSuccess() {
+        if (failures.get() != 0) failures.set(0);
+        if (state == State.CLOSED || !lostSubscriptions.isEmpty()) return;
+        long duration;
+        synchronized (this) {
+            if (state == State.CLOSED || !lostSubscriptions.isEmpty()) return;
+            state = State.CLOSED;
+            duration = nanoClock.getAsLong() - outageStart;
+        }
+        outageNanos.add(duration);
+        log.info("SSE bridge {} reached the broker again after {} ms, resuming remote delivery",
+                name, duration / 1_000_000);
+        for (Runnable action : recoveryActions) {
+            catchUps.increment();
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.warn("SSE bridge {} catch-up action failed: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Record a broker operation that failed. Opens the circuit after {@code failure-threshold} consecutive
+     * failures, or at once when a probe failed.
+     *
+     * @param error the failure
+     */
+    public void recordFailure(Throwable error) {
+        if (failures.incrementAndGet() >= failureThreshold || state != State.CLOSED) {
+            open(error);
+        }
+    }
+
+    /**
+     * Record that a subscription failed; the circuit opens until it is re-established.
+     *
+     * @param channel the subscribed channel
+     * @param error   the failure
+     */
+    public void subscriptionLost(String channel, Throwable error) {
+        if (lostSubscriptions.add(channel)) {
+            log.warn("SSE bridge {} lost its subscription to {}: {}", name, channel, error.getMessage());
+        }
+        open(error);
+    }
+
+    /**
+     * Record that the broker confirmed a subscription, established or re-established after
+     * {@link #subscriptionLost}. The circuit closes with the next successful operation once no subscription is
+     * lost.
+     *
+     * @param channel the subscribed channel
+     */
+    public void subscribed(String channel) {
+        if (lostSubscriptions.remove(channel)) {
+            log.info("SSE bridge {} resubscribed to {}", name, channel);
+        }
+    }
+
+    /**
+     * Record that a subscription was closed on purpose; it no longer keeps the circuit open.
+     *
+     * @param channel the unsubscribed channel
+     */
+    public void unsubscribed(String channel) {
+        lostSubscriptions.remove(channel);
+    }
+
+    /**
+     * Retry policy re-establishing a subscription: exponential backoff from {@code retry-backoff} up to
+     * {@code max-retry-backoff}, reset once the subscription delivers again, retrying forever. Each failure is
+     * reported to {@link #subscriptionLost}.
+     *
+     * @param channel the subscribed channel
+     * @return the retry policy to apply to the subscription
+     */
+    public RetryBackoffSpec resubscribe(String channel) {
+        return Retry.backoff(Long.MAX_VALUE, config.getRetryBackoff())
+                .maxBackoff(config.getMaxRetryBackoff())
+                .transientErrors(true)
+                .doBeforeRetry(signal -> {
+                    resubscribes.increment();
+                    subscriptionLost(channel, signal.failure());
+                });
+    }
+
+    /**
+     * Register an action run each time the broker becomes reachable after an outage, such as re-announcing
+     * this instance's interest. Actions run on the thread reporting the first successful operation and must
+     * not block.
+     *
+     * @param action the catch-up action
+     */
+    public void onRecovery(Runnable action) {
+        recoveryActions.add(action);
+    }
+
+    private void open(Throwable error) {
+        if (!circuitBreaker) return;
+        boolean opened;
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            opened = state == State.CLOSED;
+            if (opened) outageStart = now;
+            state = State.OPEN;
+            probeAt = now;
+        }
+        failures.set(0);
+        if (opened) {
+            outages.increment();
+            suspensionLogged.set(false);
+            log.warn("SSE bridge {} cannot reach the broker ({}), delivering to local subscribers only",
+                    name, error == null ? "unknown error" : error.getMessage());
+        }
+    }
+
+    /**
+     * Failure of a remote operation not attempted because the bridge delivers locally only; see
+     * {@link #suspend(int)}.
+     */
+    public static final class SuspendedException extends IllegalStateException {
+
+        SuspendedException(String bridge) {
+            super("SSE bridge " + bridge + " is delivering locally only");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            // Expected while the broker is unreachable; a stack trace would only add cost
+            return this;
+        }
+    }
+}
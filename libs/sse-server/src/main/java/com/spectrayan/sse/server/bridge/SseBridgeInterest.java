@@ -0,0 +1,441 @@
+package com.spectrayan.sse.server.bridge;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Interest-based routing state shared by bridge implementations
+ * ({@code spectrayan.sse.server.bridge.routing.*}).
+ * <p>
+ * Maps topics to routes — the channels their messages travel on — and tracks which routes this instance serves
+ * (reference-counted over its active topics) and which routes other instances serve. Instances exchange
+ * announcements on a {@linkplain #controlChannel() control channel}: when they start or stop serving a route,
+ * periodically with everything they serve, and on start-up to ask the others for the same. A bridge:
+ * <ul>
+ *   <li>subscribes to a route when {@link #activate(String)} returns {@code true} and unsubscribes when
+ *       {@link #deactivate(String)} does, publishing {@link #joined(String)} or {@link #left(String)};</li>
+ *   <li>publishes a message on {@link #route(String)} of its topic, or not at all when
+ *       {@link #hasRemoteInterest(String)} is {@code false};</li>
+ *   <li>hands control channel frames to {@link #receive(byte[])} and answers with {@link #snapshot()} when it
+ *       returns {@code true};</li>
+ *   <li>publishes {@link #syncRequest()} once on start and {@link #snapshot()} every
+ *       {@link #refreshInterval()}.</li>
+ * </ul>
+ * Until one refresh interval has passed after start-up every topic counts as remotely served, so messages are
+ * not skipped before the other instances had a chance to answer. An instance starting to serve a topic misses
+ * messages published before its announcement reaches the publisher, much like a Pub/Sub subscriber missing
+ * messages published before it subscribed.
+ * <p>
+ * With {@code BROADCAST} routing every topic maps to the shared channel, {@link #activate(String)} and
+ * {@link #deactivate(String)} never return {@code true} and every topic counts as remotely served.
+ * <p>
+ * With {@code routing.ownership} (cluster mode) every topic has an {@linkplain #owner(String) owner}: the instance
+ * a consistent hash ring over this instance and the instances announcing interest maps it to. Each instance
+ * places 128 points on the ring, so an instance joining or leaving moves only the topics
+ * between its points and their neighbours. A bridge in cluster mode additionally:
+ * <ul>
+ *   <li>forwards events of topics this instance does not own to the {@link #inbox(String)} of their owner and
+ *       receives forwarded events on its own {@link #inbox()};</li>
+ *   <li>publishes {@link #farewell()} when it closes, so the others take over its topics at once.</li>
+ * </ul>
+ * Until the instances have heard of each other every instance owns every topic, like during the warm-up of
+ * interest routing.
+ *
+ * @since 2.1.0
+ */
+public class SseBridgeInterest {
+
+    private static final byte VERSION = 1;
+    private static final byte JOIN = '+';
+    private static final byte LEAVE = '-';
+    private static final byte SNAPSHOT = '=';
+    private static final byte SYNC = '?';
+    private static final byte FAREWELL = '!';
+    private static final int VIRTUAL_NODES = 128;
+
+    private final String instanceId;
+    private final String channelName;
+    private final SseServerProperties.Bridge.Routing.Mode mode;
+    private final boolean ownership;
+    private final int shards;
+    private final Duration refreshInterval;
+    private final long expiryNanos;
+    private final long warmUpUntil;
+    private final LongSupplier nanoClock;
+    // route -> number of local topics on it; guarded by this
+    private final Map<String, Integer> localRoutes = new HashMap<>();
+    private final ConcurrentHashMap<String, Remote> remotes = new ConcurrentHashMap<>();
+    // bumped whenever an instance joins or leaves; a ring built for an older version is rebuilt
+    private final AtomicLong membership = new AtomicLong();
+    private final LongAdder skipped = new LongAdder();
+    private volatile Ring ring;
+
+    /**
+     * Create the routing state of an instance from the bridge configuration.
+     *
+     * @param instanceId this instance's id
+     * @param bridge     bridge configuration providing the channel name and routing settings
+     */
+    public SseBridgeInterest(String instanceId, SseServerProperties.Bridge bridge) {
+        this(instanceId, bridge, System::nanoTime);
+    }
+
+    SseBridgeInterest(String instanceId, SseServerProperties.Bridge bridge, LongSupplier nanoClock) {
+        SseServerProperties.Bridge.Routing routing = bridge.getRouting();
+        this.instanceId = instanceId;
+        this.channelName = bridge.getChannelName();
+        this.mode = routing.getMode();
+        this.ownership = routing.isOwnership();
+        this.shards = Math.max(1, routing.getShards());
+        this.refreshInterval = routing.getInterestRefresh();
+        this.expiryNanos = routing.getInterestRefresh().toNanos() * 3;
+        this.nanoClock = nanoClock;
+        this.warmUpUntil = nanoClock.getAsLong() + routing.getInterestRefresh().toNanos();
+    }
+
+    /**
+     * Create the state of an instance publishing everything on one shared channel.
+     *
+     * @param instanceId  this instance's id
+     * @param channelName the shared channel
+     * @return routing state with {@code BROADCAST} routing
+     */
+    public static SseBridgeInterest broadcast(String instanceId, String channelName) {
+        SseServerProperties.Bridge bridge = new SseServerProperties.Bridge();
+        bridge.setChannelName(channelName);
+        return new SseBridgeInterest(instanceId, bridge);
+    }
+
+    /**
+     * Publishes skipped by this instance because no other instance served the topic.
+     *
+     * @return skipped publishes
+     */
+    public long skippedPublishes() {
+        return skipped.sum();
+    }
+
+    /** @return this instance's id */
+    public String instanceId() {
+        return instanceId;
+    }
+
+    /** @return the configured channel name all routes derive from */
+    public String channelName() {
+        return channelName;
+    }
+
+    /** @return {@code true} unless routing is {@code BROADCAST} */
+    public boolean isRouted() {
+        return mode != SseServerProperties.Bridge.Routing.Mode.BROADCAST;
+    }
+
+    /** @return {@code true} in cluster mode: routed, with {@code routing.ownership} */
+    public boolean isOwnership() {
+        return ownership && isRouted();
+    }
+
+    /** @return the channel carrying interest announcements */
+    public String controlChannel() {
+        return channelName + ":interest";
+    }
+
+    /** @return how often {@link #snapshot()} should be published */
+    public Duration refreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * The channel messages of a topic travel on.
+     *
+     * @param topic the topic
+     * @return the shared channel, {@code <channel>:<topic>} or {@code <channel>:<shard>}
+     */
+    public String route(String topic) {
+        return switch (mode) {
+            case BROADCAST -> channelName;
+            case TOPIC -> channelName + ":" + topic;
+            // String.hashCode is specified, so every instance maps a topic to the same shard
+            case SHARDED -> channelName + ":" + Math.floorMod(topic.hashCode(), shards);
+        };
+    }
+
+    /** @return the channel this instance receives events forwarded to it as owner on */
+    public String inbox() {
+        return inbox(instanceId);
+    }
+
+    /**
+     * @param owner an instance id
+     * @return the channel the instance receives events forwarded to it as owner on
+     */
+    public String inbox(String owner) {
+        return channelName + ":owner:" + owner;
+    }
+
+    /**
+     * The instance owning a topic in cluster mode.
+     *
+     * @param topic the topic
+     * @return the owner's id; this instance's id when not in cluster mode
+     */
+    public String owner(String topic) {
+        if (!isOwnership()) return instanceId;
+        Ring current = ring(nanoClock.getAsLong());
+        int index = Arrays.binarySearch(current.points, hash(topic));
+        if (index < 0) index = -index - 1;
+        return current.owners[index == current.points.length ? 0 : index];
+    }
+
+    /**
+     * @param topic the topic
+     * @return whether this instance owns the topic; always {@code true} when not in cluster mode
+     */
+    public boolean ownsTopic(String topic) {
+        return instanceId.equals(owner(topic));
+    }
+
+    /** @return ids of this instance and the other instances whose interest has not expired, sorted */
+    public List<String> members() {
+        return ring(nanoClock.getAsLong()).members;
+    }
+
+    /**
+     * Record that this instance started serving a topic.
+     *
+     * @param topic the topic
+     * @return {@code true} when the topic's route was not served before and must be subscribed
+     */
+    public synchronized boolean activate(String topic) {
+        if (!isRouted()) return false;
+        return localRoutes.merge(route(topic), 1, Integer::sum) == 1;
+    }
+
+    /**
+     * Record that this instance stopped serving a topic.
+     *
+     * @param topic the topic
+     * @return {@code true} when no other local topic uses the topic's route and it must be unsubscribed
+     */
+    public synchronized boolean deactivate(String topic) {
+        if (!isRouted()) return false;
+        String route = route(topic);
+        Integer count = localRoutes.get(route);
+        if (count == null) return false;
+        if (count > 1) {
+            localRoutes.put(route, count - 1);
+            return false;
+        }
+        localRoutes.remove(route);
+        return true;
+    }
+
+    /**
+     * @param route a route
+     * @return whether this instance serves the route
+     */
+    public synchronized boolean serves(String route) {
+        return !isRouted() || localRoutes.containsKey(route);
+    }
+
+    /** @return routes this instance serves */
+    public synchronized Set<String> localRoutes() {
+        return Set.copyOf(localRoutes.keySet());
+    }
+
+    /**
+     * Whether another instance serves the topic's route. A {@code false} answer is counted as a skipped publish.
+     *
+     * @param topic the topic
+     * @return {@code false} when publishing the topic's messages would reach no other instance
+     */
+    public boolean hasRemoteInterest(String topic) {
+        if (!isRouted()) return true;
+        long now = nanoClock.getAsLong();
+        if (now - warmUpUntil < 0) return true;
+        String route = route(topic);
+        for (Remote remote : remotes.values()) {
+            if (now - remote.lastSeen <= expiryNanos && remote.routes.contains(route)) {
+                return true;
+            }
+        }
+        skipped.increment();
+        return false;
+    }
+
+    /** @return announcement that this instance now serves {@code route} */
+    public byte[] joined(String route) {
+        return encode(JOIN, List.of(route));
+    }
+
+    /** @return announcement that this instance no longer serves {@code route} */
+    public byte[] left(String route) {
+        return encode(LEAVE, List.of(route));
+    }
+
+    /** @return announcement of every route this instance serves */
+    public byte[] snapshot() {
+        return encode(SNAPSHOT, localRoutes());
+    }
+
+    /** @return announcement that this instance shuts down, dropping its interest and ownership at once */
+    public byte[] farewell() {
+        return encode(FAREWELL, List.of());
+    }
+
+    /** @return announcement of every route this instance serves, asking the others to answer with theirs */
+    public byte[] syncRequest() {
+        return encode(SYNC, localRoutes());
+    }
+
+    /**
+     * Apply an announcement received on the control channel. Own announcements are ignored.
+     *
+     * @param frame the announcement
+     * @return {@code true} when the sender asked for a {@link #snapshot()}
+     * @throws IllegalArgumentException when the frame is not an announcement
+     */
+    public boolean receive(byte[] frame) {
+        byte op;
+        String sender;
+        List<String> routes;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame))) {
+            if (in.readByte() != VERSION) throw new IllegalArgumentException("Unsupported interest announcement");
+            op = in.readByte();
+            sender = in.readUTF();
+            int count = in.readInt();
+            if (count < 0 || count > frame.length) throw new IllegalArgumentException("Invalid interest announcement");
+            String[] read = new String[count];
+            for (int i = 0; i < count; i++) {
+                read[i] = in.readUTF();
+            }
+            routes = List.of(read);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid interest announcement", e);
+        }
+        if (instanceId.equals(sender)) return false;
+        if (op == FAREWELL) {
+            if (remotes.remove(sender) != null) membership.incrementAndGet();
+            return false;
+        }
+
+        long now = nanoClock.getAsLong();
+        if (remotes.values().removeIf(remote -> now - remote.lastSeen > expiryNanos)) {
+            membership.incrementAndGet();
+        }
+        Remote remote = remotes.get(sender);
+        if (remote == null) {
+            remote = remotes.computeIfAbsent(sender, id -> new Remote());
+            membership.incrementAndGet();
+        }
+        remote.lastSeen = now;
+        switch (op) {
+            case JOIN -> remote.routes.addAll(routes);
+            case LEAVE -> remote.routes.removeAll(routes);
+            case SNAPSHOT, SYNC -> {
+                remote.routes.retainAll(routes);
+                remote.routes.addAll(routes);
+            }
+            default -> throw new IllegalArgumentException("Unknown interest announcement " + (char) op);
+        }
+        return op == SYNC;
+    }
+
+    private byte[] encode(byte op, Collection<String> routes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(op);
+            out.writeUTF(instanceId);
+            out.writeInt(routes.size());
+            for (String route : routes) {
+                out.writeUTF(route);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The ring of the current members, rebuilt when an instance joined or left, or when the earliest
+     * member's interest expires.
+     */
+    private Ring ring(long now) {
+        long version = membership.get();
+        Ring current = ring;
+        if (current != null && current.version == version && now - current.expiresAt < 0) return current;
+
+        List<String> members = new ArrayList<>();
+        members.add(instanceId);
+        long expiresAt = now + expiryNanos;
+        for (Map.Entry<String, Remote> entry : remotes.entrySet()) {
+            long lastSeen = entry.getValue().lastSeen;
+            if (now - lastSeen > expiryNanos) continue;
+            members.add(entry.getKey());
+            if (lastSeen + expiryNanos - expiresAt < 0) expiresAt = lastSeen + expiryNanos;
+        }
+        Collections.sort(members);
+        TreeMap<Long, String> points = new TreeMap<>();
+        for (String member : members) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                // On a (vanishingly rare) collision the smaller id wins on every instance, as members are sorted
+                points.putIfAbsent(hash(member + '#' + i), member);
+            }
+        }
+        long[] keys = new long[points.size()];
+        String[] owners = new String[points.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> point : points.entrySet()) {
+            keys[i] = point.getKey();
+            owners[i++] = point.getValue();
+        }
+        Ring rebuilt = new Ring(version, expiresAt, List.copyOf(members), keys, owners);
+        ring = rebuilt;
+        return rebuilt;
+    }
+
+    /** 64-bit FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer; identical on every instance. */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Points of the consistent hash ring in ascending order, each with the member owning the arc ending there. */
+    private record Ring(long version, long expiresAt, List<String> members, long[] points, String[] owners) { }
+
+    /** Routes served by another instance. */
+    private static final class Remote {
+        final Set<String> routes = ConcurrentHashMap.newKeySet();
+        volatile long lastSeen;
+    }
+}
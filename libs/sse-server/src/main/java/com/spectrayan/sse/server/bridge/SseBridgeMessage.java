@@ -1,5 +1,7 @@
 package com.spectrayan.sse.server.bridge;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.io.Serializable;
 
 /**
@@ -25,6 +27,10 @@ import java.io.Serializable;
  * @param payload          event data — any object supported by the configured serializers
  * @param id               optional SSE {@code id} for Last-Event-ID tracking; may be {@code null}
  * @param timestamp        epoch millis when the event was created on the originating instance
+ * @param sequence         strictly increasing per originating instance and topic, by one from each event to the
+ *                         next while the topic exists there; {@code 0} when unsequenced (2.0.x senders).
+ *                         Receivers use it to restore order, drop duplicates and detect lost messages.
+ *                         Omitted from JSON when {@code 0}, keeping the 2.0.x format.
  * @since 2.0.0
  */
 public record SseBridgeMessage(
@@ -33,5 +39,22 @@ public record SseBridgeMessage(
         String eventName,
         Object payload,
         String id,
-        long timestamp
-) implements Serializable {}
+        long timestamp,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) long sequence
+) implements Serializable {
+
+    /**
+     * Create an unsequenced message.
+     *
+     * @param originInstanceId unique identifier of the instance that emitted the event
+     * @param topic            SSE topic the event targets
+     * @param eventName        optional SSE {@code event} name; may be {@code null}
+     * @param payload          event data
+     * @param id               optional SSE {@code id}; may be {@code null}
+     * @param timestamp        epoch millis when the event was created on the originating instance
+     */
+    public SseBridgeMessage(String originInstanceId, String topic, String eventName, Object payload,
+                            String id, long timestamp) {
+        this(originInstanceId, topic, eventName, payload, id, timestamp, 0L);
+    }
+}
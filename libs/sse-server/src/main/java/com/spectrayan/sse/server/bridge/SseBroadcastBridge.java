@@ -1,5 +1,8 @@
 package com.spectrayan.sse.server.bridge;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 /**
  * SPI for cross-instance SSE event fan-out.
  * <p>
@@ -37,12 +40,179 @@ public interface SseBroadcastBridge {
      * <p>
      * This method is invoked on the emitting thread. Implementations that
      * perform I/O should consider asynchronous dispatch to avoid blocking
-     * the caller.
+     * the caller, or enable the asynchronous publish stage
+     * ({@code spectrayan.sse.server.bridge.publish.async}), which calls
+     * {@link #publishAsync(SseBridgeMessage)} from dedicated threads instead.
      *
      * @param message the event envelope to broadcast; never {@code null}
      */
     void publish(SseBridgeMessage message);
 
+    /**
+     * Publish an SSE event and signal when the broker accepted it.
+     * <p>
+     * Used by the asynchronous publish stage to bound the number of publishes in
+     * flight and to measure publish latency. The returned {@link Mono} completes
+     * when the message was handed off, or errors when publishing failed.
+     * <p>
+     * The default implementation calls {@link #publish(SseBridgeMessage)} on
+     * subscription and completes when it returns.
+     *
+     * @param message the event envelope to broadcast; never {@code null}
+     * @return a Mono completing once the message was published
+     * @since 2.1.0
+     */
+    default Mono<Void> publishAsync(SseBridgeMessage message) {
+        return Mono.fromRunnable(() -> publish(message));
+    }
+
+    /**
+     * Publish several SSE events, ideally as one envelope in a single broker operation.
+     * <p>
+     * Used by the asynchronous publish stage when batching is enabled
+     * ({@code spectrayan.sse.server.bridge.batch.enabled}). Implementations that
+     * send the batch as one envelope must unpack it on the receiving side and
+     * deliver its messages in order.
+     * <p>
+     * The default implementation publishes the messages one by one, in order,
+     * through {@link #publishAsync(SseBridgeMessage)}.
+     *
+     * @param batch the messages to broadcast; never {@code null} or empty
+     * @return a Mono completing once every message was published
+     * @since 2.1.0
+     */
+    default Mono<Void> publishBatch(SseBridgeBatch batch) {
+        return Flux.fromIterable(batch.messages()).concatMap(this::publishAsync).then();
+    }
+
+    /**
+     * Notify the bridge that this instance started serving a topic (a client connected to a topic without a
+     * local channel).
+     * <p>
+     * Bridges that route by interest ({@code spectrayan.sse.server.bridge.routing.mode}) start receiving the
+     * topic's messages. Called while the topic is being created, so implementations must not block.
+     * The default implementation is a no-op.
+     *
+     * @param topic the topic now served locally
+     * @since 2.1.0
+     */
+    default void topicActivated(String topic) {}
+
+    /**
+     * Notify the bridge that this instance stopped serving a topic (its local channel was removed).
+     * <p>
+     * Must not block. The default implementation is a no-op.
+     *
+     * @param topic the topic no longer served locally
+     * @since 2.1.0
+     */
+    default void topicDeactivated(String topic) {}
+
+    /**
+     * Whether another instance may serve the topic. The emitter does not publish events of topics
+     * without remote interest.
+     * <p>
+     * Called for every emitted event, so implementations must answer from local state.
+     * The default implementation returns {@code true}.
+     *
+     * @param topic the topic of an event about to be published
+     * @return {@code false} when publishing would reach no other instance
+     * @since 2.1.0
+     */
+    default boolean hasRemoteInterest(String topic) {
+        return true;
+    }
+
+    /**
+     * Whether this instance owns the topic in cluster mode ({@code spectrayan.sse.server.bridge.routing.ownership}).
+     * <p>
+     * The emitter delivers and publishes events of owned topics itself, in one sequence per topic, and hands
+     * events of other topics to {@link #forward(SseBridgeMessage)} instead of delivering them locally; local
+     * subscribers receive them when the owner publishes them. Called for every emitted event, so
+     * implementations must answer from local state. The default implementation returns {@code true}.
+     *
+     * @param topic the topic of an event about to be emitted
+     * @return {@code false} when another instance owns the topic
+     * @since 2.1.0
+     */
+    default boolean ownsTopic(String topic) {
+        return true;
+    }
+
+    /**
+     * Send an event to the instance owning its topic, which receives it through
+     * {@link SseBroadcastListener#onForwardedEvent(SseBridgeMessage)}.
+     * <p>
+     * Called on the emitting thread for topics {@link #ownsTopic(String)} denies; must not block.
+     * The default implementation {@linkplain #publish(SseBridgeMessage) publishes} the event.
+     *
+     * @param message the unsequenced event; never {@code null}
+     * @since 2.1.0
+     */
+    default void forward(SseBridgeMessage message) {
+        publish(message);
+    }
+
+    /**
+     * Events of a topic published after the event with the given id, oldest first, for a client
+     * reconnecting with {@code Last-Event-ID}.
+     * <p>
+     * Bridges backed by a durable log serve this from the log, so the client catches up on
+     * events emitted on any instance while it was disconnected. The emitter sends these events
+     * before the live stream and drops live events it already replayed. An empty result means
+     * the id is unknown or there is nothing to replay.
+     * <p>
+     * The default implementation returns an empty {@link Flux}.
+     *
+     * @param topic       the topic being reconnected to
+     * @param lastEventId the id of the last event the client received
+     * @return the events after {@code lastEventId}, oldest first
+     * @since 2.1.0
+     */
+    default Flux<SseBridgeMessage> replay(String topic, String lastEventId) {
+        return Flux.empty();
+    }
+
+    /**
+     * Notify the bridge that messages of a remote instance never arrived.
+     * <p>
+     * Called by the emitter when received messages skip sequence numbers of their origin and topic and the
+     * missing ones did not arrive within the ordering window ({@code spectrayan.sse.server.bridge.ordering.*}).
+     * Messages arriving later are dropped as duplicates. Bridges able to fetch lost messages, or to resynchronize
+     * with the broker, can trigger that here. Must not block. The default implementation is a no-op.
+     *
+     * @param topic            the topic the messages belong to
+     * @param originInstanceId the instance that published them
+     * @param fromSequence     first missing sequence number
+     * @param toSequence       last missing sequence number (inclusive)
+     * @since 2.1.0
+     */
+    default void gapDetected(String topic, String originInstanceId, long fromSequence, long toSequence) {}
+
+    /**
+     * Interest routing state of this bridge, whose counters the emitter registers with its metrics.
+     * <p>
+     * The default implementation returns {@code null}, for bridges without interest routing.
+     *
+     * @return the bridge's routing state, or {@code null}
+     * @since 2.1.0
+     */
+    default SseBridgeInterest interest() {
+        return null;
+    }
+
+    /**
+     * Broker health of this bridge, whose counters the emitter registers with its metrics.
+     * <p>
+     * The default implementation returns {@code null}, for bridges without a circuit breaker.
+     *
+     * @return the bridge's health, or {@code null}
+     * @since 2.1.0
+     */
+    default SseBridgeHealth health() {
+        return null;
+    }
+
     /**
      * Register a listener that receives events published by remote instances.
      * <p>
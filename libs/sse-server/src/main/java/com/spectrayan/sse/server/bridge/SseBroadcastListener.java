@@ -26,4 +26,19 @@ public interface SseBroadcastListener {
      * @param message the remote event envelope; never {@code null}
      */
     void onRemoteEvent(SseBridgeMessage message);
+
+    /**
+     * Called in cluster mode when another instance forwarded an event of a topic this instance owns
+     * (see {@link SseBroadcastBridge#ownsTopic(String)}).
+     * <p>
+     * The implementation should deliver the event locally and publish it like a local emit, so every
+     * instance receives the topic's events in the owner's order. The default implementation treats it
+     * as a remote event.
+     *
+     * @param message the forwarded event envelope; never {@code null}
+     * @since 2.1.0
+     */
+    default void onForwardedEvent(SseBridgeMessage message) {
+        onRemoteEvent(message);
+    }
 }
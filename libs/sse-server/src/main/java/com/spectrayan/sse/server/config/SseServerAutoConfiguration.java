@@ -1,6 +1,9 @@
 package com.spectrayan.sse.server.config;
 
+import com.spectrayan.sse.server.bridge.BinarySseBridgeCodec;
+import com.spectrayan.sse.server.bridge.JsonSseBridgeCodec;
 import com.spectrayan.sse.server.bridge.NoOpBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBridgeCodec;
 import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
 import com.spectrayan.sse.server.controller.SseEndpointHandler;
 import com.spectrayan.sse.server.customize.SseEmitterCustomizer;
@@ -21,6 +24,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.server.WebFilter;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
@@ -47,14 +51,30 @@ public class SseServerAutoConfiguration {
         return factory -> factory.addServerCustomizers(httpServer -> httpServer.compress(true));
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(NettyReactiveWebServerFactory.class)
+    public SseTransportCustomizer sseTransportCustomizer(SseServerProperties properties) {
+        return new SseTransportCustomizer(properties.getTransport());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher sseLifecycleDispatcher(SseServerProperties properties,
+                                                                                             ApplicationEventPublisher eventPublisher) {
+        return new com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher(eventPublisher, properties.getLifecycle());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public SseEmitter sseEmitter(SseServerProperties properties, ObjectProvider<SseEmitterCustomizer> sinkCustomizer,
                                  ObjectProvider<com.spectrayan.sse.server.customize.SseSessionHook> sessionHooks,
                                  com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
                                  ObjectProvider<com.spectrayan.sse.server.metrics.SseMetrics> sseMetrics,
-                                 SseBroadcastBridge sseBroadcastBridge) {
-        return new DefaultSseEmitter(properties, sinkCustomizer, sessionHooks, sessionIdGenerator, sseMetrics.getIfAvailable(), sseBroadcastBridge);
+                                 SseBroadcastBridge sseBroadcastBridge,
+                                 ObjectProvider<com.spectrayan.sse.server.topic.TopicSource> topicSources,
+                                 com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher sseLifecycleDispatcher) {
+        return new DefaultSseEmitter(properties, sinkCustomizer, sessionHooks, sessionIdGenerator, sseMetrics.getIfAvailable(), sseBroadcastBridge, topicSources, sseLifecycleDispatcher);
     }
 
     /**
@@ -70,6 +90,18 @@ public class SseServerAutoConfiguration {
         return new NoOpBroadcastBridge();
     }
 
+    /**
+     * Wire format for broadcast bridges, selected by {@code spectrayan.sse.server.bridge.codec}.
+     *
+     * @since 2.1.0
+     */
+    @Bean
+    @ConditionalOnMissingBean(SseBridgeCodec.class)
+    public SseBridgeCodec sseBridgeCodec(SseServerProperties properties) {
+        return properties.getBridge().getCodec() == SseServerProperties.Bridge.Codec.JSON
+                ? new JsonSseBridgeCodec() : new BinarySseBridgeCodec();
+    }
+
     @Bean
     @ConditionalOnMissingBean(EventSerializer.class)
     public EventSerializer sseEventSerializer() { return new DefaultEventSerializer(); }
@@ -80,7 +112,16 @@ public class SseServerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(ReconnectPolicy.class)
-    public ReconnectPolicy sseReconnectPolicy(SseServerProperties properties) { return new DefaultReconnectPolicy(properties); }
+    public ReconnectPolicy sseReconnectPolicy(SseServerProperties properties,
+                                              ObjectProvider<com.spectrayan.sse.server.topic.TopicRegistry> topicRegistry) {
+        if (properties.getReconnect().getPolicy() == SseServerProperties.Reconnect.Policy.LOAD_AWARE) {
+            return new com.spectrayan.sse.server.template.impl.LoadAwareReconnectPolicy(properties, () -> {
+                com.spectrayan.sse.server.topic.TopicRegistry registry = topicRegistry.getIfAvailable();
+                return registry != null ? registry.topicSubscriberCounts().values().stream().mapToInt(Integer::intValue).sum() : 0;
+            });
+        }
+        return new DefaultReconnectPolicy(properties);
+    }
 
     @Bean
     @ConditionalOnMissingBean(ErrorMapper.class)
@@ -108,22 +149,23 @@ public class SseServerAutoConfiguration {
             ObjectProvider<SseStreamCustomizer> streamCustomizers,
             ObjectProvider<SseHeaderCustomizer> headerCustomizers,
             ObjectProvider<SseEndpointCustomizer> endpointCustomizers,
-            ApplicationEventPublisher eventPublisher,
+            com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher sseLifecycleDispatcher,
             com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
             EventSerializer serializer,
             ClientFilter clientFilter,
             ReconnectPolicy reconnectPolicy,
             HeartbeatPolicy heartbeatPolicy,
             ErrorMapper errorMapper,
-            ConnectionRegistry connectionRegistry) {
-        return new DefaultSseTemplateBuilder(
+            ConnectionRegistry connectionRegistry,
+            ObjectProvider<com.spectrayan.sse.server.template.ReactiveClientFilter> reactiveClientFilter) {
+        SseTemplateBuilder builder = new DefaultSseTemplateBuilder(
                 emitter,
                 headerHandler,
                 properties,
                 streamCustomizers,
                 headerCustomizers,
                 endpointCustomizers,
-                eventPublisher,
+                sseLifecycleDispatcher,
                 sessionIdGenerator,
                 serializer,
                 clientFilter,
@@ -132,6 +174,16 @@ public class SseServerAutoConfiguration {
                 errorMapper,
                 connectionRegistry
         );
+        com.spectrayan.sse.server.template.ReactiveClientFilter reactive = reactiveClientFilter.getIfAvailable();
+        if (reactive != null) {
+            SseServerProperties.ClientFilter cfg = properties.getClientFilter();
+            if (cfg.isCacheEnabled()) {
+                reactive = new com.spectrayan.sse.server.template.impl.CachingReactiveClientFilter(
+                        reactive, cfg.getCacheTtl(), cfg.getCacheMaxEntries());
+            }
+            builder.reactiveClientFilter(reactive);
+        }
+        return builder;
     }
 
     @Bean
@@ -142,8 +194,26 @@ public class SseServerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(com.spectrayan.sse.server.customize.SessionIdGenerator.class)
-    public com.spectrayan.sse.server.customize.SessionIdGenerator sseSessionIdGenerator() {
-        return new com.spectrayan.sse.server.customize.UuidSessionIdGenerator();
+    public com.spectrayan.sse.server.customize.SessionIdGenerator sseSessionIdGenerator(SseServerProperties properties) {
+        SseServerProperties.Session session = properties.getSession();
+        return switch (session.getIdGenerator()) {
+            case ULID -> new com.spectrayan.sse.server.customize.UlidSessionIdGenerator();
+            case SNOWFLAKE -> new com.spectrayan.sse.server.customize.SnowflakeSessionIdGenerator(snowflakeNodeId(properties));
+            case UUID -> new com.spectrayan.sse.server.customize.UuidSessionIdGenerator();
+        };
+    }
+
+    static int snowflakeNodeId(SseServerProperties properties) {
+        int configured = properties.getSession().getNodeId();
+        if (configured >= 0) {
+            return configured;
+        }
+        String instanceId = properties.getBridge().getInstanceId();
+        int max = com.spectrayan.sse.server.customize.SnowflakeSessionIdGenerator.MAX_NODE_ID;
+        if (instanceId != null && !instanceId.isBlank()) {
+            return Math.floorMod(instanceId.hashCode(), max + 1);
+        }
+        return java.util.concurrent.ThreadLocalRandom.current().nextInt(max + 1);
     }
 
     @Bean
@@ -209,6 +279,21 @@ public class SseServerAutoConfiguration {
         return new SseServerWebFilter(properties, headerHandler);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(WebFilter.class)
+    @ConditionalOnProperty(prefix = "spectrayan.sse.server.admission", name = "enabled", havingValue = "true")
+    public com.spectrayan.sse.server.admission.SseAdmissionWebFilter sseAdmissionWebFilter(SseServerProperties properties) {
+        return new com.spectrayan.sse.server.admission.SseAdmissionWebFilter(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "spectrayan.sse.server.drain", name = "enabled", havingValue = "true")
+    public com.spectrayan.sse.server.lifecycle.SseDrainLifecycle sseDrainLifecycle(SseEmitter emitter, SseServerProperties properties) {
+        return new com.spectrayan.sse.server.lifecycle.SseDrainLifecycle(emitter, properties.getDrain());
+    }
+
     @Bean
     @ConditionalOnMissingBean(SseEndpointHandler.class)
     public SseEndpointHandler sseEndpointHandler(SseEmitter emitter,
@@ -217,8 +302,9 @@ public class SseServerAutoConfiguration {
                                                  ObjectProvider<SseStreamCustomizer> streamCustomizers,
                                                  ObjectProvider<SseHeaderCustomizer> headerCustomizers,
                                                  ObjectProvider<SseEndpointCustomizer> endpointCustomizers,
-                                                 ApplicationEventPublisher eventPublisher,
-                                                 com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator) {
+                                                 com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher sseLifecycleDispatcher,
+                                                 com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
+                                                 ObjectProvider<ReconnectPolicy> reconnectPolicy) {
         return new SseEndpointHandler(
                 emitter,
                 headerHandler,
@@ -226,8 +312,9 @@ public class SseServerAutoConfiguration {
                 streamCustomizers,
                 headerCustomizers,
                 endpointCustomizers,
-                eventPublisher,
-                sessionIdGenerator
+                sseLifecycleDispatcher,
+                sessionIdGenerator,
+                reconnectPolicy.getIfAvailable()
         );
     }
 
@@ -267,9 +354,11 @@ public class SseServerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(com.spectrayan.sse.server.topic.TopicRegistry.class)
+    @Primary
     public com.spectrayan.sse.server.topic.TopicRegistry sseTopicRegistry(SseEmitter emitter) {
         // Default emitter implements TopicRegistry; expose a delegating wrapper to avoid
-        // the bean also being considered an SseEmitter by type resolution
+        // the bean also being considered an SseEmitter by type resolution. Primary because the
+        // created emitter also matches TopicRegistry lookups
         return new com.spectrayan.sse.server.topic.DelegatingTopicRegistry(
                 (com.spectrayan.sse.server.topic.TopicRegistry) emitter
         );
@@ -282,8 +371,9 @@ public class SseServerAutoConfiguration {
     @org.springframework.boot.autoconfigure.condition.ConditionalOnBean(type = "io.micrometer.core.instrument.MeterRegistry")
     public com.spectrayan.sse.server.metrics.SseMetrics sseMetrics(
             io.micrometer.core.instrument.MeterRegistry meterRegistry,
-            com.spectrayan.sse.server.topic.TopicRegistry topicRegistry,
+            ObjectProvider<com.spectrayan.sse.server.topic.TopicRegistry> topicRegistry,
             SseServerProperties properties) {
-        return new com.spectrayan.sse.server.metrics.SseMetrics(meterRegistry, topicRegistry, properties);
+        // Resolved when sampled: the emitter behind the registry receives these metrics while it is created
+        return new com.spectrayan.sse.server.metrics.SseMetrics(meterRegistry, topicRegistry::getIfAvailable, properties);
     }
 }
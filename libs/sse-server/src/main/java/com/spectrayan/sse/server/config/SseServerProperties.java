@@ -2,6 +2,7 @@ package com.spectrayan.sse.server.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -52,6 +53,36 @@ public class SseServerProperties {
     // Cross-instance broadcast bridge configuration
     private Bridge bridge = new Bridge();
 
+    // Session hook and lifecycle event dispatching
+    private Lifecycle lifecycle = new Lifecycle();
+
+    // Session id resolution
+    private Session session = new Session();
+
+    // Connection admission (ReactiveClientFilter) settings
+    private ClientFilter clientFilter = new ClientFilter();
+
+    // Per-connection delivery settings
+    private Delivery delivery = new Delivery();
+
+    // Reactor Netty transport and socket settings
+    private Transport transport = new Transport();
+
+    // Dead connection detection
+    private Liveness liveness = new Liveness();
+
+    // Connect admission control
+    private Admission admission = new Admission();
+
+    // Reconnect hints
+    private Reconnect reconnect = new Reconnect();
+
+    // Graceful connection drain on shutdown
+    private Drain drain = new Drain();
+
+    // Node-level capacity limits and memory-pressure load shedding
+    private Capacity capacity = new Capacity();
+
     public void setHeaders(List<SseHeader> headers) {
         this.headers = (headers != null ? headers : new ArrayList<>());
     }
@@ -85,6 +116,11 @@ public class SseServerProperties {
         private boolean mapErrorsToSse = true;
         /** Name of the query parameter to read Last-Event-ID from on reconnect. Default: 'lastEventId' */
         private String lastEventIdParamName = "lastEventId";
+        /**
+         * Live events buffered for a client reconnecting with a last event id while the bridge replays what it
+         * missed, and afterwards while the client falls behind. Events beyond it are dropped and logged.
+         */
+        private int replayLiveBuffer = 1024;
     }
 
     @Data
@@ -95,11 +131,20 @@ public class SseServerProperties {
         private int maxSubscribers = 0;
         /** Time a topic with 0 subscribers is kept before automatic removal. Null = no cleanup. */
         private Duration idleTtl = null;
+        /**
+         * Time a {@link com.spectrayan.sse.server.topic.TopicSource} upstream is kept running after the
+         * last subscriber of its topic left. A subscriber arriving within this window reuses the running
+         * upstream. Zero (default) cancels the upstream immediately.
+         */
+        private Duration sourceLinger = Duration.ZERO;
     }
 
     @Data
     public static class Emitter {
-        /** Sink type: multicast or replay */
+        /**
+         * Sink type: multicast, replay, lightweight (single-subscriber handoff, multicast on demand) or
+         * partitioned (parallel fan-out per connection event loop, for hot topics)
+         */
         private SinkType sinkType = SinkType.MULTICAST;
         /**
          * Replay buffer size when using REPLAY sink. Determines how many past events
@@ -134,7 +179,7 @@ public class SseServerProperties {
         }
     }
 
-    public enum SinkType { MULTICAST, REPLAY }
+    public enum SinkType { MULTICAST, REPLAY, LIGHTWEIGHT, PARTITIONED }
 
     @Data
     public static class Webflux {
@@ -199,5 +244,430 @@ public class SseServerProperties {
          * generated at startup.
          */
         private String instanceId;
+        /**
+         * Wire format of bridge messages: {@code BINARY} (compact frames carrying pre-encoded SSE data) or
+         * {@code JSON} (the 2.0.x format; use it while the channel still has 2.0.x instances). All instances on a
+         * channel must use the same codec. Ignored when an {@code SseBridgeCodec} bean is defined.
+         */
+        private Codec codec = Codec.BINARY;
+        /** Asynchronous publish stage between emitters and the bridge. */
+        private Publish publish = new Publish();
+        /** Micro-batching of outgoing bridge messages. */
+        private Batch batch = new Batch();
+        /** Interest-based routing of bridge messages to the instances serving their topics. */
+        private Routing routing = new Routing();
+        /** Ordering, de-duplication and gap detection of received bridge messages. */
+        private Ordering ordering = new Ordering();
+        /** Resubscription and local-only fallback while the broker is unreachable. */
+        private Resilience resilience = new Resilience();
+
+        public enum Codec { BINARY, JSON }
+
+        /**
+         * Interest-based routing: instead of every instance receiving every message on one channel, messages
+         * travel on per-topic or per-shard channels that an instance subscribes to while it serves a matching
+         * topic. Instances announce the channels they serve, and publishers skip the bridge for topics no other
+         * instance serves. All instances on a channel must use the same routing settings.
+         *
+         * @since 2.1.0
+         */
+        @Data
+        public static class Routing {
+            /** How messages are spread over channels. */
+            private Mode mode = Mode.BROADCAST;
+            /** Number of shard channels with {@code SHARDED}. */
+            private int shards = 64;
+            /**
+             * How often each instance re-announces the channels it serves. Interest not refreshed within three
+             * intervals expires, so routes of crashed instances are dropped.
+             */
+            private Duration interestRefresh = Duration.ofSeconds(10);
+            /**
+             * Cluster mode with {@code TOPIC} or {@code SHARDED}: each topic is owned by one instance, chosen by
+             * consistent hashing over the instances announcing interest. Emits on other instances are forwarded
+             * to the owner, which delivers and publishes them in one sequence, giving every instance the same
+             * order of a topic's events. Instances that stopped announcing lose their topics after three
+             * refresh intervals, or at once when they shut down cleanly.
+             */
+            private boolean ownership = false;
+
+            public enum Mode {
+                /** One shared channel; every instance receives every message (the 2.0.x behavior). */
+                BROADCAST,
+                /** A channel per topic ({@code <channel-name>:<topic>}). */
+                TOPIC,
+                /** Topics hashed onto {@code shards} channels ({@code <channel-name>:<shard>}). */
+                SHARDED
+            }
+        }
+
+        /**
+         * Receive-side ordering of bridge messages. Every published message carries a sequence number per
+         * originating instance and topic; receivers deliver each origin's messages of a topic in sequence order,
+         * holding back messages that arrive early, drop messages already delivered, and report sequence numbers
+         * that never arrived as a gap.
+         *
+         * @since 2.1.0
+         */
+        @Data
+        public static class Ordering {
+            /** Reorder and de-duplicate received messages by sequence number; when false they are delivered as received. */
+            private boolean enabled = true;
+            /**
+             * Maximum early messages held back per origin and topic. When exceeded, the missing messages are
+             * given up as a gap and the held-back ones are delivered.
+             */
+            private int window = 64;
+            /** Maximum time an early message waits for the missing ones before they are given up as a gap. */
+            private Duration maxDelay = Duration.ofMillis(100);
+        }
+
+        /**
+         * Behavior of the bridge while the broker is unreachable. Failed subscriptions are re-established with
+         * exponential backoff, and a circuit breaker switches the instance to local-only delivery after repeated
+         * failures: events still reach local subscribers at once, while publishing (and, in cluster mode,
+         * forwarding to other owners) is suspended instead of waiting on the broker. Once the broker answers
+         * again the bridge re-announces its interest and resumes publishing.
+         *
+         * @since 2.1.0
+         */
+        @Data
+        public static class Resilience {
+            /** Switch to local-only delivery after {@code failure-threshold} consecutive broker failures. */
+            private boolean circuitBreaker = true;
+            /** Consecutive failed broker operations (or one lost subscription) that open the circuit. */
+            private int failureThreshold = 5;
+            /** How long the circuit stays open before one operation probes the broker again. */
+            private Duration openDuration = Duration.ofSeconds(5);
+            /** First delay before resubscribing after a subscription failed; doubles per failure. */
+            private Duration retryBackoff = Duration.ofMillis(100);
+            /** Longest delay between resubscription attempts. */
+            private Duration maxRetryBackoff = Duration.ofSeconds(30);
+        }
+
+        /**
+         * Pack outgoing bridge messages into one envelope (one broker operation) per flush. Batches are built
+         * by the asynchronous publish stage, which is used whenever batching is enabled.
+         *
+         * @since 2.1.0
+         */
+        @Data
+        public static class Batch {
+            /** Batch outgoing bridge messages. */
+            private boolean enabled = false;
+            /** Maximum messages per envelope; a full batch is flushed immediately. */
+            private int maxMessages = 256;
+            /** Maximum time the first message of a batch waits for more before the batch is flushed. */
+            private Duration flushInterval = Duration.ofMillis(5);
+        }
+
+        /**
+         * Asynchronous, bounded publish stage: emitting threads only enqueue, dedicated publisher threads hand
+         * messages to the bridge with a bounded number of publishes in flight.
+         *
+         * @since 2.1.0
+         */
+        @Data
+        public static class Publish {
+            /** Publish through the asynchronous stage; when false the bridge is called on the emitting thread. */
+            private boolean async = false;
+            /** Maximum messages waiting to be published, split evenly across publisher threads. */
+            private int queueCapacity = 10_000;
+            /** What happens to a message when the queue is full. */
+            private Overflow overflow = Overflow.DROP_OLDEST;
+            /** Publisher threads; messages of one topic always go through the same thread, keeping their order. */
+            private int threads = 1;
+            /** Maximum publishes handed to the bridge and not yet completed. */
+            private int maxInFlight = 256;
+            /** How long closing the bridge waits for queued messages to be published. */
+            private Duration shutdownTimeout = Duration.ofSeconds(5);
+
+            public enum Overflow {
+                /** Drop the message being published. */
+                DROP_NEWEST,
+                /** Evict the oldest queued message to make room. */
+                DROP_OLDEST,
+                /**
+                 * Block the emitting thread until the topic's queue has room, keeping the topic's order. Only for
+                 * emitters that never run on an event loop: on a non-blocking thread the message is dropped instead.
+                 */
+                BLOCK
+            }
+        }
+    }
+
+    /**
+     * Configuration for dispatching session hooks and lifecycle application events.
+     * <p>
+     * In {@code SYNC} mode hooks and events run on the thread that observed the signal, which for the
+     * HTTP endpoint is the Netty event loop. {@code ASYNC} mode hands them to a bounded queue drained
+     * serially off the event loop, so blocking hooks (e.g. database presence writes) cannot stall I/O.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Lifecycle {
+        /** Dispatch mode for session hooks and lifecycle events. */
+        private Mode mode = Mode.SYNC;
+        /** Drain the async queue on virtual threads; when false a single daemon platform thread is used. */
+        private boolean virtualThreads = true;
+        /**
+         * Maximum number of pending callbacks in {@code ASYNC} mode. When full, events and joins are dropped
+         * (never run on the event loop); the leave of a session whose join was dropped is dropped with it, and
+         * other leaves are always queued.
+         */
+        private int queueCapacity = 10_000;
+        /** Maximum number of callbacks handed to the hooks per drain cycle (see {@code SseSessionBatchHook}). */
+        private int batchSize = 256;
+        /**
+         * Skip allocating and publishing a lifecycle event when no application listener is registered
+         * for its type. Disable when listeners are registered in a way the context cannot enumerate
+         * (e.g. non-singleton listener beans).
+         */
+        private boolean skipUnobservedEvents = true;
+
+        public enum Mode { SYNC, ASYNC }
+    }
+
+    /**
+     * Configuration for the decision cache wrapped around an application-provided
+     * {@link com.spectrayan.sse.server.template.ReactiveClientFilter} bean.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class ClientFilter {
+        /** Cache admission decisions per (principal, topic) and coalesce concurrent identical checks. */
+        private boolean cacheEnabled = true;
+        /** How long a resolved decision (allow or deny) is reused. */
+        private Duration cacheTtl = Duration.ofSeconds(30);
+        /** Maximum number of cached (principal, topic) decisions. */
+        private int cacheMaxEntries = 100_000;
+    }
+
+    /**
+     * Configuration for resolving SSE session ids on connect.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Session {
+        /**
+         * Use the WebFlux {@code WebSession} id as the SSE session id when available. Set to {@code false}
+         * for the lean connect path: no {@code WebSession} is created or looked up and ids always come from
+         * the {@link com.spectrayan.sse.server.customize.SessionIdGenerator}.
+         */
+        private boolean useWebSession = true;
+        /** Built-in generator used when no {@code SessionIdGenerator} bean is defined. */
+        private IdGenerator idGenerator = IdGenerator.UUID;
+        /**
+         * Node id for the {@code SNOWFLAKE} generator ({@code 0..1023}). Negative derives it from
+         * {@code bridge.instance-id} when set, otherwise picks a random node id.
+         */
+        private int nodeId = -1;
+
+        public enum IdGenerator { UUID, ULID, SNOWFLAKE }
+    }
+
+    /**
+     * Configuration for delivering events to subscriber connections.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Delivery {
+        /**
+         * Drain each subscriber's events on the event loop of its own connection (Reactor Netty only).
+         * Producers enqueue into a bounded per-subscriber queue and wake each loop at most once per batch
+         * of ready subscribers, instead of Reactor Netty handing over every write individually.
+         */
+        private boolean eventLoopAffine = false;
+        /** Per-subscriber queue size of the delivery stage; events beyond it are dropped. */
+        private int prefetch = 256;
+        /**
+         * Pause delivery to a connection while its Netty channel is unwritable (outbound buffer above
+         * {@code transport.write-buffer-high-water-mark}) and resume once it drains below the low water mark.
+         * Held events wait in the per-subscriber queue of {@code prefetch} items instead of Netty's outbound
+         * buffer. Uses the event-loop delivery stage, so it implies {@code event-loop-affine} delivery.
+         */
+        private boolean writabilityBackpressure = false;
+    }
+
+    /**
+     * Reactor Netty transport and socket options for long-lived SSE connections.
+     * Unset ({@code null}) options keep the Netty defaults.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Transport {
+        /** Prefer the native transport (io_uring, epoll, kqueue) when available; {@code false} forces NIO. */
+        private boolean nativeTransport = true;
+        /** Acceptor (select) event loop threads; {@code <= 0} keeps the Reactor Netty default. */
+        private int selectThreads = 0;
+        /** I/O worker event loop threads; {@code <= 0} keeps the Reactor Netty default (one per core, min 4). */
+        private int workerThreads = 0;
+        /** {@code TCP_NODELAY} for accepted connections; small SSE frames should not wait for Nagle. */
+        private Boolean tcpNoDelay;
+        /** {@code SO_SNDBUF} for accepted connections. */
+        private DataSize sendBufferSize;
+        /** Outbound buffer size above which a connection becomes unwritable. */
+        private DataSize writeBufferHighWaterMark;
+        /** Outbound buffer size below which an unwritable connection becomes writable again. */
+        private DataSize writeBufferLowWaterMark;
+        /** {@code SO_KEEPALIVE} for accepted connections. */
+        private Boolean keepAlive;
+        /** Idle time before TCP keep-alive probes start ({@code TCP_KEEPIDLE}, whole seconds). */
+        private Duration keepAliveIdle;
+    }
+
+    /**
+     * Detection of dead (zombie) connections, e.g. half-open TCP connections, so their subscriptions are
+     * cancelled and resources reclaimed without waiting for a heartbeat write to fail. Unset ({@code null})
+     * timeouts disable the corresponding check.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Liveness {
+        /** Watch SSE connections (Reactor Netty only). A failed write always closes a watched connection. */
+        private boolean enabled = false;
+        /** Close a connection when no write completed for this long; should exceed the heartbeat interval. */
+        private Duration writeIdleTimeout;
+        /** Close a connection when nothing was read from the client for this long. */
+        private Duration readIdleTimeout;
+        /** Close a connection whose pending writes made no progress for this long (peer stopped acknowledging). */
+        private Duration maxUnacknowledgedTime;
+        /** How often each watched connection is checked. */
+        private Duration checkInterval = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Admission control for SSE connects: global and per-client token buckets that reject excess connects
+     * (e.g. reconnect storms after a deploy) before any session or stream work is done.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Admission {
+        /** Register the admission WebFilter for {@code GET <base-path>/**}. */
+        private boolean enabled = false;
+        /** Connects per second admitted across this node; {@code <= 0} disables the global bucket. */
+        private double globalRate = 500;
+        /** Connects the global bucket admits in a burst. */
+        private int globalBurst = 1000;
+        /** Connects per second admitted per client key (IP, principal); {@code <= 0} disables per-client buckets. */
+        private double perClientRate = 2;
+        /** Connects a client key may make in a burst. */
+        private int perClientBurst = 10;
+        /** Apply a per-client bucket keyed by remote IP. */
+        private boolean perIp = true;
+        /** Apply a per-client bucket keyed by authenticated principal name. */
+        private boolean perPrincipal = true;
+        /** Hashed bucket cells shared by all client keys (rounded up to a power of two). */
+        private int clientSlots = 65536;
+        /** Maximum random delay added to the retry hint of rejected connects. */
+        private Duration retryJitter = Duration.ofSeconds(5);
+        /** How rejected connects are answered. */
+        private Rejection rejection = Rejection.SERVICE_UNAVAILABLE;
+        /** WebFilter order; the default runs right after Spring Security ({@code -100}) so principals are resolved. */
+        private int filterOrder = -90;
+
+        public enum Rejection {
+            /** {@code 503 Service Unavailable} with {@code Retry-After}. */
+            SERVICE_UNAVAILABLE,
+            /** {@code 200} event stream containing only a {@code retry:} hint, then closed. */
+            SSE_RETRY
+        }
+    }
+
+    /**
+     * Reconnect hints advertised through {@code retry:} lines, based on {@code stream.retry}.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Reconnect {
+        /** {@code FIXED} advertises {@code stream.retry} as is; {@code LOAD_AWARE} adds jitter and scales it with load. */
+        private Policy policy = Policy.FIXED;
+        /** Random spread of the advertised delay as a fraction of it (0.3 = &plusmn;30%). */
+        private double jitter = 0.3;
+        /** Multiplier applied to the delay at full load. */
+        private double maxMultiplier = 4.0;
+        /** Connects per second considered full load; {@code 0} ignores connect rate. */
+        private double targetConnectRate = 0;
+        /** Open connections considered full load; {@code 0} ignores connection count. */
+        private int targetConnections = 0;
+        /** Process CPU usage (0..1) considered full load; {@code 0} ignores CPU. */
+        private double cpuThreshold = 0.8;
+        /** How often open streams re-check load and send an updated {@code retry:} line when it changed; {@code 0} disables. */
+        private Duration updateInterval = Duration.ofSeconds(30);
+
+        public enum Policy { FIXED, LOAD_AWARE }
+    }
+
+    /**
+     * Graceful drain of subscriber connections on shutdown: stop admitting connects, then close open streams in
+     * staggered waves with a final event and {@code retry:} hint, so clients of a stopping node do not reconnect
+     * to the remaining nodes all at once.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Drain {
+        /** Drain connections when the application context stops, before the web server's graceful shutdown. */
+        private boolean enabled = false;
+        /** Time over which the waves are spread; keep it below {@code spring.lifecycle.timeout-per-shutdown-phase}. */
+        private Duration window = Duration.ofSeconds(20);
+        /** Number of waves the open streams are split into. */
+        private int waves = 10;
+        /** Order in which streams are closed. */
+        private Order order = Order.AGE;
+        /** Event name of the final event sent to each drained stream. */
+        private String eventName = "drain";
+        /** Data of the final event. */
+        private String eventData = "::drain::";
+        /** Reconnect delay advertised in the final event; {@code null} uses {@code stream.retry}. */
+        private Duration retry;
+        /** Maximum random delay added to the advertised reconnect delay. */
+        private Duration retryJitter = Duration.ofSeconds(2);
+
+        public enum Order {
+            /** Oldest connections first. */
+            AGE,
+            /** Grouped by topic, oldest connections first within a topic. */
+            TOPIC
+        }
+    }
+
+    /**
+     * Node-level capacity limits and memory-pressure load shedding, so a node degrades instead of running out
+     * of memory. Shedding escalates as usage grows: reject new connects, release idle topics with their
+     * buffers (e.g. {@code REPLAY} history), disconnect the slowest consumers.
+     *
+     * @since 2.1.0
+     */
+    @Data
+    public static class Capacity {
+        /** Maximum open SSE connections on this node; {@code 0} means unlimited. */
+        private int maxConnections = 0;
+        /** Maximum topics held in memory on this node; {@code 0} means unlimited. */
+        private int maxTopics = 0;
+        /** Maximum bytes pending in connection outbound buffers; above it connects are rejected and the slowest consumers disconnected. */
+        private DataSize maxBufferedBytes;
+        /** Shed load based on heap (after GC) and direct memory usage. */
+        private boolean shedding = false;
+        /** How often memory usage and buffered bytes are sampled. */
+        private Duration checkInterval = Duration.ofSeconds(1);
+        /** Memory usage (0..1) at which new connects are rejected. */
+        private double rejectConnectsAt = 0.85;
+        /** Memory usage (0..1) at which idle topics and their replay buffers are released. */
+        private double trimReplayAt = 0.90;
+        /** Memory usage (0..1) at which the slowest consumers are disconnected. */
+        private double disconnectSlowAt = 0.95;
+        /** Slowest consumers disconnected per check while above {@code disconnect-slow-at}. */
+        private int disconnectBatch = 50;
+        /** Connects are admitted again once usage falls this far below {@code reject-connects-at}. */
+        private double recoveryMargin = 0.05;
     }
 }
@@ -0,0 +1,158 @@
+package com.spectrayan.sse.server.config;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.socket.nio.NioChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.reactor.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import reactor.netty.http.HttpResources;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Applies {@code spectrayan.sse.server.transport.*} to the Reactor Netty server.
+ * <p>
+ * Behavior:
+ * - Native transport: with {@code native-transport=true} (default) Reactor Netty picks io_uring, epoll or
+ *   kqueue when the matching Netty native library is on the classpath and supported by the OS, otherwise NIO.
+ *   {@code false} forces NIO.
+ * - Event loop threads: when {@code select-threads} or {@code worker-threads} is set, dedicated loop
+ *   resources are created for the server and disposed with the application context.
+ * - Socket options for long-lived streams are applied to accepted connections; unset options keep the
+ *   Netty defaults. {@code TCP_KEEPIDLE} is set through the transport-specific option of the accepted
+ *   channel (NIO, epoll or io_uring).
+ */
+public class SseTransportCustomizer implements WebServerFactoryCustomizer<NettyReactiveWebServerFactory>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SseTransportCustomizer.class);
+
+    private final SseServerProperties.Transport transport;
+    private volatile LoopResources loopResources;
+
+    public SseTransportCustomizer(SseServerProperties.Transport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public void customize(NettyReactiveWebServerFactory factory) {
+        factory.addServerCustomizers(this::apply);
+    }
+
+    /**
+     * Apply the configured transport settings to an {@link HttpServer}.
+     *
+     * @param server server to customize
+     * @return the customized server
+     */
+    HttpServer apply(HttpServer server) {
+        boolean preferNative = transport.isNativeTransport();
+        if (transport.getSelectThreads() > 0 || transport.getWorkerThreads() > 0) {
+            server = server.runOn(loopResources(), preferNative);
+        } else if (!preferNative) {
+            server = server.runOn(HttpResources.get(), false);
+        }
+        if (transport.getTcpNoDelay() != null) {
+            server = server.childOption(ChannelOption.TCP_NODELAY, transport.getTcpNoDelay());
+        }
+        if (transport.getSendBufferSize() != null) {
+            server = server.childOption(ChannelOption.SO_SNDBUF, (int) transport.getSendBufferSize().toBytes());
+        }
+        if (transport.getWriteBufferHighWaterMark() != null || transport.getWriteBufferLowWaterMark() != null) {
+            server = server.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark());
+        }
+        if (transport.getKeepAlive() != null) {
+            server = server.childOption(ChannelOption.SO_KEEPALIVE, transport.getKeepAlive());
+        }
+        Duration keepAliveIdle = transport.getKeepAliveIdle();
+        if (keepAliveIdle != null) {
+            int seconds = (int) Math.max(1, keepAliveIdle.toSeconds());
+            server = server.doOnChannelInit((observer, channel, remoteAddress) -> applyKeepAliveIdle(channel, seconds));
+        }
+        return server;
+    }
+
+    private synchronized LoopResources loopResources() {
+        if (loopResources == null) {
+            int select = transport.getSelectThreads();
+            int workers = transport.getWorkerThreads() > 0 ? transport.getWorkerThreads() : LoopResources.DEFAULT_IO_WORKER_COUNT;
+            // Without dedicated selectors the worker loops also accept connections (Reactor Netty default)
+            loopResources = select > 0
+                    ? LoopResources.create("sse-http", select, workers, true)
+                    : LoopResources.create("sse-http", workers, true);
+            log.info("SSE transport: dedicated event loops select={} workers={} preferNative={}",
+                    select, workers, transport.isNativeTransport());
+        }
+        return loopResources;
+    }
+
+    private WriteBufferWaterMark waterMark() {
+        int low = transport.getWriteBufferLowWaterMark() != null
+                ? (int) transport.getWriteBufferLowWaterMark().toBytes() : WriteBufferWaterMark.DEFAULT.low();
+        int high = transport.getWriteBufferHighWaterMark() != null
+                ? (int) transport.getWriteBufferHighWaterMark().toBytes() : WriteBufferWaterMark.DEFAULT.high();
+        if (low > high) {
+            throw new IllegalArgumentException("transport.write-buffer-low-water-mark (" + low
+                    + ") must not exceed transport.write-buffer-high-water-mark (" + high + ")");
+        }
+        return new WriteBufferWaterMark(low, high);
+    }
+
+    private static void applyKeepAliveIdle(Channel channel, int seconds) {
+        ChannelOption<Integer> option = KeepAliveIdle.optionFor(channel);
+        if (option == null || !channel.config().setOption(option, seconds)) {
+            log.debug("TCP_KEEPIDLE not supported for channel type {}", channel.getClass().getName());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        LoopResources resources = loopResources;
+        if (resources != null) {
+            resources.disposeLater().block(Duration.ofSeconds(10));
+        }
+    }
+
+    /**
+     * Resolves the {@code TCP_KEEPIDLE} option of the accepted channel's transport. Native transport classes
+     * are runtime-only dependencies, so their options are looked up reflectively once.
+     */
+    static final class KeepAliveIdle {
+        private static final ChannelOption<Integer> NIO = nioOption();
+        private static final ChannelOption<Integer> EPOLL = nativeOption("io.netty.channel.epoll.EpollChannelOption");
+        private static final ChannelOption<Integer> IO_URING = nativeOption("io.netty.channel.uring.IoUringChannelOption");
+
+        private KeepAliveIdle() {
+        }
+
+        static ChannelOption<Integer> optionFor(Channel channel) {
+            String type = channel.getClass().getName();
+            if (type.startsWith("io.netty.channel.epoll.")) return EPOLL;
+            if (type.startsWith("io.netty.channel.uring.")) return IO_URING;
+            if (type.startsWith("io.netty.channel.socket.nio.")) return NIO;
+            return null;
+        }
+
+        private static ChannelOption<Integer> nioOption() {
+            try {
+                return NioChannelOption.of(jdk.net.ExtendedSocketOptions.TCP_KEEPIDLE);
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ChannelOption<Integer> nativeOption(String className) {
+            try {
+                return (ChannelOption<Integer>) Class.forName(className).getField("TCP_KEEPIDLE").get(null);
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+    }
+}
@@ -79,7 +79,7 @@ public class SseEndpointHandler {
     private final List<SseStreamCustomizer> streamCustomizers;
     private final List<SseHeaderCustomizer> headerCustomizers;
     private final List<SseEndpointCustomizer> endpointCustomizers;
-    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher lifecycle;
     private final com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator;
     private final SseStreamOrchestrator orchestrator;
 
@@ -115,15 +115,44 @@ public class SseEndpointHandler {
                               ObjectProvider<SseEndpointCustomizer> endpointCustomizers,
                               org.springframework.context.ApplicationEventPublisher eventPublisher,
                               com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator) {
+        this(sseEmitter, headerHandler, props, streamCustomizers, headerCustomizers, endpointCustomizers,
+                com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher.sync(eventPublisher), sessionIdGenerator, null);
+    }
+
+    /**
+     * Create a new {@code SseEndpointHandler} publishing lifecycle events through a dispatcher and advertising
+     * reconnect delays through a {@link com.spectrayan.sse.server.template.ReconnectPolicy}.
+     *
+     * @param sseEmitter emitter used to connect clients and emit SSEs
+     * @param headerHandler helper that applies SSE headers
+     * @param props configuration properties
+     * @param streamCustomizers provider of stream customizers (ordered)
+     * @param headerCustomizers provider of header customizers (ordered)
+     * @param endpointCustomizers provider of endpoint customizers (ordered)
+     * @param lifecycle dispatcher publishing lifecycle events, possibly off the event loop
+     * @param sessionIdGenerator generator for session identifiers
+     * @param reconnectPolicy policy deciding the initial and mid-stream {@code retry:} lines; {@code null}
+     *                        uses {@code stream.retry} as is
+     * @since 2.1.0
+     */
+    public SseEndpointHandler(SseEmitter sseEmitter,
+                              SseHeaderHandler headerHandler,
+                              SseServerProperties props,
+                              ObjectProvider<SseStreamCustomizer> streamCustomizers,
+                              ObjectProvider<SseHeaderCustomizer> headerCustomizers,
+                              ObjectProvider<SseEndpointCustomizer> endpointCustomizers,
+                              com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher lifecycle,
+                              com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
+                              com.spectrayan.sse.server.template.ReconnectPolicy reconnectPolicy) {
         this.sseEmitter = sseEmitter;
         this.headerHandler = headerHandler;
         this.props = props;
         this.streamCustomizers = streamCustomizers.orderedStream().toList();
         this.headerCustomizers = headerCustomizers.orderedStream().toList();
         this.endpointCustomizers = endpointCustomizers.orderedStream().toList();
-        this.eventPublisher = eventPublisher;
+        this.lifecycle = lifecycle;
         this.sessionIdGenerator = sessionIdGenerator;
-        this.orchestrator = new SseStreamOrchestrator(sseEmitter, props, eventPublisher, this.streamCustomizers);
+        this.orchestrator = new SseStreamOrchestrator(sseEmitter, props, lifecycle, this.streamCustomizers, reconnectPolicy);
     }
 
     /**
@@ -131,8 +160,8 @@ public class SseEndpointHandler {
          * <p>
          * Responsibilities performed by this method:
          * - Resolve the target {@code topic} from the path variable {@code /sse/{topic}}.
-         * - Resolve a session id from the current {@link org.springframework.web.server.WebSession} when present;
-         *   otherwise generate one via the configured {@link com.spectrayan.sse.server.customize.SessionIdGenerator}
+         * - Resolve a session id from the current {@link org.springframework.web.server.WebSession} when present
+         *   (unless {@code session.use-web-session=false}); otherwise generate one via the configured {@link com.spectrayan.sse.server.customize.SessionIdGenerator}
          *   (falling back to a random UUID if no generator is configured).
          * - Publish {@code SseSessionCreatedEvent} before stream construction.
          * - Build the stream by invoking {@code buildFlux} and wrap it with
@@ -163,17 +192,20 @@ public class SseEndpointHandler {
                 .map(java.security.Principal::getName)
                 .defaultIfEmpty("");
 
-        return principalMono.flatMap(principal -> exchange.getSession()
-                .map(ws -> ws != null ? ws.getId() : "")
-                .filter(id -> id != null && !id.isBlank())
-                .switchIfEmpty(reactor.core.publisher.Mono.fromSupplier(() -> sessionIdGenerator != null ? sessionIdGenerator.generate(exchange, topic) : java.util.UUID.randomUUID().toString()))
+        Mono<String> generatedId = Mono.fromSupplier(() -> sessionIdGenerator != null ? sessionIdGenerator.generate(exchange, topic) : java.util.UUID.randomUUID().toString());
+        // Lean connect path: never touch the WebSession store
+        Mono<String> sessionIdMono = props.getSession().isUseWebSession()
+                ? exchange.getSession()
+                    .map(ws -> ws != null ? ws.getId() : "")
+                    .filter(id -> id != null && !id.isBlank())
+                    .switchIfEmpty(generatedId)
+                : generatedId;
+
+        return principalMono.flatMap(principal -> sessionIdMono
                 .flatMap(sessionId -> {
                     // Publish session created event
-                    try {
-                        eventPublisher.publishEvent(new com.spectrayan.sse.server.events.SseSessionCreatedEvent(sessionId, topic, remote));
-                    } catch (Throwable t) {
-                        log.debug("Failed to publish SseSessionCreatedEvent: {}", t.toString());
-                    }
+                    lifecycle.publish(com.spectrayan.sse.server.events.SseSessionCreatedEvent.class,
+                            () -> new com.spectrayan.sse.server.events.SseSessionCreatedEvent(sessionId, topic, remote));
 
                     // Build the core behavior supplier
                     Supplier<Flux<ServerSentEvent<Object>>> core = () -> buildFlux(sessionId, topic, remote, exchange, principal, resolvedLastEventId);
@@ -2,19 +2,38 @@ package com.spectrayan.sse.server.controller;
 
 import com.spectrayan.sse.server.config.SseServerProperties;
 import com.spectrayan.sse.server.customize.SseStreamCustomizer;
+import com.spectrayan.sse.server.emitter.AbstractSseEmitter;
+import com.spectrayan.sse.server.emitter.ConnectionLiveness;
+import com.spectrayan.sse.server.emitter.ConnectionWritability;
+import com.spectrayan.sse.server.emitter.EventLoopAffinity;
+import com.spectrayan.sse.server.emitter.EventLoopDelivery;
 import com.spectrayan.sse.server.emitter.SseEmitter;
 import com.spectrayan.sse.server.error.ErrorEvents;
 import com.spectrayan.sse.server.error.SseException;
+import com.spectrayan.sse.server.events.SseDisconnectedEvent;
+import com.spectrayan.sse.server.events.SseSessionClosedEvent;
+import com.spectrayan.sse.server.events.SseSubscribedEvent;
+import com.spectrayan.sse.server.events.SseUnsubscribedEvent;
+import com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher;
 import com.spectrayan.sse.server.session.SseSession;
+import com.spectrayan.sse.server.template.ReconnectPolicy;
+import com.spectrayan.sse.server.template.SseConnectContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.Fuseable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * Shared orchestration logic for SSE stream construction, used by both
@@ -22,9 +41,13 @@ import java.util.List;
  * <p>
  * Centralizes:
  * - Subscriber lifecycle event publishing (subscribed, unsubscribed, closed, disconnected)
- * - Retry line prepending
+ * - Retry line prepending and mid-stream retry updates ({@link ReconnectPolicy})
  * - Error-to-SSE mapping
- * - Reactor context enrichment (MDC, topic, session)
+ * - Reactor context enrichment (MDC, topic, session, connection event loop for partitioned fan-out)
+ * - Optional event-loop-affine delivery ({@code delivery.event-loop-affine}), paused while the connection
+ *   is unwritable ({@code delivery.writability-backpressure})
+ * - Optional outbound backlog tracking for load shedding ({@code capacity.*})
+ * - Optional dead connection detection ({@code liveness.enabled})
  * - Stream customizer application
  * <p>
  * This class is public to allow cross-package access but is an internal
@@ -36,17 +59,76 @@ public final class SseStreamOrchestrator {
 
     private final SseEmitter emitter;
     private final SseServerProperties props;
-    private final ApplicationEventPublisher eventPublisher;
+    private final SseLifecycleDispatcher lifecycle;
     private final List<SseStreamCustomizer> streamCustomizers;
+    private final EventLoopDelivery eventLoopDelivery;
+    private final boolean writabilityGated;
+    private final boolean outboundTracked;
+    private final ConnectionWritability writability;
+    private final ConnectionLiveness liveness;
+    private final ReconnectPolicy reconnectPolicy;
 
     public SseStreamOrchestrator(SseEmitter emitter,
                           SseServerProperties props,
                           ApplicationEventPublisher eventPublisher,
                           List<SseStreamCustomizer> streamCustomizers) {
+        this(emitter, props, SseLifecycleDispatcher.sync(eventPublisher), streamCustomizers, null);
+    }
+
+    public SseStreamOrchestrator(SseEmitter emitter,
+                          SseServerProperties props,
+                          SseLifecycleDispatcher lifecycle,
+                          List<SseStreamCustomizer> streamCustomizers,
+                          ReconnectPolicy reconnectPolicy) {
         this.emitter = emitter;
+        this.reconnectPolicy = reconnectPolicy;
         this.props = props;
-        this.eventPublisher = eventPublisher;
+        this.lifecycle = lifecycle;
         this.streamCustomizers = streamCustomizers != null ? streamCustomizers : List.of();
+        this.writabilityGated = props.getDelivery().isWritabilityBackpressure();
+        this.outboundTracked = props.getCapacity().isShedding() || props.getCapacity().getMaxBufferedBytes() != null;
+        ConnectionWritability tracker = emitter instanceof AbstractSseEmitter e ? e.connectionWritability() : null;
+        this.writability = tracker != null || !(writabilityGated || outboundTracked) ? tracker : new ConnectionWritability();
+        this.eventLoopDelivery = props.getDelivery().isEventLoopAffine() || writabilityGated
+                ? new EventLoopDelivery(props.getDelivery().getPrefetch()) : null;
+        ConnectionLiveness detector = emitter instanceof AbstractSseEmitter e ? e.connectionLiveness() : null;
+        this.liveness = detector != null || !props.getLiveness().isEnabled()
+                ? detector : new ConnectionLiveness(props.getLiveness());
+    }
+
+    /**
+     * Interleave updated {@code retry:} lines into a stream. Updates stop when the stream terminates.
+     *
+     * @param flux    SSE stream
+     * @param updates delays in milliseconds to advertise; an empty {@link Flux} (or {@code null}) for none
+     * @return the stream with retry updates merged in, or {@code flux} itself without updates
+     */
+    public static Flux<ServerSentEvent<Object>> withRetryUpdates(Flux<ServerSentEvent<Object>> flux, Flux<Long> updates) {
+        if (updates == null || isEmpty(updates)) {
+            return flux;
+        }
+        return Flux.defer(() -> {
+            Sinks.Empty<Void> terminated = Sinks.empty();
+            return Flux.merge(
+                    flux.doFinally(sig -> terminated.tryEmitEmpty()),
+                    updates.map(SseStreamOrchestrator::retryEvent).takeUntilOther(terminated.asMono()));
+        });
+    }
+
+    /** Whether a flux is known to be empty without subscribing, as {@link Flux#empty()} is. */
+    private static boolean isEmpty(Flux<?> flux) {
+        if (!(flux instanceof Fuseable.ScalarCallable<?> scalar)) {
+            return false;
+        }
+        try {
+            return scalar.call() == null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static ServerSentEvent<Object> retryEvent(long millis) {
+        return ServerSentEvent.<Object>builder().retry(Duration.ofMillis(millis)).build();
     }
 
     /**
@@ -57,8 +139,10 @@ public final class SseStreamOrchestrator {
      * 2. Attach lifecycle event publishers (subscribe/finalize)
      * 3. Prepend retry line if configured
      * 4. Map errors to SSE error events if configured
-     * 5. Enrich Reactor context with MDC keys
-     * 6. Apply stream customizers
+     * 5. Deliver on the connection's event loop if configured
+     * 6. Watch the connection for liveness if configured
+     * 7. Enrich Reactor context with MDC keys
+     * 8. Apply stream customizers
      *
      * @param session  the resolved SSE session
      * @param exchange the current exchange, may be {@code null} (template path)
@@ -74,13 +158,13 @@ public final class SseStreamOrchestrator {
         Flux<ServerSentEvent<Object>> flux = emitter.connect(topic, session)
                 .doOnSubscribe(s -> {
                     log.debug("SSE stream subscribed: topic={} from {}", topic, remote);
-                    safePublish(new com.spectrayan.sse.server.events.SseSubscribedEvent(sessionId, topic, remote));
+                    lifecycle.publish(SseSubscribedEvent.class, () -> new SseSubscribedEvent(sessionId, topic, remote));
                 })
                 .doFinally(sig -> {
                     try {
                         switch (sig) {
-                            case CANCEL -> safePublish(new com.spectrayan.sse.server.events.SseUnsubscribedEvent(sessionId, topic, remote));
-                            case ON_COMPLETE -> safePublish(new com.spectrayan.sse.server.events.SseSessionClosedEvent(sessionId, topic, remote));
+                            case CANCEL -> lifecycle.publish(SseUnsubscribedEvent.class, () -> new SseUnsubscribedEvent(sessionId, topic, remote));
+                            case ON_COMPLETE -> lifecycle.publish(SseSessionClosedEvent.class, () -> new SseSessionClosedEvent(sessionId, topic, remote));
                             default -> {}
                         }
                     } catch (Throwable t) {
@@ -88,8 +172,16 @@ public final class SseStreamOrchestrator {
                     }
                 });
 
-        // Prepend retry line if enabled
-        if (props.getStream().isRetryEnabled()) {
+        // Prepend retry line: from the reconnect policy when present, otherwise from properties
+        if (reconnectPolicy != null) {
+            SseConnectContext ctx = new SseConnectContext(topic, sessionId, session.getLastEventId(), remote,
+                    Map.of(), Map.of(), session.getPrincipal());
+            Optional<Long> delay = reconnectPolicy.retryDelayMillis(ctx);
+            if (delay.isPresent()) {
+                flux = Flux.concat(Flux.just(retryEvent(delay.get())), flux);
+            }
+            flux = withRetryUpdates(flux, reconnectPolicy.retryUpdates(ctx));
+        } else if (props.getStream().isRetryEnabled()) {
             flux = Flux.concat(
                     Flux.just(ServerSentEvent.<Object>builder().retry(props.getStream().getRetry()).build()),
                     flux);
@@ -100,7 +192,7 @@ public final class SseStreamOrchestrator {
             flux = flux
                 .doOnError(ex -> {
                     log.warn("SSE stream error: topic={} from {} error={}", topic, remote, ex.toString());
-                    safePublish(new com.spectrayan.sse.server.events.SseDisconnectedEvent(sessionId, topic, remote, ex));
+                    lifecycle.publish(SseDisconnectedEvent.class, () -> new SseDisconnectedEvent(sessionId, topic, remote, ex));
                 })
                 .onErrorResume(ex -> Mono.deferContextual(ctx -> {
                     if (ex instanceof SseException se) {
@@ -110,6 +202,39 @@ public final class SseStreamOrchestrator {
                 }));
         }
 
+        // Resolve the connection's event loop once for partitioned fan-out and affine delivery
+        boolean partitioned = props.getEmitter().getSinkType() == SseServerProperties.SinkType.PARTITIONED;
+        Executor loop = partitioned || eventLoopDelivery != null ? EventLoopAffinity.resolve(exchange) : null;
+        if (loop != null && eventLoopDelivery != null && writabilityGated) {
+            Flux<ServerSentEvent<Object>> source = flux;
+            flux = Flux.defer(() -> {
+                ConnectionWritability.Gate gate = writability.attach(exchange);
+                Flux<ServerSentEvent<Object>> delivered = eventLoopDelivery.deliverOn(source, loop, gate);
+                return gate != null ? delivered.doFinally(sig -> gate.close()) : delivered;
+            });
+        } else {
+            if (loop != null && eventLoopDelivery != null) {
+                flux = eventLoopDelivery.deliverOn(flux, loop);
+            }
+            // Track the outbound backlog for load shedding without gating delivery
+            if (outboundTracked && exchange != null) {
+                Flux<ServerSentEvent<Object>> source = flux;
+                flux = Flux.defer(() -> {
+                    ConnectionWritability.Gate gate = writability.attach(exchange);
+                    return gate != null ? source.doFinally(sig -> gate.close()) : source;
+                });
+            }
+        }
+
+        // Close the connection when it looks dead; cancellation then runs the normal session cleanup
+        if (liveness != null && exchange != null) {
+            Flux<ServerSentEvent<Object>> source = flux;
+            flux = Flux.defer(() -> {
+                Disposable watch = liveness.attach(exchange);
+                return watch != null ? source.doFinally(sig -> watch.dispose()) : source;
+            });
+        }
+
         // Add topic + session + remote address + MDC activation marker into context
         flux = flux.contextWrite(ctx -> ctx
                 .put(props.getMdcContextKey(), Boolean.TRUE)
@@ -118,6 +243,11 @@ public final class SseStreamOrchestrator {
                 .put("remoteAddress", remote)
         );
 
+        // Let partitioned sinks place this subscriber on the shard of its connection's event loop
+        if (loop != null && partitioned) {
+            flux = flux.contextWrite(ctx -> ctx.put(EventLoopAffinity.CONTEXT_KEY, loop));
+        }
+
         // Apply stream customizers
         for (SseStreamCustomizer c : streamCustomizers) {
             try {
@@ -129,12 +259,4 @@ public final class SseStreamOrchestrator {
 
         return flux;
     }
-
-    private void safePublish(Object event) {
-        try {
-            eventPublisher.publishEvent(event);
-        } catch (Throwable t) {
-            log.debug("Failed to publish event {}: {}", event.getClass().getSimpleName(), t.toString());
-        }
-    }
 }
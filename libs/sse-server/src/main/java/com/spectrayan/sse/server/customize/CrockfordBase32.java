@@ -0,0 +1,30 @@
+package com.spectrayan.sse.server.customize;
+
+/**
+ * Allocation-light Crockford base32 encoding shared by the time-ordered session id generators.
+ * <p>
+ * The alphabet excludes {@code I}, {@code L}, {@code O} and {@code U}, and its characters sort in the
+ * same order as the values they encode, so fixed-width encodings of increasing numbers sort lexically.
+ */
+final class CrockfordBase32 {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private CrockfordBase32() {
+    }
+
+    /**
+     * Write the low {@code 5 * count} bits of {@code value} as {@code count} characters, most significant first.
+     *
+     * @param value  bits to encode
+     * @param count  number of characters to write
+     * @param out    destination buffer
+     * @param offset index of the first character to write
+     */
+    static void encode(long value, int count, char[] out, int offset) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            out[i] = ALPHABET[(int) (value & 0x1F)];
+            value >>>= 5;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.spectrayan.sse.server.customize;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free Snowflake-style {@link SessionIdGenerator}.
+ * <p>
+ * Each id packs a 41-bit millisecond timestamp (relative to 2024-01-01T00:00:00Z), a 10-bit node id and a
+ * 12-bit per-millisecond sequence into a 63-bit number, rendered as a 13-character Crockford base32 string.
+ * Ids are strictly increasing per generator and unique across nodes as long as every instance uses a
+ * distinct node id. Up to 4096 ids per millisecond are produced before the generator borrows from the next
+ * millisecond.
+ *
+ * @since 2.1.0
+ */
+public class SnowflakeSessionIdGenerator implements SessionIdGenerator {
+
+    /** 2024-01-01T00:00:00Z in epoch milliseconds. */
+    static final long EPOCH = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    /** Largest accepted node id. */
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    // (millis - EPOCH) << SEQUENCE_BITS | sequence of the last issued id
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * Create a generator for the given node.
+     *
+     * @param nodeId node identifier in {@code [0, MAX_NODE_ID]}
+     */
+    public SnowflakeSessionIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public String generate(ServerWebExchange exchange, String topic) {
+        char[] out = new char[13];
+        CrockfordBase32.encode(nextId(System.currentTimeMillis()), 13, out, 0);
+        return new String(out);
+    }
+
+    long nextId(long millis) {
+        long candidate = (millis - EPOCH) << SEQUENCE_BITS;
+        long prev;
+        long next;
+        do {
+            prev = last.get();
+            // Same millisecond (or clock moved back): continue the sequence; overflow rolls into the next ms
+            next = candidate > prev ? candidate : prev + 1;
+        } while (!last.compareAndSet(prev, next));
+        long time = next >>> SEQUENCE_BITS;
+        return (time << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,51 @@
+package com.spectrayan.sse.server.customize;
+
+import com.spectrayan.sse.server.session.SseSession;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+
+/**
+ * {@link SseSessionHook} variant that receives join/leave notifications in batches.
+ * <p>
+ * When {@code spectrayan.sse.server.lifecycle.mode=ASYNC}, consecutive joins (or leaves) drained from
+ * the lifecycle queue are delivered in a single call, which lets hooks that persist presence issue one
+ * bulk write per batch instead of one per connection. In {@code SYNC} mode each batch holds one element.
+ * <p>
+ * The default implementations delegate to the per-session callbacks, so implementors only need to
+ * override the methods they care about. Batches preserve the order in which the signals occurred.
+ *
+ * @since 2.1.0
+ */
+public interface SseSessionBatchHook extends SseSessionHook {
+
+    /**
+     * Called with sessions that joined, in subscription order.
+     *
+     * @param sessions joined sessions; never empty
+     */
+    default void onJoinBatch(List<SseSession> sessions) {
+        for (SseSession session : sessions) {
+            onJoin(session);
+        }
+    }
+
+    /**
+     * Called with sessions that left, in termination order.
+     *
+     * @param departures departed sessions with their terminal signal; never empty
+     */
+    default void onLeaveBatch(List<Departure> departures) {
+        for (Departure departure : departures) {
+            onLeave(departure.session(), departure.signal());
+        }
+    }
+
+    /**
+     * A session that left together with the signal that terminated its stream.
+     *
+     * @param session the departed session
+     * @param signal  the terminal signal (CANCEL, ON_COMPLETE, ON_ERROR)
+     */
+    record Departure(SseSession session, SignalType signal) {}
+}
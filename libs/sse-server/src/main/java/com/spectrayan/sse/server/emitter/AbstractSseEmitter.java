@@ -1,6 +1,10 @@
 package com.spectrayan.sse.server.emitter;
 
+import com.spectrayan.sse.server.bridge.NoOpBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
 import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
 import com.spectrayan.sse.server.bridge.SseBridgeMessage;
 import com.spectrayan.sse.server.config.SseServerProperties;
 import com.spectrayan.sse.server.error.EmissionRejectedException;
@@ -17,8 +21,6 @@ import reactor.core.publisher.SignalType;
 import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import com.spectrayan.sse.server.session.SseSession;
 
@@ -48,6 +50,10 @@ import com.spectrayan.sse.server.session.SseSession;
  * - Topics remain active in memory even if the last subscriber disconnects. The server keeps
  *   connections/topics alive and will only complete and remove a topic when a client cancels the
  *   subscription, an error occurs, or the application terminates (graceful shutdown).
+ * - Node capacity ({@code capacity.*}): connects and topic creations beyond the node limits, or while the node
+ *   sheds load under memory pressure, are rejected with {@code SUBSCRIPTION_REJECTED}.
+ * - Cluster mode ({@code bridge.routing.ownership}): events of topics owned by another instance are forwarded to
+ *   the owner and reach local subscribers when the owner publishes them, so every instance sees one order.
  */
 public abstract class AbstractSseEmitter implements SseEmitter, com.spectrayan.sse.server.topic.TopicRegistry {
 
@@ -65,10 +71,17 @@ public abstract class AbstractSseEmitter implements SseEmitter, com.spectrayan.s
     private final StreamComposer streamComposer;
     private final SessionTracker sessionTracker;
     private final EmissionService emissionService;
+    private final TopicSourceBinder topicSourceBinder;
+    private final ConnectionDrainer drainer;
+    private final NodeCapacity capacity;
+    private final MemoryPressureMonitor memoryPressure;
+    private final ConnectionWritability writability;
+    private final ConnectionLiveness liveness;
 
     // Cross-instance broadcast bridge
     private final SseBroadcastBridge bridge;
     private final String instanceId;
+    private final BridgeSequencer sequencer;
 
     /**
      * Create a new emitter with the given dependencies and customization hooks.
@@ -86,31 +99,138 @@ public abstract class AbstractSseEmitter implements SseEmitter, com.spectrayan.s
                               com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
                               com.spectrayan.sse.server.metrics.SseMetrics metrics,
                               SseBroadcastBridge bridge) {
+        this(properties, sinkCustomizer, sessionHooks, sessionIdGenerator, metrics, bridge, null, null);
+    }
+
+    /**
+     * Create a new emitter with declarative topic sources and a lifecycle dispatcher for session hooks.
+     *
+     * @param properties library/server properties controlling topics, buffering, heartbeat, etc.
+     * @param sinkCustomizer optional provider of {@code SseEmitterCustomizer} to build per-topic sinks
+     * @param sessionHooks optional ordered provider of session lifecycle hooks
+     * @param sessionIdGenerator generator used to assign session identifiers
+     * @param metrics optional SSE metrics recorder (null when Micrometer is absent)
+     * @param bridge optional broadcast bridge for cross-instance event fan-out; may be {@code null}
+     * @param topicSources optional ordered provider of topic sources; may be {@code null}
+     * @param lifecycle dispatcher invoking session hooks; {@code null} invokes them synchronously
+     * @since 2.1.0
+     */
+    public AbstractSseEmitter(SseServerProperties properties,
+                              org.springframework.beans.factory.ObjectProvider<com.spectrayan.sse.server.customize.SseEmitterCustomizer> sinkCustomizer,
+                              org.springframework.beans.factory.ObjectProvider<com.spectrayan.sse.server.customize.SseSessionHook> sessionHooks,
+                              com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
+                              com.spectrayan.sse.server.metrics.SseMetrics metrics,
+                              SseBroadcastBridge bridge,
+                              org.springframework.beans.factory.ObjectProvider<com.spectrayan.sse.server.topic.TopicSource> topicSources,
+                              com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher lifecycle) {
         this.properties = properties;
         this.sinkCustomizer = sinkCustomizer != null ? sinkCustomizer.getIfAvailable() : null;
         this.sessionHooks = sessionHooks != null ? sessionHooks.orderedStream().toList() : java.util.List.of();
         this.sessionIdGenerator = sessionIdGenerator;
         this.topicValidator = new TopicValidator(properties);
         this.sinkFactory = new SinkFactory(properties, this.sinkCustomizer);
-        this.topicManager = new TopicManager(this.sinkFactory);
+        SseServerProperties.Capacity capacityConfig = properties.getCapacity();
+        boolean shedding = capacityConfig.isShedding() || capacityConfig.getMaxBufferedBytes() != null;
+        this.capacity = shedding || capacityConfig.getMaxConnections() > 0 || capacityConfig.getMaxTopics() > 0
+                ? new NodeCapacity(capacityConfig) : null;
+        if (this.capacity != null && metrics != null) {
+            metrics.registerCapacity(this.capacity);
+        }
         this.streamComposer = new StreamComposer(properties);
-        this.sessionTracker = new SessionTracker(this.sessionHooks, this.topicManager, metrics);
 
         // Resolve instance id: configured > auto-generated UUID
         String configuredId = properties.getBridge() != null ? properties.getBridge().getInstanceId() : null;
         this.instanceId = (configuredId != null && !configuredId.isBlank()) ? configuredId : UUID.randomUUID().toString();
-        this.bridge = bridge;
-        this.emissionService = new EmissionService(metrics, properties.getEmitter().getEmitRetries(), bridge, this.instanceId);
+        SseServerProperties.Bridge bridgeConfig = properties.getBridge();
+        boolean asyncPublish = bridge != null && !(bridge instanceof NoOpBroadcastBridge) && bridgeConfig != null
+                && (bridgeConfig.getPublish().isAsync() || bridgeConfig.getBatch().isEnabled());
+        if (asyncPublish) {
+            AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge, bridgeConfig.getPublish(), bridgeConfig.getBatch());
+            if (metrics != null) metrics.registerBridgePublish(publisher);
+            this.bridge = publisher;
+        } else {
+            this.bridge = bridge;
+        }
+        SseBridgeInterest interest = this.bridge != null ? this.bridge.interest() : null;
+        if (interest != null && interest.isRouted() && metrics != null) {
+            metrics.registerBridgeInterest(interest);
+        }
+        SseBridgeHealth health = this.bridge != null ? this.bridge.health() : null;
+        if (health != null && metrics != null) {
+            metrics.registerBridgeHealth(health);
+        }
+        this.topicManager = new TopicManager(this.sinkFactory, this.capacity, this.bridge);
+        boolean ownership = this.bridge != null && !(bridge instanceof NoOpBroadcastBridge) && bridgeConfig != null
+                && bridgeConfig.getRouting().isOwnership()
+                && bridgeConfig.getRouting().getMode() != SseServerProperties.Bridge.Routing.Mode.BROADCAST;
+        this.emissionService = new EmissionService(metrics, properties.getEmitter().getEmitRetries(), this.bridge,
+                this.instanceId, ownership);
+        this.sequencer = this.bridge != null && bridgeConfig != null && bridgeConfig.getOrdering().isEnabled()
+                ? new BridgeSequencer(bridgeConfig.getOrdering(), this.bridge, this::injectRemoteEvent) : null;
+        if (this.sequencer != null && metrics != null) {
+            metrics.registerBridgeOrdering(this.sequencer);
+        }
+        java.util.List<com.spectrayan.sse.server.topic.TopicSource> sources =
+                topicSources != null ? topicSources.orderedStream().toList() : java.util.List.of();
+        this.topicSourceBinder = sources.isEmpty() ? null
+                : new TopicSourceBinder(sources, this.topicManager, this.emissionService, properties.getTopics().getSourceLinger());
+        this.sessionTracker = new SessionTracker(this.sessionHooks, this.topicManager, metrics, this.topicSourceBinder, lifecycle);
+        this.drainer = properties.getDrain().isEnabled() ? new ConnectionDrainer(properties) : null;
+        this.writability = properties.getDelivery().isWritabilityBackpressure() || shedding
+                ? new ConnectionWritability() : null;
+        if (this.writability != null && metrics != null) {
+            metrics.registerWritability(this.writability);
+        }
+        this.liveness = properties.getLiveness().isEnabled() ? new ConnectionLiveness(properties.getLiveness()) : null;
+        if (this.liveness != null && metrics != null) {
+            metrics.registerLiveness(this.liveness);
+        }
+        this.memoryPressure = shedding
+                ? new MemoryPressureMonitor(capacityConfig, this.capacity, this.topicManager::releaseIdle, this.writability)
+                : null;
+        if (this.memoryPressure != null) {
+            if (metrics != null) metrics.registerMemoryPressure(this.memoryPressure);
+            this.memoryPressure.start();
+        }
 
         // Subscribe to remote events from other instances
-        if (bridge != null) {
-            bridge.subscribe(this::onRemoteEvent);
+        if (this.bridge != null) {
+            this.bridge.subscribe(new SseBroadcastListener() {
+                @Override
+                public void onRemoteEvent(SseBridgeMessage message) {
+                    AbstractSseEmitter.this.onRemoteEvent(message);
+                }
+
+                @Override
+                public void onForwardedEvent(SseBridgeMessage message) {
+                    emissionService.emitForwarded(topicManager, message);
+                }
+            });
             log.info("SSE broadcast bridge active: instanceId={} bridge={}", this.instanceId, bridge.getClass().getSimpleName());
         }
     }
 
 
 
+    /**
+     * Outbound writability tracker of this emitter's connections, attached by the HTTP layer to each connection.
+     *
+     * @return the tracker, or {@code null} when neither {@code delivery.writability-backpressure} nor capacity
+     *         shedding is enabled
+     */
+    public ConnectionWritability connectionWritability() {
+        return writability;
+    }
+
+    /**
+     * Dead connection detector of this emitter's connections, attached by the HTTP layer to each connection.
+     *
+     * @return the detector, or {@code null} when {@code liveness.enabled} is {@code false}
+     */
+    public ConnectionLiveness connectionLiveness() {
+        return liveness;
+    }
+
     // TopicRegistry implementation
     @Override
     public java.util.Collection<String> topics() {
@@ -178,11 +298,20 @@ public abstract class AbstractSseEmitter implements SseEmitter, com.spectrayan.s
     @Override
     public Flux<ServerSentEvent<Object>> connect(String topic, SseSession session) {
         validateTopicOrThrow(topic);
+        if (drainer != null && drainer.isDraining()) {
+            // Draining: answer with the final event only so the client reconnects to another node
+            return Flux.defer(() -> Flux.just(farewell(session)));
+        }
         TopicChannel channel = topicManager.getOrCreate(topic);
 
         // Enforce max subscribers if configured
         int max = properties.getTopics().getMaxSubscribers();
         return Flux.defer(() -> {
+            if (drainer != null && drainer.isDraining()) {
+                // The drain started after the topic was created; release it unless another client uses it
+                topicManager.releaseIfIdle(topic, channel);
+                return Flux.just(farewell(session));
+            }
             if (max > 0 && channel.subscribers.get() >= max) {
                 throw new com.spectrayan.sse.server.error.SseException(
                         com.spectrayan.sse.server.error.ErrorCode.SUBSCRIPTION_REJECTED,
@@ -190,13 +319,65 @@ public abstract class AbstractSseEmitter implements SseEmitter, com.spectrayan.s
                         topic
                 );
             }
-
-            Flux<ServerSentEvent<Object>> sinkFlux = channel.sink.asFlux();
-            Flux<ServerSentEvent<Object>> merged = streamComposer.compose(topic, sinkFlux);
-            return sessionTracker.decorate(topic, merged, channel, session);
+            if (capacity == null) return stream(topic, session, channel);
+            // The connection slot is released whether the stream terminates or fails to be built
+            return Flux.using(() -> acquireConnection(topic), slot -> stream(topic, session, channel),
+                    NodeCapacity::releaseConnection);
         });
     }
 
+    private ServerSentEvent<Object> farewell(SseSession session) {
+        return drainer.farewell(session != null ? session.getLastEventId() : null);
+    }
+
+    private NodeCapacity acquireConnection(String topic) {
+        NodeCapacity.Reason rejected = capacity.tryAcquireConnection();
+        if (rejected != null) {
+            throw new com.spectrayan.sse.server.error.SseException(
+                    com.spectrayan.sse.server.error.ErrorCode.SUBSCRIPTION_REJECTED,
+                    "Node capacity exceeded (" + rejected + ") for topic " + topic,
+                    topic
+            );
+        }
+        return capacity;
+    }
+
+    private Flux<ServerSentEvent<Object>> stream(String topic, SseSession session, TopicChannel channel) {
+        Flux<ServerSentEvent<Object>> sinkFlux = withHistory(topic, session, channel.sink.asFlux());
+        Flux<ServerSentEvent<Object>> merged = streamComposer.compose(topic, sinkFlux);
+        if (drainer != null) {
+            merged = drainer.drainable(topic, session, merged);
+        }
+        Flux<ServerSentEvent<Object>> tracked = sessionTracker.decorate(topic, merged, channel, session);
+        return topicSourceBinder != null ? topicSourceBinder.bind(topic, tracked) : tracked;
+    }
+
+    /**
+     * Prepend the events the bridge replays for a client reconnecting with {@code Last-Event-ID}.
+     * <p>
+     * The live stream is subscribed right away and buffered while the history is read; live events
+     * already replayed are dropped (see {@link ReplayCutOver}). Without a bridge or a last event id the live
+     * stream is returned as-is.
+     */
+    private Flux<ServerSentEvent<Object>> withHistory(String topic, SseSession session, Flux<ServerSentEvent<Object>> live) {
+        String lastEventId = session != null ? session.getLastEventId() : null;
+        if (bridge == null || lastEventId == null || lastEventId.isBlank()) return live;
+        Flux<ServerSentEvent<Object>> history = bridge.replay(topic, lastEventId)
+                .map(this::toEvent)
+                .onErrorResume(t -> {
+                    log.warn("Bridge replay for topic {} after id {} failed: {}", topic, lastEventId, t.getMessage());
+                    return Flux.empty();
+                });
+        return ReplayCutOver.prepend(topic, history, live, properties.getStream().getReplayLiveBuffer());
+    }
+
+    private ServerSentEvent<Object> toEvent(SseBridgeMessage msg) {
+        ServerSentEvent.Builder<Object> builder = ServerSentEvent.<Object>builder(msg.payload());
+        if (msg.eventName() != null) builder.event(msg.eventName());
+        if (msg.id() != null) builder.id(msg.id());
+        return builder.build();
+    }
+
     /**
      * Emit a payload to a specific topic.
      * <p>
@@ -350,12 +531,14 @@ public abstract class AbstractSseEmitter implements SseEmitter, com.spectrayan.s
      * Gracefully close all active SSE channels on application shutdown to avoid
      * blocking graceful shutdown with in-flight requests.
      * <p>
-     * This completes each sink, clears the topic registry, and closes the broadcast
-     * bridge if one is configured. Any subsequent attempt to connect will recreate
-     * topics on demand.
+     * This stops the memory pressure monitor, cancels running topic source upstreams, completes each sink,
+     * clears the topic registry, and closes the broadcast bridge if one is configured. Any subsequent attempt to
+     * connect will recreate topics on demand.
      */
     @PreDestroy
     public void shutdown() {
+        if (memoryPressure != null) memoryPressure.stop();
+        if (topicSourceBinder != null) topicSourceBinder.shutdown();
         topicManager.shutdownAll();
         if (bridge != null) {
             try {
@@ -366,13 +549,34 @@ public abstract class AbstractSseEmitter implements SseEmitter, com.spectrayan.s
         }
     }
 
+    /**
+     * Drain subscriber connections ahead of shutdown.
+     * <p>
+     * With {@code drain.enabled}, new connects are answered with a final event only, and open streams are
+     * closed in {@code drain.waves} waves spread over the window, each ending with a final event carrying the
+     * last delivered id and a jittered {@code retry:} hint. Topics stay registered; {@link #shutdown()}
+     * completes them afterwards. Without {@code drain.enabled}, this falls back to {@link #shutdown()}.
+     *
+     * @param window time over which connections are closed
+     * @return a {@link reactor.core.publisher.Mono} completing after the last wave was closed
+     * @since 2.1.0
+     */
+    @Override
+    public reactor.core.publisher.Mono<Void> drain(java.time.Duration window) {
+        if (drainer == null) {
+            return reactor.core.publisher.Mono.fromRunnable(this::shutdown);
+        }
+        return drainer.drain(window);
+    }
+
     /**
      * Handle an event received from a remote instance via the broadcast bridge.
      * <p>
      * Skips events originating from this instance (self-deduplication via instance id).
      * If the topic has no local subscribers, the event is silently ignored.
      * Otherwise, the event is injected into the local topic sink so that all
-     * locally connected SSE clients receive it.
+     * locally connected SSE clients receive it — with {@code bridge.ordering.enabled},
+     * in sequence order with the other events of its origin and topic, via {@link BridgeSequencer}.
      *
      * @param msg the remote event envelope
      */
@@ -389,11 +593,16 @@ public abstract class AbstractSseEmitter implements SseEmitter, com.spectrayan.s
             return;
         }
 
+        if (sequencer != null) {
+            sequencer.accept(channel, msg);
+        } else {
+            injectRemoteEvent(channel, msg);
+        }
+    }
+
+    private void injectRemoteEvent(TopicChannel channel, SseBridgeMessage msg) {
         try {
-            ServerSentEvent.Builder<Object> builder = ServerSentEvent.<Object>builder(msg.payload());
-            if (msg.eventName() != null) builder.event(msg.eventName());
-            if (msg.id() != null) builder.id(msg.id());
-            Sinks.EmitResult result = channel.sink.tryEmitNext(builder.build());
+            Sinks.EmitResult result = emissionService.emitRemote(channel, msg.topic(), toEvent(msg));
             if (result.isFailure()) {
                 log.debug("Failed to inject remote event for topic {}: {}", msg.topic(), result);
             } else if (log.isDebugEnabled()) {
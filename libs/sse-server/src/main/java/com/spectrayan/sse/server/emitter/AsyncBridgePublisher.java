@@ -0,0 +1,446 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Asynchronous, bounded publish stage in front of a {@link SseBroadcastBridge}.
+ * <p>
+ * Behavior ({@code spectrayan.sse.server.bridge.publish.*}):
+ * - {@link #publish(SseBridgeMessage)} only enqueues; the emitting thread never waits for the broker.
+ * - Messages are sharded by topic across {@code threads} dedicated daemon threads, each with its own bounded
+ *   queue, so the messages of one topic keep their order.
+ * - Publisher threads hand messages to {@link SseBroadcastBridge#publishAsync(SseBridgeMessage)} with at most
+ *   {@code max-in-flight} publishes outstanding across all threads; a thread takes its next message (or batch)
+ *   and then waits for a permit to publish it, so idle threads hold no permit.
+ * - With batching ({@code spectrayan.sse.server.bridge.batch.*}) a publisher thread takes up to
+ *   {@code max-messages} queued messages at once, waiting at most {@code flush-interval} after the first one,
+ *   and hands them to {@link SseBroadcastBridge#publishBatch(SseBridgeBatch)} as one envelope.
+ * - Messages of the emitter's topics are numbered when handed to the bridge, in queue order, so messages
+ *   dropped from a queue take no sequence number and receivers see no gap for them.
+ * - Messages still queued when the bridge switches to local-only delivery are
+ *   {@linkplain SseBridgeHealth#suspend(int) suspended} by the bridge; they are dropped as {@code SUSPENDED}
+ *   without a warning each, the bridge logging the outage.
+ * - A full queue applies the {@code overflow} policy: drop the new message, evict the oldest queued one, or
+ *   block the caller until the topic's queue has room. {@code BLOCK} never blocks a non-blocking thread (an event
+ *   loop or Reactor's parallel scheduler); the message is dropped there as {@code NON_BLOCKING}, with one warning.
+ * - {@link #close()} stops accepting messages, publishes what is queued for up to {@code shutdown-timeout},
+ *   then closes the underlying bridge.
+ * - Queue depth, in-flight publishes, latency (enqueue to completion), batches and drops are counted per
+ *   instance and registered with {@link com.spectrayan.sse.server.metrics.SseMetrics} by the owning emitter.
+ * <p>
+ * This class is public to allow cross-package access but is an internal
+ * implementation detail — not part of the public library API.
+ */
+public final class AsyncBridgePublisher implements SseBroadcastBridge {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncBridgePublisher.class);
+
+    /** Why a message was not published. */
+    public enum DropReason { OVERFLOW, NON_BLOCKING, FAILED, SUSPENDED, CLOSED }
+
+    private final SseBroadcastBridge delegate;
+    private final SseServerProperties.Bridge.Publish.Overflow overflow;
+    private final Duration shutdownTimeout;
+    private final int maxInFlight;
+    private final int batchSize;
+    private final long flushNanos;
+    private final Semaphore permits;
+    private final Shard[] shards;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean nonBlockingLogged = new AtomicBoolean();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final Map<DropReason, LongAdder> dropped = new EnumMap<>(DropReason.class);
+
+    /**
+     * Create the publish stage without batching and start its publisher threads.
+     *
+     * @param delegate bridge that performs the actual publish
+     * @param config publish settings
+     */
+    AsyncBridgePublisher(SseBroadcastBridge delegate, SseServerProperties.Bridge.Publish config) {
+        this(delegate, config, new SseServerProperties.Bridge.Batch());
+    }
+
+    /**
+     * Create the publish stage and start its publisher threads.
+     *
+     * @param delegate bridge that performs the actual publish
+     * @param config publish settings
+     * @param batch batching settings
+     */
+    AsyncBridgePublisher(SseBroadcastBridge delegate, SseServerProperties.Bridge.Publish config,
+                         SseServerProperties.Bridge.Batch batch) {
+        this.delegate = delegate;
+        this.batchSize = batch.isEnabled() ? Math.max(1, batch.getMaxMessages()) : 1;
+        this.flushNanos = batch.isEnabled() && batch.getFlushInterval() != null ? batch.getFlushInterval().toNanos() : 0;
+        this.overflow = config.getOverflow();
+        this.shutdownTimeout = config.getShutdownTimeout() != null ? config.getShutdownTimeout() : Duration.ZERO;
+        this.maxInFlight = Math.max(1, config.getMaxInFlight());
+        this.permits = new Semaphore(maxInFlight, true);
+        for (DropReason reason : DropReason.values()) {
+            dropped.put(reason, new LongAdder());
+        }
+        int threads = Math.max(1, config.getThreads());
+        int perShard = Math.max(1, config.getQueueCapacity() / threads);
+        this.shards = new Shard[threads];
+        for (int i = 0; i < threads; i++) {
+            shards[i] = new Shard(perShard, "sse-bridge-publisher-" + i);
+        }
+        log.info("SSE bridge async publish: threads={} queueCapacity={} maxInFlight={} overflow={} batchSize={}",
+                threads, perShard * threads, maxInFlight, overflow, batchSize);
+    }
+
+    /** Messages waiting in the queues, excluding those a publisher thread took and holds until it gets a permit. */
+    public long queuedMessages() {
+        return queued.sum();
+    }
+
+    /** Publishes handed to the bridge and not yet completed. */
+    public long inFlightPublishes() {
+        return inFlight.sum();
+    }
+
+    /** Messages published successfully since startup. */
+    public long publishedMessages() {
+        return published.sum();
+    }
+
+    /** Batch envelopes published successfully since startup. */
+    public long publishedBatches() {
+        return batches.sum();
+    }
+
+    /** Total enqueue-to-completion time of successfully published messages, in nanoseconds. */
+    public long publishLatencyNanos() {
+        return latencyNanos.sum();
+    }
+
+    /**
+     * Messages not published since startup.
+     *
+     * @param reason why messages were dropped
+     * @return number of dropped messages
+     */
+    public long droppedMessages(DropReason reason) {
+        return dropped.get(reason).sum();
+    }
+
+    @Override
+    public void publish(SseBridgeMessage message) {
+        publish(message, null);
+    }
+
+    /**
+     * Enqueue a message and number it when it is handed to the bridge.
+     *
+     * @param message  the message, unsequenced
+     * @param sequence supplies the message's sequence number on its topic's publisher thread; {@code null} to
+     *                 publish {@code message} as it is
+     */
+    void publish(SseBridgeMessage message, LongSupplier sequence) {
+        if (closed.get()) {
+            drop(message, DropReason.CLOSED);
+            return;
+        }
+        String topic = message.topic();
+        Shard shard = shards[shards.length == 1 || topic == null ? 0 : Math.floorMod(topic.hashCode(), shards.length)];
+        Pending pending = new Pending(message, sequence, System.nanoTime());
+        if (shard.offer(pending)) {
+            return;
+        }
+        switch (overflow) {
+            case DROP_NEWEST -> drop(message, DropReason.OVERFLOW);
+            case DROP_OLDEST -> {
+                Pending evicted = shard.poll();
+                if (evicted != null) drop(evicted.message, DropReason.OVERFLOW);
+                if (!shard.offer(pending)) drop(message, DropReason.OVERFLOW);
+            }
+            case BLOCK -> {
+                if (Schedulers.isInNonBlockingThread()) {
+                    dropOnNonBlockingThread(message);
+                    return;
+                }
+                // Wait in the topic's own queue so the message stays behind the ones already queued
+                try {
+                    while (!shard.offer(pending, 100, TimeUnit.MILLISECONDS)) {
+                        if (closed.get()) {
+                            drop(message, DropReason.CLOSED);
+                            return;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(message, DropReason.OVERFLOW);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Mono<Void> publishAsync(SseBridgeMessage message) {
+        return Mono.fromRunnable(() -> publish(message));
+    }
+
+    @Override
+    public void subscribe(SseBroadcastListener listener) {
+        delegate.subscribe(listener);
+    }
+
+    @Override
+    public void topicActivated(String topic) {
+        delegate.topicActivated(topic);
+    }
+
+    @Override
+    public void topicDeactivated(String topic) {
+        delegate.topicDeactivated(topic);
+    }
+
+    @Override
+    public boolean hasRemoteInterest(String topic) {
+        return delegate.hasRemoteInterest(topic);
+    }
+
+    @Override
+    public Flux<SseBridgeMessage> replay(String topic, String lastEventId) {
+        return delegate.replay(topic, lastEventId);
+    }
+
+    @Override
+    public boolean ownsTopic(String topic) {
+        return delegate.ownsTopic(topic);
+    }
+
+    /**
+     * Forward on the emitting thread, bypassing the queues; forwarded events are not batched.
+     */
+    @Override
+    public void forward(SseBridgeMessage message) {
+        delegate.forward(message);
+    }
+
+    @Override
+    public SseBridgeInterest interest() {
+        return delegate.interest();
+    }
+
+    @Override
+    public SseBridgeHealth health() {
+        return delegate.health();
+    }
+
+    @Override
+    public void gapDetected(String topic, String originInstanceId, long fromSequence, long toSequence) {
+        delegate.gapDetected(topic, originInstanceId, fromSequence, toSequence);
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Shard shard : shards) {
+            shard.stopping = true;
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (shard.thread.isAlive()) {
+                shard.thread.interrupt();
+            }
+            Pending left;
+            while ((left = shard.poll()) != null) {
+                drop(left.message, DropReason.CLOSED);
+            }
+        }
+        // Let publishes already handed to the bridge complete before closing it
+        try {
+            if (permits.tryAcquire(maxInFlight, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                permits.release(maxInFlight);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    private void complete(List<Pending> batch, Throwable error) {
+        permits.release();
+        inFlight.decrement();
+        if (error == null) {
+            long now = System.nanoTime();
+            for (Pending pending : batch) {
+                published.increment();
+                latencyNanos.add(now - pending.enqueuedNanos);
+            }
+            if (batch.size() > 1) batches.increment();
+        } else if (error instanceof SseBridgeHealth.SuspendedException) {
+            for (Pending pending : batch) {
+                drop(pending.message, DropReason.SUSPENDED);
+            }
+        } else {
+            for (Pending pending : batch) {
+                drop(pending.message, DropReason.FAILED);
+            }
+            log.warn("Bridge publish of {} message(s) failed for topic {}: {}",
+                    batch.size(), batch.get(0).message.topic(), error.getMessage());
+        }
+    }
+
+    private Mono<Void> send(List<Pending> batch) {
+        if (batch.size() == 1) {
+            return delegate.publishAsync(batch.get(0).handOff());
+        }
+        List<SseBridgeMessage> messages = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            messages.add(pending.handOff());
+        }
+        return delegate.publishBatch(new SseBridgeBatch(messages.get(0).originInstanceId(), messages));
+    }
+
+    private void dropOnNonBlockingThread(SseBridgeMessage message) {
+        drop(message, DropReason.NON_BLOCKING);
+        if (nonBlockingLogged.compareAndSet(false, true)) {
+            log.warn("Bridge publish queue full on non-blocking thread {}; overflow=BLOCK cannot wait here, dropping "
+                    + "messages (counted as non_blocking). Emit from a blocking-capable thread or choose a DROP policy.",
+                    Thread.currentThread().getName());
+        }
+    }
+
+    private void drop(SseBridgeMessage message, DropReason reason) {
+        dropped.get(reason).increment();
+        if (log.isDebugEnabled()) {
+            log.debug("Dropped bridge message for topic {} ({})", message.topic(), reason);
+        }
+    }
+
+    private record Pending(SseBridgeMessage message, LongSupplier sequence, long enqueuedNanos) {
+
+        /** The message to publish, numbered now when it takes a sequence number. */
+        SseBridgeMessage handOff() {
+            if (sequence == null) return message;
+            return new SseBridgeMessage(message.originInstanceId(), message.topic(), message.eventName(),
+                    message.payload(), message.id(), message.timestamp(), sequence.getAsLong());
+        }
+    }
+
+    /** One publisher thread and its queue. */
+    private final class Shard implements Runnable {
+        private final ArrayBlockingQueue<Pending> queue;
+        private final Thread thread;
+        private volatile boolean stopping;
+
+        Shard(int capacity, String name) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        boolean offer(Pending pending) {
+            if (!queue.offer(pending)) return false;
+            queued.increment();
+            return true;
+        }
+
+        boolean offer(Pending pending, long timeout, TimeUnit unit) throws InterruptedException {
+            if (!queue.offer(pending, timeout, unit)) return false;
+            queued.increment();
+            return true;
+        }
+
+        Pending poll() {
+            Pending pending = queue.poll();
+            if (pending != null) queued.decrement();
+            return pending;
+        }
+
+        /** Next message, or with batching up to {@code batchSize} messages within the flush interval. */
+        private List<Pending> take() throws InterruptedException {
+            Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (first == null) return null;
+            List<Pending> batch = new ArrayList<>(Math.min(batchSize, queue.size() + 1));
+            batch.add(first);
+            if (batchSize == 1) return batch;
+            queue.drainTo(batch, batchSize - 1);
+            long deadline = first.enqueuedNanos + flushNanos;
+            while (batch.size() < batchSize && !stopping) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) break;
+                Pending next;
+                try {
+                    next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    // Interrupted by close() after its timeout: the permit acquisition drops what was taken
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (next == null) break;
+                batch.add(next);
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            return batch;
+        }
+
+        @Override
+        public void run() {
+            while (!(stopping && queue.isEmpty())) {
+                // Wait for a permit only with something to publish, so idle threads leave them to busy ones
+                List<Pending> batch;
+                try {
+                    batch = take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (batch == null) continue;
+                queued.add(-batch.size());
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    for (Pending pending : batch) {
+                        drop(pending.message, DropReason.CLOSED);
+                    }
+                    return;
+                }
+                inFlight.increment();
+                try {
+                    send(batch).subscribe(
+                            null,
+                            error -> complete(batch, error),
+                            () -> complete(batch, null));
+                } catch (Throwable t) {
+                    complete(batch, t);
+                }
+            }
+        }
+    }
+}
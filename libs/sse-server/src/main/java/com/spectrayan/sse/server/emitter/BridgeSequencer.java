@@ -0,0 +1,258 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Restores the order of bridge messages received from remote instances.
+ * <p>
+ * Behavior ({@code spectrayan.sse.server.bridge.ordering.*}):
+ * - Messages are tracked per origin instance and topic, in the topic's {@link TopicChannel}, by their
+ *   {@link SseBridgeMessage#sequence() sequence}. The first message seen from an origin starts its stream.
+ * - The high bits of a sequence number identify the incarnation of the topic on the origin (a new one each
+ *   time the topic is created there, see {@link TopicIncarnations}), the low bits count its messages from
+ *   {@code 1}. Messages of a newer incarnation restart the stream; those of an older one are duplicates.
+ * - The next expected message is delivered at once, followed by held-back messages it unblocks. Messages
+ *   arriving early are held back, up to {@code window} per stream and for at most {@code max-delay}.
+ * - When the window overflows or the delay expires, the missing messages are given up as a gap: counted,
+ *   reported to {@link SseBroadcastBridge#gapDetected}, and the held-back messages are delivered.
+ * - Messages at or below the last delivered sequence, or already held back, are dropped as duplicates.
+ * - Unsequenced messages (from 2.0.x senders) are delivered as received.
+ * - Streams of origins silent for five minutes are forgotten when another origin appears.
+ * - Early, duplicate and missing messages and gaps are counted per instance and registered with
+ *   {@link com.spectrayan.sse.server.metrics.SseMetrics} by the owning emitter.
+ * <p>
+ * Delivery happens under the stream's lock, on the bridge listener thread or, for expired delays, on the
+ * scheduler.
+ * <p>
+ * This class is public to allow cross-package access but is an internal
+ * implementation detail — not part of the public library API.
+ */
+public final class BridgeSequencer {
+
+    private static final Logger log = LoggerFactory.getLogger(BridgeSequencer.class);
+
+    private static final long IDLE_EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(5);
+    // 24 epoch bits above 39 count bits, keeping sequences positive; epochs are compared modulo 2^24
+    private static final int EPOCH_SHIFT = 39;
+    static final long EPOCH_MASK = (1L << 24) - 1;
+
+    private final int window;
+    private final long maxDelayNanos;
+    private final SseBroadcastBridge bridge;
+    private final BiConsumer<TopicChannel, SseBridgeMessage> delivery;
+    private final Scheduler scheduler;
+    private final LongSupplier nanoClock;
+    private final LongAdder early = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder gaps = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+
+    /**
+     * Create a sequencer expiring delays on the parallel scheduler.
+     *
+     * @param config ordering settings
+     * @param bridge bridge notified of gaps; may be {@code null}
+     * @param delivery injects an in-order message into the channel's sink
+     */
+    BridgeSequencer(SseServerProperties.Bridge.Ordering config, SseBroadcastBridge bridge,
+                    BiConsumer<TopicChannel, SseBridgeMessage> delivery) {
+        this(config, bridge, delivery, Schedulers.parallel(), System::nanoTime);
+    }
+
+    BridgeSequencer(SseServerProperties.Bridge.Ordering config, SseBroadcastBridge bridge,
+                    BiConsumer<TopicChannel, SseBridgeMessage> delivery, Scheduler scheduler, LongSupplier nanoClock) {
+        this.window = Math.max(1, config.getWindow());
+        this.maxDelayNanos = Math.max(1, config.getMaxDelay().toNanos());
+        this.bridge = bridge;
+        this.delivery = delivery;
+        this.scheduler = scheduler;
+        this.nanoClock = nanoClock;
+    }
+
+    /** Messages received ahead of a missing one and held back. */
+    public long earlyMessages() {
+        return early.sum();
+    }
+
+    /** Messages dropped because they were already delivered or held back. */
+    public long duplicateMessages() {
+        return duplicates.sum();
+    }
+
+    /** Runs of missing messages given up. */
+    public long gaps() {
+        return gaps.sum();
+    }
+
+    /** Messages given up as missing. */
+    public long missingMessages() {
+        return missing.sum();
+    }
+
+    /**
+     * Sequence preceding the first message of an incarnation: the incarnation with a count of zero.
+     *
+     * @param epoch the incarnation, taken modulo 2^24
+     * @return the initial value of a sequence counter
+     */
+    static long epochBase(long epoch) {
+        return (epoch & EPOCH_MASK) << EPOCH_SHIFT;
+    }
+
+    private static long epoch(long sequence) {
+        return sequence >>> EPOCH_SHIFT;
+    }
+
+    /** Whether incarnation {@code a} follows {@code b}, in serial number arithmetic. */
+    static boolean newer(long a, long b) {
+        long distance = (a - b) & EPOCH_MASK;
+        return distance != 0 && distance < (1L << 23);
+    }
+
+    /**
+     * Deliver a received message in order with the other messages of its origin and topic.
+     *
+     * @param channel the local channel of the message's topic
+     * @param message a message from another instance
+     */
+    void accept(TopicChannel channel, SseBridgeMessage message) {
+        long sequence = message.sequence();
+        if (sequence <= 0) {
+            delivery.accept(channel, message);
+            return;
+        }
+        Stream stream = stream(channel, message);
+        synchronized (stream) {
+            stream.lastSeen = nanoClock.getAsLong();
+            if (stream.next == 0) {
+                stream.next = sequence;
+            } else if (epoch(sequence) != epoch(stream.next)) {
+                if (!newer(epoch(sequence), epoch(stream.next))) {
+                    duplicates.increment();
+                    return;
+                }
+                // The origin created the topic anew; give up what the old incarnation still waits for
+                while (!stream.pending.isEmpty()) {
+                    skipGap(stream);
+                }
+                stream.next = (epoch(sequence) << EPOCH_SHIFT) + 1;
+            }
+            if (sequence < stream.next || stream.pending.containsKey(sequence)) {
+                duplicates.increment();
+                return;
+            }
+            if (sequence == stream.next) {
+                deliver(stream, message);
+                drain(stream);
+            } else {
+                early.increment();
+                stream.pending.put(sequence, message);
+                if (stream.pending.size() > window) {
+                    skipGap(stream);
+                }
+            }
+            schedule(stream);
+        }
+    }
+
+    private Stream stream(TopicChannel channel, SseBridgeMessage message) {
+        Map<String, Stream> streams = channel.remoteStreams();
+        Stream stream = streams.get(message.originInstanceId());
+        if (stream != null) return stream;
+        long now = nanoClock.getAsLong();
+        streams.values().removeIf(idle -> now - idle.lastSeen > IDLE_EXPIRY_NANOS);
+        return streams.computeIfAbsent(message.originInstanceId(),
+                origin -> new Stream(channel, origin, message.topic(), now));
+    }
+
+    /** Deliver held-back messages that follow the last delivered one without a hole. */
+    private void drain(Stream stream) {
+        SseBridgeMessage next;
+        while ((next = stream.pending.remove(stream.next)) != null) {
+            deliver(stream, next);
+        }
+    }
+
+    /** Give up the messages missing before the first held-back one, then deliver what follows it. */
+    private void skipGap(Stream stream) {
+        long first = stream.pending.firstKey();
+        gaps.increment();
+        missing.add(first - stream.next);
+        if (log.isDebugEnabled()) {
+            log.debug("Bridge messages {}..{} of topic {} from instance {} did not arrive",
+                    stream.next, first - 1, stream.topic, stream.origin);
+        }
+        if (bridge != null) {
+            try {
+                bridge.gapDetected(stream.topic, stream.origin, stream.next, first - 1);
+            } catch (Throwable t) {
+                log.warn("Bridge failed to handle gap on topic {}: {}", stream.topic, t.getMessage());
+            }
+        }
+        stream.next = first;
+        drain(stream);
+    }
+
+    private void deliver(Stream stream, SseBridgeMessage message) {
+        stream.next = message.sequence() + 1;
+        try {
+            delivery.accept(stream.channel, message);
+        } catch (Throwable t) {
+            log.warn("Error injecting remote event for topic {}: {}", stream.topic, t.getMessage());
+        }
+    }
+
+    /** Expire the delay of held-back messages; called with the stream's lock held. */
+    private void schedule(Stream stream) {
+        if (stream.pending.isEmpty()) {
+            if (stream.expiry != null) {
+                stream.expiry.dispose();
+                stream.expiry = null;
+            }
+        } else if (stream.expiry == null) {
+            stream.expiry = scheduler.schedule(() -> expire(stream), maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void expire(Stream stream) {
+        synchronized (stream) {
+            stream.expiry = null;
+            while (!stream.pending.isEmpty()) {
+                skipGap(stream);
+            }
+        }
+    }
+
+    /** Ordering state of the messages one remote instance published for one topic; guarded by itself. */
+    static final class Stream {
+        final TopicChannel channel;
+        final String origin;
+        final String topic;
+        final TreeMap<Long, SseBridgeMessage> pending = new TreeMap<>();
+        /** Sequence of the next message to deliver; {@code 0} before the first message. */
+        long next;
+        Disposable expiry;
+        volatile long lastSeen;
+
+        Stream(TopicChannel channel, String origin, String topic, long now) {
+            this.channel = channel;
+            this.origin = origin;
+            this.topic = topic;
+            this.lastSeen = now;
+        }
+    }
+}
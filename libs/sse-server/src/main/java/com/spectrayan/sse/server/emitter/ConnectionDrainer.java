@@ -0,0 +1,161 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.session.SseSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closes subscriber connections in staggered waves so the clients of a stopping node do not all reconnect
+ * to the remaining nodes at the same moment.
+ * <p>
+ * Behavior ({@code spectrayan.sse.server.drain.*}):
+ * - Every stream is registered while it is open; the last event id it delivered is remembered.
+ * - {@link #drain(Duration)} stops admitting connects: new connects receive only the final event and
+ *   complete. Open streams are ordered by connection age (oldest first) or by topic, split into
+ *   {@code waves} groups and closed one group at a time, spread evenly over the window.
+ * - A closed stream ends with a final event ({@code event=<event-name>, data=<event-data>}) carrying the
+ *   last delivered id (or the id the client resumed from) and a {@code retry:} hint of {@code retry} plus a
+ *   random jitter of up to {@code retry-jitter}, then completes.
+ */
+final class ConnectionDrainer {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionDrainer.class);
+
+    private final SseServerProperties.Drain drain;
+    private final Duration baseRetry;
+    private final Set<Handle> handles = ConcurrentHashMap.newKeySet();
+    private volatile boolean draining;
+
+    /**
+     * Create a drainer from configuration.
+     *
+     * @param properties server properties; {@code drain.retry} falls back to {@code stream.retry}
+     */
+    ConnectionDrainer(SseServerProperties properties) {
+        this.drain = properties.getDrain();
+        this.baseRetry = drain.getRetry() != null ? drain.getRetry() : properties.getStream().getRetry();
+    }
+
+    /** Whether a drain has started; connects are no longer admitted. */
+    boolean isDraining() {
+        return draining;
+    }
+
+    /** Number of open streams that a drain would close. */
+    int openStreams() {
+        return handles.size();
+    }
+
+    /**
+     * Register a stream so a drain can close it with a final event.
+     *
+     * @param topic topic the stream belongs to
+     * @param session subscriber session; may be {@code null}
+     * @param upstream the composed topic stream
+     * @return the stream, ending with the final event when drained
+     */
+    Flux<ServerSentEvent<Object>> drainable(String topic, SseSession session, Flux<ServerSentEvent<Object>> upstream) {
+        return Flux.defer(() -> {
+            Handle handle = new Handle(topic, session);
+            handles.add(handle);
+            if (draining) {
+                // Raced with the drain snapshot; close right away
+                handle.close();
+            }
+            return upstream
+                    .doOnNext(handle::observe)
+                    .takeUntilOther(handle.closed.asMono())
+                    .concatWith(Mono.fromSupplier(() -> farewell(handle.lastId)).filter(ev -> handle.drained))
+                    .doFinally(sig -> handles.remove(handle));
+        });
+    }
+
+    /**
+     * Build the final event sent to a client whose stream is closed by a drain.
+     *
+     * @param lastId last event id delivered to (or resumed by) the client; may be {@code null}
+     * @return the final event
+     */
+    ServerSentEvent<Object> farewell(String lastId) {
+        long jitter = drain.getRetryJitter() != null ? drain.getRetryJitter().toMillis() : 0;
+        long retry = (baseRetry != null ? baseRetry.toMillis() : 0)
+                + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        ServerSentEvent.Builder<Object> builder = ServerSentEvent.<Object>builder(drain.getEventData())
+                .event(drain.getEventName())
+                .retry(Duration.ofMillis(Math.max(1, retry)));
+        if (lastId != null) builder.id(lastId);
+        return builder.build();
+    }
+
+    /**
+     * Stop admitting connects and close open streams in waves spread over the window.
+     *
+     * @param window time over which the waves are spread
+     * @return a {@link Mono} completing after the last wave was closed
+     */
+    Mono<Void> drain(Duration window) {
+        draining = true;
+        List<Handle> ordered = new ArrayList<>(handles);
+        if (ordered.isEmpty()) {
+            log.info("SSE drain: no open streams");
+            return Mono.empty();
+        }
+        Comparator<Handle> byAge = Comparator.comparingLong(h -> h.createdAt);
+        ordered.sort(drain.getOrder() == SseServerProperties.Drain.Order.TOPIC
+                ? Comparator.<Handle, String>comparing(h -> h.topic).thenComparing(byAge)
+                : byAge);
+        int size = ordered.size();
+        int waves = Math.max(1, Math.min(drain.getWaves(), size));
+        Duration spacing = window != null && !window.isNegative() ? window.dividedBy(waves) : Duration.ZERO;
+        log.info("SSE drain: closing {} stream(s) in {} wave(s) over {}", size, waves, window);
+        return Flux.range(0, waves)
+                .concatMap(wave -> Mono.delay(wave == 0 ? Duration.ZERO : spacing)
+                        .doOnNext(tick -> {
+                            List<Handle> batch = ordered.subList(bound(wave, size, waves), bound(wave + 1, size, waves));
+                            batch.forEach(Handle::close);
+                            log.debug("SSE drain: wave {}/{} closed {} stream(s)", wave + 1, waves, batch.size());
+                        }))
+                .then();
+    }
+
+    private static int bound(int wave, int size, int waves) {
+        return (int) ((long) wave * size / waves);
+    }
+
+    /** Drain state of one open stream. */
+    private static final class Handle {
+        final String topic;
+        final long createdAt;
+        final Sinks.Empty<Void> closed = Sinks.empty();
+        volatile String lastId;
+        volatile boolean drained;
+
+        Handle(String topic, SseSession session) {
+            this.topic = topic;
+            this.createdAt = session != null ? session.getCreatedAtEpochMillis() : System.currentTimeMillis();
+            this.lastId = session != null ? session.getLastEventId() : null;
+        }
+
+        void observe(ServerSentEvent<Object> event) {
+            if (event.id() != null) lastId = event.id();
+        }
+
+        void close() {
+            drained = true;
+            closed.tryEmitEmpty();
+        }
+    }
+}
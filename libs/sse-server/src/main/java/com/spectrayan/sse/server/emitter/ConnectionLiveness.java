@@ -0,0 +1,215 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects dead (zombie) subscriber connections, such as half-open TCP connections left behind by mobile
+ * clients switching networks, and closes them so their resources are reclaimed.
+ * <p>
+ * Behavior ({@code spectrayan.sse.server.liveness.*}):
+ * - Write idle: no write completed for {@code write-idle-timeout}. Heartbeats keep live connections writing,
+ *   so the timeout should exceed the heartbeat interval.
+ * - Read idle: nothing received from the client for {@code read-idle-timeout} (for clients that send data,
+ *   e.g. HTTP/2 pings).
+ * - Unacknowledged: writes are pending and none completed for {@code max-unacknowledged-time}; the peer
+ *   stopped draining its receive window.
+ * - Write failure: a write or flush to the connection failed.
+ * <p>
+ * A dead connection's channel is closed. Reactor Netty then cancels the response stream, and the subscription
+ * is cleaned up the usual way ({@code SessionTracker} removes the session and frees the topic for reaping).
+ * Checks run on the connection's event loop every {@code check-interval}. Only Reactor Netty connections are
+ * supported; elsewhere {@link #attach} returns {@code null}.
+ * <p>
+ * This class is public to allow cross-package access but is an internal
+ * implementation detail — not part of the public library API.
+ */
+public final class ConnectionLiveness {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionLiveness.class);
+
+    private static final boolean REACTOR_NETTY_PRESENT =
+            ClassUtils.isPresent("reactor.netty.Connection", ConnectionLiveness.class.getClassLoader());
+
+    /** Why a connection was considered dead. */
+    public enum Reason { WRITE_IDLE, READ_IDLE, UNACKNOWLEDGED, WRITE_FAILURE }
+
+    private final long writeIdleNanos;
+    private final long readIdleNanos;
+    private final long maxUnacknowledgedNanos;
+    private final long checkIntervalNanos;
+    private final Map<Reason, LongAdder> reclaimed = new EnumMap<>(Reason.class);
+
+    /**
+     * Create a detector from configuration.
+     *
+     * @param liveness liveness settings; {@code null} timeouts disable the corresponding check
+     */
+    public ConnectionLiveness(SseServerProperties.Liveness liveness) {
+        this.writeIdleNanos = nanos(liveness.getWriteIdleTimeout());
+        this.readIdleNanos = nanos(liveness.getReadIdleTimeout());
+        this.maxUnacknowledgedNanos = nanos(liveness.getMaxUnacknowledgedTime());
+        Duration interval = liveness.getCheckInterval();
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("liveness.check-interval must be positive");
+        }
+        this.checkIntervalNanos = interval.toNanos();
+        for (Reason reason : Reason.values()) {
+            reclaimed.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Connections this detector closed as dead since startup.
+     *
+     * @param reason detection reason
+     * @return number of reclaimed connections
+     */
+    public long reclaimedConnections(Reason reason) {
+        return reclaimed.get(reason).sum();
+    }
+
+    /**
+     * Start watching the connection serving the given exchange.
+     *
+     * @param exchange current exchange; may be {@code null}
+     * @return handle that stops watching, or {@code null} when not running on Reactor Netty
+     */
+    public Disposable attach(ServerWebExchange exchange) {
+        if (exchange == null || !REACTOR_NETTY_PRESENT) {
+            return null;
+        }
+        try {
+            Object nativeRequest = ServerHttpRequestDecorator.getNativeRequest(exchange.getRequest());
+            return NettySupport.attach(nativeRequest, this);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            // Request type without a native request (e.g. mock requests in tests)
+            return null;
+        }
+    }
+
+    private static long nanos(Duration duration) {
+        return duration != null && !duration.isNegative() && !duration.isZero() ? duration.toNanos() : 0;
+    }
+
+    /** Isolates Netty types so this class loads on servers without Reactor Netty. */
+    static final class NettySupport {
+
+        private static final String HANDLER_NAME = "sse.liveness";
+
+        static Disposable attach(Object nativeRequest, ConnectionLiveness liveness) {
+            if (!(nativeRequest instanceof reactor.netty.Connection connection)) {
+                return null;
+            }
+            // Reactor Netty places the handler before its reactive bridge and removes it when the request ends
+            connection.addHandlerLast(HANDLER_NAME, new LivenessHandler(liveness));
+            return () -> {
+                try {
+                    connection.removeHandler(HANDLER_NAME);
+                } catch (RuntimeException ex) {
+                    // Pipeline already torn down with the connection
+                }
+            };
+        }
+
+        /** Tracks read/write progress of one channel and closes it when it looks dead. */
+        static final class LivenessHandler extends io.netty.channel.ChannelDuplexHandler {
+            private final ConnectionLiveness liveness;
+            private io.netty.channel.ChannelHandlerContext ctx;
+            private io.netty.util.concurrent.ScheduledFuture<?> check;
+            private long lastWrite;
+            private long lastRead;
+            /** Start of the current stretch without write progress while writes are pending. */
+            private long stalledSince;
+            private int pendingWrites;
+            private boolean reclaimed;
+
+            LivenessHandler(ConnectionLiveness liveness) {
+                this.liveness = liveness;
+            }
+
+            private long now() {
+                return ctx.executor().ticker().nanoTime();
+            }
+
+            @Override
+            public void handlerAdded(io.netty.channel.ChannelHandlerContext ctx) {
+                this.ctx = ctx;
+                long now = now();
+                lastWrite = now;
+                lastRead = now;
+                long interval = liveness.checkIntervalNanos;
+                check = ctx.executor().scheduleAtFixedRate(this::check, interval, interval, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void handlerRemoved(io.netty.channel.ChannelHandlerContext ctx) {
+                if (check != null) {
+                    check.cancel(false);
+                    check = null;
+                }
+            }
+
+            @Override
+            public void channelRead(io.netty.channel.ChannelHandlerContext ctx, Object msg) {
+                lastRead = now();
+                ctx.fireChannelRead(msg);
+            }
+
+            @Override
+            public void write(io.netty.channel.ChannelHandlerContext ctx, Object msg, io.netty.channel.ChannelPromise promise) {
+                if (pendingWrites++ == 0) {
+                    stalledSince = now();
+                }
+                io.netty.channel.ChannelPromise tracked = promise.unvoid();
+                tracked.addListener(this::writeCompleted);
+                ctx.write(msg, tracked);
+            }
+
+            private void writeCompleted(io.netty.util.concurrent.Future<?> future) {
+                pendingWrites--;
+                if (future.isSuccess()) {
+                    long now = now();
+                    lastWrite = now;
+                    stalledSince = now;
+                } else if (!(future.cause() instanceof java.nio.channels.ClosedChannelException)) {
+                    reclaim(Reason.WRITE_FAILURE);
+                }
+            }
+
+            void check() {
+                if (reclaimed || !ctx.channel().isActive()) {
+                    return;
+                }
+                long now = now();
+                if (liveness.writeIdleNanos > 0 && now - lastWrite >= liveness.writeIdleNanos) {
+                    reclaim(Reason.WRITE_IDLE);
+                } else if (liveness.readIdleNanos > 0 && now - lastRead >= liveness.readIdleNanos) {
+                    reclaim(Reason.READ_IDLE);
+                } else if (liveness.maxUnacknowledgedNanos > 0 && pendingWrites > 0
+                        && now - stalledSince >= liveness.maxUnacknowledgedNanos) {
+                    reclaim(Reason.UNACKNOWLEDGED);
+                }
+            }
+
+            private void reclaim(Reason reason) {
+                if (reclaimed) return;
+                reclaimed = true;
+                liveness.reclaimed.get(reason).increment();
+                log.debug("Closing dead SSE connection {} ({})", ctx.channel().remoteAddress(), reason);
+                ctx.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the outbound writability of subscriber connections so delivery can pause while a client is slow.
+ * <p>
+ * Behavior:
+ * - {@link #attach(ServerWebExchange)} installs a handler on the connection's Netty pipeline and returns a
+ *   {@link Gate}. A connection turns unwritable when its outbound buffer exceeds the high water mark
+ *   ({@code transport.write-buffer-high-water-mark}) and writable again below the low water mark.
+ * - The delivery stage stops handing events to an unwritable connection, keeps them in its bounded
+ *   per-subscriber queue, and resumes from the {@link Gate#onWritable} callback.
+ * - Aggregates over this tracker's connections (connections currently unwritable, pending outbound bytes,
+ *   accumulated unwritable time) are sampled by {@link com.spectrayan.sse.server.metrics.SseMetrics}. The emitter
+ *   owns one tracker, shared with the HTTP layer through
+ *   {@link AbstractSseEmitter#connectionWritability()}.
+ * - {@link #disconnectSlowest(int)} closes the most backed-up connections when the node sheds load.
+ * <p>
+ * Only Reactor Netty connections are recognized; elsewhere no gate is returned and delivery is not gated.
+ * <p>
+ * This class is public to allow cross-package access but is an internal
+ * implementation detail — not part of the public library API.
+ */
+public final class ConnectionWritability {
+
+    private static final boolean REACTOR_NETTY_PRESENT =
+            ClassUtils.isPresent("reactor.netty.Connection", ConnectionWritability.class.getClassLoader());
+
+    private final Set<Gate> gates = ConcurrentHashMap.newKeySet();
+    private final LongAdder unwritableNanos = new LongAdder();
+
+    public ConnectionWritability() {
+    }
+
+    /**
+     * Start tracking the connection serving the given exchange.
+     *
+     * @param exchange current exchange; may be {@code null}
+     * @return a gate for the connection, or {@code null} when not running on Reactor Netty
+     */
+    public Gate attach(ServerWebExchange exchange) {
+        if (exchange == null || !REACTOR_NETTY_PRESENT) {
+            return null;
+        }
+        try {
+            Object nativeRequest = ServerHttpRequestDecorator.getNativeRequest(exchange.getRequest());
+            return NettySupport.attach(nativeRequest, this);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            // Request type without a native request (e.g. mock requests in tests)
+            return null;
+        }
+    }
+
+    /**
+     * Number of tracked connections that are currently unwritable.
+     *
+     * @return unwritable connection count
+     */
+    public int unwritableConnections() {
+        int count = 0;
+        for (Gate gate : gates) {
+            if (!gate.isWritable()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Bytes queued in the outbound buffers of all tracked connections.
+     *
+     * @return pending outbound bytes
+     */
+    public long pendingOutboundBytes() {
+        long total = 0;
+        for (Gate gate : gates) {
+            total += gate.pendingOutboundBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Largest outbound buffer of a single tracked connection.
+     *
+     * @return pending outbound bytes of the most backed-up connection
+     */
+    public long maxPendingOutboundBytes() {
+        long max = 0;
+        for (Gate gate : gates) {
+            max = Math.max(max, gate.pendingOutboundBytes());
+        }
+        return max;
+    }
+
+    /**
+     * Time tracked connections spent unwritable, counting finished unwritable periods.
+     *
+     * @return accumulated unwritable time in nanoseconds
+     */
+    public long unwritableNanos() {
+        return unwritableNanos.sum();
+    }
+
+    /**
+     * Close the connections with the most bytes pending in their outbound buffers.
+     *
+     * @param count maximum number of connections to close
+     * @return number of connections closed
+     */
+    public int disconnectSlowest(int count) {
+        if (count <= 0) return 0;
+        // Bounded min-heap of the most backed-up connections
+        java.util.PriorityQueue<Map.Entry<Gate, Long>> slowest =
+                new java.util.PriorityQueue<>(count, Map.Entry.comparingByValue());
+        for (Gate gate : gates) {
+            long pending = gate.pendingOutboundBytes();
+            if (pending <= 0) continue;
+            if (slowest.size() < count) {
+                slowest.add(Map.entry(gate, pending));
+            } else if (pending > slowest.peek().getValue()) {
+                slowest.poll();
+                slowest.add(Map.entry(gate, pending));
+            }
+        }
+        int closed = slowest.size();
+        slowest.forEach(entry -> entry.getKey().disconnect());
+        return closed;
+    }
+
+    void register(Gate gate) {
+        gates.add(gate);
+    }
+
+    void release(Gate gate, long unwritableNanos) {
+        gates.remove(gate);
+        recordUnwritable(unwritableNanos);
+    }
+
+    void recordUnwritable(long nanos) {
+        if (nanos > 0) unwritableNanos.add(nanos);
+    }
+
+    /**
+     * Writability view of one connection.
+     */
+    public interface Gate {
+
+        /**
+         * Whether the connection accepts more writes without exceeding its high water mark.
+         *
+         * @return {@code true} when writable
+         */
+        boolean isWritable();
+
+        /**
+         * Bytes currently queued in the connection's outbound buffer.
+         *
+         * @return pending outbound bytes
+         */
+        long pendingOutboundBytes();
+
+        /**
+         * Register the callback run on the connection's event loop whenever it becomes writable again.
+         *
+         * @param callback resume callback; replaces a previously registered one
+         */
+        void onWritable(Runnable callback);
+
+        /**
+         * Close the connection; the response stream is then cancelled and cleaned up as usual.
+         */
+        void disconnect();
+
+        /**
+         * Stop tracking the connection and remove the pipeline handler.
+         */
+        void close();
+    }
+
+    /** Isolates Netty types so this class loads on servers without Reactor Netty. */
+    static final class NettySupport {
+
+        private static final String HANDLER_NAME = "sse.writability";
+
+        static Gate attach(Object nativeRequest, ConnectionWritability tracker) {
+            if (!(nativeRequest instanceof reactor.netty.Connection connection)) {
+                return null;
+            }
+            ChannelGate gate = new ChannelGate(connection.channel(), tracker, () -> connection.removeHandler(HANDLER_NAME));
+            // Reactor Netty places the handler before its reactive bridge and removes it when the request ends
+            connection.addHandlerLast(HANDLER_NAME, gate);
+            tracker.register(gate);
+            return gate;
+        }
+
+        /**
+         * Gate over a Netty channel; the channel's pipeline must already contain it as a handler for
+         * writability changes to be observed.
+         */
+        static final class ChannelGate extends io.netty.channel.ChannelInboundHandlerAdapter implements Gate {
+            private final io.netty.channel.Channel channel;
+            private final ConnectionWritability tracker;
+            private final Runnable removal;
+            private volatile Runnable callback;
+            /** {@code System.nanoTime()} when the channel turned unwritable; {@code 0} while writable. */
+            private long unwritableSince;
+            private volatile boolean closed;
+
+            ChannelGate(io.netty.channel.Channel channel, ConnectionWritability tracker, Runnable removal) {
+                this.channel = channel;
+                this.tracker = tracker;
+                this.removal = removal;
+                if (!channel.isWritable()) unwritableSince = System.nanoTime();
+            }
+
+            @Override
+            public boolean isWritable() {
+                return channel.isWritable();
+            }
+
+            @Override
+            public long pendingOutboundBytes() {
+                io.netty.channel.ChannelOutboundBuffer buffer = channel.unsafe().outboundBuffer();
+                return buffer != null ? buffer.totalPendingWriteBytes() : 0;
+            }
+
+            @Override
+            public void onWritable(Runnable callback) {
+                this.callback = callback;
+            }
+
+            @Override
+            public void disconnect() {
+                channel.close();
+            }
+
+            @Override
+            public void close() {
+                if (closed) return;
+                closed = true;
+                if (channel.eventLoop().inEventLoop()) {
+                    release();
+                } else {
+                    try {
+                        channel.eventLoop().execute(this::release);
+                    } catch (java.util.concurrent.RejectedExecutionException ex) {
+                        release();
+                    }
+                }
+            }
+
+            private void release() {
+                long since = unwritableSince;
+                unwritableSince = 0;
+                tracker.release(this, since != 0 ? System.nanoTime() - since : 0);
+                try {
+                    removal.run();
+                } catch (RuntimeException ex) {
+                    // Pipeline already torn down with the connection
+                }
+            }
+
+            @Override
+            public void channelWritabilityChanged(io.netty.channel.ChannelHandlerContext ctx) throws Exception {
+                if (!closed) {
+                    if (!ctx.channel().isWritable()) {
+                        if (unwritableSince == 0) unwritableSince = System.nanoTime();
+                    } else {
+                        long since = unwritableSince;
+                        unwritableSince = 0;
+                        if (since != 0) tracker.recordUnwritable(System.nanoTime() - since);
+                        Runnable r = callback;
+                        if (r != null) r.run();
+                    }
+                }
+                ctx.fireChannelWritabilityChanged();
+            }
+        }
+    }
+}
@@ -37,6 +37,30 @@ public class DefaultSseEmitter extends AbstractSseEmitter implements SseEmitter
                              com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
                              com.spectrayan.sse.server.metrics.SseMetrics metrics,
                              SseBroadcastBridge bridge) {
-        super(properties, sinkCustomizer, sessionHooks, sessionIdGenerator, metrics, bridge);
+        super(properties, sinkCustomizer, sessionHooks, sessionIdGenerator, metrics, bridge, null, null);
+    }
+
+    /**
+     * Create the default emitter with declarative topic sources and a lifecycle dispatcher.
+     *
+     * @param properties server properties controlling sink type, replay size, heartbeat/connected events
+     * @param sinkCustomizer optional customizer allowing alternative sink creation strategy
+     * @param sessionHooks optional hooks invoked on session join/leave
+     * @param sessionIdGenerator optional generator used by components needing to derive a session id
+     * @param metrics optional SSE metrics recorder (null when Micrometer is absent)
+     * @param bridge optional broadcast bridge for cross-instance event fan-out
+     * @param topicSources optional topic sources activated on demand for matching topics
+     * @param lifecycle dispatcher invoking session hooks, possibly off the event loop
+     * @since 2.1.0
+     */
+    public DefaultSseEmitter(SseServerProperties properties,
+                             ObjectProvider<SseEmitterCustomizer> sinkCustomizer,
+                             ObjectProvider<com.spectrayan.sse.server.customize.SseSessionHook> sessionHooks,
+                             com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
+                             com.spectrayan.sse.server.metrics.SseMetrics metrics,
+                             SseBroadcastBridge bridge,
+                             ObjectProvider<com.spectrayan.sse.server.topic.TopicSource> topicSources,
+                             com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher lifecycle) {
+        super(properties, sinkCustomizer, sessionHooks, sessionIdGenerator, metrics, bridge, topicSources, lifecycle);
     }
 }
@@ -12,6 +12,7 @@ import reactor.core.publisher.Sinks;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.LongSupplier;
 
 /**
  * Encapsulates building and emitting of {@link org.springframework.http.codec.ServerSentEvent} instances
@@ -22,6 +23,11 @@ import java.util.Map;
  * - Map Reactor {@link reactor.core.publisher.Sinks.EmitResult} failures to a domain-specific
  *   {@link com.spectrayan.sse.server.error.EmissionRejectedException} with structured details.
  * - Broadcast a single pre-built event to all active topics, logging per-topic rejections without failing the call.
+ * - Stamp bridge messages with the topic's next sequence number when they are handed to the bridge, so
+ *   receivers can restore their order.
+ * - In cluster mode ({@code bridge.routing.ownership}), forward events of topics owned by another instance to
+ *   the owner instead of delivering them, and deliver and publish events of owned topics, including those
+ *   forwarded by other instances, in one sequence per topic.
  * <p>
  * Package-private and used by {@link AbstractSseEmitter} to separate emission concerns from orchestration.
  */
@@ -33,6 +39,7 @@ final class EmissionService {
     private final int maxEmitRetries;
     private final SseBroadcastBridge bridge;
     private final String instanceId;
+    private final OwnedTopics owned;
 
     /**
      * Create a new EmissionService.
@@ -47,10 +54,26 @@ final class EmissionService {
      */
     EmissionService(com.spectrayan.sse.server.metrics.SseMetrics metrics, int maxEmitRetries,
                     SseBroadcastBridge bridge, String instanceId) {
+        this(metrics, maxEmitRetries, bridge, instanceId, false);
+    }
+
+    /**
+     * Create a new EmissionService, optionally in cluster mode.
+     *
+     * @param metrics optional SSE metrics recorder; may be {@code null}
+     * @param maxEmitRetries maximum retry attempts on {@code FAIL_NON_SERIALIZED}
+     * @param bridge broadcast bridge for cross-instance fan-out; may be {@code null}
+     * @param instanceId unique identifier for this instance used in bridge messages; may be {@code null}
+     * @param ownership whether topics are owned by one instance each ({@code bridge.routing.ownership});
+     *                  ignored without a bridge
+     */
+    EmissionService(com.spectrayan.sse.server.metrics.SseMetrics metrics, int maxEmitRetries,
+                    SseBroadcastBridge bridge, String instanceId, boolean ownership) {
         this.metrics = metrics;
         this.maxEmitRetries = maxEmitRetries;
         this.bridge = bridge;
         this.instanceId = instanceId;
+        this.owned = ownership && bridge != null ? new OwnedTopics() : null;
     }
 
     /**
@@ -76,13 +99,19 @@ final class EmissionService {
         if (channel == null) {
             throw new TopicNotFoundException(topicId);
         }
-        ServerSentEvent.Builder<Object> builder = ServerSentEvent.<Object>builder((Object) payload);
-        if (eventName != null) builder.event(eventName);
-        if (id != null) builder.id(id);
         if (log.isDebugEnabled()) {
             log.debug("Emitting to topic {} eventName={} id={} payload={}", topicId, eventName, id, describePayload(payload));
         }
-        ServerSentEvent<Object> event = builder.build();
+        if (owned != null) {
+            Sinks.EmitResult result = emitClustered(channel, topicId, eventName, payload, id, true);
+            if (result.isFailure()) {
+                if (metrics != null) metrics.recordEmitFailure(topicId);
+                throw mapEmitFailure(topicId, result, eventName, id);
+            }
+            if (metrics != null) metrics.recordEmit(topicId);
+            return;
+        }
+        ServerSentEvent<Object> event = buildEvent(eventName, payload, id);
         Sinks.EmitResult result = emitWithSerializationRetry(channel.sink, event, topicId);
         if (result.isFailure()) {
             if (metrics != null) metrics.recordEmitFailure(topicId);
@@ -90,7 +119,7 @@ final class EmissionService {
         }
         if (metrics != null) metrics.recordEmit(topicId);
         // Fan-out to other instances via broadcast bridge
-        publishToBridge(topicId, eventName, payload, id);
+        publishToBridge(channel, topicId, eventName, payload, id);
     }
 
     /**
@@ -117,16 +146,77 @@ final class EmissionService {
         for (String id : ids) {
             TopicChannel ch = topicManager.get(id);
             if (ch == null) continue;
+            if (owned != null) {
+                Sinks.EmitResult res = emitClustered(ch, id, null, payload, null, true);
+                if (res.isFailure()) log.warn("Broadcast emit rejected for topic {} result={}", id, res);
+                continue;
+            }
             Sinks.EmitResult res = emitWithSerializationRetry(ch.sink, event, id);
             if (res.isFailure()) {
                 log.warn("Broadcast emit rejected for topic {} result={}", id, res);
             } else {
                 // Fan-out each topic's broadcast to other instances
-                publishToBridge(id, null, payload, null);
+                publishToBridge(ch, id, null, payload, null);
             }
         }
     }
 
+    /**
+     * Inject a pre-built event into the local sink of a topic without bridge fan-out.
+     * <p>
+     * Used for events that originate outside the {@code emit*} API (declarative topic sources).
+     * Unlike {@link #emitToTopic}, failures are reported through the returned result instead of
+     * an exception, since a missing topic or zero subscribers is an expected, transient state for
+     * such producers.
+     *
+     * @param topicManager access to topic channels
+     * @param topicId the target topic identifier
+     * @param event the event to deliver
+     * @return the emit result; {@link Sinks.EmitResult#FAIL_ZERO_SUBSCRIBER} when the topic is not active
+     */
+    Sinks.EmitResult emitLocal(TopicManager topicManager, String topicId, ServerSentEvent<Object> event) {
+        TopicChannel channel = topicManager.get(topicId);
+        if (channel == null) {
+            return Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER;
+        }
+        Sinks.EmitResult result = emitWithSerializationRetry(channel.sink, event, topicId);
+        if (metrics != null && result.isSuccess()) metrics.recordEmit(topicId);
+        return result;
+    }
+
+    /**
+     * Deliver and publish, as the topic's owner, an event another instance forwarded in cluster mode.
+     * <p>
+     * The event is published even without local subscribers, so the other instances serving the topic receive it.
+     *
+     * @param topicManager access to topic channels
+     * @param message the forwarded event
+     */
+    void emitForwarded(TopicManager topicManager, SseBridgeMessage message) {
+        if (owned == null) return;
+        TopicChannel channel = topicManager.get(message.topic());
+        Sinks.EmitResult result = emitClustered(channel, message.topic(), message.eventName(),
+                message.payload(), message.id(), false);
+        if (result.isFailure() && channel != null && log.isDebugEnabled()) {
+            log.debug("Forwarded event for topic {} not delivered locally: {}", message.topic(), result);
+        }
+    }
+
+    /**
+     * Inject an event received from another instance into the local sink of a topic.
+     * <p>
+     * Bridge listener threads race local emitters for the same sink, so contention is retried like for
+     * local emits. Not counted as an emit and never published back to the bridge.
+     *
+     * @param channel the channel of the target topic
+     * @param topicId the target topic identifier, for logging
+     * @param event the event to deliver
+     * @return the emit result
+     */
+    Sinks.EmitResult emitRemote(TopicChannel channel, String topicId, ServerSentEvent<Object> event) {
+        return emitWithSerializationRetry(channel.sink, event, topicId);
+    }
+
     /**
      * Attempt to emit an event to a sink, retrying up to the configured {@code maxEmitRetries} times
      * on {@link Sinks.EmitResult#FAIL_NON_SERIALIZED FAIL_NON_SERIALIZED}.
@@ -172,6 +262,59 @@ final class EmissionService {
         return result;
     }
 
+    /**
+     * Emit in cluster mode: forward the event to the owner of its topic, or, when this instance owns the topic,
+     * deliver it to the local channel and number it for the bridge under the topic's lock, so that local
+     * subscribers and the bridge see the same order. The broker is only called after the lock is released;
+     * receivers restore the order from the sequence numbers.
+     *
+     * @param channel local channel of the topic; may be {@code null} for forwarded events
+     * @param topicId the target topic identifier
+     * @param eventName optional SSE {@code event} name
+     * @param payload event data
+     * @param id optional SSE {@code id}
+     * @param forward whether events of topics owned elsewhere are forwarded; {@code false} for events that were
+     *                forwarded already, which are never sent on again
+     * @return the local emit result; {@code OK} when forwarded, {@code FAIL_CANCELLED} when the bridge failed to
+     *         forward, {@code FAIL_ZERO_SUBSCRIBER} without a channel. Events the local channel rejects are not
+     *         published.
+     */
+    private Sinks.EmitResult emitClustered(TopicChannel channel, String topicId, String eventName,
+                                           Object payload, String id, boolean forward) {
+        if (forward && !bridge.ownsTopic(topicId)) {
+            try {
+                bridge.forward(new SseBridgeMessage(instanceId, topicId, eventName, payload, id,
+                        System.currentTimeMillis()));
+            } catch (Throwable t) {
+                log.warn("Bridge forward failed for topic {}: {}", topicId, t.getMessage());
+                return Sinks.EmitResult.FAIL_CANCELLED;
+            }
+            return Sinks.EmitResult.OK;
+        }
+        OwnedTopics.Topic topic = owned.acquire(topicId);
+        Sinks.EmitResult result = Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER;
+        SseBridgeMessage numbered = null;
+        synchronized (topic) {
+            if (channel != null) {
+                result = emitWithSerializationRetry(channel.sink, buildEvent(eventName, payload, id), topicId);
+                if (result.isFailure()) return result;
+            }
+            if (bridge.hasRemoteInterest(topicId)) {
+                numbered = sequence(new SseBridgeMessage(instanceId, topicId, eventName, payload, id,
+                        System.currentTimeMillis()), topic::next);
+            }
+        }
+        if (numbered != null) publishNumbered(numbered);
+        return result;
+    }
+
+    private static ServerSentEvent<Object> buildEvent(String eventName, Object payload, String id) {
+        ServerSentEvent.Builder<Object> builder = ServerSentEvent.<Object>builder(payload);
+        if (eventName != null) builder.event(eventName);
+        if (id != null) builder.id(id);
+        return builder.build();
+    }
+
     /**
      * Produce a concise, safe textual description of a payload for logs.
      * <p>
@@ -218,16 +361,47 @@ final class EmissionService {
      * Publish an event to the broadcast bridge for cross-instance delivery.
      * <p>
      * Failures are logged at WARN level but never prevent local delivery.
-     * This method is a no-op when no bridge is configured.
+     * This method is a no-op when no bridge is configured or no other instance serves the topic.
      */
-    private void publishToBridge(String topicId, String eventName, Object payload, String id) {
-        if (bridge == null) return;
+    private void publishToBridge(TopicChannel channel, String topicId, String eventName, Object payload, String id) {
+        if (bridge == null || !bridge.hasRemoteInterest(topicId)) return;
+        publishSequenced(new SseBridgeMessage(instanceId, topicId, eventName, payload, id, System.currentTimeMillis()),
+                channel::nextBridgeSequence);
+    }
+
+    /**
+     * Publish a message numbered by {@code sequence}. Sequence numbers are only taken for messages handed to the
+     * bridge — by the async publish stage when it hands them on — so receivers see no gap for skipped or dropped
+     * ones.
+     */
+    private void publishSequenced(SseBridgeMessage message, LongSupplier sequence) {
+        SseBridgeMessage numbered = sequence(message, sequence);
+        if (numbered != null) publishNumbered(numbered);
+    }
+
+    /**
+     * Enqueue a message on the async publish stage, which numbers it when handing it on, or number it now.
+     *
+     * @return the numbered message, still to be published; {@code null} when the async publish stage took it
+     */
+    private SseBridgeMessage sequence(SseBridgeMessage message, LongSupplier sequence) {
+        if (bridge instanceof AsyncBridgePublisher publisher) {
+            try {
+                publisher.publish(message, sequence);
+            } catch (Throwable t) {
+                log.warn("Bridge publish failed for topic {}: {}", message.topic(), t.getMessage());
+            }
+            return null;
+        }
+        return new SseBridgeMessage(message.originInstanceId(), message.topic(), message.eventName(),
+                message.payload(), message.id(), message.timestamp(), sequence.getAsLong());
+    }
+
+    private void publishNumbered(SseBridgeMessage message) {
         try {
-            bridge.publish(new SseBridgeMessage(
-                    instanceId, topicId, eventName, payload, id,
-                    System.currentTimeMillis()));
+            bridge.publish(message);
         } catch (Throwable t) {
-            log.warn("Bridge publish failed for topic {}: {}", topicId, t.getMessage());
+            log.warn("Bridge publish failed for topic {}: {}", message.topic(), t.getMessage());
         }
     }
 }
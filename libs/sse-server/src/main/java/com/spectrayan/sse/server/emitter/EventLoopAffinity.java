@@ -0,0 +1,85 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Resolves the event loop that owns a subscriber's connection so emitters can deliver on it.
+ * <p>
+ * The HTTP layer resolves the loop from the exchange and stores it in the subscriber's Reactor
+ * {@link reactor.util.context.Context} under {@link #CONTEXT_KEY}; sinks read it back when the stream is
+ * subscribed. Only Reactor Netty connections are recognized; on other servers (or on the programmatic
+ * template path without an exchange) no loop is resolved and callers fall back to delivering on the
+ * emitting thread.
+ * <p>
+ * This class is public to allow cross-package access but is an internal
+ * implementation detail — not part of the public library API.
+ */
+public final class EventLoopAffinity {
+
+    /** Reactor context key holding the connection's event loop ({@link Executor}). */
+    public static final String CONTEXT_KEY = EventLoopAffinity.class.getName() + ".EVENT_LOOP";
+
+    private static final boolean REACTOR_NETTY_PRESENT =
+            ClassUtils.isPresent("reactor.netty.Connection", EventLoopAffinity.class.getClassLoader());
+
+    private EventLoopAffinity() {
+    }
+
+    /**
+     * Resolve the event loop serving the given exchange.
+     *
+     * @param exchange current exchange; may be {@code null}
+     * @return the connection's event loop, or {@code null} when not running on Reactor Netty
+     */
+    public static Executor resolve(ServerWebExchange exchange) {
+        if (exchange == null || !REACTOR_NETTY_PRESENT) {
+            return null;
+        }
+        try {
+            Object nativeRequest = ServerHttpRequestDecorator.getNativeRequest(exchange.getRequest());
+            return NettySupport.eventLoop(nativeRequest);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            // Request type without a native request (e.g. mock requests in tests)
+            return null;
+        }
+    }
+
+    /**
+     * Read the event loop stored by the HTTP layer from a subscriber context.
+     *
+     * @param context subscriber context
+     * @return the stored loop, or {@code null} when absent
+     */
+    public static Executor from(ContextView context) {
+        Object loop = context.getOrDefault(CONTEXT_KEY, null);
+        return loop instanceof Executor executor ? executor : null;
+    }
+
+    /**
+     * Whether the calling thread is the given event loop's thread, so work can run inline instead of
+     * being queued.
+     *
+     * @param loop event loop previously obtained from {@link #resolve} or {@link #from}
+     * @return {@code true} when called from the loop's own thread
+     */
+    static boolean inEventLoop(Executor loop) {
+        return REACTOR_NETTY_PRESENT && NettySupport.inEventLoop(loop);
+    }
+
+    /** Isolates Netty types so this class loads on servers without Reactor Netty. */
+    private static final class NettySupport {
+
+        static Executor eventLoop(Object nativeRequest) {
+            return nativeRequest instanceof reactor.netty.Connection connection ? connection.channel().eventLoop() : null;
+        }
+
+        static boolean inEventLoop(Executor loop) {
+            return loop instanceof io.netty.util.concurrent.EventExecutor executor && executor.inEventLoop();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+import reactor.util.context.Context;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Moves delivery of subscriber streams onto the event loop of each subscriber's connection.
+ * <p>
+ * Behavior:
+ * - Events produced on any thread are queued in a bounded per-subscriber queue ({@code prefetch} items;
+ *   the upstream is only asked for what fits, so a full queue makes best-effort sinks drop for that
+ *   subscriber instead of growing memory).
+ * - Subscribers with pending work are handed to one drainer per event loop. The drainer submits a single
+ *   task to its loop for any number of ready subscribers, so a broadcast to N connections on the same loop
+ *   costs one wakeup instead of N write handoffs.
+ * - When the producer already runs on the subscriber's loop, the queue is drained inline.
+ * - With a {@link ConnectionWritability.Gate}, draining pauses while the connection is unwritable so events
+ *   wait in the bounded queue instead of Netty's outbound buffer, and resumes on writability change.
+ * <p>
+ * This class is public to allow cross-package access but is an internal
+ * implementation detail — not part of the public library API.
+ */
+public final class EventLoopDelivery {
+
+    private final ConcurrentHashMap<Executor, LoopDrainer> drainers = new ConcurrentHashMap<>();
+    private final int prefetch;
+
+    /**
+     * Create a delivery stage.
+     *
+     * @param prefetch per-subscriber queue capacity; must be positive
+     */
+    public EventLoopDelivery(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive");
+        }
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Deliver the given stream's signals on {@code loop}.
+     *
+     * @param source subscriber stream
+     * @param loop   event loop of the subscriber's connection
+     * @param <T>    element type
+     * @return the stream delivering on {@code loop}
+     */
+    public <T> Flux<T> deliverOn(Flux<T> source, Executor loop) {
+        return deliverOn(source, loop, null);
+    }
+
+    /**
+     * Deliver the given stream's signals on {@code loop}, pausing while the connection is unwritable.
+     * Events arriving meanwhile are held in the per-subscriber queue and delivered once {@code gate}
+     * reports the connection writable again.
+     *
+     * @param source subscriber stream
+     * @param loop   event loop of the subscriber's connection
+     * @param gate   writability of the subscriber's connection; {@code null} delivers ungated
+     * @param <T>    element type
+     * @return the stream delivering on {@code loop}
+     */
+    public <T> Flux<T> deliverOn(Flux<T> source, Executor loop, ConnectionWritability.Gate gate) {
+        return new DeliverOn<>(source, drainers.computeIfAbsent(loop, LoopDrainer::new), prefetch, gate);
+    }
+
+    /** Runs ready subscribers on one event loop, submitting at most one task per batch. */
+    static final class LoopDrainer implements Runnable {
+        private final Executor loop;
+        private final Queue<DeliverOnSubscriber<?>> ready = Queues.<DeliverOnSubscriber<?>>unboundedMultiproducer().get();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        LoopDrainer(Executor loop) {
+            this.loop = loop;
+        }
+
+        void schedule(DeliverOnSubscriber<?> subscriber) {
+            ready.offer(subscriber);
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    loop.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    // Loop shutting down: drain on the caller so terminal signals are not lost
+                    run();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                DeliverOnSubscriber<?> subscriber;
+                while ((subscriber = ready.poll()) != null) {
+                    subscriber.drain();
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class DeliverOn<T> extends FluxOperator<T, T> {
+        private final LoopDrainer drainer;
+        private final int prefetch;
+        private final ConnectionWritability.Gate gate;
+
+        DeliverOn(Flux<? extends T> source, LoopDrainer drainer, int prefetch, ConnectionWritability.Gate gate) {
+            super(source);
+            this.drainer = drainer;
+            this.prefetch = prefetch;
+            this.gate = gate;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+            source.subscribe(new DeliverOnSubscriber<>(actual, drainer, prefetch, gate));
+        }
+    }
+
+    static final class DeliverOnSubscriber<T> implements CoreSubscriber<T>, Subscription {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<DeliverOnSubscriber> WIP =
+                AtomicIntegerFieldUpdater.newUpdater(DeliverOnSubscriber.class, "wip");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<DeliverOnSubscriber> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(DeliverOnSubscriber.class, "requested");
+
+        private final CoreSubscriber<? super T> actual;
+        private final LoopDrainer drainer;
+        private final int prefetch;
+        private final int limit;
+        private final Queue<T> queue;
+        private final ConnectionWritability.Gate gate;
+        private Subscription upstream;
+        private int consumed;
+        private volatile int wip;
+        private volatile long requested;
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean cancelled;
+
+        DeliverOnSubscriber(CoreSubscriber<? super T> actual, LoopDrainer drainer, int prefetch,
+                            ConnectionWritability.Gate gate) {
+            this.actual = actual;
+            this.drainer = drainer;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = Queues.<T>get(prefetch).get();
+            this.prefetch = prefetch;
+            this.gate = gate;
+            if (gate != null) {
+                gate.onWritable(this::schedule);
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (Operators.validate(upstream, s)) {
+                upstream = s;
+                actual.onSubscribe(this);
+                s.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                Operators.onNextDropped(t, actual.currentContext());
+                return;
+            }
+            if (!queue.offer(t)) {
+                // Upstream ignored our demand; best effort like the sinks feeding us
+                Operators.onDiscard(t, actual.currentContext());
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                Operators.onErrorDropped(t, actual.currentContext());
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) return;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (Operators.validate(n)) {
+                Operators.addCap(REQUESTED, this, n);
+                schedule();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            upstream.cancel();
+            schedule();
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+
+        private void schedule() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+            if (EventLoopAffinity.inEventLoop(drainer.loop)) {
+                drain();
+            } else {
+                drainer.schedule(this);
+            }
+        }
+
+        /** Runs on the subscriber's event loop. */
+        void drain() {
+            int missed = 1;
+            for (;;) {
+                if (drainOnce()) {
+                    return;
+                }
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /** @return {@code true} when the subscriber reached a terminal state */
+        private boolean drainOnce() {
+            if (cancelled) {
+                Operators.onDiscardQueueWithClear(queue, actual.currentContext(), null);
+                return true;
+            }
+            long r = requested;
+            long emitted = 0;
+            while (emitted != r) {
+                boolean d = done;
+                if (!d && gate != null && !gate.isWritable()) {
+                    // Hold events until the gate's writable callback schedules another drain
+                    break;
+                }
+                T v = queue.poll();
+                if (d && v == null) {
+                    terminate();
+                    return true;
+                }
+                if (v == null) {
+                    break;
+                }
+                actual.onNext(v);
+                emitted++;
+                if (++consumed == limit) {
+                    consumed = 0;
+                    upstream.request(limit);
+                }
+                if (cancelled) {
+                    Operators.onDiscardQueueWithClear(queue, actual.currentContext(), null);
+                    return true;
+                }
+            }
+            if (emitted == r && done && queue.isEmpty()) {
+                terminate();
+                return true;
+            }
+            if (emitted != 0 && r != Long.MAX_VALUE) {
+                REQUESTED.addAndGet(this, -emitted);
+            }
+            return false;
+        }
+
+        private void terminate() {
+            Throwable e = error;
+            if (e != null) actual.onError(e);
+            else actual.onComplete();
+        }
+    }
+}
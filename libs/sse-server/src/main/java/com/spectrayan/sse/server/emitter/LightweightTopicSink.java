@@ -0,0 +1,314 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+/**
+ * {@link Sinks.Many} for topics that usually have a single subscriber (e.g. one topic per user).
+ * <p>
+ * Behavior:
+ * - With zero or one subscriber the sink holds no multicast machinery: events are handed directly to the
+ *   subscriber under a per-sink emission guard. The only per-topic state is this object.
+ * - When a second subscriber joins, the sink upgrades itself once to a
+ *   {@code Sinks.many().multicast().directBestEffort()} delegate and re-attaches the first subscriber to it;
+ *   it never downgrades.
+ * - Semantics match {@code directBestEffort()} as used for {@code MULTICAST} topics: hot, no replay, events
+ *   are dropped for subscribers without demand ({@code FAIL_OVERFLOW} when nobody could take the event),
+ *   {@code FAIL_ZERO_SUBSCRIBER} without subscribers, and concurrent emissions report
+ *   {@code FAIL_NON_SERIALIZED} like Reactor's serialized sinks.
+ * - Late subscribers of a terminated sink receive the terminal signal immediately.
+ *
+ * @param <T> element type
+ */
+final class LightweightTopicSink<T> implements Sinks.Many<T> {
+
+    private static final Terminal COMPLETE = new Terminal(null);
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<LightweightTopicSink, Object> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(LightweightTopicSink.class, Object.class, "state");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<LightweightTopicSink> WIP =
+            AtomicIntegerFieldUpdater.newUpdater(LightweightTopicSink.class, "wip");
+
+    /** {@code null} (no subscriber), {@link Inner} (single), {@link Sinks.Many} (upgraded) or {@link Terminal}. */
+    private volatile Object state;
+    /** Emission guard for the single-subscriber path; also held while upgrading. */
+    private volatile int wip;
+    /** Thread holding {@link #wip}; only compared against the current thread to detect re-entrant upgrades. */
+    private Thread owner;
+
+    @Override
+    public Sinks.EmitResult tryEmitNext(T t) {
+        for (;;) {
+            Object s = state;
+            if (s == null) return Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER;
+            if (s instanceof Terminal) return Sinks.EmitResult.FAIL_TERMINATED;
+            if (s instanceof Sinks.Many<?> d) return delegate(d).tryEmitNext(t);
+            if (!WIP.compareAndSet(this, 0, 1)) return Sinks.EmitResult.FAIL_NON_SERIALIZED;
+            owner = Thread.currentThread();
+            try {
+                if (state != s) continue;
+                return inner(s).next(t);
+            } finally {
+                owner = null;
+                wip = 0;
+            }
+        }
+    }
+
+    @Override
+    public Sinks.EmitResult tryEmitComplete() {
+        return terminate(COMPLETE);
+    }
+
+    @Override
+    public Sinks.EmitResult tryEmitError(Throwable error) {
+        return terminate(new Terminal(java.util.Objects.requireNonNull(error, "error")));
+    }
+
+    private Sinks.EmitResult terminate(Terminal terminal) {
+        for (;;) {
+            Object s = state;
+            if (s instanceof Terminal) return Sinks.EmitResult.FAIL_TERMINATED;
+            if (s instanceof Sinks.Many<?> d) {
+                return terminal.error == null ? d.tryEmitComplete() : d.tryEmitError(terminal.error);
+            }
+            if (!WIP.compareAndSet(this, 0, 1)) return Sinks.EmitResult.FAIL_NON_SERIALIZED;
+            owner = Thread.currentThread();
+            try {
+                if (!STATE.compareAndSet(this, s, terminal)) continue;
+                if (s != null) inner(s).terminate(terminal.error);
+                return Sinks.EmitResult.OK;
+            } finally {
+                owner = null;
+                wip = 0;
+            }
+        }
+    }
+
+    @Override
+    public void emitNext(T t, Sinks.EmitFailureHandler failureHandler) {
+        emit(SignalType.ON_NEXT, () -> tryEmitNext(t), failureHandler);
+    }
+
+    @Override
+    public void emitComplete(Sinks.EmitFailureHandler failureHandler) {
+        emit(SignalType.ON_COMPLETE, this::tryEmitComplete, failureHandler);
+    }
+
+    @Override
+    public void emitError(Throwable error, Sinks.EmitFailureHandler failureHandler) {
+        emit(SignalType.ON_ERROR, () -> tryEmitError(error), failureHandler);
+    }
+
+    private void emit(SignalType signal, Supplier<Sinks.EmitResult> attempt, Sinks.EmitFailureHandler failureHandler) {
+        for (;;) {
+            Sinks.EmitResult result = attempt.get();
+            if (result.isSuccess() || !failureHandler.onEmitFailure(signal, result)) {
+                if (result == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+                    throw new Sinks.EmissionException(result,
+                            "Spec. Rule 1.3 - onSubscribe, onNext, onError and onComplete signaled to a Subscriber MUST be signaled serially.");
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int currentSubscriberCount() {
+        Object s = state;
+        if (s instanceof Inner<?> i) return i.cancelled ? 0 : 1;
+        if (s instanceof Sinks.Many<?> d) return d.currentSubscriberCount();
+        return 0;
+    }
+
+    @Override
+    public Flux<T> asFlux() {
+        return new Flux<>() {
+            @Override
+            public void subscribe(CoreSubscriber<? super T> actual) {
+                Inner<T> inner = new Inner<>(LightweightTopicSink.this, actual);
+                actual.onSubscribe(inner);
+                attach(inner);
+            }
+        };
+    }
+
+    @Override
+    public Object scanUnsafe(Scannable.Attr key) {
+        Object s = state;
+        if (s instanceof Sinks.Many<?> d) return d.scanUnsafe(key);
+        if (key == Scannable.Attr.TERMINATED) return s instanceof Terminal;
+        if (key == Scannable.Attr.ERROR) return s instanceof Terminal t ? t.error : null;
+        return null;
+    }
+
+    /**
+     * Whether the sink switched to a multicast delegate because a second subscriber joined.
+     *
+     * @return {@code true} once upgraded
+     */
+    boolean isUpgraded() {
+        return state instanceof Sinks.Many<?>;
+    }
+
+    private void attach(Inner<T> inner) {
+        for (;;) {
+            if (inner.cancelled) return;
+            Object s = state;
+            if (s instanceof Terminal t) {
+                inner.terminate(t.error);
+                return;
+            }
+            if (s == null) {
+                if (STATE.compareAndSet(this, null, inner)) return;
+                continue;
+            }
+            if (s instanceof Sinks.Many<?> d) {
+                inner.relayFrom(delegate(d));
+                return;
+            }
+            Inner<T> single = inner(s);
+            if (single.cancelled) {
+                // Single subscriber is leaving: take its place instead of upgrading
+                STATE.compareAndSet(this, single, null);
+                continue;
+            }
+            upgrade(single);
+        }
+    }
+
+    private void upgrade(Inner<T> single) {
+        Sinks.Many<T> multicast = Sinks.many().multicast().directBestEffort();
+        if (owner == Thread.currentThread()) {
+            // Subscribed from within the single subscriber's onNext: this thread already holds the guard
+            if (STATE.compareAndSet(this, single, multicast)) single.relayFrom(multicast);
+            return;
+        }
+        // Wait for an in-flight direct emission so the single subscriber never sees concurrent signals
+        while (!WIP.compareAndSet(this, 0, 1)) {
+            Thread.onSpinWait();
+        }
+        try {
+            if (STATE.compareAndSet(this, single, multicast)) {
+                single.relayFrom(multicast);
+            }
+        } finally {
+            wip = 0;
+        }
+    }
+
+    private void remove(Inner<T> inner) {
+        STATE.compareAndSet(this, inner, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Sinks.Many<T> delegate(Sinks.Many<?> d) {
+        return (Sinks.Many<T>) d;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Inner<T> inner(Object s) {
+        return (Inner<T>) s;
+    }
+
+    private record Terminal(Throwable error) {}
+
+    /**
+     * Subscription handed to each subscriber. Receives events directly while it is the only subscriber and
+     * through a relay subscription on the multicast delegate after an upgrade.
+     */
+    private static final class Inner<T> implements Subscription, CoreSubscriber<T> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicLongFieldUpdater<Inner> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(Inner.class, "requested");
+
+        private final LightweightTopicSink<T> parent;
+        private final CoreSubscriber<? super T> actual;
+        volatile long requested;
+        volatile boolean cancelled;
+        private volatile Subscription relay;
+
+        Inner(LightweightTopicSink<T> parent, CoreSubscriber<? super T> actual) {
+            this.parent = parent;
+            this.actual = actual;
+        }
+
+        Sinks.EmitResult next(T t) {
+            if (cancelled) return Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER;
+            long r = requested;
+            if (r == 0) {
+                Operators.onDiscard(t, actual.currentContext());
+                return Sinks.EmitResult.FAIL_OVERFLOW;
+            }
+            actual.onNext(t);
+            if (r != Long.MAX_VALUE) REQUESTED.decrementAndGet(this);
+            return Sinks.EmitResult.OK;
+        }
+
+        void terminate(Throwable error) {
+            if (cancelled) return;
+            if (error == null) actual.onComplete();
+            else actual.onError(error);
+        }
+
+        void relayFrom(Sinks.Many<T> multicast) {
+            multicast.asFlux().subscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            if (Operators.validate(n)) Operators.addCap(REQUESTED, this, n);
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            Subscription s = relay;
+            if (s != null) s.cancel();
+            parent.remove(this);
+        }
+
+        // Relay from the multicast delegate after an upgrade
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            relay = s;
+            if (cancelled) s.cancel();
+            else s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T t) {
+            next(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            terminate(t);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(null);
+        }
+
+        @Override
+        public reactor.util.context.Context currentContext() {
+            return actual.currentContext();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples memory usage and buffered outbound bytes, and sheds load in a fixed order before the node runs out
+ * of memory.
+ * <p>
+ * Behavior ({@code spectrayan.sse.server.capacity.*}):
+ * - Memory usage is the higher of heap usage and direct memory usage. Heap usage is the memory used after the
+ *   last collection (live data, not garbage awaiting collection), summed over the heap pools with a maximum
+ *   size and divided by the sum of their maximums, so a survivor space filled by a young collection does not
+ *   read as a full heap.
+ * - At {@code reject-connects-at} (or above {@code max-buffered-bytes}) new connects are rejected until usage
+ *   falls {@code recovery-margin} below the threshold and buffered bytes are back under the limit.
+ * - At {@code trim-replay-at} topics without subscribers are completed and removed, releasing their sinks and
+ *   any {@code REPLAY} history.
+ * - At {@code disconnect-slow-at} (or above {@code max-buffered-bytes}) up to {@code disconnect-batch}
+ *   connections with the largest outbound backlog are closed per check.
+ * - Each action is counted per {@link Action} and sampled by {@link com.spectrayan.sse.server.metrics.SseMetrics}.
+ * <p>
+ * This class is public to allow cross-package access but is an internal
+ * implementation detail — not part of the public library API.
+ */
+public final class MemoryPressureMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoryPressureMonitor.class);
+
+    private static final boolean NETTY_PRESENT =
+            ClassUtils.isPresent("io.netty.util.internal.PlatformDependent", MemoryPressureMonitor.class.getClassLoader());
+
+    /** Load-shedding actions, in escalation order. */
+    public enum Action { REJECT_CONNECTS, TRIM_REPLAY, DISCONNECT_SLOW }
+
+    private final SseServerProperties.Capacity config;
+    private final NodeCapacity capacity;
+    private final DoubleSupplier memoryUsage;
+    private final LongSupplier bufferedBytes;
+    private final IntSupplier releaseIdleTopics;
+    private final IntUnaryOperator disconnectSlowest;
+    private final long maxBufferedBytes;
+    private final Map<Action, LongAdder> shed = new EnumMap<>(Action.class);
+    private volatile Disposable task;
+
+    /**
+     * Create a monitor sampling JVM memory and the emitter's {@link ConnectionWritability} tracker.
+     *
+     * @param config capacity settings
+     * @param capacity node bounds whose shedding switch is flipped
+     * @param releaseIdleTopics releases topics without subscribers, returning how many were released
+     * @param writability outbound state of the node's connections
+     */
+    MemoryPressureMonitor(SseServerProperties.Capacity config, NodeCapacity capacity, IntSupplier releaseIdleTopics,
+                          ConnectionWritability writability) {
+        this(config, capacity, MemoryPressureMonitor::jvmMemoryUsage, writability::pendingOutboundBytes,
+                releaseIdleTopics, writability::disconnectSlowest);
+    }
+
+    MemoryPressureMonitor(SseServerProperties.Capacity config, NodeCapacity capacity, DoubleSupplier memoryUsage,
+                          LongSupplier bufferedBytes, IntSupplier releaseIdleTopics, IntUnaryOperator disconnectSlowest) {
+        this.config = config;
+        this.capacity = capacity;
+        this.memoryUsage = memoryUsage;
+        this.bufferedBytes = bufferedBytes;
+        this.releaseIdleTopics = releaseIdleTopics;
+        this.disconnectSlowest = disconnectSlowest;
+        this.maxBufferedBytes = config.getMaxBufferedBytes() != null ? config.getMaxBufferedBytes().toBytes() : 0;
+        for (Action action : Action.values()) {
+            shed.put(action, new LongAdder());
+        }
+    }
+
+    /**
+     * Times this monitor took an action since startup; for {@code TRIM_REPLAY} and {@code DISCONNECT_SLOW} the
+     * number of topics released and connections closed.
+     *
+     * @param action shedding action
+     * @return action count
+     */
+    public long shed(Action action) {
+        return shed.get(action).sum();
+    }
+
+    /**
+     * Memory usage as this monitor samples it for shedding decisions.
+     *
+     * @return usage between {@code 0} and {@code 1}
+     */
+    public double memoryUsage() {
+        return memoryUsage.getAsDouble();
+    }
+
+    /**
+     * Current memory usage of the JVM: the higher of heap usage after the last collection and direct memory usage.
+     *
+     * @return usage between {@code 0} and {@code 1}
+     */
+    static double jvmMemoryUsage() {
+        return Math.max(heapUsage(), directUsage());
+    }
+
+    /** Start periodic checks on the parallel scheduler. */
+    void start() {
+        Duration interval = config.getCheckInterval() != null ? config.getCheckInterval() : Duration.ofSeconds(1);
+        task = Flux.interval(interval, interval).subscribe(tick -> {
+            try {
+                check();
+            } catch (RuntimeException ex) {
+                log.warn("SSE memory pressure check failed: {}", ex.toString());
+            }
+        });
+    }
+
+    /** Stop periodic checks. */
+    void stop() {
+        Disposable t = task;
+        if (t != null) t.dispose();
+    }
+
+    /** Sample usage once and apply the shedding actions it calls for. */
+    void check() {
+        double usage = config.isShedding() ? memoryUsage.getAsDouble() : 0;
+        boolean overBuffered = maxBufferedBytes > 0 && bufferedBytes.getAsLong() > maxBufferedBytes;
+
+        if (overBuffered || usage >= config.getRejectConnectsAt()) {
+            if (!capacity.isShedding()) {
+                capacity.setShedding(true);
+                shed.get(Action.REJECT_CONNECTS).increment();
+                log.warn("SSE load shedding: rejecting connects (memory usage={}, buffered over limit={})",
+                        String.format("%.2f", usage), overBuffered);
+            }
+        } else if (capacity.isShedding() && usage < config.getRejectConnectsAt() - config.getRecoveryMargin()) {
+            capacity.setShedding(false);
+            log.info("SSE load shedding: admitting connects again (memory usage={})", String.format("%.2f", usage));
+        }
+
+        if (config.isShedding() && usage >= config.getTrimReplayAt()) {
+            int released = releaseIdleTopics.getAsInt();
+            if (released > 0) {
+                shed.get(Action.TRIM_REPLAY).add(released);
+                log.warn("SSE load shedding: released {} idle topic(s)", released);
+            }
+        }
+
+        if (overBuffered || (config.isShedding() && usage >= config.getDisconnectSlowAt())) {
+            int closed = disconnectSlowest.applyAsInt(config.getDisconnectBatch());
+            if (closed > 0) {
+                shed.get(Action.DISCONNECT_SLOW).add(closed);
+                log.warn("SSE load shedding: disconnected {} slowest consumer(s)", closed);
+            }
+        }
+    }
+
+    private static double heapUsage() {
+        List<MemoryUsage> collected = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) continue;
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) collected.add(usage);
+        }
+        double usage = collectionUsage(collected);
+        if (usage >= 0) return usage;
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        return heap.getMax() > 0 ? (double) heap.getUsed() / heap.getMax() : 0;
+    }
+
+    /**
+     * Memory used after the last collection over the maximum, across the given heap pools.
+     *
+     * @param pools collection usage of each heap pool; pools without a maximum size are skipped
+     * @return the usage (0..1), or {@code -1} when no pool has a maximum size
+     */
+    static double collectionUsage(List<MemoryUsage> pools) {
+        long used = 0;
+        long max = 0;
+        for (MemoryUsage pool : pools) {
+            if (pool.getMax() <= 0) continue;
+            used += pool.getUsed();
+            max += pool.getMax();
+        }
+        return max > 0 ? (double) used / max : -1;
+    }
+
+    private static double directUsage() {
+        long used = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) used = pool.getMemoryUsed();
+        }
+        long max = Runtime.getRuntime().maxMemory();
+        if (NETTY_PRESENT) {
+            // Netty may allocate direct memory outside the JDK's accounting (no-cleaner buffers)
+            used = Math.max(used, NettySupport.usedDirectMemory());
+            max = NettySupport.maxDirectMemory();
+        }
+        return max > 0 ? (double) used / max : 0;
+    }
+
+    /** Isolates Netty types so this class loads without Netty. */
+    static final class NettySupport {
+
+        static long usedDirectMemory() {
+            return io.netty.util.internal.PlatformDependent.usedDirectMemory();
+        }
+
+        static long maxDirectMemory() {
+            return io.netty.util.internal.PlatformDependent.maxDirectMemory();
+        }
+    }
+}
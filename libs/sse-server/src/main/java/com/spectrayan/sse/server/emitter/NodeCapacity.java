@@ -0,0 +1,125 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node-level bounds on open connections and topics, plus the load-shedding switch flipped by
+ * {@link MemoryPressureMonitor}.
+ * <p>
+ * Behavior ({@code spectrayan.sse.server.capacity.*}):
+ * - Connections and topics are counted with a CAS on acquire, so concurrent connects cannot overshoot
+ *   {@code max-connections} or {@code max-topics}.
+ * - While shedding, every connect is rejected regardless of the counts.
+ * - Rejections are counted per {@link Reason} and sampled by {@link com.spectrayan.sse.server.metrics.SseMetrics}.
+ * <p>
+ * This class is public to allow cross-package access but is an internal
+ * implementation detail — not part of the public library API.
+ */
+public final class NodeCapacity {
+
+    /** Why a connect or topic creation was rejected. */
+    public enum Reason { MAX_CONNECTIONS, MAX_TOPICS, SHEDDING }
+
+    private final int maxConnections;
+    private final int maxTopics;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger topics = new AtomicInteger();
+    private final Map<Reason, LongAdder> rejected = new EnumMap<>(Reason.class);
+    private volatile boolean shedding;
+
+    /**
+     * Create node bounds from configuration.
+     *
+     * @param capacity capacity settings; non-positive limits are unlimited
+     */
+    NodeCapacity(SseServerProperties.Capacity capacity) {
+        this.maxConnections = Math.max(0, capacity.getMaxConnections());
+        this.maxTopics = Math.max(0, capacity.getMaxTopics());
+        for (Reason reason : Reason.values()) {
+            rejected.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Connects and topic creations rejected by this node since startup.
+     *
+     * @param reason rejection reason
+     * @return number of rejections
+     */
+    public long rejected(Reason reason) {
+        return rejected.get(reason).sum();
+    }
+
+    /**
+     * Count a new connection if the node admits it.
+     *
+     * @return {@code null} when admitted (release with {@link #releaseConnection()}), otherwise the rejection reason
+     */
+    Reason tryAcquireConnection() {
+        if (shedding) {
+            return reject(Reason.SHEDDING);
+        }
+        return tryAcquire(connections, maxConnections) ? null : reject(Reason.MAX_CONNECTIONS);
+    }
+
+    void releaseConnection() {
+        connections.decrementAndGet();
+    }
+
+    /**
+     * Count a new topic if the node admits it.
+     *
+     * @return {@code null} when admitted (release with {@link #releaseTopic()}), otherwise the rejection reason
+     */
+    Reason tryAcquireTopic() {
+        return tryAcquire(topics, maxTopics) ? null : reject(Reason.MAX_TOPICS);
+    }
+
+    void releaseTopic() {
+        topics.decrementAndGet();
+    }
+
+    /** Open connections counted by this node. */
+    int connections() {
+        return connections.get();
+    }
+
+    /** Topics counted by this node. */
+    int topics() {
+        return topics.get();
+    }
+
+    boolean isShedding() {
+        return shedding;
+    }
+
+    void setShedding(boolean shedding) {
+        this.shedding = shedding;
+    }
+
+    private static boolean tryAcquire(AtomicInteger counter, int max) {
+        if (max == 0) {
+            counter.incrementAndGet();
+            return true;
+        }
+        for (;;) {
+            int current = counter.get();
+            if (current >= max) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private Reason reject(Reason reason) {
+        rejected.get(reason).increment();
+        return reason;
+    }
+}
@@ -0,0 +1,91 @@
+package com.spectrayan.sse.server.emitter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequence state of the topics this instance owns in cluster mode ({@code bridge.routing.ownership}).
+ * <p>
+ * Responsibilities:
+ * - Hold one {@link Topic} per owned topic, independent of the local {@link TopicChannel}: the owner sequences
+ *   events forwarded by other instances whether or not it has local subscribers.
+ * - Each {@link Topic} is also the lock under which {@link EmissionService} delivers and publishes the topic's
+ *   events, so local subscribers and every other instance see the same order.
+ * - Forget topics unused for five minutes, checked every 1024 new topics. A topic is retired under its lock and
+ *   only while still unused, so it is never in use when forgotten and never acquired once retired. A topic
+ *   taken up again starts a new incarnation of its sequence, which receivers follow (see {@link BridgeSequencer}).
+ * <p>
+ * This class is package-private and used by {@link EmissionService}.
+ */
+final class OwnedTopics {
+
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int SWEEP_EVERY = 1024;
+
+    private final ConcurrentHashMap<String, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final TopicIncarnations incarnations = new TopicIncarnations();
+
+    /**
+     * Get the state of an owned topic, creating it on first use.
+     *
+     * @param topic topic identifier
+     * @return the topic's sequence state and lock
+     */
+    Topic acquire(String topic) {
+        long now = System.nanoTime();
+        Topic state = topics.get(topic);
+        while (state == null || !state.touch(now)) {
+            state = topics.compute(topic, (id, current) ->
+                    current == null || current.isRetired() ? new Topic(incarnations.nextEpochBase(id)) : current);
+            if (created.incrementAndGet() % SWEEP_EVERY == 0) sweep(now);
+        }
+        return state;
+    }
+
+    private void sweep(long now) {
+        topics.forEach((id, topic) -> {
+            // Not while an emitter holds the topic; one that acquired it since has moved lastUsed on
+            synchronized (topic) {
+                if (topic.retireIfIdle(now)) topics.remove(id, topic);
+            }
+        });
+    }
+
+    /** Sequence of one owned topic, also the lock its events are delivered and published under. */
+    static final class Topic {
+        private static final long RETIRED = Long.MIN_VALUE;
+
+        private final AtomicLong sequence;
+        private final AtomicLong lastUsed = new AtomicLong(System.nanoTime());
+
+        Topic(long sequenceBase) {
+            this.sequence = new AtomicLong(sequenceBase);
+        }
+
+        long next() {
+            return sequence.incrementAndGet();
+        }
+
+        /** Mark the topic used at {@code now}; {@code false} when it was retired and must not be used. */
+        private boolean touch(long now) {
+            long last;
+            do {
+                last = lastUsed.get();
+                if (last == RETIRED) return false;
+            } while (!lastUsed.compareAndSet(last, now));
+            return true;
+        }
+
+        private boolean retireIfIdle(long now) {
+            long last = lastUsed.get();
+            return last != RETIRED && now - last > IDLE_NANOS && lastUsed.compareAndSet(last, RETIRED);
+        }
+
+        private boolean isRetired() {
+            return lastUsed.get() == RETIRED;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * {@link Sinks.Many} for hot topics with many subscribers that fans out in parallel, one shard per event loop.
+ * <p>
+ * Behavior:
+ * - Each subscriber joins the shard of the event loop serving its connection, read from the subscriber
+ *   context via {@link EventLoopAffinity}. Subscribers without a loop (template path, non-Netty servers)
+ *   share a caller shard that is delivered to on the emitting thread, as with {@code MULTICAST}.
+ * - An emit enqueues one task per non-empty shard on that shard's loop (or runs it inline when already on
+ *   it), so each loop delivers to its own connections: per-subscriber work is spread across cores and
+ *   writes need no further cross-thread handoff.
+ * - Shards use {@code directBestEffort()} semantics; order is preserved per producer thread and shard.
+ * - An event emitted from within a delivery of the same shard (a subscriber emitting to its own topic) is
+ *   enqueued on the shard's loop, to be delivered after the current one. Producers racing on the caller shard
+ *   retry a bounded number of times, as {@link EmissionService} does, and then count the shard as not
+ *   delivered.
+ * - Delivery to other loops is fire-and-forget. {@link #tryEmitNext} reports the outcome of the dispatch, not
+ *   of the delivery: a shard delivered to inline contributes its own emit result, and a shard whose task was
+ *   enqueued on its loop counts as {@code OK}. The result is {@code OK} when at least one shard delivered or
+ *   accepted the event, {@code FAIL_OVERFLOW} when every shard with subscribers delivered inline and none had
+ *   demand, and {@code FAIL_ZERO_SUBSCRIBER} when no shard has subscribers. An enqueued event that finds no
+ *   demand when its task runs is dropped, as {@code directBestEffort()} would, without being reported.
+ *
+ * @param <T> element type
+ */
+final class PartitionedTopicSink<T> implements Sinks.Many<T> {
+
+    private final ConcurrentHashMap<Executor, Shard<T>> shards = new ConcurrentHashMap<>();
+    private final Function<Executor, Shard<T>> shardFactory = Shard::new;
+    private final Shard<T> callerShard = new Shard<>(null);
+    private volatile Signal terminal;
+
+    @Override
+    public Sinks.EmitResult tryEmitNext(T t) {
+        if (terminal != null) return Sinks.EmitResult.FAIL_TERMINATED;
+        boolean subscribed = false;
+        boolean accepted = false;
+        if (callerShard.hasSubscribers()) {
+            subscribed = true;
+            accepted = callerShard.emitInline(t).isSuccess();
+        }
+        for (Shard<T> shard : shards.values()) {
+            if (shard.hasSubscribers()) {
+                subscribed = true;
+                accepted |= shard.dispatch(t).isSuccess();
+            }
+        }
+        if (accepted) return Sinks.EmitResult.OK;
+        return subscribed ? Sinks.EmitResult.FAIL_OVERFLOW : Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER;
+    }
+
+    @Override
+    public Sinks.EmitResult tryEmitComplete() {
+        return terminate(new Signal(null));
+    }
+
+    @Override
+    public Sinks.EmitResult tryEmitError(Throwable error) {
+        return terminate(new Signal(java.util.Objects.requireNonNull(error, "error")));
+    }
+
+    private Sinks.EmitResult terminate(Signal signal) {
+        synchronized (this) {
+            if (terminal != null) return Sinks.EmitResult.FAIL_TERMINATED;
+            terminal = signal;
+        }
+        callerShard.terminate(signal);
+        shards.values().forEach(shard -> shard.terminate(signal));
+        return Sinks.EmitResult.OK;
+    }
+
+    @Override
+    public void emitNext(T t, Sinks.EmitFailureHandler failureHandler) {
+        emit(SignalType.ON_NEXT, () -> tryEmitNext(t), failureHandler);
+    }
+
+    @Override
+    public void emitComplete(Sinks.EmitFailureHandler failureHandler) {
+        emit(SignalType.ON_COMPLETE, this::tryEmitComplete, failureHandler);
+    }
+
+    @Override
+    public void emitError(Throwable error, Sinks.EmitFailureHandler failureHandler) {
+        emit(SignalType.ON_ERROR, () -> tryEmitError(error), failureHandler);
+    }
+
+    private void emit(SignalType signal, java.util.function.Supplier<Sinks.EmitResult> attempt,
+                      Sinks.EmitFailureHandler failureHandler) {
+        for (;;) {
+            Sinks.EmitResult result = attempt.get();
+            if (result.isSuccess() || !failureHandler.onEmitFailure(signal, result)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int currentSubscriberCount() {
+        int count = callerShard.sink.currentSubscriberCount();
+        for (Shard<T> shard : shards.values()) {
+            count += shard.sink.currentSubscriberCount();
+        }
+        return count;
+    }
+
+    @Override
+    public Flux<T> asFlux() {
+        return Flux.deferContextual(ctx -> {
+            Executor loop = EventLoopAffinity.from(ctx);
+            Shard<T> shard = loop != null ? shards.computeIfAbsent(loop, shardFactory) : callerShard;
+            Signal signal = terminal;
+            if (signal != null) {
+                // The shard may have been created after termination swept the existing ones
+                shard.terminate(signal);
+            }
+            return shard.sink.asFlux();
+        });
+    }
+
+    @Override
+    public Object scanUnsafe(Scannable.Attr key) {
+        Signal signal = terminal;
+        if (key == Scannable.Attr.TERMINATED) return signal != null;
+        if (key == Scannable.Attr.ERROR) return signal != null ? signal.error : null;
+        return null;
+    }
+
+    /**
+     * Number of event-loop shards created so far (the caller shard is not counted).
+     *
+     * @return shard count
+     */
+    int shardCount() {
+        return shards.size();
+    }
+
+    private record Signal(Throwable error) {}
+
+    private static final class Shard<T> {
+        final Executor loop;
+        final Sinks.Many<T> sink = Sinks.many().multicast().directBestEffort();
+
+        Shard(Executor loop) {
+            this.loop = loop;
+        }
+
+        boolean hasSubscribers() {
+            return sink.currentSubscriberCount() > 0;
+        }
+
+        Sinks.EmitResult emitInline(T t) {
+            Sinks.EmitResult r = sink.tryEmitNext(t);
+            if (loop != null) return r;
+            // Producers racing on the caller shard: contention lasts only as long as one delivery, unless the
+            // delivery itself emits on this thread, which no amount of waiting resolves
+            for (int attempt = 1; r == Sinks.EmitResult.FAIL_NON_SERIALIZED
+                    && attempt <= SseServerProperties.Emitter.DEFAULT_EMIT_RETRIES; attempt++) {
+                if (attempt > 8) {
+                    Thread.yield();
+                } else {
+                    Thread.onSpinWait();
+                }
+                r = sink.tryEmitNext(t);
+            }
+            return r;
+        }
+
+        /**
+         * Deliver inline when on this shard's loop (or it has none), otherwise enqueue on the loop.
+         *
+         * @return the emit result when delivered inline, {@code OK} when enqueued
+         */
+        Sinks.EmitResult dispatch(T t) {
+            if (loop == null) return emitInline(t);
+            if (EventLoopAffinity.inEventLoop(loop)) {
+                Sinks.EmitResult r = emitInline(t);
+                // Only this loop emits to the shard: busy means emitted from within its own delivery
+                if (r != Sinks.EmitResult.FAIL_NON_SERIALIZED) return r;
+            }
+            try {
+                loop.execute(() -> emitInline(t));
+                return Sinks.EmitResult.OK;
+            } catch (RejectedExecutionException ex) {
+                // Loop shutting down: deliver on the caller rather than dropping the event
+                return emitInline(t);
+            }
+        }
+
+        void terminate(Signal signal) {
+            run(() -> {
+                if (signal.error == null) sink.tryEmitComplete();
+                else sink.tryEmitError(signal.error);
+            });
+        }
+
+        private void run(Runnable task) {
+            if (loop == null || EventLoopAffinity.inEventLoop(loop)) {
+                task.run();
+                return;
+            }
+            try {
+                loop.execute(task);
+            } catch (RejectedExecutionException ex) {
+                // Loop shutting down: deliver on the caller rather than dropping the signal
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Hands a reconnecting client over from the events replayed by the bridge to the topic's live stream.
+ * <p>
+ * Behavior:
+ * - The live stream is subscribed before the history is read, into a buffer of {@code liveBuffer} events, so
+ *   events published meanwhile are kept; events beyond it are dropped and logged once per connection.
+ * - The history is emitted first, followed by a cut-over marker and the buffered live events.
+ * - After the marker, live events whose id was replayed are dropped until the last replayed id has been
+ *   seen; every later live event is newer than the history and passes without a lookup.
+ */
+final class ReplayCutOver implements Predicate<ServerSentEvent<Object>> {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayCutOver.class);
+
+    /** Separates the history from the live events; never emitted. */
+    private static final ServerSentEvent<Object> CUT_OVER = ServerSentEvent.builder().comment("cut-over").build();
+
+    // Only touched by the filter, which sees the merged events one at a time
+    private Set<String> replayed = new HashSet<>();
+    private String lastReplayedId;
+    private boolean live;
+
+    private ReplayCutOver() {
+    }
+
+    /**
+     * Prepend {@code history} to {@code live}.
+     *
+     * @param topic      the topic, for logging
+     * @param history    events replayed by the bridge
+     * @param live       the topic's live events
+     * @param liveBuffer live events kept while the history is read or the client falls behind
+     * @return the history followed by the live events not already replayed
+     */
+    static Flux<ServerSentEvent<Object>> prepend(String topic, Flux<ServerSentEvent<Object>> history,
+                                                 Flux<ServerSentEvent<Object>> live, int liveBuffer) {
+        return Flux.defer(() -> {
+            AtomicBoolean overflowed = new AtomicBoolean();
+            Flux<ServerSentEvent<Object>> buffered = live.onBackpressureBuffer(Math.max(1, liveBuffer), dropped -> {
+                if (overflowed.compareAndSet(false, true)) {
+                    log.warn("Live events for topic {} dropped: more than {} buffered for a reconnecting client",
+                            topic, liveBuffer);
+                }
+            }, BufferOverflowStrategy.DROP_LATEST);
+            // mergeSequential subscribes to both at once and emits every history event before the first live one
+            return Flux.mergeSequential(history.concatWithValues(CUT_OVER), buffered)
+                    .filter(new ReplayCutOver());
+        });
+    }
+
+    @Override
+    public boolean test(ServerSentEvent<Object> event) {
+        if (event == CUT_OVER) {
+            live = true;
+            if (lastReplayedId == null) replayed = null;
+            return false;
+        }
+        String id = event.id();
+        if (!live) {
+            if (id != null) {
+                replayed.add(id);
+                lastReplayedId = id;
+            }
+            return true;
+        }
+        if (replayed == null || id == null || !replayed.contains(id)) return true;
+        if (id.equals(lastReplayedId)) replayed = null;
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 package com.spectrayan.sse.server.emitter;
 
 import com.spectrayan.sse.server.customize.SseSessionHook;
+import com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher;
 import com.spectrayan.sse.server.session.SseSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,8 @@ final class SessionTracker {
     private final List<SseSessionHook> sessionHooks;
     private final TopicManager topicManager;
     private final com.spectrayan.sse.server.metrics.SseMetrics metrics;
+    private final TopicSourceBinder topicSourceBinder;
+    private final SseLifecycleDispatcher lifecycle;
 
     /**
      * Create a new {@code SessionTracker}.
@@ -26,11 +29,17 @@ final class SessionTracker {
      * @param sessionHooks optional hooks invoked on join/leave; {@code null} treated as empty list
      * @param topicManager manager used to remove topics when the last subscriber leaves on cancel/error
      * @param metrics optional SSE metrics recorder; may be {@code null}
+     * @param topicSourceBinder optional binder notified when a topic loses its last subscriber; may be {@code null}
+     * @param lifecycle dispatcher used to invoke hooks; {@code null} invokes them synchronously
      */
-    SessionTracker(List<SseSessionHook> sessionHooks, TopicManager topicManager, com.spectrayan.sse.server.metrics.SseMetrics metrics) {
+    SessionTracker(List<SseSessionHook> sessionHooks, TopicManager topicManager,
+                   com.spectrayan.sse.server.metrics.SseMetrics metrics, TopicSourceBinder topicSourceBinder,
+                   SseLifecycleDispatcher lifecycle) {
+        this.lifecycle = lifecycle != null ? lifecycle : SseLifecycleDispatcher.sync(null);
         this.sessionHooks = sessionHooks != null ? sessionHooks : List.of();
         this.topicManager = topicManager;
         this.metrics = metrics;
+        this.topicSourceBinder = topicSourceBinder;
     }
 
     /**
@@ -38,11 +47,13 @@ final class SessionTracker {
      * <p>
      * Behavior:
      * - On subscribe: increment subscriber counter; if a {@link SseSession} is provided, store it in the
-     *   channel's session map and invoke {@link SseSessionHook#onJoin(SseSession)} for each configured hook.
+     *   channel's session map and dispatch {@link SseSessionHook#onJoin(SseSession)} for each configured hook
+     *   through the {@link SseLifecycleDispatcher} (synchronously or off the event loop, depending on its mode).
      * - On termination ({@link reactor.core.publisher.SignalType}): remove the session from the map (if present),
      *   invoke {@link SseSessionHook#onLeave(SseSession, reactor.core.publisher.SignalType)} on all hooks, decrement
      *   the subscriber counter, and when it reaches zero after a CANCEL or ON_ERROR, complete the sink and
-     *   remove the topic via {@link TopicManager#remove(String)}.
+     *   remove the topic via {@link TopicManager#remove(String)}. Whenever the counter reaches zero, a bound
+     *   {@link TopicSourceBinder} is asked to release the topic's upstream.
      *
      * @param topic topic identifier (for logging and cleanup)
      * @param upstream the upstream flux to decorate
@@ -56,19 +67,15 @@ final class SessionTracker {
                 int count = channel.subscribers.incrementAndGet();
                 if (metrics != null) metrics.recordConnection(topic);
                 if (session != null) {
-                    channel.sessions.put(session.getSessionId(), session);
-                    for (var hook : sessionHooks) {
-                        try { hook.onJoin(session); } catch (Throwable t) { log.debug("SseSessionHook.onJoin failed: {}", t.toString()); }
-                    }
+                    channel.addSession(session);
+                    lifecycle.join(sessionHooks, session);
                 }
                 log.debug("Subscriber added to topic {} (now: {})", topic, count);
             })
             .doFinally(sig -> {
                 if (session != null) {
-                    channel.sessions.remove(session.getSessionId());
-                    for (var hook : sessionHooks) {
-                        try { hook.onLeave(session, sig); } catch (Throwable t) { log.debug("SseSessionHook.onLeave failed: {}", t.toString()); }
-                    }
+                    channel.removeSession(session);
+                    lifecycle.leave(sessionHooks, session, sig);
                 }
                 int left = channel.subscribers.decrementAndGet();
                 if (metrics != null) metrics.recordDisconnection(topic);
@@ -83,6 +90,9 @@ final class SessionTracker {
                 } else {
                     log.debug("Subscriber removed from topic {} (remaining: {}, signal: {})", topic, left, sig);
                 }
+                if (left == 0 && topicSourceBinder != null) {
+                    topicSourceBinder.release(topic);
+                }
             });
     }
 }
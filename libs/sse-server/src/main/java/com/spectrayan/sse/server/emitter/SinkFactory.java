@@ -17,6 +17,10 @@ import reactor.core.publisher.Sinks;
  * - Otherwise a sink is created according to {@code spectrayan.sse.server.emitter.sink-type}:
  *   - REPLAY: uses Reactor replay sink; size is limited by {@code replay-size} (all if 0).
  *   - MULTICAST: uses {@code Sinks.many().multicast().directBestEffort()} suitable for hot streams.
+ *   - LIGHTWEIGHT: uses a {@link LightweightTopicSink} with the same semantics as MULTICAST that hands events
+ *     directly to a single subscriber and only upgrades to a multicast sink when a second one joins.
+ *   - PARTITIONED: uses a {@link PartitionedTopicSink} that shards subscribers by their connection's event loop
+ *     and fans out on those loops in parallel; intended for hot topics with many subscribers.
  */
 final class SinkFactory {
 
@@ -46,6 +50,8 @@ final class SinkFactory {
      *    - {@code REPLAY}: a replay sink is created; if {@code replay-size} > 0, it is limited to that size,
      *      otherwise it replays all.
      *    - {@code MULTICAST}: {@code Sinks.many().multicast().directBestEffort()} is used for hot streams.
+     *    - {@code LIGHTWEIGHT}: a {@link LightweightTopicSink} is used, suited to many topics with one subscriber each.
+     *    - {@code PARTITIONED}: a {@link PartitionedTopicSink} is used, fanning out per event loop for hot topics.
      * <p>
      * Note: a type cast with {@code @SuppressWarnings("unchecked")} is applied to accommodate
      * the generic signature used by {@link SseEmitterCustomizer}.
@@ -73,6 +79,8 @@ final class SinkFactory {
                 }
             }
             case MULTICAST -> Sinks.many().multicast().directBestEffort();
+            case LIGHTWEIGHT -> new LightweightTopicSink<>();
+            case PARTITIONED -> new PartitionedTopicSink<>();
         };
     }
 }
@@ -172,6 +172,19 @@ public interface SseEmitter {
         return emitReactive(topicId, eventName, payload, null);
     }
 
+    /**
+     * Stop admitting connects and close subscriber connections gradually over a time window, so their clients
+     * reconnect to other nodes spread out instead of all at once. The default implementation shuts down
+     * immediately.
+     *
+     * @param window time over which connections are closed
+     * @return a Mono that completes once all connections were asked to close
+     * @since 2.1.0
+     */
+    default reactor.core.publisher.Mono<Void> drain(java.time.Duration window) {
+        return reactor.core.publisher.Mono.fromRunnable(this::shutdown);
+    }
+
     /**
      * Shut down the emitter, completing all topic sinks and releasing resources.
      * After shutdown, further emissions are no-ops or rejected depending on implementation.
@@ -1,10 +1,15 @@
 package com.spectrayan.sse.server.emitter;
 
+import com.spectrayan.sse.server.session.SseSession;
 import org.springframework.http.codec.ServerSentEvent;
 import reactor.core.publisher.Sinks;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Internal data holder for a single topic channel.
@@ -12,16 +17,66 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Contains:
  * - {@link reactor.core.publisher.Sinks.Many} for emitting {@link org.springframework.http.codec.ServerSentEvent} to subscribers.
  * - {@link java.util.concurrent.atomic.AtomicInteger} subscriber counter for max-limit enforcement and cleanup logic.
- * - Concurrent map of active {@link com.spectrayan.sse.server.session.SseSession} instances keyed by session id.
+ * - Concurrent map of active {@link SseSession} instances keyed by session id, allocated on first use so
+ *   topics whose subscribers carry no session do not pay for an empty map.
+ * - The sequence of bridge messages published for the topic, in a new incarnation with each new channel
+ *   (see {@link TopicIncarnations}),
+ *   and the ordering state of messages received from each remote instance (allocated on the first sequenced
+ *   message), both dropped with the channel.
  * <p>
  * Package-private to keep the emitter surface minimal; managed by {@link TopicManager}.
  */
 final class TopicChannel {
     final Sinks.Many<ServerSentEvent<Object>> sink;
     final AtomicInteger subscribers = new AtomicInteger(0);
-    final ConcurrentHashMap<String, com.spectrayan.sse.server.session.SseSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong bridgeSequence;
+    private volatile ConcurrentHashMap<String, BridgeSequencer.Stream> remoteStreams;
+    private volatile ConcurrentHashMap<String, SseSession> sessions;
 
-    TopicChannel(Sinks.Many<ServerSentEvent<Object>> sink) {
+    TopicChannel(Sinks.Many<ServerSentEvent<Object>> sink, long sequenceBase) {
         this.sink = sink;
+        this.bridgeSequence = new AtomicLong(sequenceBase);
+    }
+
+    long nextBridgeSequence() {
+        return bridgeSequence.incrementAndGet();
+    }
+
+    ConcurrentHashMap<String, BridgeSequencer.Stream> remoteStreams() {
+        ConcurrentHashMap<String, BridgeSequencer.Stream> map = remoteStreams;
+        if (map == null) {
+            synchronized (this) {
+                map = remoteStreams;
+                if (map == null) {
+                    remoteStreams = map = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        return map;
+    }
+
+    void addSession(SseSession session) {
+        ConcurrentHashMap<String, SseSession> map = sessions;
+        if (map == null) {
+            synchronized (this) {
+                map = sessions;
+                if (map == null) {
+                    sessions = map = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        map.put(session.getSessionId(), session);
+    }
+
+    void removeSession(SseSession session) {
+        ConcurrentHashMap<String, SseSession> map = sessions;
+        if (map != null) {
+            map.remove(session.getSessionId(), session);
+        }
+    }
+
+    Map<String, SseSession> sessionsSnapshot() {
+        ConcurrentHashMap<String, SseSession> map = sessions;
+        return map == null || map.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(map));
     }
 }
@@ -0,0 +1,59 @@
+package com.spectrayan.sse.server.emitter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Numbers the incarnations of each topic's bridge sequence (see {@link BridgeSequencer}).
+ * <p>
+ * Behavior:
+ * - A topic's sequence starts a new incarnation each time the topic is created anew on this instance. The
+ *   incarnation follows the topic's previous one, or is the current time in seconds when that is later, so
+ *   incarnations keep increasing per topic however many other topics are created, and across restarts.
+ * - The time is wall-clock seconds at startup advanced by the monotonic clock, so clock adjustments while
+ *   running never move it back.
+ * - Only topics renewed faster than once a second are ahead of the clock and remembered; the others are
+ *   forgotten, checked every 1024 new incarnations.
+ * <p>
+ * This class is package-private and used by {@link TopicManager} and {@link OwnedTopics}.
+ */
+final class TopicIncarnations {
+
+    private static final int SWEEP_EVERY = 1024;
+
+    private final ConcurrentHashMap<String, Long> latest = new ConcurrentHashMap<>();
+    private final AtomicInteger renewed = new AtomicInteger();
+    private final LongSupplier seconds;
+
+    TopicIncarnations() {
+        this(monotonicSeconds());
+    }
+
+    TopicIncarnations(LongSupplier seconds) {
+        this.seconds = seconds;
+    }
+
+    /**
+     * Start a new incarnation of {@code topic}.
+     *
+     * @param topic topic identifier
+     * @return the initial value of the topic's sequence counter
+     */
+    long nextEpochBase(String topic) {
+        long now = seconds.getAsLong() & BridgeSequencer.EPOCH_MASK;
+        long epoch = latest.merge(topic, now, (previous, ignored) ->
+                BridgeSequencer.newer(now, previous) ? now : (previous + 1) & BridgeSequencer.EPOCH_MASK);
+        if (renewed.incrementAndGet() % SWEEP_EVERY == 0) {
+            latest.values().removeIf(last -> BridgeSequencer.newer(now, last));
+        }
+        return BridgeSequencer.epochBase(epoch);
+    }
+
+    private static LongSupplier monotonicSeconds() {
+        long startSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        long startNanos = System.nanoTime();
+        return () -> startSeconds + TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+    }
+}
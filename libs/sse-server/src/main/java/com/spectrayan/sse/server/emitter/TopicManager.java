@@ -1,5 +1,6 @@
 package com.spectrayan.sse.server.emitter;
 
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
 import com.spectrayan.sse.server.topic.TopicRegistry;
 
 import java.util.Collection;
@@ -16,6 +17,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Provide lookup and removal of topics; remove is invoked by {@link SessionTracker} when appropriate.
  * - Expose {@link com.spectrayan.sse.server.topic.TopicRegistry} read-only projections: topic ids,
  *   subscriber counts, and per-topic session maps.
+ * - Count topics against {@link NodeCapacity} and release idle topics when the node sheds load.
+ * - Tell the broadcast bridge which topics this node serves, for interest-based routing.
  * - Perform graceful shutdown by completing all sinks and clearing the registry.
  * <p>
  * Package-private; used by {@link AbstractSseEmitter} and collaborators to keep responsibilities focused.
@@ -24,6 +27,9 @@ final class TopicManager implements TopicRegistry {
 
     private final ConcurrentHashMap<String, TopicChannel> topics = new ConcurrentHashMap<>();
     private final SinkFactory sinkFactory;
+    private final NodeCapacity capacity;
+    private final SseBroadcastBridge bridge;
+    private final TopicIncarnations incarnations = new TopicIncarnations();
     private final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TopicManager.class);
 
     /**
@@ -34,7 +40,32 @@ final class TopicManager implements TopicRegistry {
      *                    for new topics
      */
     TopicManager(SinkFactory sinkFactory) {
+        this(sinkFactory, null);
+    }
+
+    /**
+     * Create a new {@code TopicManager} that counts topics against node capacity.
+     *
+     * @param sinkFactory factory used to create sinks for new topics
+     * @param capacity node bounds enforcing {@code capacity.max-topics}; may be {@code null}
+     */
+    TopicManager(SinkFactory sinkFactory, NodeCapacity capacity) {
+        this(sinkFactory, capacity, null);
+    }
+
+    /**
+     * Create a new {@code TopicManager} that counts topics against node capacity and reports topic creation
+     * and removal to the broadcast bridge.
+     *
+     * @param sinkFactory factory used to create sinks for new topics
+     * @param capacity node bounds enforcing {@code capacity.max-topics}; may be {@code null}
+     * @param bridge bridge notified via {@link SseBroadcastBridge#topicActivated} and
+     *               {@link SseBroadcastBridge#topicDeactivated}; may be {@code null}
+     */
+    TopicManager(SinkFactory sinkFactory, NodeCapacity capacity, SseBroadcastBridge bridge) {
         this.sinkFactory = sinkFactory;
+        this.capacity = capacity;
+        this.bridge = bridge;
     }
 
     /**
@@ -44,11 +75,26 @@ final class TopicManager implements TopicRegistry {
      *
      * @param topic topic identifier; must not be {@code null}
      * @return existing or newly created channel
+     * @throws com.spectrayan.sse.server.error.SseException with {@code SUBSCRIPTION_REJECTED} when the topic
+     *         would exceed {@code capacity.max-topics}
      */
     TopicChannel getOrCreate(String topic) {
         return topics.computeIfAbsent(topic, id -> {
+            if (capacity != null && capacity.tryAcquireTopic() != null) {
+                throw new com.spectrayan.sse.server.error.SseException(
+                        com.spectrayan.sse.server.error.ErrorCode.SUBSCRIPTION_REJECTED,
+                        "Max topics exceeded on this node", id);
+            }
             log.info("Creating SSE topic: {}", id);
-            return new TopicChannel(sinkFactory.create(id));
+            TopicChannel channel = new TopicChannel(sinkFactory.create(id), incarnations.nextEpochBase(id));
+            if (bridge != null) {
+                try {
+                    bridge.topicActivated(id);
+                } catch (Throwable t) {
+                    log.warn("Bridge failed to activate topic {}: {}", id, t.getMessage());
+                }
+            }
+            return channel;
         });
     }
 
@@ -71,7 +117,42 @@ final class TopicManager implements TopicRegistry {
      * @param topic topic identifier to remove
      */
     void remove(String topic) {
-        topics.remove(topic);
+        if (topics.remove(topic) != null) {
+            released(topic);
+        }
+    }
+
+    /**
+     * Complete and remove a topic if it still maps to {@code channel} and has no subscribers.
+     *
+     * @param topic   topic identifier
+     * @param channel the channel obtained for the topic
+     */
+    void releaseIfIdle(String topic, TopicChannel channel) {
+        if (channel.subscribers.get() == 0 && topics.remove(topic, channel)) {
+            channel.sink.tryEmitComplete();
+            released(topic);
+        }
+    }
+
+    /**
+     * Complete and remove every topic that currently has no subscribers, releasing its sink and any
+     * buffered (replay) events. A client connecting concurrently to such a topic sees its stream complete
+     * and reconnects, recreating the topic.
+     *
+     * @return number of topics released
+     */
+    int releaseIdle() {
+        int released = 0;
+        for (var entry : topics.entrySet()) {
+            TopicChannel channel = entry.getValue();
+            if (channel.subscribers.get() == 0 && topics.remove(entry.getKey(), channel)) {
+                channel.sink.tryEmitComplete();
+                released(entry.getKey());
+                released++;
+            }
+        }
+        return released;
     }
 
     /**
@@ -94,7 +175,7 @@ final class TopicManager implements TopicRegistry {
     public Map<String, com.spectrayan.sse.server.session.SseSession> sessions(String topic) {
         TopicChannel t = topics.get(topic);
         if (t == null) return java.util.Collections.emptyMap();
-        return java.util.Collections.unmodifiableMap(new LinkedHashMap<>(t.sessions));
+        return t.sessionsSnapshot();
     }
 
     /**
@@ -145,7 +226,20 @@ final class TopicManager implements TopicRegistry {
             } catch (Throwable t) {
                 log.warn("Error completing SSE channel for topic {}: {}", entry.getKey(), t.getMessage());
             }
-            it.remove();
+            if (topics.remove(entry.getKey(), entry.getValue())) {
+                released(entry.getKey());
+            }
+        }
+    }
+
+    private void released(String topic) {
+        if (capacity != null) capacity.releaseTopic();
+        if (bridge != null) {
+            try {
+                bridge.topicDeactivated(topic);
+            } catch (Throwable t) {
+                log.warn("Bridge failed to release topic {}: {}", topic, t.getMessage());
+            }
         }
     }
 }
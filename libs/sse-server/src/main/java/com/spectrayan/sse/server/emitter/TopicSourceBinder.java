@@ -0,0 +1,237 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.topic.TopicSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds declarative {@link TopicSource}s to topic channels with demand-driven activation.
+ * <p>
+ * Responsibilities:
+ * - Activate: open and subscribe the matching source's upstream when a subscriber connects to a topic
+ *   that has no running upstream; further subscribers share the same upstream through the topic sink.
+ * - Release: when {@link SessionTracker} observes that the last subscriber left, cancel the upstream
+ *   after the configured linger (immediately when the linger is zero). A subscriber arriving within
+ *   the linger keeps the running upstream.
+ * - Delivery: upstream elements are injected into whichever channel is currently registered for the
+ *   topic, so an upstream survives the channel being recreated during the linger window.
+ * <p>
+ * Package-private; owned by {@link AbstractSseEmitter}.
+ */
+final class TopicSourceBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicSourceBinder.class);
+
+    private final List<TopicSource> sources;
+    private final TopicManager topicManager;
+    private final EmissionService emissionService;
+    private final Duration linger;
+    private final Scheduler scheduler;
+    private final ConcurrentHashMap<String, Activation> active = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new {@code TopicSourceBinder}.
+     *
+     * @param sources registered topic sources in priority order; {@code null} treated as empty
+     * @param topicManager registry used to resolve the live channel and subscriber count of a topic
+     * @param emissionService used to inject upstream elements into the local sink
+     * @param linger time an upstream is kept after the last subscriber left; {@code null} means zero
+     */
+    TopicSourceBinder(List<TopicSource> sources, TopicManager topicManager, EmissionService emissionService, Duration linger) {
+        this(sources, topicManager, emissionService, linger, Schedulers.parallel());
+    }
+
+    TopicSourceBinder(List<TopicSource> sources, TopicManager topicManager, EmissionService emissionService,
+                      Duration linger, Scheduler scheduler) {
+        this.sources = sources != null ? List.copyOf(sources) : List.of();
+        this.topicManager = topicManager;
+        this.emissionService = emissionService;
+        this.linger = linger != null && !linger.isNegative() ? linger : Duration.ZERO;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Attach demand-driven activation to a subscriber stream.
+     * <p>
+     * The activation is merged after the subscriber stream so that the subscriber is attached to the
+     * topic sink before the upstream starts; elements the upstream emits synchronously on subscription
+     * are therefore not lost. Streams for topics without a matching source are returned unchanged.
+     *
+     * @param topic the topic identifier
+     * @param subscriberStream the decorated per-subscriber stream
+     * @return the stream, activating the topic source on subscription when one matches
+     */
+    Flux<ServerSentEvent<Object>> bind(String topic, Flux<ServerSentEvent<Object>> subscriberStream) {
+        TopicSource source = resolve(topic);
+        if (source == null) {
+            return subscriberStream;
+        }
+        return Flux.merge(subscriberStream, Mono.<ServerSentEvent<Object>>fromRunnable(() -> activate(topic, source)));
+    }
+
+    /**
+     * Invoked by {@link SessionTracker} when the subscriber count of a topic dropped to zero.
+     *
+     * @param topic the topic identifier
+     */
+    void release(String topic) {
+        Activation activation = active.get(topic);
+        if (activation == null) {
+            return;
+        }
+        if (linger.isZero()) {
+            releaseNow(topic, activation);
+            return;
+        }
+        synchronized (activation) {
+            if (activation.pendingRelease != null) {
+                activation.pendingRelease.dispose();
+            }
+            activation.pendingRelease = scheduler.schedule(() -> releaseNow(topic, activation),
+                    linger.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Whether an upstream is currently running (or lingering) for the topic.
+     *
+     * @param topic the topic identifier
+     * @return {@code true} when the topic has an active upstream subscription
+     */
+    boolean isActive(String topic) {
+        Activation activation = active.get(topic);
+        return activation != null && activation.upstream != null;
+    }
+
+    /**
+     * Cancel all running upstreams. Invoked on emitter shutdown.
+     */
+    void shutdown() {
+        var it = active.entrySet().iterator();
+        while (it.hasNext()) {
+            Activation activation = it.next().getValue();
+            synchronized (activation) {
+                activation.dispose();
+            }
+            it.remove();
+        }
+    }
+
+    private TopicSource resolve(String topic) {
+        for (TopicSource source : sources) {
+            if (source.matches(topic)) {
+                return source;
+            }
+        }
+        return null;
+    }
+
+    private void activate(String topic, TopicSource source) {
+        while (true) {
+            Activation activation = active.computeIfAbsent(topic, t -> new Activation());
+            synchronized (activation) {
+                if (activation.released) {
+                    // Lost a race with releaseNow; it has already removed this entry
+                    continue;
+                }
+                if (activation.pendingRelease != null) {
+                    activation.pendingRelease.dispose();
+                    activation.pendingRelease = null;
+                }
+                if (activation.upstream == null) {
+                    // Publish the holder before subscribing: a synchronously terminating upstream
+                    // clears it from within subscribe()
+                    Disposable.Swap holder = Disposables.swap();
+                    activation.upstream = holder;
+                    holder.update(subscribe(topic, source, activation, holder));
+                    log.info("Activated SSE topic source for topic {}", topic);
+                }
+                return;
+            }
+        }
+    }
+
+    private Disposable subscribe(String topic, TopicSource source, Activation activation, Disposable holder) {
+        return source.open(topic)
+                .map(TopicSourceBinder::toEvent)
+                .subscribe(
+                        event -> deliver(topic, event),
+                        error -> {
+                            log.warn("SSE topic source for topic {} failed: {}", topic, error.toString());
+                            terminated(activation, holder);
+                        },
+                        () -> {
+                            log.debug("SSE topic source for topic {} completed", topic);
+                            terminated(activation, holder);
+                        });
+    }
+
+    private void deliver(String topic, ServerSentEvent<Object> event) {
+        Sinks.EmitResult result = emissionService.emitLocal(topicManager, topic, event);
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER && log.isDebugEnabled()) {
+            log.debug("Topic source element for topic {} rejected: {}", topic, result);
+        }
+    }
+
+    private void terminated(Activation activation, Disposable holder) {
+        synchronized (activation) {
+            // Allow the next subscriber to re-open the source
+            if (activation.upstream == holder) {
+                activation.upstream = null;
+            }
+        }
+    }
+
+    private void releaseNow(String topic, Activation activation) {
+        synchronized (activation) {
+            if (activation.released || topicManager.subscriberCount(topic) > 0) {
+                return;
+            }
+            activation.released = true;
+            activation.dispose();
+            active.remove(topic, activation);
+        }
+        log.info("Released SSE topic source for topic {}", topic);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ServerSentEvent<Object> toEvent(Object element) {
+        if (element instanceof ServerSentEvent<?> sse) {
+            return (ServerSentEvent<Object>) sse;
+        }
+        return ServerSentEvent.builder(element).build();
+    }
+
+    /**
+     * Mutable per-topic activation state; guarded by its own monitor.
+     */
+    private static final class Activation {
+        Disposable upstream;
+        Disposable pendingRelease;
+        boolean released;
+
+        void dispose() {
+            if (pendingRelease != null) {
+                pendingRelease.dispose();
+                pendingRelease = null;
+            }
+            if (upstream != null) {
+                upstream.dispose();
+                upstream = null;
+            }
+        }
+    }
+}
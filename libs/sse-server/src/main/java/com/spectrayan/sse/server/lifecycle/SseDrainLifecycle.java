@@ -0,0 +1,78 @@
+package com.spectrayan.sse.server.lifecycle;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.emitter.SseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+
+/**
+ * Drains SSE connections when the application context stops, hooking {@link SseEmitter#drain(Duration)}
+ * into Spring Boot's graceful shutdown.
+ * <p>
+ * Runs in the phase right before the web server's graceful shutdown
+ * ({@link WebServerApplicationContext#GRACEFUL_SHUTDOWN_PHASE}), so long-lived streams are closed in
+ * staggered waves while the server still serves, and graceful shutdown then finds no open SSE requests to
+ * wait for. The drain window counts against {@code spring.lifecycle.timeout-per-shutdown-phase}.
+ *
+ * @since 2.1.0
+ */
+public final class SseDrainLifecycle implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SseDrainLifecycle.class);
+
+    private final SseEmitter emitter;
+    private final Duration window;
+    private volatile boolean running;
+
+    /**
+     * Create a drain lifecycle from configuration.
+     *
+     * @param emitter emitter whose connections are drained
+     * @param drain drain settings
+     */
+    public SseDrainLifecycle(SseEmitter emitter, SseServerProperties.Drain drain) {
+        this.emitter = emitter;
+        this.window = drain.getWindow() != null ? drain.getWindow() : Duration.ZERO;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            emitter.drain(window).block();
+        } catch (RuntimeException ex) {
+            log.warn("SSE drain failed: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        running = false;
+        emitter.drain(window).subscribe(
+                null,
+                error -> {
+                    log.warn("SSE drain failed: {}", error.getMessage());
+                    callback.run();
+                },
+                callback);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WebServerApplicationContext.GRACEFUL_SHUTDOWN_PHASE + 1;
+    }
+}
@@ -0,0 +1,387 @@
+package com.spectrayan.sse.server.lifecycle;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.customize.SseSessionBatchHook;
+import com.spectrayan.sse.server.customize.SseSessionHook;
+import com.spectrayan.sse.server.session.SseSession;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Dispatches {@link SseSessionHook} callbacks and SSE lifecycle application events.
+ * <p>
+ * Modes (see {@link SseServerProperties.Lifecycle}):
+ * - {@code SYNC}: callbacks and events run on the calling thread, exactly as before this dispatcher existed.
+ * - {@code ASYNC}: callbacks and events are appended to a bounded queue that is drained serially on a
+ *   virtual thread (or a single daemon platform thread). Consecutive joins and leaves are coalesced into
+ *   batches for {@link SseSessionBatchHook}s. Serial draining keeps every session's join ahead of its leave.
+ *   When the queue is full, events and joins are dropped and counted rather than run on the caller (the event
+ *   loop). A session whose join was dropped has its leave dropped too; every other leave is always queued, so
+ *   hooks never see a leave without its join or miss the leave of a join they saw.
+ * <p>
+ * Event allocation is skipped entirely when the publisher is an {@link AbstractApplicationContext} that has
+ * no listener able to receive the event type; the lookup is cached per type and invalidated whenever the
+ * number of registered listeners changes.
+ *
+ * @since 2.1.0
+ */
+public final class SseLifecycleDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SseLifecycleDispatcher.class);
+
+    private final ApplicationEventPublisher publisher;
+    private final boolean async;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final boolean skipUnobservedEvents;
+    private final ExecutorService executor;
+
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Set<SseSession> droppedJoins = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    // Listener lookup cache: event type -> has listener, valid for the recorded listener count
+    private final ConcurrentHashMap<Class<?>, Boolean> observed = new ConcurrentHashMap<>();
+    private volatile int observedListenerCount = -1;
+
+    /**
+     * Create a dispatcher from configuration.
+     *
+     * @param publisher Spring publisher for lifecycle events; may be {@code null} to disable events
+     * @param config    lifecycle configuration; {@code null} means defaults ({@code SYNC})
+     */
+    public SseLifecycleDispatcher(ApplicationEventPublisher publisher, SseServerProperties.Lifecycle config) {
+        SseServerProperties.Lifecycle cfg = config != null ? config : new SseServerProperties.Lifecycle();
+        this.publisher = publisher;
+        this.async = cfg.getMode() == SseServerProperties.Lifecycle.Mode.ASYNC;
+        this.queueCapacity = Math.max(1, cfg.getQueueCapacity());
+        this.batchSize = Math.max(1, cfg.getBatchSize());
+        this.skipUnobservedEvents = cfg.isSkipUnobservedEvents();
+        this.executor = async ? newExecutor(cfg.isVirtualThreads()) : null;
+    }
+
+    /**
+     * Create a synchronous dispatcher, matching the behavior of components constructed without one.
+     *
+     * @param publisher Spring publisher for lifecycle events; may be {@code null}
+     * @return a new {@code SYNC} dispatcher
+     */
+    public static SseLifecycleDispatcher sync(ApplicationEventPublisher publisher) {
+        return new SseLifecycleDispatcher(publisher, null);
+    }
+
+    /**
+     * Publish a lifecycle event, allocating it only when a listener can receive it.
+     * <p>
+     * The event is created on the calling thread so its timestamp reflects when the transition happened;
+     * only the delivery to listeners is deferred in {@code ASYNC} mode.
+     *
+     * @param type    the event type used for the listener lookup
+     * @param factory creates the event; not invoked when the event is unobserved
+     * @param <E>     the event type
+     */
+    public <E> void publish(Class<E> type, Supplier<? extends E> factory) {
+        if (!hasListener(type)) {
+            return;
+        }
+        Object event;
+        try {
+            event = factory.get();
+        } catch (Throwable t) {
+            log.debug("Failed to create event {}: {}", type.getSimpleName(), t.toString());
+            return;
+        }
+        if (async) {
+            submit(new Publish(event));
+        } else {
+            publishNow(event);
+        }
+    }
+
+    /**
+     * Notify hooks that a session joined.
+     *
+     * @param hooks   hooks to invoke; nothing happens when empty
+     * @param session the joined session
+     */
+    public void join(List<SseSessionHook> hooks, SseSession session) {
+        if (hooks.isEmpty() || session == null) return;
+        if (async) {
+            if (!submit(new Join(hooks, session))) {
+                droppedJoins.add(session);
+            }
+        } else {
+            invokeJoin(hooks, List.of(session));
+        }
+    }
+
+    /**
+     * Notify hooks that a session left.
+     *
+     * @param hooks   hooks to invoke; nothing happens when empty
+     * @param session the departed session
+     * @param signal  the terminal signal of the session's stream
+     */
+    public void leave(List<SseSessionHook> hooks, SseSession session, SignalType signal) {
+        if (hooks.isEmpty() || session == null) return;
+        if (async) {
+            if (droppedJoins.remove(session)) {
+                overflow();
+                return;
+            }
+            submit(new Leave(hooks, new SseSessionBatchHook.Departure(session, signal)));
+        } else {
+            invokeLeave(hooks, List.of(new SseSessionBatchHook.Departure(session, signal)));
+        }
+    }
+
+    /**
+     * Whether callbacks are dispatched off the calling thread.
+     *
+     * @return {@code true} in {@code ASYNC} mode
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Number of callbacks waiting in the async queue.
+     *
+     * @return pending callbacks; always 0 in {@code SYNC} mode
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Number of events and callbacks dropped because the async queue was full, including the leaves of
+     * sessions whose join was dropped.
+     *
+     * @return dropped count since startup
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Stop accepting async work, flush pending callbacks on the calling thread and release the executor.
+     * Callbacks submitted afterwards run synchronously.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (closed) return;
+        closed = true;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Flush whatever the drain loop did not pick up yet
+            List<Task> rest = new ArrayList<>();
+            Task task;
+            while ((task = queue.poll()) != null) {
+                pending.decrementAndGet();
+                rest.add(task);
+            }
+            if (!rest.isEmpty()) runBatch(rest);
+        }
+    }
+
+    private boolean hasListener(Class<?> type) {
+        if (publisher == null) return false;
+        if (!skipUnobservedEvents || !(publisher instanceof AbstractApplicationContext ctx) || !ctx.isActive()) {
+            return true;
+        }
+        Collection<ApplicationListener<?>> listeners = ctx.getApplicationListeners();
+        int count = listeners.size();
+        if (count != observedListenerCount) {
+            observed.clear();
+            observedListenerCount = count;
+        }
+        return observed.computeIfAbsent(type, t -> supportsAny(listeners, t));
+    }
+
+    private static boolean supportsAny(Collection<ApplicationListener<?>> listeners, Class<?> type) {
+        ResolvableType eventType = ResolvableType.forClassWithGenerics(PayloadApplicationEvent.class, type);
+        for (ApplicationListener<?> listener : listeners) {
+            GenericApplicationListener generic = listener instanceof GenericApplicationListener g
+                    ? g : new GenericApplicationListenerAdapter(listener);
+            try {
+                if (generic.supportsEventType(eventType)) return true;
+            } catch (Throwable t) {
+                // Be conservative: a listener we cannot introspect might want the event
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queue a task for the drain loop. Leaves are queued even above capacity: their number is bounded by the
+     * joins accepted before them, and dropping one would leave the session joined for the hooks.
+     *
+     * @return {@code false} when the task was dropped because the queue is full
+     */
+    private boolean submit(Task task) {
+        if (closed) {
+            runBatch(List.of(task));
+            return true;
+        }
+        if (pending.incrementAndGet() > queueCapacity && !(task instanceof Leave)) {
+            pending.decrementAndGet();
+            overflow();
+            return false;
+        }
+        queue.offer(task);
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Executor shut down concurrently; drain on the caller
+                drain();
+            }
+        }
+        return true;
+    }
+
+    private void overflow() {
+        long n = dropped.incrementAndGet();
+        if (n == 1 || n % 1000 == 0) {
+            log.warn("SSE lifecycle queue full (capacity {}), dropping events and session callbacks (dropped: {})", queueCapacity, n);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        List<Task> batch = new ArrayList<>(Math.min(batchSize, 64));
+        do {
+            Task task;
+            while ((task = queue.poll()) != null) {
+                pending.decrementAndGet();
+                batch.add(task);
+                if (batch.size() >= batchSize) {
+                    runBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                runBatch(batch);
+                batch.clear();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Run tasks in order, coalescing consecutive joins (and leaves) that target the same hooks.
+     */
+    private void runBatch(List<Task> tasks) {
+        int i = 0;
+        int n = tasks.size();
+        while (i < n) {
+            Task task = tasks.get(i);
+            switch (task) {
+                case Publish p -> {
+                    publishNow(p.event());
+                    i++;
+                }
+                case Join j -> {
+                    List<SseSession> sessions = new ArrayList<>();
+                    while (i < n && tasks.get(i) instanceof Join next && next.hooks() == j.hooks()) {
+                        sessions.add(next.session());
+                        i++;
+                    }
+                    invokeJoin(j.hooks(), sessions);
+                }
+                case Leave l -> {
+                    List<SseSessionBatchHook.Departure> departures = new ArrayList<>();
+                    while (i < n && tasks.get(i) instanceof Leave next && next.hooks() == l.hooks()) {
+                        departures.add(next.departure());
+                        i++;
+                    }
+                    invokeLeave(l.hooks(), departures);
+                }
+            }
+        }
+    }
+
+    private void invokeJoin(List<SseSessionHook> hooks, List<SseSession> sessions) {
+        for (SseSessionHook hook : hooks) {
+            if (hook instanceof SseSessionBatchHook batchHook) {
+                try { batchHook.onJoinBatch(sessions); } catch (Throwable t) { log.debug("SseSessionBatchHook.onJoinBatch failed: {}", t.toString()); }
+            } else {
+                for (SseSession session : sessions) {
+                    try { hook.onJoin(session); } catch (Throwable t) { log.debug("SseSessionHook.onJoin failed: {}", t.toString()); }
+                }
+            }
+        }
+    }
+
+    private void invokeLeave(List<SseSessionHook> hooks, List<SseSessionBatchHook.Departure> departures) {
+        for (SseSessionHook hook : hooks) {
+            if (hook instanceof SseSessionBatchHook batchHook) {
+                try { batchHook.onLeaveBatch(departures); } catch (Throwable t) { log.debug("SseSessionBatchHook.onLeaveBatch failed: {}", t.toString()); }
+            } else {
+                for (SseSessionBatchHook.Departure d : departures) {
+                    try { hook.onLeave(d.session(), d.signal()); } catch (Throwable t) { log.debug("SseSessionHook.onLeave failed: {}", t.toString()); }
+                }
+            }
+        }
+    }
+
+    private void publishNow(Object event) {
+        try {
+            publisher.publishEvent(event);
+        } catch (Throwable t) {
+            log.debug("Failed to publish event {}: {}", event.getClass().getSimpleName(), t.toString());
+        }
+    }
+
+    private static ExecutorService newExecutor(boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-lifecycle-", 0).factory());
+        }
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "sse-lifecycle");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private sealed interface Task permits Publish, Join, Leave {}
+
+    private record Publish(Object event) implements Task {}
+
+    private record Join(List<SseSessionHook> hooks, SseSession session) implements Task {}
+
+    private record Leave(List<SseSessionHook> hooks, SseSessionBatchHook.Departure departure) implements Task {}
+}
@@ -1,8 +1,18 @@
 package com.spectrayan.sse.server.metrics;
 
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeInterest;
 import com.spectrayan.sse.server.config.SseServerProperties;
 import com.spectrayan.sse.server.topic.TopicRegistry;
+import com.spectrayan.sse.server.emitter.AsyncBridgePublisher;
+import com.spectrayan.sse.server.emitter.BridgeSequencer;
+import com.spectrayan.sse.server.emitter.ConnectionLiveness;
+import com.spectrayan.sse.server.emitter.ConnectionWritability;
+import com.spectrayan.sse.server.emitter.MemoryPressureMonitor;
+import com.spectrayan.sse.server.emitter.NodeCapacity;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
@@ -10,6 +20,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 
 /**
  * SSE-specific Micrometer metrics, auto-registered when Micrometer is on the classpath.
@@ -21,6 +34,52 @@ import java.util.concurrent.ConcurrentHashMap;
  *   <li>{@code sse.events.emitted} — Counter: total events emitted (tagged by result, optionally by topic)</li>
  *   <li>{@code sse.connections} — Counter: total SSE connections opened (optionally tagged by topic)</li>
  * </ul>
+ * With {@code spectrayan.sse.server.delivery.writability-backpressure=true} (or capacity shedding), connection
+ * outbound state is also exposed:
+ * <ul>
+ *   <li>{@code sse.connections.unwritable} — Gauge: connections whose outbound buffer is above the high water mark</li>
+ *   <li>{@code sse.connections.unwritable.time} — Counter: seconds connections spent unwritable</li>
+ *   <li>{@code sse.connections.outbound.bytes} — Gauge: bytes pending in the outbound buffers of all connections</li>
+ *   <li>{@code sse.connections.outbound.bytes.max} — Gauge: bytes pending in the most backed-up connection</li>
+ * </ul>
+ * With {@code spectrayan.sse.server.liveness.enabled=true}:
+ * <ul>
+ *   <li>{@code sse.connections.reclaimed} — Counter: dead connections closed (tagged by reason)</li>
+ * </ul>
+ * With node capacity limits or shedding configured ({@code spectrayan.sse.server.capacity.*}):
+ * <ul>
+ *   <li>{@code sse.capacity.rejected} — Counter: connects and topic creations rejected (tagged by reason)</li>
+ *   <li>{@code sse.capacity.shed} — Counter: load-shedding actions (tagged by action; topics released and
+ *       connections closed for {@code trim_replay} and {@code disconnect_slow})</li>
+ *   <li>{@code sse.capacity.memory.usage} — Gauge: memory usage (0..1) driving shedding</li>
+ * </ul>
+ * With {@code spectrayan.sse.server.bridge.publish.async=true} (or {@code bridge.batch.enabled=true}):
+ * <ul>
+ *   <li>{@code sse.bridge.publish.queued} — Gauge: bridge messages waiting in the publish queues</li>
+ *   <li>{@code sse.bridge.publish.in.flight} — Gauge: bridge publishes handed to the broker and not yet completed</li>
+ *   <li>{@code sse.bridge.publish.latency} — Timer: enqueue-to-completion time of published bridge messages</li>
+ *   <li>{@code sse.bridge.publish.batches} — Counter: batch envelopes published</li>
+ *   <li>{@code sse.bridge.publish.dropped} — Counter: bridge messages not published (tagged by reason)</li>
+ * </ul>
+ * With {@code spectrayan.sse.server.bridge.routing.mode} other than {@code BROADCAST}:
+ * <ul>
+ *   <li>{@code sse.bridge.publish.skipped} — Counter: bridge publishes skipped because no other instance serves
+ *       the topic</li>
+ * </ul>
+ * With a bridge whose transport queues frames itself, such as the TCP mesh bridge:
+ * <ul>
+ *   <li>{@code sse.bridge.frames.dropped} — Counter: frames the bridge transport dropped (tagged by bridge)</li>
+ * </ul>
+ * With a bridge guarding the broker with a circuit breaker ({@code spectrayan.sse.server.bridge.resilience.*}),
+ * tagged by bridge:
+ * <ul>
+ *   <li>{@code sse.bridge.local.only} — Gauge: 1 while the bridge delivers to local subscribers only</li>
+ *   <li>{@code sse.bridge.outages} — Counter: times a bridge switched to local-only delivery</li>
+ *   <li>{@code sse.bridge.outage.time} — Counter: seconds spent in local-only delivery, counted when it ends</li>
+ *   <li>{@code sse.bridge.publish.suspended} — Counter: remote operations not attempted during outages</li>
+ *   <li>{@code sse.bridge.resubscribes} — Counter: attempts to re-establish failed bridge subscriptions</li>
+ *   <li>{@code sse.bridge.catch.ups} — Counter: catch-up actions run when the broker became reachable again</li>
+ * </ul>
  * <p>
  * Per-topic tagging is controlled by {@code spectrayan.sse.server.metrics.per-topic}.
  * Disable it when topic cardinality is very high to avoid excessive time-series in Prometheus.
@@ -31,6 +90,7 @@ public class SseMetrics {
 
     private final MeterRegistry meters;
     private final boolean perTopic;
+    private final Supplier<TopicRegistry> topicRegistry;
 
     // Cached per-topic counters to avoid re-registering on every emit
     private final ConcurrentHashMap<String, Counter> emitSuccessCounters = new ConcurrentHashMap<>();
@@ -51,17 +111,31 @@ public class SseMetrics {
      * @param properties     SSE server properties (for perTopic flag)
      */
     public SseMetrics(MeterRegistry meters, TopicRegistry topicRegistry, SseServerProperties properties) {
+        this(meters, () -> topicRegistry, properties);
+    }
+
+    /**
+     * Create SSE metrics whose topic gauges look the topic registry up when sampled. Lets the emitter, which
+     * backs the registry, receive these metrics while it is being created.
+     *
+     * @param meters         the Micrometer MeterRegistry (auto-injected by Spring Boot)
+     * @param topicRegistry  supplies the topic registry for gauge sampling; may supply {@code null} until it exists
+     * @param properties     SSE server properties (for perTopic flag)
+     * @since 2.1.0
+     */
+    public SseMetrics(MeterRegistry meters, Supplier<TopicRegistry> topicRegistry, SseServerProperties properties) {
         this.meters = meters;
         this.perTopic = properties.getMetrics().isPerTopic();
+        this.topicRegistry = topicRegistry;
 
         // Gauges — sampled on each Prometheus scrape
-        Gauge.builder("sse.topics.active", topicRegistry, r -> r.topics().size())
+        Gauge.builder("sse.topics.active", this, m -> m.sampleTopics(r -> r.topics().size()))
              .description("Number of active SSE topics")
              .register(meters);
 
-        Gauge.builder("sse.subscribers.active", topicRegistry, r ->
+        Gauge.builder("sse.subscribers.active", this, m -> m.sampleTopics(r ->
                  r.topicSubscriberCounts().values().stream()
-                  .mapToInt(Integer::intValue).sum())
+                  .mapToInt(Integer::intValue).sum()))
              .description("Total active SSE subscribers across all topics")
              .register(meters);
 
@@ -87,6 +161,208 @@ public class SseMetrics {
         log.info("SSE metrics registered (perTopic={})", perTopic);
     }
 
+    private double sampleTopics(ToDoubleFunction<TopicRegistry> sample) {
+        TopicRegistry registry = topicRegistry.get();
+        return registry != null ? sample.applyAsDouble(registry) : 0;
+    }
+
+    /**
+     * Register the early, duplicate and missing messages and the gaps seen by {@code sequencer}. Called by the
+     * emitter that restores the order of received bridge messages.
+     *
+     * @param sequencer the emitter's bridge sequencer
+     */
+    public void registerBridgeOrdering(BridgeSequencer sequencer) {
+        FunctionCounter.builder("sse.bridge.receive.early", sequencer, BridgeSequencer::earlyMessages)
+             .description("Bridge messages received ahead of a missing one and held back")
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.receive.duplicates", sequencer, BridgeSequencer::duplicateMessages)
+             .description("Bridge messages dropped because they were already delivered")
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.receive.gaps", sequencer, BridgeSequencer::gaps)
+             .description("Runs of bridge messages that never arrived")
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.receive.missing", sequencer, BridgeSequencer::missingMessages)
+             .description("Bridge messages that never arrived")
+             .register(meters);
+    }
+
+    /**
+     * Register the local-only state, outages, suspended operations, resubscriptions and catch-up actions of
+     * {@code health}. Called by the emitter whose bridge guards the broker with a circuit breaker.
+     *
+     * @param health the bridge's broker health
+     */
+    public void registerBridgeHealth(SseBridgeHealth health) {
+        Tags tags = Tags.of("bridge", health.name());
+        Gauge.builder("sse.bridge.local.only", health, h -> h.isLocalOnly() ? 1 : 0)
+             .description("Whether the bridge delivers to local subscribers only because the broker is unreachable")
+             .tags(tags)
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.outages", health, SseBridgeHealth::outages)
+             .description("Times the bridge switched to local-only delivery")
+             .tags(tags)
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.outage.time", health, h -> h.outageNanos() / 1e9)
+             .description("Seconds the bridge spent in local-only delivery, counted when the outage ends")
+             .baseUnit("seconds")
+             .tags(tags)
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.publish.suspended", health, SseBridgeHealth::suspendedOperations)
+             .description("Bridge operations not attempted while delivering locally only")
+             .tags(tags)
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.resubscribes", health, SseBridgeHealth::resubscribes)
+             .description("Attempts to re-establish failed bridge subscriptions")
+             .tags(tags)
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.catch.ups", health, SseBridgeHealth::catchUps)
+             .description("Catch-up actions run when the broker became reachable again")
+             .tags(tags)
+             .register(meters);
+    }
+
+    /**
+     * Register the queue depth, in-flight publishes, latency, batches and drops of {@code publisher}. Called by the
+     * emitter that owns the publish stage.
+     *
+     * @param publisher the emitter's async bridge publish stage
+     */
+    public void registerBridgePublish(AsyncBridgePublisher publisher) {
+        Gauge.builder("sse.bridge.publish.queued", publisher, AsyncBridgePublisher::queuedMessages)
+             .description("Bridge messages waiting in the async publish queues")
+             .register(meters);
+
+        Gauge.builder("sse.bridge.publish.in.flight", publisher, AsyncBridgePublisher::inFlightPublishes)
+             .description("Bridge publishes handed to the broker and not yet completed")
+             .register(meters);
+
+        FunctionTimer.builder("sse.bridge.publish.latency", publisher,
+                        AsyncBridgePublisher::publishedMessages,
+                        AsyncBridgePublisher::publishLatencyNanos, TimeUnit.NANOSECONDS)
+             .description("Time from enqueue to broker acknowledgement of bridge messages")
+             .register(meters);
+
+        FunctionCounter.builder("sse.bridge.publish.batches", publisher, AsyncBridgePublisher::publishedBatches)
+             .description("Batch envelopes published to the bridge")
+             .register(meters);
+
+        for (AsyncBridgePublisher.DropReason reason : AsyncBridgePublisher.DropReason.values()) {
+            FunctionCounter.builder("sse.bridge.publish.dropped", publisher, p -> p.droppedMessages(reason))
+                 .description("Bridge messages not published")
+                 .tag("reason", reason.name().toLowerCase(java.util.Locale.ROOT))
+                 .register(meters);
+        }
+    }
+
+    /**
+     * Register the publishes skipped by {@code interest}. Called by the emitter whose bridge routes by interest.
+     *
+     * @param interest the bridge's interest routing state
+     */
+    public void registerBridgeInterest(SseBridgeInterest interest) {
+        FunctionCounter.builder("sse.bridge.publish.skipped", interest, SseBridgeInterest::skippedPublishes)
+             .description("Bridge publishes skipped because no other instance serves the topic")
+             .register(meters);
+    }
+
+    /**
+     * Register the frames dropped by a bridge transport. Called by the auto-configuration that creates the bridge.
+     *
+     * @param bridge        the bridge name, used as the {@code bridge} tag
+     * @param source        the bridge
+     * @param droppedFrames reads the frames {@code source} dropped so far
+     * @param <T>           the bridge type
+     */
+    public <T> void registerBridgeDroppedFrames(String bridge, T source, ToDoubleFunction<T> droppedFrames) {
+        FunctionCounter.builder("sse.bridge.frames.dropped", source, droppedFrames)
+             .description("Frames the bridge transport dropped")
+             .tag("bridge", bridge)
+             .register(meters);
+    }
+
+    /**
+     * Register the connects and topic creations rejected by {@code capacity}. Called by the emitter that owns the
+     * node bounds.
+     *
+     * @param capacity the emitter's node bounds
+     */
+    public void registerCapacity(NodeCapacity capacity) {
+        for (NodeCapacity.Reason reason : NodeCapacity.Reason.values()) {
+            FunctionCounter.builder("sse.capacity.rejected", capacity, c -> c.rejected(reason))
+                 .description("SSE connects and topic creations rejected by node capacity")
+                 .tag("reason", reason.name().toLowerCase(java.util.Locale.ROOT))
+                 .register(meters);
+        }
+    }
+
+    /**
+     * Register the load-shedding actions taken by {@code memoryPressure} and the memory usage driving them.
+     * Called by the emitter that owns the monitor.
+     *
+     * @param memoryPressure the emitter's memory pressure monitor
+     */
+    public void registerMemoryPressure(MemoryPressureMonitor memoryPressure) {
+        for (MemoryPressureMonitor.Action action : MemoryPressureMonitor.Action.values()) {
+            FunctionCounter.builder("sse.capacity.shed", memoryPressure, m -> m.shed(action))
+                 .description("SSE load-shedding actions taken")
+                 .tag("action", action.name().toLowerCase(java.util.Locale.ROOT))
+                 .register(meters);
+        }
+        Gauge.builder("sse.capacity.memory.usage", memoryPressure, MemoryPressureMonitor::memoryUsage)
+             .description("JVM memory usage (heap after GC or direct, whichever is higher) sampled for load shedding")
+             .register(meters);
+    }
+
+    /**
+     * Register the dead connections closed by {@code liveness}. Called by the emitter that owns the detector.
+     *
+     * @param liveness the emitter's dead connection detector
+     */
+    public void registerLiveness(ConnectionLiveness liveness) {
+        for (ConnectionLiveness.Reason reason : ConnectionLiveness.Reason.values()) {
+            FunctionCounter.builder("sse.connections.reclaimed", liveness, l -> l.reclaimedConnections(reason))
+                 .description("Dead SSE connections closed")
+                 .tag("reason", reason.name().toLowerCase(java.util.Locale.ROOT))
+                 .register(meters);
+        }
+    }
+
+    /**
+     * Register the outbound state of the connections tracked by {@code writability}. Called by the emitter that
+     * owns the tracker.
+     *
+     * @param writability the emitter's writability tracker
+     */
+    public void registerWritability(ConnectionWritability writability) {
+        Gauge.builder("sse.connections.unwritable", writability, ConnectionWritability::unwritableConnections)
+             .description("SSE connections whose outbound buffer is above the high water mark")
+             .register(meters);
+
+        FunctionCounter.builder("sse.connections.unwritable.time", writability, w -> w.unwritableNanos() / 1e9)
+             .description("Time SSE connections spent unwritable")
+             .baseUnit("seconds")
+             .register(meters);
+
+        Gauge.builder("sse.connections.outbound.bytes", writability, ConnectionWritability::pendingOutboundBytes)
+             .description("Bytes pending in the outbound buffers of SSE connections")
+             .baseUnit("bytes")
+             .register(meters);
+
+        Gauge.builder("sse.connections.outbound.bytes.max", writability, ConnectionWritability::maxPendingOutboundBytes)
+             .description("Bytes pending in the outbound buffer of the most backed-up SSE connection")
+             .baseUnit("bytes")
+             .register(meters);
+    }
+
     /**
      * Record a successful event emission.
      *
@@ -17,6 +17,11 @@ import java.util.Objects;
  * {@code com.spectrayan.sse.server.customize} package. This class does not generate ids
  * on its own; generation is handled upstream by components such as emitters or endpoint
  * handlers configured with a {@code SessionIdGenerator}.
+ * <p>
+ * Instances are kept compact because one is retained per connected client: the creation time is held as
+ * epoch milliseconds, {@code User-Agent} strings are deduplicated through
+ * {@link StringDeduplicator#userAgents()}, and no map is allocated for sessions without attributes. The
+ * {@link Instant} and read-only attribute views are materialized only when asked for.
  */
 public final class SseSession {
     /**
@@ -47,11 +52,11 @@ public final class SseSession {
      */
     private final String userAgent;
     /**
-     * Timestamp (UTC) when the session object was created.
+     * Timestamp (UTC epoch milliseconds) when the session object was created.
      */
-    private final Instant createdAt;
+    private final long createdAt;
     /**
-     * Read-only map of optional attributes attached to the session.
+     * Optional attributes attached to the session; {@code null} when there are none.
      */
     private final Map<String, Object> attributes;
 
@@ -61,9 +66,9 @@ public final class SseSession {
         this.principal = b.principal;
         this.lastEventId = b.lastEventId;
         this.remoteAddress = b.remoteAddress;
-        this.userAgent = b.userAgent;
-        this.createdAt = b.createdAt != null ? b.createdAt : Instant.now();
-        this.attributes = b.attributes != null ? Collections.unmodifiableMap(b.attributes) : Collections.emptyMap();
+        this.userAgent = StringDeduplicator.userAgents().dedupe(b.userAgent);
+        this.createdAt = b.createdAt != Long.MIN_VALUE ? b.createdAt : System.currentTimeMillis();
+        this.attributes = b.attributes != null && !b.attributes.isEmpty() ? b.attributes : null;
     }
 
     /**
@@ -91,13 +96,19 @@ public final class SseSession {
      */
     public String getUserAgent() { return userAgent; }
     /**
-     * Returns the timestamp when this session object was created.
+     * Returns the timestamp when this session object was created (millisecond precision).
+     */
+    public Instant getCreatedAt() { return Instant.ofEpochMilli(createdAt); }
+    /**
+     * Returns the creation timestamp as UTC epoch milliseconds, without allocating an {@link Instant}.
      */
-    public Instant getCreatedAt() { return createdAt; }
+    public long getCreatedAtEpochMillis() { return createdAt; }
     /**
      * Returns an immutable view of session attributes.
      */
-    public Map<String, Object> getAttributes() { return attributes; }
+    public Map<String, Object> getAttributes() {
+        return attributes != null ? Collections.unmodifiableMap(attributes) : Collections.emptyMap();
+    }
 
     /**
      * Create a new builder for {@link SseSession}.
@@ -125,7 +136,7 @@ public final class SseSession {
         private String lastEventId;
         private String remoteAddress;
         private String userAgent;
-        private Instant createdAt;
+        private long createdAt = Long.MIN_VALUE;
         private Map<String, Object> attributes;
 
         /**
@@ -154,9 +165,16 @@ public final class SseSession {
          */
         public Builder userAgent(String userAgent) { this.userAgent = userAgent; return this; }
         /**
-         * Set the creation timestamp. If not provided, {@link Instant#now()} is used.
+         * Set the creation timestamp, truncated to milliseconds. If not provided, the current time is used.
+         */
+        public Builder createdAt(Instant createdAt) {
+            this.createdAt = createdAt != null ? createdAt.toEpochMilli() : Long.MIN_VALUE;
+            return this;
+        }
+        /**
+         * Set the creation timestamp as UTC epoch milliseconds.
          */
-        public Builder createdAt(Instant createdAt) { this.createdAt = createdAt; return this; }
+        public Builder createdAtEpochMillis(long createdAt) { this.createdAt = createdAt; return this; }
         /**
          * Set optional attributes for the session. The map will be wrapped in an
          * unmodifiable view during {@link #build()}.
@@ -0,0 +1,95 @@
+package com.spectrayan.sse.server.session;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded canonicalizer for low-cardinality strings repeated across many sessions
+ * (e.g. {@code User-Agent} headers).
+ * <p>
+ * Behavior:
+ * - Returns a shared instance for equal strings so a million sessions from a handful of clients hold a
+ *   handful of {@code User-Agent} strings instead of a million copies.
+ * - Holds at most {@code maxEntries} distinct values (rounded up to an even number), in two generations of
+ *   half that size. When the current generation is full it becomes the previous one and the old previous
+ *   generation is dropped; values found in the previous generation move to the current one. Values still in
+ *   use therefore stay canonical while values seen once are evicted, and client-controlled input (headers)
+ *   can never grow the table without bound.
+ * - Unlike {@link String#intern()}, entries live on the regular heap and lookups do not contend on the
+ *   JVM string table.
+ */
+public final class StringDeduplicator {
+
+    private static final StringDeduplicator USER_AGENTS = new StringDeduplicator(4096);
+
+    private final int generationSize;
+    private volatile ConcurrentHashMap<String, String> current = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<String, String> previous = new ConcurrentHashMap<>();
+
+    /**
+     * Create a deduplicator.
+     *
+     * @param maxEntries maximum number of distinct values retained; must be positive
+     */
+    public StringDeduplicator(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.generationSize = (maxEntries + 1) / 2;
+    }
+
+    /**
+     * Process-wide instance used by {@link SseSession} for {@code User-Agent} headers. Principal names are
+     * not deduplicated: they are mostly distinct per connection and would only evict user agents.
+     *
+     * @return the user-agent deduplicator
+     */
+    public static StringDeduplicator userAgents() {
+        return USER_AGENTS;
+    }
+
+    /**
+     * Return the canonical instance equal to {@code value}.
+     *
+     * @param value string to canonicalize; may be {@code null}
+     * @return the retained equal instance, or {@code value} itself when it was not retained yet
+     */
+    public String dedupe(String value) {
+        if (value == null) {
+            return null;
+        }
+        ConcurrentHashMap<String, String> values = current;
+        String existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        String canonical = previous.getOrDefault(value, value);
+        if (values.size() >= generationSize) {
+            values = rotate(values);
+        }
+        existing = values.putIfAbsent(canonical, canonical);
+        return existing != null ? existing : canonical;
+    }
+
+    /**
+     * Number of distinct values currently retained.
+     *
+     * @return retained value count
+     */
+    public int size() {
+        ConcurrentHashMap<String, String> values = current;
+        int size = values.size();
+        for (String value : previous.keySet()) {
+            if (!values.containsKey(value)) size++;
+        }
+        return size;
+    }
+
+    private synchronized ConcurrentHashMap<String, String> rotate(ConcurrentHashMap<String, String> full) {
+        if (current != full) {
+            return current;
+        }
+        previous = full;
+        current = new ConcurrentHashMap<>();
+        return current;
+    }
+}
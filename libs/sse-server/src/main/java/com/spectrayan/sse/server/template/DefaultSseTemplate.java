@@ -41,11 +41,12 @@ public class DefaultSseTemplate implements SseTemplate {
     private final List<SseStreamCustomizer> streamCustomizers;
     private final List<SseHeaderCustomizer> headerCustomizers;
     private final List<SseEndpointCustomizer> endpointCustomizers;
-    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher lifecycle;
     private final com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator;
     // Strategy hooks
     private final EventSerializer serializer;
     private final ClientFilter clientFilter;
+    private final ReactiveClientFilter reactiveClientFilter;
     private final ReconnectPolicy reconnectPolicy;
     private final HeartbeatPolicy heartbeatPolicy;
     private final ErrorMapper errorMapper;
@@ -84,21 +85,63 @@ public class DefaultSseTemplate implements SseTemplate {
                        HeartbeatPolicy heartbeatPolicy,
                        ErrorMapper errorMapper,
                        ConnectionRegistry connectionRegistry) {
+        this(emitter, headerHandler, props, streamCustomizers, headerCustomizers, endpointCustomizers,
+                com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher.sync(eventPublisher), sessionIdGenerator,
+                serializer, clientFilter, null, reconnectPolicy, heartbeatPolicy, errorMapper, connectionRegistry);
+    }
+
+    /**
+     * Create the default {@link SseTemplate} implementation publishing lifecycle events through a dispatcher
+     * and optionally admitting connections through a non-blocking filter.
+     *
+     * @param emitter low-level emitter used to connect/broadcast SSEs
+     * @param headerHandler helper to apply standard SSE response headers
+     * @param props configuration properties controlling behavior
+     * @param streamCustomizers optional ordered customizers for per-request stream transformation
+     * @param headerCustomizers optional ordered customizers for response headers
+     * @param endpointCustomizers optional ordered customizers that can wrap endpoint handling
+     * @param lifecycle dispatcher publishing session lifecycle events, possibly off the event loop
+     * @param sessionIdGenerator strategy to produce session identifiers
+     * @param serializer strategy to serialize payloads into {@link org.springframework.http.codec.ServerSentEvent}
+     * @param clientFilter filter to allow/deny incoming connections
+     * @param reactiveClientFilter optional non-blocking filter consulted after {@code clientFilter}; may be {@code null}
+     * @param reconnectPolicy policy controlling SSE retry advertisement
+     * @param heartbeatPolicy policy producing heartbeat events
+     * @param errorMapper mapper to convert stream errors to SSE frames
+     * @param connectionRegistry registry exposing topic/session introspection
+     * @since 2.1.0
+     */
+    public DefaultSseTemplate(SseEmitter emitter,
+                       SseHeaderHandler headerHandler,
+                       SseServerProperties props,
+                       ObjectProvider<SseStreamCustomizer> streamCustomizers,
+                       ObjectProvider<SseHeaderCustomizer> headerCustomizers,
+                       ObjectProvider<SseEndpointCustomizer> endpointCustomizers,
+                       com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher lifecycle,
+                       com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
+                       EventSerializer serializer,
+                       ClientFilter clientFilter,
+                       ReactiveClientFilter reactiveClientFilter,
+                       ReconnectPolicy reconnectPolicy,
+                       HeartbeatPolicy heartbeatPolicy,
+                       ErrorMapper errorMapper,
+                       ConnectionRegistry connectionRegistry) {
         this.emitter = emitter;
         this.headerHandler = headerHandler;
         this.props = props;
         this.streamCustomizers = streamCustomizers != null ? streamCustomizers.orderedStream().toList() : List.of();
         this.headerCustomizers = headerCustomizers != null ? headerCustomizers.orderedStream().toList() : List.of();
         this.endpointCustomizers = endpointCustomizers != null ? endpointCustomizers.orderedStream().toList() : List.of();
-        this.eventPublisher = eventPublisher;
+        this.lifecycle = lifecycle;
         this.sessionIdGenerator = sessionIdGenerator;
         this.serializer = serializer;
         this.clientFilter = clientFilter;
+        this.reactiveClientFilter = reactiveClientFilter;
         this.reconnectPolicy = reconnectPolicy;
         this.heartbeatPolicy = heartbeatPolicy;
         this.errorMapper = errorMapper;
         this.connectionRegistry = connectionRegistry;
-        this.orchestrator = new SseStreamOrchestrator(emitter, props, eventPublisher, this.streamCustomizers);
+        this.orchestrator = new SseStreamOrchestrator(emitter, props, lifecycle, this.streamCustomizers, null);
     }
 
     @Override
@@ -108,26 +151,29 @@ public class DefaultSseTemplate implements SseTemplate {
         String remote = (exchange != null && exchange.getRequest() != null && exchange.getRequest().getRemoteAddress() != null)
                 ? exchange.getRequest().getRemoteAddress().toString() : "";
 
-        Mono<String> sessionIdMono = (exchange != null
+        Mono<String> sessionIdMono = (exchange != null && props.getSession().isUseWebSession()
                 ? exchange.getSession().map(WebSession::getId)
                     .filter(id -> id != null && !id.isBlank())
                     .switchIfEmpty(Mono.fromSupplier(() -> sessionIdGenerator != null ? sessionIdGenerator.generate(exchange, topic) : java.util.UUID.randomUUID().toString()))
                 : Mono.fromSupplier(() -> sessionIdGenerator != null ? sessionIdGenerator.generate(exchange, topic) : java.util.UUID.randomUUID().toString()));
-        return sessionIdMono
-                .flatMap(sid -> {
+        Mono<String> principalMono = exchange != null
+                ? exchange.getPrincipal().map(java.security.Principal::getName).defaultIfEmpty("")
+                : Mono.just("");
+        return principalMono.zipWith(sessionIdMono)
+                .flatMap(tuple -> {
+                    String principal = tuple.getT1();
+                    String sid = tuple.getT2();
 
-                    try {
-                        eventPublisher.publishEvent(new com.spectrayan.sse.server.events.SseSessionCreatedEvent(sid, topic, remote));
-                    } catch (Throwable t) {
-                        log.debug("Failed to publish SseSessionCreatedEvent: {}", t.toString());
-                    }
+                    lifecycle.publish(com.spectrayan.sse.server.events.SseSessionCreatedEvent.class,
+                            () -> new com.spectrayan.sse.server.events.SseSessionCreatedEvent(sid, topic, remote));
 
                     // Build connect context
                     String lastEventId = exchange != null && exchange.getRequest() != null
                             ? exchange.getRequest().getHeaders().getFirst("Last-Event-ID") : null;
                     java.util.Map<String, String> headers = exchange != null && exchange.getRequest() != null
                             ? exchange.getRequest().getHeaders().toSingleValueMap() : java.util.Map.of();
-                    SseConnectContext ctx = new SseConnectContext(topic, sid, lastEventId, remote, headers, java.util.Map.of());
+                    SseConnectContext ctx = new SseConnectContext(topic, sid, lastEventId, remote, headers, java.util.Map.of(),
+                            principal.isEmpty() ? null : principal);
 
                     Supplier<Flux<ServerSentEvent<Object>>> core = () -> connect(topic, ctx);
 
@@ -167,17 +213,34 @@ public class DefaultSseTemplate implements SseTemplate {
         if (clientFilter != null) {
             try {
                 if (!clientFilter.allow(ctx)) {
-                    return Flux.error(new com.spectrayan.sse.server.error.SseException(
-                            com.spectrayan.sse.server.error.ErrorCode.SUBSCRIPTION_REJECTED,
-                            "SSE client rejected",
-                            topic
-                    ));
+                    return Flux.error(rejected(topic));
                 }
             } catch (Throwable t) {
                 return Flux.error(t);
             }
         }
 
+        // Non-blocking admission: the stream is only built once the decision arrives
+        if (reactiveClientFilter != null) {
+            return Mono.defer(() -> reactiveClientFilter.allow(ctx))
+                    .defaultIfEmpty(Boolean.FALSE)
+                    .flatMapMany(allowed -> allowed ? buildStream(topic, ctx) : Flux.error(rejected(topic)));
+        }
+        return buildStream(topic, ctx);
+    }
+
+    private static com.spectrayan.sse.server.error.SseException rejected(String topic) {
+        return new com.spectrayan.sse.server.error.SseException(
+                com.spectrayan.sse.server.error.ErrorCode.SUBSCRIPTION_REJECTED,
+                "SSE client rejected",
+                topic
+        );
+    }
+
+    private Flux<ServerSentEvent<Object>> buildStream(String topic, SseConnectContext ctx) {
+        String remote = ctx.remoteAddress();
+        String sessionId = ctx.sessionId();
+
         // Build SseSession from context
         SseSession session = SseSession.builder()
                 .sessionId(sessionId)
@@ -189,17 +252,16 @@ public class DefaultSseTemplate implements SseTemplate {
         Flux<ServerSentEvent<Object>> core = emitter.connect(topic, session)
                 .doOnSubscribe(s -> {
                     log.debug("SSE stream subscribed: topic={} from {}", topic, remote);
-                    try {
-                        eventPublisher.publishEvent(new com.spectrayan.sse.server.events.SseSubscribedEvent(sessionId, topic, remote));
-                    } catch (Throwable t) {
-                        log.debug("Failed to publish SseSubscribedEvent: {}", t.toString());
-                    }
+                    lifecycle.publish(com.spectrayan.sse.server.events.SseSubscribedEvent.class,
+                            () -> new com.spectrayan.sse.server.events.SseSubscribedEvent(sessionId, topic, remote));
                 })
                 .doFinally(sig -> {
                     try {
                         switch (sig) {
-                            case CANCEL -> eventPublisher.publishEvent(new com.spectrayan.sse.server.events.SseUnsubscribedEvent(sessionId, topic, remote));
-                            case ON_COMPLETE -> eventPublisher.publishEvent(new com.spectrayan.sse.server.events.SseSessionClosedEvent(sessionId, topic, remote));
+                            case CANCEL -> lifecycle.publish(com.spectrayan.sse.server.events.SseUnsubscribedEvent.class,
+                                    () -> new com.spectrayan.sse.server.events.SseUnsubscribedEvent(sessionId, topic, remote));
+                            case ON_COMPLETE -> lifecycle.publish(com.spectrayan.sse.server.events.SseSessionClosedEvent.class,
+                                    () -> new com.spectrayan.sse.server.events.SseSessionClosedEvent(sessionId, topic, remote));
                             default -> {}
                         }
                     } catch (Throwable t) {
@@ -213,6 +275,7 @@ public class DefaultSseTemplate implements SseTemplate {
             if (delay.isPresent()) {
                 core = Flux.concat(Flux.just(ServerSentEvent.<Object>builder().retry(java.time.Duration.ofMillis(delay.get())).build()), core);
             }
+            core = SseStreamOrchestrator.withRetryUpdates(core, reconnectPolicy.retryUpdates(ctx));
         } else if (props.getStream().isRetryEnabled()) {
             core = Flux.concat(Flux.just(ServerSentEvent.<Object>builder().retry(props.getStream().getRetry()).build()), core);
         }
@@ -230,11 +293,8 @@ public class DefaultSseTemplate implements SseTemplate {
             core = core
                     .doOnError(ex -> {
                         log.warn("SSE stream error: topic={} from {} error={}", topic, remote, ex.toString());
-                        try {
-                            eventPublisher.publishEvent(new com.spectrayan.sse.server.events.SseDisconnectedEvent(sessionId, topic, remote, ex));
-                        } catch (Throwable t) {
-                            log.debug("Failed to publish SseDisconnectedEvent: {}", t.toString());
-                        }
+                        lifecycle.publish(com.spectrayan.sse.server.events.SseDisconnectedEvent.class,
+                                () -> new com.spectrayan.sse.server.events.SseDisconnectedEvent(sessionId, topic, remote, ex));
                     })
                     .onErrorResume(ex -> errorMapper != null ? errorMapper.map(ex, ctx) : Mono.deferContextual(view -> {
                         if (ex instanceof SseException se) return Mono.just(ErrorEvents.fromException(se, topic, view));
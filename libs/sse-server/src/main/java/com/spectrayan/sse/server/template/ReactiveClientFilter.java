@@ -0,0 +1,33 @@
+package com.spectrayan.sse.server.template;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking strategy to decide whether a client connection should be allowed.
+ * <p>
+ * Unlike {@link ClientFilter}, the decision is returned as a {@link Mono}, so implementations can
+ * perform token introspection or entitlement lookups without blocking the event loop. An empty
+ * {@code Mono} is treated as a rejection.
+ *
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface ReactiveClientFilter {
+    /**
+     * Decide whether to allow a new client connection described by the given context.
+     *
+     * @param ctx immutable description of the incoming connection
+     * @return a {@link Mono} emitting {@code true} to allow the connection or {@code false} to reject it
+     */
+    Mono<Boolean> allow(SseConnectContext ctx);
+
+    /**
+     * Adapt a synchronous {@link ClientFilter}.
+     *
+     * @param filter the synchronous filter
+     * @return a reactive filter evaluating {@code filter} on subscription
+     */
+    static ReactiveClientFilter of(ClientFilter filter) {
+        return ctx -> Mono.fromCallable(() -> filter.allow(ctx));
+    }
+}
@@ -1,5 +1,7 @@
 package com.spectrayan.sse.server.template;
 
+import reactor.core.publisher.Flux;
+
 import java.util.Optional;
 
 /**
@@ -15,4 +17,17 @@ public interface ReconnectPolicy {
      * @return an optional delay in milliseconds; empty to omit the retry directive
      */
     Optional<Long> retryDelayMillis(SseConnectContext ctx);
+
+    /**
+     * Updated reconnection delays to advertise while the stream is open, e.g. when node load changes.
+     * Each element is sent as a {@code retry: <millis>} line; the stream stops with the connection.
+     *
+     * @param ctx connection context
+     * @return delays in milliseconds; {@link Flux#empty()} (the default) for no mid-stream updates, which
+     *         keeps the stream free of the merge that carries updates
+     * @since 2.1.0
+     */
+    default Flux<Long> retryUpdates(SseConnectContext ctx) {
+        return Flux.empty();
+    }
 }
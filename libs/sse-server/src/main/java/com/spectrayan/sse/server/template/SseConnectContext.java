@@ -11,6 +11,7 @@ import java.util.Map;
  * @param remoteAddress textual representation of the client address
  * @param requestHeaders read-only snapshot of inbound HTTP headers
  * @param attributes arbitrary attributes associated with the request/session
+ * @param principal name of the authenticated principal, or {@code null} for anonymous connections
  */
 public record SseConnectContext(
         String topic,
@@ -18,6 +19,21 @@ public record SseConnectContext(
         String lastEventId,
         String remoteAddress,
         Map<String, String> requestHeaders,
-        Map<String, Object> attributes
+        Map<String, Object> attributes,
+        String principal
 ) {
+    /**
+     * Create a context for an anonymous connection.
+     *
+     * @param topic the requested topic identifier
+     * @param sessionId unique id assigned to this session (may be generated)
+     * @param lastEventId value of the {@code Last-Event-ID} header if provided by the client
+     * @param remoteAddress textual representation of the client address
+     * @param requestHeaders read-only snapshot of inbound HTTP headers
+     * @param attributes arbitrary attributes associated with the request/session
+     */
+    public SseConnectContext(String topic, String sessionId, String lastEventId, String remoteAddress,
+                             Map<String, String> requestHeaders, Map<String, Object> attributes) {
+        this(topic, sessionId, lastEventId, remoteAddress, requestHeaders, attributes, null);
+    }
 }
@@ -20,6 +20,15 @@ public interface SseTemplateBuilder {
      */
     SseTemplateBuilder clientFilter(ClientFilter clientFilter);
 
+    /**
+     * Set a non-blocking {@link ReactiveClientFilter} consulted after the synchronous {@link ClientFilter}.
+     *
+     * @param reactiveClientFilter filter invoked per connection; {@code null} disables reactive admission
+     * @return this builder for chaining
+     * @since 2.1.0
+     */
+    SseTemplateBuilder reactiveClientFilter(ReactiveClientFilter reactiveClientFilter);
+
     /**
      * Configure the {@link ReconnectPolicy} that advertises retry delays.
      *
@@ -0,0 +1,139 @@
+package com.spectrayan.sse.server.template.impl;
+
+import com.spectrayan.sse.server.template.ReactiveClientFilter;
+import com.spectrayan.sse.server.template.SseConnectContext;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ReactiveClientFilter} decorator that caches admission decisions per (principal, topic).
+ * <p>
+ * Behavior:
+ * - Decisions (allow and deny) are cached for the configured TTL, measured from when the decision resolved.
+ * - Concurrent checks for the same key share one in-flight delegate call (single-flight), so a reconnect
+ *   storm of N clients for the same principal and topic results in a single entitlement lookup.
+ * - Errors are never cached; the failing call is shared by the waiters that joined it, and the next check
+ *   re-invokes the delegate.
+ * - Anonymous connections (no principal) bypass the cache because they share no identity to key on.
+ * - The cache holds at most {@code maxEntries} keys; when full, expired entries are purged first and, if
+ *   still needed, arbitrary resolved entries are evicted. In-flight lookups are never evicted, so waiters
+ *   keep sharing them; while they are outstanding the cache may briefly exceed {@code maxEntries}.
+ */
+public class CachingReactiveClientFilter implements ReactiveClientFilter {
+
+    private final ReactiveClientFilter delegate;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<Key, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Create a caching filter.
+     *
+     * @param delegate   filter computing the actual decision
+     * @param ttl        how long a resolved decision is reused; must be positive
+     * @param maxEntries upper bound on cached (principal, topic) keys; must be positive
+     */
+    public CachingReactiveClientFilter(ReactiveClientFilter delegate, Duration ttl, int maxEntries) {
+        this(delegate, ttl, maxEntries, System::nanoTime);
+    }
+
+    CachingReactiveClientFilter(ReactiveClientFilter delegate, Duration ttl, int maxEntries, LongSupplier clock) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Boolean> allow(SseConnectContext ctx) {
+        String principal = ctx.principal();
+        if (principal == null || principal.isBlank()) {
+            return delegate.allow(ctx);
+        }
+        return Mono.defer(() -> lookup(new Key(principal, ctx.topic()), ctx));
+    }
+
+    /**
+     * Number of cached keys, including in-flight decisions.
+     *
+     * @return current cache size
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Drop all cached decisions, e.g. after entitlements changed.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private Mono<Boolean> lookup(Key key, SseConnectContext ctx) {
+        long now = clock.getAsLong();
+        Entry entry = cache.get(key);
+        if (entry == null || entry.isExpired(now)) {
+            if (entry == null && cache.size() >= maxEntries) {
+                evict(now);
+            }
+            entry = cache.compute(key, (k, existing) ->
+                    existing != null && !existing.isExpired(now) ? existing : newEntry(k, ctx));
+        }
+        return entry.decision;
+    }
+
+    private Entry newEntry(Key key, SseConnectContext ctx) {
+        Entry entry = new Entry();
+        entry.decision = Mono.defer(() -> delegate.allow(ctx))
+                .defaultIfEmpty(Boolean.FALSE)
+                .doOnNext(v -> entry.expiresAt = clock.getAsLong() + ttlNanos)
+                .doOnError(e -> cache.remove(key, entry))
+                .cache();
+        return entry;
+    }
+
+    private void evict(long now) {
+        cache.values().removeIf(e -> e.isExpired(now));
+        int excess = cache.size() - maxEntries + 1;
+        if (excess > 0) {
+            Iterator<Map.Entry<Key, Entry>> it = cache.entrySet().iterator();
+            while (excess > 0 && it.hasNext()) {
+                Map.Entry<Key, Entry> e = it.next();
+                if (e.getValue().isResolved()) {
+                    it.remove();
+                    excess--;
+                }
+            }
+        }
+    }
+
+    private record Key(String principal, String topic) {}
+
+    private static final class Entry {
+        Mono<Boolean> decision;
+        /** 0 while the decision is in flight. */
+        volatile long expiresAt;
+
+        boolean isResolved() {
+            return expiresAt != 0;
+        }
+
+        boolean isExpired(long now) {
+            long at = expiresAt;
+            return at != 0 && now - at >= 0;
+        }
+    }
+}
@@ -19,11 +19,12 @@ public class DefaultSseTemplateBuilder implements SseTemplateBuilder {
     private final ObjectProvider<SseStreamCustomizer> streamCustomizers;
     private final ObjectProvider<SseHeaderCustomizer> headerCustomizers;
     private final ObjectProvider<SseEndpointCustomizer> endpointCustomizers;
-    private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher lifecycle;
     private final com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator;
 
     private EventSerializer serializer;
     private ClientFilter clientFilter;
+    private ReactiveClientFilter reactiveClientFilter;
     private ReconnectPolicy reconnectPolicy;
     private HeartbeatPolicy heartbeatPolicy;
     private ErrorMapper errorMapper;
@@ -62,6 +63,47 @@ public class DefaultSseTemplateBuilder implements SseTemplateBuilder {
             HeartbeatPolicy heartbeatPolicy,
             ErrorMapper errorMapper,
             ConnectionRegistry connectionRegistry
+    ) {
+        this(emitter, headerHandler, props, streamCustomizers, headerCustomizers, endpointCustomizers,
+                com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher.sync(eventPublisher), sessionIdGenerator,
+                serializer, clientFilter, reconnectPolicy, heartbeatPolicy, errorMapper, connectionRegistry);
+    }
+
+    /**
+     * Create a builder for {@link com.spectrayan.sse.server.template.DefaultSseTemplate} publishing
+     * lifecycle events through a dispatcher.
+     *
+     * @param emitter low-level emitter used by the template
+     * @param headerHandler helper to apply standard SSE headers
+     * @param props configuration properties
+     * @param streamCustomizers optional provider of stream customizers
+     * @param headerCustomizers optional provider of header customizers
+     * @param endpointCustomizers optional provider of endpoint customizers
+     * @param lifecycle dispatcher publishing session lifecycle events
+     * @param sessionIdGenerator generator for session identifiers
+     * @param serializer event serializer strategy
+     * @param clientFilter connection admission strategy
+     * @param reconnectPolicy retry advertisement policy
+     * @param heartbeatPolicy heartbeat production policy
+     * @param errorMapper error mapping strategy
+     * @param connectionRegistry registry exposing topic/session information
+     * @since 2.1.0
+     */
+    public DefaultSseTemplateBuilder(
+            SseEmitter emitter,
+            SseHeaderHandler headerHandler,
+            SseServerProperties props,
+            ObjectProvider<SseStreamCustomizer> streamCustomizers,
+            ObjectProvider<SseHeaderCustomizer> headerCustomizers,
+            ObjectProvider<SseEndpointCustomizer> endpointCustomizers,
+            com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher lifecycle,
+            com.spectrayan.sse.server.customize.SessionIdGenerator sessionIdGenerator,
+            EventSerializer serializer,
+            ClientFilter clientFilter,
+            ReconnectPolicy reconnectPolicy,
+            HeartbeatPolicy heartbeatPolicy,
+            ErrorMapper errorMapper,
+            ConnectionRegistry connectionRegistry
     ) {
         this.emitter = emitter;
         this.headerHandler = headerHandler;
@@ -69,7 +111,7 @@ public class DefaultSseTemplateBuilder implements SseTemplateBuilder {
         this.streamCustomizers = streamCustomizers;
         this.headerCustomizers = headerCustomizers;
         this.endpointCustomizers = endpointCustomizers;
-        this.eventPublisher = eventPublisher;
+        this.lifecycle = lifecycle;
         this.sessionIdGenerator = sessionIdGenerator;
         this.serializer = serializer;
         this.clientFilter = clientFilter;
@@ -85,6 +127,9 @@ public class DefaultSseTemplateBuilder implements SseTemplateBuilder {
     @Override
     public SseTemplateBuilder clientFilter(ClientFilter clientFilter) { this.clientFilter = clientFilter; return this; }
 
+    @Override
+    public SseTemplateBuilder reactiveClientFilter(ReactiveClientFilter reactiveClientFilter) { this.reactiveClientFilter = reactiveClientFilter; return this; }
+
     @Override
     public SseTemplateBuilder reconnectPolicy(ReconnectPolicy reconnectPolicy) { this.reconnectPolicy = reconnectPolicy; return this; }
 
@@ -106,10 +151,11 @@ public class DefaultSseTemplateBuilder implements SseTemplateBuilder {
                 streamCustomizers,
                 headerCustomizers,
                 endpointCustomizers,
-                eventPublisher,
+                lifecycle,
                 sessionIdGenerator,
                 serializer,
                 clientFilter,
+                reactiveClientFilter,
                 reconnectPolicy,
                 heartbeatPolicy,
                 errorMapper,
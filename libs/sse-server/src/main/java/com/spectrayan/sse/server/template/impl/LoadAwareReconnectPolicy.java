@@ -0,0 +1,150 @@
+package com.spectrayan.sse.server.template.impl;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.template.ReconnectPolicy;
+import com.spectrayan.sse.server.template.SseConnectContext;
+import reactor.core.publisher.Flux;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Reconnect policy that spreads reconnects over time: the advertised {@code retry:} delay is randomized per
+ * connection and grows with node load.
+ * <p>
+ * Behavior ({@code spectrayan.sse.server.reconnect.*}, base delay {@code stream.retry}):
+ * - Load is the highest of: connect rate / {@code target-connect-rate}, active connections /
+ *   {@code target-connections} and process CPU / {@code cpu-threshold}; unset (zero) targets are ignored.
+ *   Connect rate counts calls to {@link #retryDelayMillis}, which happen once per connect.
+ * - Delay = base &times; (1 + ({@code max-multiplier} - 1) &times; min(load, 1)), then spread uniformly by
+ *   &plusmn;{@code jitter} so clients that dropped together do not come back together.
+ * - Every {@code update-interval} (starting at a random offset per connection) the load is re-sampled and a new
+ *   {@code retry:} line is sent when the load moved to another band since it was last advertised. There are five
+ *   bands: four quarters of the target load, and at or above the target, where the delay is at its maximum.
+ * - Load is sampled at most once per second on the calling thread; no background threads.
+ */
+public class LoadAwareReconnectPolicy implements ReconnectPolicy {
+
+    private static final long SAMPLE_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+    /** Quarters of the target load; {@link #band} adds one more for load at or above the target. */
+    private static final int QUARTERS = 4;
+
+    private final SseServerProperties.Stream stream;
+    private final SseServerProperties.Reconnect reconnect;
+    private final IntSupplier activeConnections;
+    private final DoubleSupplier cpuLoad;
+    private final LongSupplier clock;
+
+    private final LongAdder connects = new LongAdder();
+    private final AtomicLong sampledAt;
+    private volatile long connectsAtSample;
+    private volatile double load;
+
+    /**
+     * Create a load-aware policy.
+     *
+     * @param props             server properties ({@code stream.retry} and {@code reconnect.*})
+     * @param activeConnections current number of open SSE connections on this node
+     */
+    public LoadAwareReconnectPolicy(SseServerProperties props, IntSupplier activeConnections) {
+        this(props, activeConnections, LoadAwareReconnectPolicy::processCpuLoad, System::nanoTime);
+    }
+
+    LoadAwareReconnectPolicy(SseServerProperties props, IntSupplier activeConnections,
+                             DoubleSupplier cpuLoad, LongSupplier clock) {
+        this.stream = props.getStream();
+        this.reconnect = props.getReconnect();
+        this.activeConnections = activeConnections != null ? activeConnections : () -> 0;
+        this.cpuLoad = cpuLoad;
+        this.clock = clock;
+        this.sampledAt = new AtomicLong(clock.getAsLong());
+    }
+
+    @Override
+    public Optional<Long> retryDelayMillis(SseConnectContext ctx) {
+        connects.increment();
+        if (!stream.isRetryEnabled() || stream.getRetry() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(delayMillis(load()));
+    }
+
+    @Override
+    public Flux<Long> retryUpdates(SseConnectContext ctx) {
+        Duration interval = reconnect.getUpdateInterval();
+        if (!stream.isRetryEnabled() || stream.getRetry() == null
+                || interval == null || interval.isZero() || interval.isNegative()) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            AtomicInteger advertised = new AtomicInteger(band(load()));
+            Duration offset = Duration.ofMillis(ThreadLocalRandom.current().nextLong(interval.toMillis() + 1));
+            return Flux.interval(offset, interval)
+                    .map(tick -> load())
+                    .filter(current -> advertised.getAndSet(band(current)) != band(current))
+                    .map(this::delayMillis);
+        });
+    }
+
+    /**
+     * Current load estimate, {@code 0} when idle and {@code 1} at or above the first configured target.
+     *
+     * @return load, possibly above {@code 1}
+     */
+    public double load() {
+        long now = clock.getAsLong();
+        long last = sampledAt.get();
+        long elapsed = now - last;
+        if (elapsed >= SAMPLE_INTERVAL_NANOS && sampledAt.compareAndSet(last, now)) {
+            long total = connects.sum();
+            double rate = (total - connectsAtSample) * 1e9 / elapsed;
+            connectsAtSample = total;
+            load = sample(rate);
+        }
+        return load;
+    }
+
+    private double sample(double connectRate) {
+        double l = 0;
+        if (reconnect.getTargetConnectRate() > 0) {
+            l = Math.max(l, connectRate / reconnect.getTargetConnectRate());
+        }
+        if (reconnect.getTargetConnections() > 0) {
+            l = Math.max(l, (double) activeConnections.getAsInt() / reconnect.getTargetConnections());
+        }
+        if (reconnect.getCpuThreshold() > 0) {
+            double cpu = cpuLoad.getAsDouble();
+            if (cpu >= 0) l = Math.max(l, cpu / reconnect.getCpuThreshold());
+        }
+        return l;
+    }
+
+    long delayMillis(double load) {
+        double factor = 1 + (Math.max(1, reconnect.getMaxMultiplier()) - 1) * Math.min(1, Math.max(0, load));
+        double delay = stream.getRetry().toMillis() * factor;
+        double jitter = Math.min(1, Math.max(0, reconnect.getJitter()));
+        if (jitter > 0) {
+            delay *= 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        }
+        return Math.max(1, Math.round(delay));
+    }
+
+    private static int band(double load) {
+        return (int) (Math.min(1, Math.max(0, load)) * QUARTERS);
+    }
+
+    private static double processCpuLoad() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuLoad();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,83 @@
+package com.spectrayan.sse.server.topic;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Declarative upstream for one or more SSE topics.
+ * <p>
+ * Instead of pushing into a topic with {@code SseEmitter#emit}, an application can register a
+ * {@code TopicSource} bean that maps a topic pattern to a publisher factory. The emitter subscribes
+ * to the upstream lazily when the first client connects to a matching topic, shares it with every
+ * subscriber of that topic, and cancels it once the last subscriber has left (after the configured
+ * {@code spectrayan.sse.server.topics.source-linger}).
+ * <p>
+ * Elements that are already {@link org.springframework.http.codec.ServerSentEvent} instances are
+ * delivered as-is; any other element is wrapped as the {@code data} of a new event.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * @Bean
+ * TopicSource pricesSource(PriceFeed feed) {
+ *     return TopicSource.of("^prices\\..+$", topic -> feed.stream(topic.substring("prices.".length())));
+ * }
+ * }</pre>
+ *
+ * @since 2.1.0
+ */
+public interface TopicSource {
+
+    /**
+     * Regular expression that topics served by this source must fully match.
+     *
+     * @return the topic pattern; never {@code null}
+     */
+    Pattern pattern();
+
+    /**
+     * Open the upstream for a concrete topic. Invoked at most once per activation of the topic,
+     * i.e. when its first subscriber arrives and no upstream is currently running.
+     *
+     * @param topic the topic identifier matched by {@link #pattern()}
+     * @return the upstream publisher; must not be {@code null}
+     */
+    Flux<?> open(String topic);
+
+    /**
+     * Whether this source serves the given topic.
+     *
+     * @param topic topic identifier
+     * @return {@code true} if {@link #pattern()} matches the whole topic
+     */
+    default boolean matches(String topic) {
+        return topic != null && pattern().matcher(topic).matches();
+    }
+
+    /**
+     * Create a source from a regular expression and a publisher factory.
+     *
+     * @param regex    topic pattern; must fully match the topic identifier
+     * @param upstream factory invoked with the concrete topic on activation
+     * @param <T>      element type of the upstream
+     * @return a new {@code TopicSource}
+     */
+    static <T> TopicSource of(String regex, Function<String, Flux<T>> upstream) {
+        Objects.requireNonNull(regex, "regex");
+        Objects.requireNonNull(upstream, "upstream");
+        Pattern compiled = Pattern.compile(regex);
+        return new TopicSource() {
+            @Override
+            public Pattern pattern() {
+                return compiled;
+            }
+
+            @Override
+            public Flux<?> open(String topic) {
+                return upstream.apply(topic);
+            }
+        };
+    }
+}
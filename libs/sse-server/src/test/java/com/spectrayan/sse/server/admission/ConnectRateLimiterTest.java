@@ -0,0 +1,91 @@
+package com.spectrayan.sse.server.admission;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private static SseServerProperties.Admission admission(double globalRate, int globalBurst, double clientRate, int clientBurst) {
+        SseServerProperties.Admission a = new SseServerProperties.Admission();
+        a.setGlobalRate(globalRate);
+        a.setGlobalBurst(globalBurst);
+        a.setPerClientRate(clientRate);
+        a.setPerClientBurst(clientBurst);
+        return a;
+    }
+
+    @Test
+    void globalBucketAdmitsBurstThenRefillsAtRate() {
+        ConnectRateLimiter limiter = new ConnectRateLimiter(admission(10, 5, 0, 1), clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquireGlobal(), "burst connect " + i);
+        }
+        long wait = limiter.tryAcquireGlobal();
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(100), "wait=" + wait);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, limiter.tryAcquireGlobal(), "one token refilled after 1/rate");
+        assertTrue(limiter.tryAcquireGlobal() > 0);
+    }
+
+    @Test
+    void perClientBucketsAreIndependentPerKey() {
+        ConnectRateLimiter limiter = new ConnectRateLimiter(admission(0, 1, 1, 2), clock::get);
+
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1") > 0);
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.2"));
+    }
+
+    @Test
+    void disabledBucketsAlwaysAdmit() {
+        ConnectRateLimiter limiter = new ConnectRateLimiter(admission(0, 1, 0, 1), clock::get);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquireGlobal());
+            assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        }
+        assertFalse(limiter.perClientEnabled());
+    }
+
+    @Test
+    void releasedTokensAreAvailableAgain() {
+        ConnectRateLimiter limiter = new ConnectRateLimiter(admission(1, 1, 1, 1), clock::get);
+
+        assertEquals(0, limiter.tryAcquireGlobal());
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        limiter.releaseGlobal();
+        limiter.release("ip:10.0.0.1");
+
+        assertEquals(0, limiter.tryAcquireGlobal());
+        assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+        assertTrue(limiter.tryAcquireGlobal() > 0);
+    }
+
+    @Test
+    void clientKeysSpreadOverTheSlotsByTheirHighHashBits() {
+        SseServerProperties.Admission admission = admission(0, 1, 1, 1);
+        admission.setClientSlots(1024);
+        ConnectRateLimiter limiter = new ConnectRateLimiter(admission, clock::get);
+
+        java.util.Set<Integer> slots = new java.util.HashSet<>();
+        for (int i = 0; i < 512; i++) {
+            int slot = limiter.slot("ip:10.0." + (i >> 8) + "." + (i & 0xFF));
+            assertTrue(slot >= 0 && slot < 1024, "slot " + slot);
+            slots.add(slot);
+        }
+        // Random placement of 512 keys into 1024 cells leaves about 400 distinct cells
+        assertTrue(slots.size() > 350, "distinct slots " + slots.size());
+
+        admission.setClientSlots(1);
+        assertEquals(0, new ConnectRateLimiter(admission, clock::get).slot("ip:10.0.0.1"));
+    }
+}
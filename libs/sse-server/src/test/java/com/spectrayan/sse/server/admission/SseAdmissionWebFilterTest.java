@@ -0,0 +1,136 @@
+package com.spectrayan.sse.server.admission;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseAdmissionWebFilterTest {
+
+    private final AtomicInteger passed = new AtomicInteger();
+    private final WebFilterChain chain = e -> {
+        passed.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private static SseServerProperties props(double globalRate, int globalBurst, double clientRate, int clientBurst) {
+        SseServerProperties props = new SseServerProperties();
+        SseServerProperties.Admission a = props.getAdmission();
+        a.setEnabled(true);
+        a.setGlobalRate(globalRate);
+        a.setGlobalBurst(globalBurst);
+        a.setPerClientRate(clientRate);
+        a.setPerClientBurst(clientBurst);
+        a.setRetryJitter(Duration.ZERO);
+        return props;
+    }
+
+    private static MockServerWebExchange connect(String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/sse/news")
+                .remoteAddress(new InetSocketAddress(ip, 50000)));
+    }
+
+    @Test
+    void rejectsConnectsBeyondGlobalBurstWith503AndRetryAfter() {
+        SseAdmissionWebFilter filter = new SseAdmissionWebFilter(props(1, 2, 0, 1));
+
+        filter.filter(connect("10.0.0.1"), chain).block();
+        filter.filter(connect("10.0.0.2"), chain).block();
+        MockServerWebExchange rejected = connect("10.0.0.3");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(2, passed.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        long retryAfter = Long.parseLong(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, retryAfter);
+    }
+
+    @Test
+    void rejectsRepeatedConnectsFromTheSameIp() {
+        SseAdmissionWebFilter filter = new SseAdmissionWebFilter(props(0, 1, 1, 1));
+
+        filter.filter(connect("10.0.0.1"), chain).block();
+        MockServerWebExchange rejected = connect("10.0.0.1");
+        filter.filter(rejected, chain).block();
+        filter.filter(connect("10.0.0.2"), chain).block();
+
+        assertEquals(2, passed.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+    }
+
+    @Test
+    void rejectsRepeatedConnectsFromTheSamePrincipal() {
+        SseServerProperties props = props(0, 1, 1, 1);
+        props.getAdmission().setPerIp(false);
+        SseAdmissionWebFilter filter = new SseAdmissionWebFilter(props);
+        Principal alice = () -> "alice";
+
+        filter.filter(connect("10.0.0.1").mutate().principal(Mono.just(alice)).build(), chain).block();
+        ServerWebExchange rejected = connect("10.0.0.2").mutate().principal(Mono.just(alice)).build();
+        filter.filter(rejected, chain).block();
+
+        assertEquals(1, passed.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+    }
+
+    @Test
+    void connectsRejectedByALaterBucketKeepTheirClientTokens() {
+        SseServerProperties props = props(1, 1, 0.01, 1);
+        AtomicLong clock = new AtomicLong();
+        SseAdmissionWebFilter filter = new SseAdmissionWebFilter(props,
+                new ConnectRateLimiter(props.getAdmission(), clock::get));
+
+        filter.filter(connect("10.0.0.1"), chain).block();
+        MockServerWebExchange rejected = connect("10.0.0.2");
+        filter.filter(rejected, chain).block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        MockServerWebExchange retried = connect("10.0.0.2");
+        filter.filter(retried, chain).block();
+
+        assertEquals(2, passed.get());
+        assertNull(retried.getResponse().getStatusCode());
+    }
+
+    @Test
+    void sseRetryRejectionAnswersWithRetryHint() {
+        SseServerProperties props = props(1, 1, 0, 1);
+        props.getAdmission().setRejection(SseServerProperties.Admission.Rejection.SSE_RETRY);
+        SseAdmissionWebFilter filter = new SseAdmissionWebFilter(props);
+
+        filter.filter(connect("10.0.0.1"), chain).block();
+        MockServerWebExchange rejected = connect("10.0.0.2");
+        filter.filter(rejected, chain).block();
+
+        assertEquals(HttpStatus.OK, rejected.getResponse().getStatusCode());
+        assertEquals(MediaType.TEXT_EVENT_STREAM, rejected.getResponse().getHeaders().getContentType());
+        String body = rejected.getResponse().getBodyAsString().block();
+        assertNotNull(body);
+        assertTrue(body.matches("retry: \\d+\\n\\n"), body);
+    }
+
+    @Test
+    void ignoresRequestsOutsideTheSseBasePath() {
+        SseAdmissionWebFilter filter = new SseAdmissionWebFilter(props(1, 1, 0, 1));
+        for (int i = 0; i < 5; i++) {
+            filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/other")), chain).block();
+        }
+        assertEquals(5, passed.get());
+    }
+}
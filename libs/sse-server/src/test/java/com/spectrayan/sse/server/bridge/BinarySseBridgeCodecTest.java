@@ -0,0 +1,110 @@
+package com.spectrayan.sse.server.bridge;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinarySseBridgeCodecTest {
+
+    private final BinarySseBridgeCodec codec = new BinarySseBridgeCodec();
+
+    @Test
+    void singleMessageRoundTripsAsBatchOfOne() {
+        var msg = new SseBridgeMessage("node-a", "orders", "created", "{\"id\":1}", "42", 1_700_000_000_000L);
+
+        SseBridgeBatch decoded = codec.decode(codec.encode(msg));
+
+        assertEquals("node-a", decoded.originInstanceId());
+        assertEquals(List.of(msg), decoded.messages());
+    }
+
+    @Test
+    void batchKeepsOrderAndTimestampsGoingBackwards() {
+        var batch = new SseBridgeBatch("node-a", List.of(
+                new SseBridgeMessage("node-a", "t1", "e", "one", "1", 1_000L),
+                new SseBridgeMessage("node-a", "t2", null, "two", null, 1_005L),
+                new SseBridgeMessage("node-a", "t1", "e", null, "3", 990L)));
+
+        assertEquals(batch.messages(), codec.decode(codec.encode(batch)).messages());
+    }
+
+    @Test
+    void sequencesRoundTripAndVersionOneFramesDecodeUnsequenced() {
+        var batch = new SseBridgeBatch("node-a", List.of(
+                new SseBridgeMessage("node-a", "t", null, "one", null, 1L, 41L),
+                new SseBridgeMessage("node-a", "t", null, "two", null, 1L, 42L)));
+        byte[] v1 = {(byte) 0xB5, 1, 1, 6, 'n', 'o', 'd', 'e', '-', 'a', 1, 0, 1, 't', 0, 0, 5, 5, 'd', 'a', 't', 'a'};
+
+        assertEquals(batch.messages(), codec.decode(codec.encode(batch)).messages());
+        assertEquals(List.of(new SseBridgeMessage("node-a", "t", null, "data", null, 5L)), codec.decode(v1).messages());
+    }
+
+    @Test
+    void originIsWrittenOncePerFrame() {
+        var batch = new SseBridgeBatch("a-rather-long-instance-identifier", List.of(
+                new SseBridgeMessage("a-rather-long-instance-identifier", "t", null, "x", null, 1L),
+                new SseBridgeMessage("a-rather-long-instance-identifier", "t", null, "y", null, 1L)));
+
+        byte[] frame = codec.encode(batch);
+        byte[] origin = "a-rather-long-instance-identifier".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(1, occurrences(frame, origin));
+        SseBridgeBatch decoded = codec.decode(frame);
+        assertSame(decoded.messages().get(0).originInstanceId(), decoded.messages().get(1).originInstanceId());
+    }
+
+    @Test
+    void nonTextPayloadTravelsAsJsonText() {
+        var msg = new SseBridgeMessage("node-a", "t", "e", Map.of("price", 10), "1", 1L);
+
+        Object payload = codec.decode(codec.encode(msg)).messages().get(0).payload();
+
+        assertEquals("{\"price\":10}", payload);
+    }
+
+    @Test
+    void rejectsForeignAndTruncatedFrames() {
+        byte[] frame = codec.encode(new SseBridgeMessage("node-a", "t", "e", "data", "1", 1L));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode("{\"topic\":\"t\"}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(Arrays.copyOf(frame, frame.length - 2)));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[0]));
+    }
+
+    @Test
+    void jsonCodecRoundTripsMessagesAndBatches() {
+        var json = new JsonSseBridgeCodec();
+        var msg = new SseBridgeMessage("node-a", "t", "e", "data", "1", 1L);
+        var batch = new SseBridgeBatch("node-a", List.of(msg, new SseBridgeMessage("node-a", "t", "e", "more", "2", 2L)));
+
+        assertEquals(List.of(msg), json.decode(json.encode(msg)).messages());
+        assertEquals(batch, json.decode(json.encode(batch)));
+        assertThrows(IllegalArgumentException.class, () -> json.decode(codec.encode(msg)));
+    }
+
+    @Test
+    void jsonCodecKeepsTheUnsequencedFormatCompatible() {
+        var json = new JsonSseBridgeCodec();
+        var sequenced = new SseBridgeMessage("node-a", "t", "e", "data", "1", 1L, 7L);
+
+        assertFalse(new String(json.encode(new SseBridgeMessage("node-a", "t", "e", "data", "1", 1L)),
+                StandardCharsets.UTF_8).contains("sequence"));
+        assertEquals(List.of(sequenced), json.decode(json.encode(sequenced)).messages());
+        assertEquals(0L, json.decode(("{\"originInstanceId\":\"node-a\",\"topic\":\"t\",\"payload\":\"x\","
+                + "\"timestamp\":1}").getBytes(StandardCharsets.UTF_8)).messages().get(0).sequence());
+    }
+
+    private static int occurrences(byte[] data, byte[] needle) {
+        int count = 0;
+        for (int i = 0; i + needle.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + needle.length, needle, 0, needle.length)) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,98 @@
+package com.spectrayan.sse.server.bridge;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the binary and JSON bridge codecs for a small and a large payload: frame size, and heap allocated per
+ * round trip (encode, decode and the SSE data text the receiver writes), measured on the benchmark thread. Both
+ * codecs must deliver the same SSE data text; the receiver side of the JSON codec can only produce it by
+ * serializing the decoded payload again.
+ */
+class BridgeCodecBenchmarkTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+    private static final int WARMUP = 2_000;
+    private static final int ROUND_TRIPS = 2_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void binaryFramesAreSmallerAndDeliverTheSameData() {
+        for (Object payload : payloads()) {
+            var binary = new BinarySseBridgeCodec();
+            var json = new JsonSseBridgeCodec();
+            var batch = batch(payload);
+
+            byte[] binaryFrame = binary.encode(batch);
+            byte[] jsonFrame = json.encode(batch);
+
+            assertTrue(binaryFrame.length < jsonFrame.length, "binary " + binaryFrame.length + " vs json " + jsonFrame.length);
+            assertEquals(data(json.decode(jsonFrame)), data(binary.decode(binaryFrame)));
+        }
+    }
+
+    @Test
+    void binaryRoundTripsAllocateLessThanJson() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled());
+
+        for (Object payload : payloads()) {
+            var batch = batch(payload);
+            long binary = bytesPerRoundTrip(new BinarySseBridgeCodec(), batch);
+            long json = bytesPerRoundTrip(new JsonSseBridgeCodec(), batch);
+
+            assertTrue(binary < json, "binary " + binary + " vs json " + json + " bytes per round trip");
+        }
+    }
+
+    private static List<Object> payloads() {
+        Map<String, Object> small = Map.of("price", 101.25, "symbol", "ACME");
+        List<Map<String, Object>> large = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            large.add(Map.of("id", i, "name", "item-" + i, "tags", List.of("a", "b", "c")));
+        }
+        return List.of(small, large);
+    }
+
+    private static long bytesPerRoundTrip(SseBridgeCodec codec, SseBridgeBatch batch) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertFalse(data(codec.decode(codec.encode(batch))).isEmpty());
+        }
+        int delivered = 0;
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            delivered += data(codec.decode(codec.encode(batch))).size();
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+        assertEquals(ROUND_TRIPS * batch.messages().size(), delivered);
+        return allocated / ROUND_TRIPS;
+    }
+
+    private static SseBridgeBatch batch(Object payload) {
+        List<SseBridgeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            messages.add(new SseBridgeMessage("9f1c2d4e-5a6b-4c7d-8e9f-0a1b2c3d4e5f", "prices",
+                    "tick", payload, Integer.toString(i), 1_700_000_000_000L + i));
+        }
+        return new SseBridgeBatch(messages.get(0).originInstanceId(), messages);
+    }
+
+    /** What the SSE writer emits for each remote event: its id and data text. */
+    private static List<String> data(SseBridgeBatch batch) {
+        List<String> data = new ArrayList<>();
+        for (SseBridgeMessage message : batch.messages()) {
+            Object payload = message.payload();
+            data.add(message.id() + ":" + (payload instanceof String text ? text : MAPPER.writeValueAsString(payload)));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,140 @@
+package com.spectrayan.sse.server.bridge;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseBridgeHealthTest {
+
+    private static final long OPEN = Duration.ofSeconds(5).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SseServerProperties.Bridge.Resilience config = new SseServerProperties.Bridge.Resilience();
+
+    private SseBridgeHealth health() {
+        config.setFailureThreshold(3);
+        return new SseBridgeHealth("test", config, clock::get);
+    }
+
+    @Test
+    void consecutiveFailuresOpenTheCircuitAndOneProbePerOpenDurationClosesIt() {
+        SseBridgeHealth health = health();
+        AtomicInteger catchUps = new AtomicInteger();
+        health.onRecovery(catchUps::incrementAndGet);
+
+        health.recordFailure(new IllegalStateException("down"));
+        health.recordFailure(new IllegalStateException("down"));
+        health.recordSuccess();
+        health.recordFailure(new IllegalStateException("down"));
+        health.recordFailure(new IllegalStateException("down"));
+        assertEquals(SseBridgeHealth.State.CLOSED, health.state());
+        health.recordFailure(new IllegalStateException("down"));
+        assertEquals(SseBridgeHealth.State.OPEN, health.state());
+        assertEquals(1, health.outages());
+        assertTrue(health.isLocalOnly());
+
+        assertFalse(health.allowRemote());
+        clock.addAndGet(OPEN);
+        assertTrue(health.allowRemote());
+        assertEquals(SseBridgeHealth.State.HALF_OPEN, health.state());
+        assertFalse(health.allowRemote());
+        health.recordFailure(new IllegalStateException("still down"));
+        assertEquals(SseBridgeHealth.State.OPEN, health.state());
+        assertFalse(health.allowRemote());
+        assertEquals(3, health.suspendedOperations());
+
+        clock.addAndGet(OPEN);
+        assertTrue(health.allowRemote());
+        health.recordSuccess();
+        assertEquals(SseBridgeHealth.State.CLOSED, health.state());
+        assertTrue(health.allowRemote());
+        assertEquals(1, catchUps.get());
+        assertEquals(2 * OPEN, health.outageNanos());
+        assertEquals(1, health.catchUps());
+        assertFalse(health.isLocalOnly());
+    }
+
+    @Test
+    void aLostSubscriptionKeepsTheCircuitOpenUntilItIsReestablished() {
+        SseBridgeHealth health = health();
+
+        health.subscriptionLost("sse-broadcast", new IllegalStateException("connection reset"));
+        health.subscriptionLost("sse-broadcast:interest", new IllegalStateException("connection reset"));
+        assertTrue(health.isLocalOnly());
+        health.recordSuccess();
+        assertTrue(health.isLocalOnly());
+
+        health.subscribed("sse-broadcast");
+        health.unsubscribed("sse-broadcast:interest");
+        assertFalse(health.isHealthy());
+        health.recordSuccess();
+        assertTrue(health.isHealthy());
+    }
+
+    @Test
+    void disabledCircuitBreakerAlwaysUsesTheBroker() {
+        config.setCircuitBreaker(false);
+        SseBridgeHealth health = health();
+
+        for (int i = 0; i < 10; i++) {
+            health.recordFailure(new IllegalStateException("down"));
+        }
+        health.subscriptionLost("sse-broadcast", new IllegalStateException("connection reset"));
+
+        assertTrue(health.allowRemote());
+        assertEquals(SseBridgeHealth.State.CLOSED, health.state());
+        assertFalse(health.isHealthy());
+    }
+
+    @Test
+    void failedSubscriptionsAreResubscribedWithBackoff() {
+        config.setRetryBackoff(Duration.ofMillis(1));
+        SseBridgeHealth health = health();
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> confirmed = new ArrayList<>();
+
+        // Each attempt is confirmed before it fails; only the last one stays subscribed
+        String received = Mono.defer(() -> Mono.just(attempts.incrementAndGet() < 3
+                        ? Flux.<String>error(new IllegalStateException("connection reset"))
+                        : Flux.just("frame")))
+                .doOnNext(frames -> {
+                    confirmed.add("sse-broadcast");
+                    health.subscribed("sse-broadcast");
+                })
+                .flatMapMany(frames -> frames)
+                .retryWhen(health.resubscribe("sse-broadcast"))
+                .blockFirst(Duration.ofSeconds(5));
+
+        assertEquals("frame", received);
+        assertEquals(3, confirmed.size());
+        assertEquals(2, health.resubscribes());
+        assertEquals(SseBridgeHealth.State.OPEN, health.state());
+        health.recordSuccess();
+        assertTrue(health.isHealthy());
+    }
+
+    @Test
+    void suspendedOperationsAreCountedAndFailWithoutAStackTrace() {
+        SseBridgeHealth health = health();
+        for (int i = 0; i < 3; i++) {
+            health.recordFailure(new IllegalStateException("down"));
+        }
+
+        SseBridgeHealth.SuspendedException error = assertThrows(SseBridgeHealth.SuspendedException.class,
+                () -> health.<Void>suspend(4).block());
+        assertThrows(SseBridgeHealth.SuspendedException.class, () -> health.<Void>suspend(1).block());
+
+        assertEquals(5, health.suspendedOperations());
+        assertEquals(0, error.getStackTrace().length);
+        assertEquals("SSE bridge test is delivering locally only", error.getMessage());
+    }
+}
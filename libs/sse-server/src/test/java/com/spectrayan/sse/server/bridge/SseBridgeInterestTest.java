@@ -0,0 +1,184 @@
+package com.spectrayan.sse.server.bridge;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseBridgeInterestTest {
+
+    private static final long REFRESH = Duration.ofSeconds(10).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private SseBridgeInterest interest(String instanceId, SseServerProperties.Bridge.Routing.Mode mode) {
+        SseServerProperties.Bridge bridge = new SseServerProperties.Bridge();
+        bridge.getRouting().setMode(mode);
+        bridge.getRouting().setShards(4);
+        return new SseBridgeInterest(instanceId, bridge, clock::get);
+    }
+
+    private SseBridgeInterest owning(String instanceId) {
+        SseServerProperties.Bridge bridge = new SseServerProperties.Bridge();
+        bridge.getRouting().setMode(SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        bridge.getRouting().setOwnership(true);
+        return new SseBridgeInterest(instanceId, bridge, clock::get);
+    }
+
+    @Test
+    void routesFollowTheMode() {
+        assertEquals("sse-broadcast", SseBridgeInterest.broadcast("a", "sse-broadcast").route("user-1"));
+        assertEquals("sse-broadcast:user-1", interest("a", SseServerProperties.Bridge.Routing.Mode.TOPIC).route("user-1"));
+        SseBridgeInterest sharded = interest("a", SseServerProperties.Bridge.Routing.Mode.SHARDED);
+        assertEquals("sse-broadcast:" + Math.floorMod("user-1".hashCode(), 4), sharded.route("user-1"));
+    }
+
+    @Test
+    void shardRoutesAreReferenceCountedOverLocalTopics() {
+        SseBridgeInterest sharded = interest("a", SseServerProperties.Bridge.Routing.Mode.SHARDED);
+        // "a" and "e" differ by 4 in hashCode, so they share a shard out of 4
+        assertEquals(sharded.route("a"), sharded.route("e"));
+
+        assertTrue(sharded.activate("a"));
+        assertFalse(sharded.activate("e"));
+        assertFalse(sharded.deactivate("a"));
+        assertTrue(sharded.serves(sharded.route("e")));
+        assertTrue(sharded.deactivate("e"));
+        assertFalse(sharded.deactivate("e"));
+        assertEquals(Set.of(), sharded.localRoutes());
+    }
+
+    @Test
+    void broadcastNeverSubscribesRoutesAndAlwaysPublishes() {
+        SseBridgeInterest broadcast = SseBridgeInterest.broadcast("a", "sse-broadcast");
+        assertFalse(broadcast.activate("t"));
+        assertFalse(broadcast.isRouted());
+        assertTrue(broadcast.hasRemoteInterest("t"));
+    }
+
+    @Test
+    void remoteInterestFollowsAnnouncementsAfterWarmUp() {
+        SseBridgeInterest a = interest("a", SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        SseBridgeInterest b = interest("b", SseServerProperties.Bridge.Routing.Mode.TOPIC);
+
+        // Before one refresh interval has passed nothing is skipped
+        assertTrue(a.hasRemoteInterest("user-1"));
+        clock.addAndGet(REFRESH);
+        assertFalse(a.hasRemoteInterest("user-1"));
+
+        assertTrue(b.activate("user-1"));
+        assertFalse(a.receive(b.joined(b.route("user-1"))));
+        assertTrue(a.hasRemoteInterest("user-1"));
+        assertFalse(a.hasRemoteInterest("user-2"));
+
+        assertTrue(b.deactivate("user-1"));
+        a.receive(b.left(b.route("user-1")));
+        assertFalse(a.hasRemoteInterest("user-1"));
+    }
+
+    @Test
+    void snapshotsReplaceRoutesAndSilentInstancesExpire() {
+        SseBridgeInterest a = interest("a", SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        SseBridgeInterest b = interest("b", SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        clock.addAndGet(REFRESH);
+
+        b.activate("user-1");
+        b.activate("user-2");
+        assertTrue(a.receive(b.syncRequest()));
+        assertTrue(a.hasRemoteInterest("user-2"));
+
+        b.deactivate("user-2");
+        assertFalse(a.receive(b.snapshot()));
+        assertTrue(a.hasRemoteInterest("user-1"));
+        assertFalse(a.hasRemoteInterest("user-2"));
+
+        clock.addAndGet(3 * REFRESH + 1);
+        assertFalse(a.hasRemoteInterest("user-1"));
+    }
+
+    @Test
+    void ownAnnouncementsAreIgnoredAndGarbageIsRejected() {
+        SseBridgeInterest a = interest("a", SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        clock.addAndGet(REFRESH);
+        a.activate("user-1");
+
+        assertFalse(a.receive(a.syncRequest()));
+        assertFalse(a.hasRemoteInterest("user-1"));
+        assertThrows(IllegalArgumentException.class, () -> a.receive(new byte[] {1, '+'}));
+        assertThrows(IllegalArgumentException.class, () -> a.receive(new byte[] {9}));
+    }
+
+    @Test
+    void membersAgreeOnOwnersAndAJoiningMemberTakesOverOnlyItsShare() {
+        SseBridgeInterest a = owning("a");
+        SseBridgeInterest b = owning("b");
+        SseBridgeInterest c = owning("c");
+        assertTrue(a.ownsTopic("user-1"));
+        assertEquals("sse-broadcast:owner:b", a.inbox("b"));
+
+        for (SseBridgeInterest member : List.of(a, b, c)) {
+            for (SseBridgeInterest other : List.of(a, b, c)) {
+                member.receive(other.snapshot());
+            }
+        }
+        assertEquals(List.of("a", "b", "c"), a.members());
+
+        Map<String, String> before = new HashMap<>();
+        Map<String, Integer> share = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String topic = "user-" + i;
+            String owner = a.owner(topic);
+            assertEquals(owner, b.owner(topic));
+            assertEquals(owner, c.owner(topic));
+            assertEquals(owner.equals("a"), a.ownsTopic(topic));
+            before.put(topic, owner);
+            share.merge(owner, 1, Integer::sum);
+        }
+        share.values().forEach(count -> assertTrue(count > 600, "unbalanced ring: " + share));
+
+        a.receive(owning("d").snapshot());
+        int moved = 0;
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            String owner = a.owner(entry.getKey());
+            if (!owner.equals(entry.getValue())) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 450 && moved < 1050, "moved " + moved + " of 3000 topics");
+    }
+
+    @Test
+    void farewellsHandTopicsOverAtOnceAndSilentMembersExpire() {
+        SseBridgeInterest a = owning("a");
+        SseBridgeInterest b = owning("b");
+        SseBridgeInterest c = owning("c");
+        a.receive(b.snapshot());
+        a.receive(c.snapshot());
+        assertEquals(List.of("a", "b", "c"), a.members());
+
+        a.receive(b.farewell());
+        assertEquals(List.of("a", "c"), a.members());
+
+        clock.addAndGet(3 * REFRESH + 1);
+        assertEquals(List.of("a"), a.members());
+        assertTrue(a.ownsTopic("user-1"));
+    }
+
+    @Test
+    void ownershipNeedsAnAnnouncingRoutingMode() {
+        SseBridgeInterest a = interest("a", SseServerProperties.Bridge.Routing.Mode.TOPIC);
+        a.receive(owning("b").snapshot());
+        assertFalse(a.isOwnership());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(a.ownsTopic("user-" + i));
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.spectrayan.sse.server.config;
 
+import com.spectrayan.sse.server.admission.SseAdmissionWebFilter;
+import com.spectrayan.sse.server.emitter.AbstractSseEmitter;
+import com.spectrayan.sse.server.emitter.SseEmitter;
 import com.spectrayan.sse.server.error.SseExceptionHandler;
+import com.spectrayan.sse.server.lifecycle.SseDrainLifecycle;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import com.spectrayan.sse.server.session.SseSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,6 +52,97 @@ class SseServerAutoConfigurationMoreTests {
                 .run(ctx -> assertThat(ctx).doesNotHaveBean(ReactorMdcConfiguration.class));
     }
 
+    @Test
+    void transportSettingsAreAppliedToNettyServer() {
+        baseRunner("spectrayan.sse.server.transport.tcp-no-delay=true",
+                "spectrayan.sse.server.transport.send-buffer-size=64KB",
+                "spectrayan.sse.server.transport.write-buffer-low-water-mark=32KB",
+                "spectrayan.sse.server.transport.write-buffer-high-water-mark=128KB",
+                "spectrayan.sse.server.transport.keep-alive=true",
+                "spectrayan.sse.server.transport.keep-alive-idle=60s",
+                "spectrayan.sse.server.transport.worker-threads=2",
+                "spectrayan.sse.server.transport.native-transport=false")
+                .run(ctx -> {
+                    SseTransportCustomizer customizer = ctx.getBean(SseTransportCustomizer.class);
+                    HttpServer server = customizer.apply(HttpServer.create());
+                    Map<ChannelOption<?>, ?> options = server.configuration().childOptions();
+
+                    assertThat(options.get(ChannelOption.TCP_NODELAY)).isEqualTo(true);
+                    assertThat(options.get(ChannelOption.SO_SNDBUF)).isEqualTo(64 * 1024);
+                    assertThat(options.get(ChannelOption.SO_KEEPALIVE)).isEqualTo(true);
+                    WriteBufferWaterMark mark = (WriteBufferWaterMark) options.get(ChannelOption.WRITE_BUFFER_WATER_MARK);
+                    assertThat(mark.low()).isEqualTo(32 * 1024);
+                    assertThat(mark.high()).isEqualTo(128 * 1024);
+                    assertThat(server.configuration().isPreferNative()).isFalse();
+                    assertThat(server.configuration().doOnChannelInit()).isNotNull();
+                });
+    }
+
+    @Test
+    void transportDefaultsLeaveServerUntouched() {
+        baseRunner().run(ctx -> {
+            HttpServer server = HttpServer.create();
+            HttpServer customized = ctx.getBean(SseTransportCustomizer.class).apply(server);
+            assertThat(customized).isSameAs(server);
+        });
+    }
+
+    @Test
+    void metricsSampleTheEmitterCreatedWithThem() {
+        baseRunner("spectrayan.sse.server.delivery.writability-backpressure=true",
+                "spectrayan.sse.server.liveness.enabled=true")
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(ctx -> {
+                    assertThat(ctx).hasNotFailed();
+                    SseEmitter emitter = ctx.getBean(SseEmitter.class);
+                    emitter.connect("t", SseSession.anonymous("t")).subscribe().dispose();
+                    emitter.connect("t", SseSession.anonymous("t")).subscribe();
+
+                    MeterRegistry meters = ctx.getBean(MeterRegistry.class);
+                    assertThat(meters.get("sse.topics.active").gauge().value()).isEqualTo(1.0);
+                    assertThat(meters.get("sse.subscribers.active").gauge().value()).isEqualTo(1.0);
+                    assertThat(meters.get("sse.connections.unwritable").gauge().value()).isZero();
+                    assertThat(meters.get("sse.connections.reclaimed").tag("reason", "write_idle").functionCounter().count())
+                            .isZero();
+                    assertThat(((AbstractSseEmitter) emitter).connectionWritability()).isNotNull();
+                    assertThat(((AbstractSseEmitter) emitter).connectionLiveness()).isNotNull();
+                });
+    }
+
+    @Test
+    void capacityMetricsCountTheEmitterRejections() {
+        baseRunner("spectrayan.sse.server.capacity.max-connections=1")
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(ctx -> {
+                    assertThat(ctx).hasNotFailed();
+                    SseEmitter emitter = ctx.getBean(SseEmitter.class);
+                    emitter.connect("t", SseSession.anonymous("t")).subscribe();
+                    emitter.connect("t", SseSession.anonymous("t")).subscribe(e -> {}, e -> {});
+
+                    MeterRegistry meters = ctx.getBean(MeterRegistry.class);
+                    assertThat(meters.get("sse.capacity.rejected").tag("reason", "max_connections").functionCounter().count())
+                            .isEqualTo(1.0);
+                    assertThat(meters.find("sse.capacity.shed").functionCounter()).isNull();
+                });
+    }
+
+    @Test
+    void admissionFilterIsRegisteredOnlyWhenEnabled() {
+        baseRunner().run(ctx -> assertThat(ctx).doesNotHaveBean(SseAdmissionWebFilter.class));
+        baseRunner("spectrayan.sse.server.admission.enabled=true")
+                .run(ctx -> assertThat(ctx).hasSingleBean(SseAdmissionWebFilter.class));
+    }
+
+    @Test
+    void drainLifecycleIsRegisteredOnlyWhenEnabled() {
+        baseRunner().run(ctx -> assertThat(ctx).doesNotHaveBean(SseDrainLifecycle.class));
+        baseRunner("spectrayan.sse.server.drain.enabled=true", "spectrayan.sse.server.drain.window=5s")
+                .run(ctx -> {
+                    assertThat(ctx).hasSingleBean(SseDrainLifecycle.class);
+                    assertThat(ctx.getBean(SseDrainLifecycle.class).isRunning()).isTrue();
+                });
+    }
+
     @Configuration
     static class TestCodecs {
         @Bean
@@ -0,0 +1,92 @@
+package com.spectrayan.sse.server.config;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Streams SSE events over loopback from a Reactor Netty server tuned by {@link SseTransportCustomizer}, once on
+ * NIO and once on the epoll native transport (Linux only): the accepted connection uses the selected transport
+ * and socket options, and every event is delivered.
+ */
+class SseTransportBenchmarkTest {
+
+    private static final int EVENTS = 20_000;
+
+    @Test
+    void nioTransportDeliversEveryEvent() {
+        Result nio = run(false);
+
+        assertInstanceOf(NioSocketChannel.class, nio.channel());
+        assertEquals(expectedBytes(), nio.bytes());
+    }
+
+    @Test
+    void epollTransportDeliversEveryEvent() {
+        assumeTrue(Epoll.isAvailable(), "epoll is not available on this platform");
+        Result epoll = run(true);
+
+        assertInstanceOf(EpollSocketChannel.class, epoll.channel());
+        assertEquals(expectedBytes(), epoll.bytes());
+    }
+
+    private static Result run(boolean nativeTransport) {
+        SseServerProperties.Transport transport = new SseServerProperties.Transport();
+        transport.setNativeTransport(nativeTransport);
+        transport.setWorkerThreads(2);
+        transport.setTcpNoDelay(true);
+        transport.setKeepAlive(true);
+        transport.setKeepAliveIdle(Duration.ofSeconds(60));
+        SseTransportCustomizer customizer = new SseTransportCustomizer(transport);
+
+        AtomicReference<Channel> accepted = new AtomicReference<>();
+        DisposableServer server = customizer.apply(HttpServer.create().host("127.0.0.1").port(0))
+                .doOnConnection(connection -> accepted.set(connection.channel()))
+                .handle((request, response) -> response.header("Content-Type", "text/event-stream")
+                        .sendString(Flux.range(0, EVENTS).map(SseTransportBenchmarkTest::event)))
+                .bindNow();
+        try {
+            Long bytes = HttpClient.create().host("127.0.0.1").port(server.port())
+                    .get().uri("/stream")
+                    .responseContent()
+                    .map(buf -> (long) buf.readableBytes())
+                    .reduce(0L, Long::sum)
+                    .block(Duration.ofSeconds(30));
+
+            Channel channel = accepted.get();
+            assertEquals(Boolean.TRUE, channel.config().getOption(ChannelOption.TCP_NODELAY));
+            assertEquals(Boolean.TRUE, channel.config().getOption(ChannelOption.SO_KEEPALIVE));
+            return new Result(channel, bytes == null ? 0 : bytes);
+        } finally {
+            server.disposeNow();
+            customizer.destroy();
+        }
+    }
+
+    private static String event(int i) {
+        return "id: " + i + "\nevent: tick\ndata: {\"price\":101.25,\"seq\":" + i + "}\n\n";
+    }
+
+    private static long expectedBytes() {
+        long bytes = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            bytes += event(i).length();
+        }
+        return bytes;
+    }
+
+    private record Result(Channel channel, long bytes) {}
+}
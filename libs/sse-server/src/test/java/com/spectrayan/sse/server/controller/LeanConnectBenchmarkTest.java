@@ -0,0 +1,123 @@
+package com.spectrayan.sse.server.controller;
+
+import com.spectrayan.sse.server.config.SseServerAutoConfiguration;
+import com.spectrayan.sse.server.customize.SessionIdGenerator;
+import com.spectrayan.sse.server.customize.SnowflakeSessionIdGenerator;
+import com.spectrayan.sse.server.customize.UlidSessionIdGenerator;
+import com.spectrayan.sse.server.customize.UuidSessionIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.session.InMemoryWebSessionStore;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the default connect path (session id from the {@code WebSession}) with the lean one
+ * ({@code session.use-web-session=false}): {@code WebSession}s created per connect, and heap allocated per id by
+ * the built-in id generators, measured on the generating thread.
+ */
+class LeanConnectBenchmarkTest {
+
+    private static final int CONNECTS = 1_000;
+    private static final int WARMUP = 20_000;
+    private static final int IDS = 100_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(SseServerAutoConfiguration.class))
+                .withPropertyValues(
+                        "spectrayan.sse.server.enabled=true",
+                        "spectrayan.sse.server.base-path=/sse");
+    }
+
+    @Test
+    void leanConnectsCreateNoWebSession() {
+        assertThat(run().webSessions()).isEqualTo(CONNECTS);
+        assertThat(run("spectrayan.sse.server.session.use-web-session=false").webSessions()).isZero();
+        assertThat(run("spectrayan.sse.server.session.use-web-session=false",
+                "spectrayan.sse.server.session.id-generator=ULID").webSessions()).isZero();
+        assertThat(run("spectrayan.sse.server.session.use-web-session=false",
+                "spectrayan.sse.server.session.id-generator=SNOWFLAKE").webSessions()).isZero();
+    }
+
+    @Test
+    void fastIdGeneratorsAllocateLessThanUuids() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled());
+
+        long uuid = bytesPerId(new UuidSessionIdGenerator());
+        long ulid = bytesPerId(new UlidSessionIdGenerator());
+        long snowflake = bytesPerId(new SnowflakeSessionIdGenerator(1));
+
+        assertThat(ulid).isLessThan(uuid);
+        assertThat(snowflake).isLessThan(uuid);
+    }
+
+    private static long bytesPerId(SessionIdGenerator generator) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(generator.generate(null, "t")).isNotEmpty();
+        }
+        int length = 0;
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < IDS; i++) {
+            length += generator.generate(null, "t").length();
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+        assertThat(length).isPositive();
+        return allocated / IDS;
+    }
+
+    private Result run(String... properties) {
+        List<Result> result = new ArrayList<>(1);
+        contextRunner().withPropertyValues(properties).run(ctx -> {
+            SseEndpointHandler handler = ctx.getBean(SseEndpointHandler.class);
+            AtomicInteger webSessions = new AtomicInteger();
+            connect(handler, requests(CONNECTS, webSessions));
+            result.add(new Result(webSessions.get()));
+        });
+        return result.get(0);
+    }
+
+    private static void connect(SseEndpointHandler handler, List<ServerRequest> requests) {
+        for (ServerRequest request : requests) {
+            assertThat(handler.handle(request).block(Duration.ofSeconds(2))).isNotNull();
+        }
+    }
+
+    /** Requests counting the {@code WebSession}s they create; each creates its session on first lookup. */
+    private static List<ServerRequest> requests(int count, AtomicInteger webSessions) {
+        InMemoryWebSessionStore store = new InMemoryWebSessionStore();
+        store.setMaxSessions(Integer.MAX_VALUE);
+        List<ServerRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            var exchange = MockServerWebExchange.builder(MockServerHttpRequest.get("/sse/t"))
+                    .sessionManager(ex -> Mono.defer(() -> {
+                        webSessions.incrementAndGet();
+                        return store.createWebSession();
+                    }))
+                    .build();
+            exchange.getAttributes().put(RouterFunctions.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("topic", "t"));
+            requests.add(ServerRequest.create(exchange, HandlerStrategies.withDefaults().messageReaders()));
+        }
+        return requests;
+    }
+
+    private record Result(int webSessions) {}
+}
@@ -111,4 +111,40 @@ class SseEndpointHandlerWebFluxTest {
 
         // No need to expose ConnectionRegistry/TopicRegistry beans explicitly; the emitter implements TopicRegistry
     }
+
+    @Test
+    void leanConnectSkipsWebSession() {
+        contextRunner()
+                .withPropertyValues(
+                        "spectrayan.sse.server.session.use-web-session=false",
+                        "spectrayan.sse.server.session.id-generator=ULID")
+                .run(ctx -> {
+                    assertThat(ctx.getBean(com.spectrayan.sse.server.customize.SessionIdGenerator.class))
+                            .isInstanceOf(com.spectrayan.sse.server.customize.UlidSessionIdGenerator.class);
+                    assertThat(sessionLookups(ctx.getBean(SseEndpointHandler.class))).isZero();
+                });
+    }
+
+    @Test
+    void defaultConnectResolvesWebSession() {
+        contextRunner().run(ctx -> assertThat(sessionLookups(ctx.getBean(SseEndpointHandler.class))).isEqualTo(1));
+    }
+
+    private static int sessionLookups(SseEndpointHandler handler) {
+        java.util.concurrent.atomic.AtomicInteger lookups = new java.util.concurrent.atomic.AtomicInteger();
+        org.springframework.web.server.session.InMemoryWebSessionStore store = new org.springframework.web.server.session.InMemoryWebSessionStore();
+        var exchange = org.springframework.mock.web.server.MockServerWebExchange
+                .builder(org.springframework.mock.http.server.reactive.MockServerHttpRequest.get("/sse/t"))
+                .sessionManager(ex -> reactor.core.publisher.Mono.defer(() -> {
+                    lookups.incrementAndGet();
+                    return store.createWebSession();
+                }))
+                .build();
+        exchange.getAttributes().put(org.springframework.web.reactive.function.server.RouterFunctions.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                java.util.Map.of("topic", "t"));
+        var request = org.springframework.web.reactive.function.server.ServerRequest.create(exchange,
+                org.springframework.web.reactive.function.server.HandlerStrategies.withDefaults().messageReaders());
+        assertThat(handler.handle(request).block(Duration.ofSeconds(2))).isNotNull();
+        return lookups.get();
+    }
 }
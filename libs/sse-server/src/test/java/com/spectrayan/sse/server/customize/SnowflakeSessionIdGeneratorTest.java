@@ -0,0 +1,54 @@
+package com.spectrayan.sse.server.customize;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeSessionIdGeneratorTest {
+
+    @Test
+    void packsTimestampNodeAndSequence() {
+        SnowflakeSessionIdGenerator gen = new SnowflakeSessionIdGenerator(5);
+        long millis = SnowflakeSessionIdGenerator.EPOCH + 1234;
+        long first = gen.nextId(millis);
+        long second = gen.nextId(millis);
+
+        assertEquals(1234, first >>> 22);
+        assertEquals(5, (first >>> 12) & 0x3FF);
+        assertEquals(0, first & 0xFFF);
+        assertEquals(1, second & 0xFFF);
+    }
+
+    @Test
+    void sequenceOverflowBorrowsNextMillisecondAndStaysMonotonic() {
+        SnowflakeSessionIdGenerator gen = new SnowflakeSessionIdGenerator(0);
+        long millis = SnowflakeSessionIdGenerator.EPOCH + 10;
+        long prev = -1;
+        for (int i = 0; i < 5000; i++) {
+            long id = gen.nextId(millis);
+            assertTrue(id > prev);
+            prev = id;
+        }
+        assertEquals(11, prev >>> 22);
+        // Clock going backwards keeps issuing increasing ids
+        assertTrue(gen.nextId(millis - 5) > prev);
+    }
+
+    @Test
+    void concurrentGenerationIsUniqueAndFixedWidth() {
+        SnowflakeSessionIdGenerator gen = new SnowflakeSessionIdGenerator(1023);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 20_000).parallel().forEach(i -> assertTrue(ids.add(gen.generate(null, "t"))));
+        assertTrue(ids.stream().allMatch(id -> id.length() == 13));
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeSessionIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeSessionIdGenerator(1024));
+    }
+}
@@ -0,0 +1,54 @@
+package com.spectrayan.sse.server.customize;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UlidSessionIdGeneratorTest {
+
+    @Test
+    void producesCrockfordUlids() {
+        String id = new UlidSessionIdGenerator().generate(null, "t");
+        assertEquals(26, id.length());
+        assertTrue(id.matches("[0-9A-HJKMNP-TV-Z]{26}"), id);
+    }
+
+    @Test
+    void encodesTimestampPrefix() throws Exception {
+        UlidSessionIdGenerator gen = new UlidSessionIdGenerator();
+        // Fresh thread: per-thread monotonic state must not carry a later timestamp
+        AtomicReference<String> id = new AtomicReference<>();
+        Thread t = new Thread(() -> id.set(gen.next(1_469_922_850_259L)));
+        t.start();
+        t.join();
+        // 1469922850259 ms encodes as 01ARZ3NDEK (example from the ULID spec)
+        assertTrue(id.get().startsWith("01ARZ3NDEK"), id.get());
+    }
+
+    @Test
+    void idsAreMonotonicWithinAndAcrossMilliseconds() {
+        UlidSessionIdGenerator gen = new UlidSessionIdGenerator();
+        String prev = gen.next(1_000L);
+        for (int i = 0; i < 1000; i++) {
+            String next = gen.next(1_000L + i / 100);
+            assertTrue(next.compareTo(prev) > 0, prev + " !< " + next);
+            prev = next;
+        }
+        // A clock stepping backwards must not break ordering on this thread
+        String afterSkew = gen.next(500L);
+        assertTrue(afterSkew.compareTo(prev) > 0);
+    }
+
+    @Test
+    void idsAreUnique() {
+        UlidSessionIdGenerator gen = new UlidSessionIdGenerator();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(gen.generate(null, null)));
+        }
+    }
+}
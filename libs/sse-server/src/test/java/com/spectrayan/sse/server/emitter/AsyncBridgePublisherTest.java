@@ -0,0 +1,371 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeHealth;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncBridgePublisherTest {
+
+    private static SseServerProperties.Bridge.Publish config(int queueCapacity, int maxInFlight,
+                                                             SseServerProperties.Bridge.Publish.Overflow overflow) {
+        SseServerProperties.Bridge.Publish config = new SseServerProperties.Bridge.Publish();
+        config.setAsync(true);
+        config.setQueueCapacity(queueCapacity);
+        config.setMaxInFlight(maxInFlight);
+        config.setOverflow(overflow);
+        return config;
+    }
+
+    private static SseBridgeMessage message(String topic, String id) {
+        return new SseBridgeMessage("node", topic, "evt", "data", id, System.currentTimeMillis());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void publishesOffTheCallerThreadInTopicOrder() {
+        RecordingBridge bridge = new RecordingBridge(false);
+        SseServerProperties.Bridge.Publish config = config(1000, 4, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST);
+        config.setThreads(3);
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge, config);
+
+        for (int i = 0; i < 100; i++) {
+            publisher.publish(message("t" + (i % 5), String.valueOf(i)));
+        }
+        publisher.close();
+
+        assertEquals(100, bridge.published.size());
+        assertTrue(bridge.threads.stream().allMatch(name -> name.startsWith("sse-bridge-publisher-")));
+        for (int t = 0; t < 5; t++) {
+            String topic = "t" + t;
+            List<Integer> ids = bridge.published.stream().filter(m -> m.topic().equals(topic))
+                    .map(m -> Integer.parseInt(m.id())).toList();
+            assertEquals(ids.stream().sorted().toList(), ids, "order kept within " + topic);
+        }
+        assertTrue(bridge.closed);
+    }
+
+    @Test
+    void boundsPublishesInFlight() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(true);
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge,
+                config(100, 2, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST));
+
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(message("t", String.valueOf(i)));
+        }
+        await(() -> bridge.pending.size() == 2);
+        Thread.sleep(100);
+        assertEquals(2, bridge.pending.size(), "third publish waits for a permit");
+
+        bridge.pending.get(0).tryEmitEmpty();
+        await(() -> bridge.pending.size() == 3);
+        bridge.pending.forEach(Sinks.Empty::tryEmitEmpty);
+        await(() -> bridge.pending.size() == 5);
+        bridge.pending.forEach(Sinks.Empty::tryEmitEmpty);
+        publisher.close();
+    }
+
+    @Test
+    void dropOldestEvictsTheOldestQueuedMessage() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(true);
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge,
+                config(2, 1, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST));
+
+        publisher.publish(message("t", "1"));
+        await(() -> bridge.pending.size() == 1);
+        publisher.publish(message("t", "2"));
+        await(() -> publisher.queuedMessages() == 0);
+        publisher.publish(message("t", "3"));
+        publisher.publish(message("t", "4"));
+        publisher.publish(message("t", "5"));
+        assertEquals(1, publisher.droppedMessages(AsyncBridgePublisher.DropReason.OVERFLOW));
+
+        completeAll(bridge, 4);
+        publisher.close();
+        assertEquals(List.of("1", "2", "4", "5"), bridge.publishedIds());
+    }
+
+    @Test
+    void messagesAreNumberedWhenHandedOnSoEvictedOnesLeaveNoGap() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(true);
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge,
+                config(2, 1, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST));
+        AtomicLong sequence = new AtomicLong(100);
+
+        publisher.publish(message("t", "1"), sequence::incrementAndGet);
+        await(() -> bridge.pending.size() == 1);
+        publisher.publish(message("t", "2"), sequence::incrementAndGet);
+        await(() -> publisher.queuedMessages() == 0);
+        publisher.publish(message("t", "3"), sequence::incrementAndGet);
+        publisher.publish(message("t", "4"), sequence::incrementAndGet);
+        publisher.publish(message("t", "5"), sequence::incrementAndGet);
+
+        completeAll(bridge, 4);
+        publisher.close();
+        assertEquals(List.of("1", "2", "4", "5"), bridge.publishedIds());
+        assertEquals(List.of(101L, 102L, 103L, 104L),
+                bridge.published.stream().map(SseBridgeMessage::sequence).toList());
+    }
+
+    @Test
+    void dropNewestRejectsTheIncomingMessage() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(true);
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge,
+                config(2, 1, SseServerProperties.Bridge.Publish.Overflow.DROP_NEWEST));
+
+        publisher.publish(message("t", "1"));
+        await(() -> bridge.pending.size() == 1);
+        publisher.publish(message("t", "2"));
+        await(() -> publisher.queuedMessages() == 0);
+        publisher.publish(message("t", "3"));
+        publisher.publish(message("t", "4"));
+        publisher.publish(message("t", "5"));
+
+        completeAll(bridge, 4);
+        publisher.close();
+        assertEquals(List.of("1", "2", "3", "4"), bridge.publishedIds());
+    }
+
+    @Test
+    void blockWaitsForRoomInTheTopicQueueKeepingItsOrder() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(true);
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge,
+                config(1, 1, SseServerProperties.Bridge.Publish.Overflow.BLOCK));
+
+        publisher.publish(message("t", "1"));
+        await(() -> bridge.pending.size() == 1);
+        // The publisher thread takes "2" and waits for the permit, "3" fills the queue and "4" waits for room
+        publisher.publish(message("t", "2"));
+        await(() -> publisher.queuedMessages() == 0);
+        publisher.publish(message("t", "3"));
+        Thread caller = new Thread(() -> publisher.publish(message("t", "4")));
+        caller.start();
+        caller.join(100);
+        assertTrue(caller.isAlive(), "caller waits while the queue is full");
+
+        completeAll(bridge, 4);
+        caller.join(5000);
+        assertFalse(caller.isAlive());
+        publisher.close();
+        assertEquals(List.of("1", "2", "3", "4"), bridge.publishedIds());
+        assertTrue(bridge.threads.stream().allMatch(name -> name.startsWith("sse-bridge-publisher-")));
+        assertEquals(0, publisher.droppedMessages(AsyncBridgePublisher.DropReason.OVERFLOW));
+    }
+
+    @Test
+    void blockDropsInsteadOfWaitingOnANonBlockingThread() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(true);
+        SseServerProperties.Bridge.Publish config = config(1, 1, SseServerProperties.Bridge.Publish.Overflow.BLOCK);
+        config.setShutdownTimeout(Duration.ofMillis(100));
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge, config);
+
+        publisher.publish(message("t", "1"));
+        await(() -> bridge.pending.size() == 1);
+        publisher.publish(message("t", "2"));
+        await(() -> publisher.queuedMessages() == 0);
+        publisher.publish(message("t", "3"));
+        Mono.fromRunnable(() -> {
+                    for (int i = 4; i <= 5; i++) {
+                        publisher.publish(message("t", String.valueOf(i)));
+                    }
+                })
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(2, publisher.droppedMessages(AsyncBridgePublisher.DropReason.NON_BLOCKING));
+        assertEquals(0, publisher.droppedMessages(AsyncBridgePublisher.DropReason.OVERFLOW));
+        publisher.close();
+    }
+
+    @Test
+    void idlePublisherThreadsHoldNoPermit() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(false);
+        SseServerProperties.Bridge.Publish config = config(1000, 1, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST);
+        config.setThreads(8);
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge, config);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            int expected = i + 1;
+            publisher.publish(message("t", String.valueOf(i)));
+            await(() -> bridge.published.size() == expected);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        publisher.close();
+
+        // Seven idle threads holding the only permit in turn would delay each message by hundreds of milliseconds
+        assertTrue(elapsedMillis < 1000, "publishes waited " + elapsedMillis + " ms for a permit");
+    }
+
+    @Test
+    void countsFailedPublishesAndMessagesAfterClose() throws Exception {
+        SseBroadcastBridge failing = new RecordingBridge(false) {
+            @Override
+            public Mono<Void> publishAsync(SseBridgeMessage message) {
+                return Mono.error(new IllegalStateException("broker down"));
+            }
+        };
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(failing,
+                config(10, 1, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST));
+
+        publisher.publish(message("t", "1"));
+        await(() -> publisher.droppedMessages(AsyncBridgePublisher.DropReason.FAILED) == 1);
+        publisher.close();
+        publisher.publish(message("t", "2"));
+        assertEquals(1, publisher.droppedMessages(AsyncBridgePublisher.DropReason.CLOSED));
+    }
+
+    @Test
+    void messagesQueuedWhileTheBridgeDeliversLocallyOnlyAreCountedAsSuspended() throws Exception {
+        SseServerProperties.Bridge.Resilience resilience = new SseServerProperties.Bridge.Resilience();
+        resilience.setFailureThreshold(1);
+        SseBridgeHealth health = new SseBridgeHealth("test", resilience);
+        health.recordFailure(new IllegalStateException("broker down"));
+        SseBroadcastBridge localOnly = new RecordingBridge(false) {
+            @Override
+            public Mono<Void> publishAsync(SseBridgeMessage message) {
+                return health.suspend(1);
+            }
+
+            @Override
+            public SseBridgeHealth health() {
+                return health;
+            }
+        };
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(localOnly,
+                config(10, 1, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST));
+
+        publisher.publish(message("t", "1"));
+        publisher.publish(message("t", "2"));
+        await(() -> publisher.droppedMessages(AsyncBridgePublisher.DropReason.SUSPENDED) == 2);
+        assertEquals(0, publisher.droppedMessages(AsyncBridgePublisher.DropReason.FAILED));
+        assertEquals(2, health.suspendedOperations());
+        assertSame(health, publisher.health());
+        publisher.close();
+    }
+
+    @Test
+    void batchesQueuedMessagesUpToMaxMessages() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(true);
+        SseServerProperties.Bridge.Batch batch = new SseServerProperties.Bridge.Batch();
+        batch.setEnabled(true);
+        batch.setMaxMessages(3);
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge,
+                config(100, 1, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST), batch);
+
+        publisher.publish(message("t", "1"));
+        await(() -> bridge.pending.size() == 1);
+        for (int i = 2; i <= 6; i++) {
+            publisher.publish(message(i % 2 == 0 ? "a" : "b", String.valueOf(i)));
+        }
+        completeAll(bridge, 3);
+        publisher.close();
+
+        assertEquals(List.of(1, 3, 2), bridge.batchSizes, "first alone, then full batches, then the rest");
+        assertEquals(List.of("1", "2", "3", "4", "5", "6"), bridge.publishedIds());
+        assertEquals(2, publisher.publishedBatches());
+        assertEquals(6, publisher.publishedMessages());
+        assertEquals(0, publisher.queuedMessages());
+        assertEquals(0, publisher.inFlightPublishes());
+    }
+
+    @Test
+    void flushesPartialBatchAfterFlushInterval() throws Exception {
+        RecordingBridge bridge = new RecordingBridge(false);
+        SseServerProperties.Bridge.Batch batch = new SseServerProperties.Bridge.Batch();
+        batch.setEnabled(true);
+        batch.setMaxMessages(100);
+        batch.setFlushInterval(java.time.Duration.ofMillis(20));
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(bridge,
+                config(100, 1, SseServerProperties.Bridge.Publish.Overflow.DROP_OLDEST), batch);
+
+        publisher.publish(message("t", "1"));
+        publisher.publish(message("t", "2"));
+        await(() -> bridge.published.size() == 2);
+        assertEquals(List.of(2), bridge.batchSizes);
+        publisher.close();
+    }
+
+    private static void completeAll(RecordingBridge bridge, int expected) throws InterruptedException {
+        for (int i = 0; i < expected; i++) {
+            int next = i;
+            await(() -> bridge.pending.size() > next);
+            bridge.pending.get(next).tryEmitEmpty();
+        }
+    }
+
+    private static class RecordingBridge implements SseBroadcastBridge {
+        final boolean manual;
+        final List<SseBridgeMessage> published = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final List<Sinks.Empty<Void>> pending = new CopyOnWriteArrayList<>();
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        volatile boolean closed;
+
+        RecordingBridge(boolean manual) {
+            this.manual = manual;
+        }
+
+        List<String> publishedIds() {
+            return published.stream().map(SseBridgeMessage::id).toList();
+        }
+
+        @Override
+        public void publish(SseBridgeMessage message) {
+            published.add(message);
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public Mono<Void> publishAsync(SseBridgeMessage message) {
+            batchSizes.add(1);
+            publish(message);
+            return acknowledgement();
+        }
+
+        @Override
+        public Mono<Void> publishBatch(SseBridgeBatch batch) {
+            batchSizes.add(batch.messages().size());
+            batch.messages().forEach(this::publish);
+            return acknowledgement();
+        }
+
+        private Mono<Void> acknowledgement() {
+            if (!manual) return Mono.empty();
+            Sinks.Empty<Void> sink = Sinks.empty();
+            pending.add(sink);
+            return sink.asMono();
+        }
+
+        @Override
+        public void subscribe(SseBroadcastListener listener) { }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.bridge.SseBridgeBatch;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the broker operations of unbatched and micro-batched bridge publishing against an in-process
+ * stand-in broker that serializes operations on one thread and charges a fixed round-trip per operation.
+ */
+class BridgeBatchingBenchmarkTest {
+
+    private static final int MESSAGES = 10_000;
+    private static final int TOPICS = 10;
+    private static final long ROUND_TRIP_NANOS = 50_000;
+
+    private final Scheduler brokerThread = Schedulers.newSingle("broker");
+
+    @AfterEach
+    void stop() {
+        brokerThread.dispose();
+    }
+
+    @Test
+    void batchingCutsBrokerOperationsAndKeepsTopicOrder() throws Exception {
+        Result unbatched = run(false);
+        Result batched = run(true);
+
+        assertEquals(MESSAGES, unbatched.operations);
+        assertEquals(0, unbatched.batches);
+        assertEquals(MESSAGES, unbatched.published);
+
+        assertTrue(batched.operations <= MESSAGES / 10, "batched operations: " + batched.operations);
+        assertTrue(batched.batches > 0 && batched.batches <= batched.operations, "batches: " + batched.batches);
+        assertEquals(MESSAGES, batched.published);
+    }
+
+    private Result run(boolean batching) throws Exception {
+        StandInBroker broker = new StandInBroker();
+        SseServerProperties.Bridge.Publish publish = new SseServerProperties.Bridge.Publish();
+        publish.setAsync(true);
+        publish.setQueueCapacity(MESSAGES);
+        SseServerProperties.Bridge.Batch batch = new SseServerProperties.Bridge.Batch();
+        batch.setEnabled(batching);
+        batch.setFlushInterval(java.time.Duration.ofMillis(2));
+        AsyncBridgePublisher publisher = new AsyncBridgePublisher(broker, publish, batch);
+
+        for (int i = 0; i < MESSAGES; i++) {
+            publisher.publish(new SseBridgeMessage("node", "t" + (i % TOPICS), null, "data", String.valueOf(i), 0L));
+        }
+        assertTrue(broker.delivered.await(30, TimeUnit.SECONDS), "all messages delivered");
+        publisher.close();
+
+        broker.received.forEach((topic, ids) ->
+                assertEquals(ids.stream().sorted().toList(), ids, "order kept within " + topic));
+        return new Result(broker.operations.get(), publisher.publishedBatches(), publisher.publishedMessages());
+    }
+
+    private record Result(long operations, long batches, long published) { }
+
+    /** Applies one operation at a time, like a single broker connection, and records delivery order. */
+    private final class StandInBroker implements SseBroadcastBridge {
+        final AtomicLong operations = new AtomicLong();
+        final CountDownLatch delivered = new CountDownLatch(MESSAGES);
+        final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+
+        @Override
+        public void publish(SseBridgeMessage message) {
+            apply(List.of(message));
+        }
+
+        @Override
+        public Mono<Void> publishAsync(SseBridgeMessage message) {
+            return Mono.<Void>fromRunnable(() -> apply(List.of(message))).subscribeOn(brokerThread);
+        }
+
+        @Override
+        public Mono<Void> publishBatch(SseBridgeBatch batch) {
+            return Mono.<Void>fromRunnable(() -> apply(batch.messages())).subscribeOn(brokerThread);
+        }
+
+        private void apply(List<SseBridgeMessage> messages) {
+            operations.incrementAndGet();
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            for (SseBridgeMessage message : messages) {
+                received.computeIfAbsent(message.topic(), t -> new ArrayList<>()).add(Integer.parseInt(message.id()));
+                delivered.countDown();
+            }
+        }
+
+        @Override
+        public void subscribe(SseBroadcastListener listener) { }
+    }
+}
@@ -0,0 +1,125 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BridgeSequencerTest {
+
+    private final List<String> delivered = new ArrayList<>();
+    private final List<String> gaps = new ArrayList<>();
+    private final SseBroadcastBridge bridge = new SseBroadcastBridge() {
+        @Override public void publish(SseBridgeMessage message) { }
+        @Override public void subscribe(SseBroadcastListener listener) { }
+        @Override public void gapDetected(String topic, String origin, long from, long to) {
+            gaps.add(topic + "/" + origin + ":" + from + ".." + to);
+        }
+    };
+    private final SseServerProperties.Bridge.Ordering config = new SseServerProperties.Bridge.Ordering();
+    private VirtualTimeScheduler vts;
+    private TopicChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        vts = VirtualTimeScheduler.create();
+        channel = new TopicChannel(Sinks.many().multicast().directBestEffort(), 0);
+    }
+
+    @Test
+    void earlyMessagesAreHeldBackUntilTheMissingOneArrives() {
+        BridgeSequencer sequencer = sequencer();
+
+        for (long seq : new long[] {1, 3, 4, 2, 5}) {
+            sequencer.accept(channel, message("node-b", seq));
+        }
+
+        assertEquals(List.of("node-b#1", "node-b#2", "node-b#3", "node-b#4", "node-b#5"), delivered);
+        assertEquals(2, sequencer.earlyMessages());
+        assertTrue(gaps.isEmpty());
+    }
+
+    @Test
+    void duplicatesAreDropped() {
+        BridgeSequencer sequencer = sequencer();
+
+        for (long seq : new long[] {1, 2, 2, 1, 4, 4, 3}) {
+            sequencer.accept(channel, message("node-b", seq));
+        }
+
+        assertEquals(List.of("node-b#1", "node-b#2", "node-b#3", "node-b#4"), delivered);
+        assertEquals(3, sequencer.duplicateMessages());
+    }
+
+    @Test
+    void missingMessagesAreGivenUpAfterMaxDelayAndReported() {
+        BridgeSequencer sequencer = sequencer();
+
+        sequencer.accept(channel, message("node-b", 1));
+        sequencer.accept(channel, message("node-b", 4));
+        vts.advanceTimeBy(Duration.ofMillis(99));
+        assertEquals(List.of("node-b#1"), delivered);
+
+        vts.advanceTimeBy(Duration.ofMillis(1));
+        sequencer.accept(channel, message("node-b", 2));
+
+        assertEquals(List.of("node-b#1", "node-b#4"), delivered);
+        assertEquals(List.of("t/node-b:2..3"), gaps);
+        assertEquals(2, sequencer.missingMessages());
+        assertEquals(1, sequencer.gaps());
+    }
+
+    @Test
+    void overflowingTheWindowGivesUpTheGapWithoutWaiting() {
+        config.setWindow(2);
+        BridgeSequencer sequencer = sequencer();
+
+        for (long seq : new long[] {1, 3, 4, 5}) {
+            sequencer.accept(channel, message("node-b", seq));
+        }
+
+        assertEquals(List.of("node-b#1", "node-b#3", "node-b#4", "node-b#5"), delivered);
+        assertEquals(List.of("t/node-b:2..2"), gaps);
+    }
+
+    @Test
+    void originsAreSequencedIndependentlyAndTopicsCreatedAnewRestart() {
+        BridgeSequencer sequencer = sequencer();
+        long old = BridgeSequencer.epochBase(41);
+        long renewed = BridgeSequencer.epochBase(42);
+
+        sequencer.accept(channel, message("node-b", old + 7));
+        sequencer.accept(channel, message("node-c", renewed + 1));
+        sequencer.accept(channel, message("node-b", old + 8));
+        sequencer.accept(channel, message("node-b", renewed + 2));
+        sequencer.accept(channel, message("node-b", renewed + 1));
+        sequencer.accept(channel, message("node-b", old + 9));
+        sequencer.accept(channel, message("node-d", 0));
+        sequencer.accept(channel, message("node-d", 0));
+
+        assertEquals(List.of("node-b#" + (old + 7), "node-c#" + (renewed + 1), "node-b#" + (old + 8),
+                "node-b#" + (renewed + 1), "node-b#" + (renewed + 2), "node-d#0", "node-d#0"), delivered);
+        assertTrue(gaps.isEmpty());
+    }
+
+    private BridgeSequencer sequencer() {
+        return new BridgeSequencer(config, bridge,
+                (ch, msg) -> delivered.add(msg.originInstanceId() + "#" + msg.sequence()),
+                vts, () -> vts.now(TimeUnit.NANOSECONDS));
+    }
+
+    private static SseBridgeMessage message(String origin, long sequence) {
+        return new SseBridgeMessage(origin, "t", null, "data", null, 1L, sequence);
+    }
+}
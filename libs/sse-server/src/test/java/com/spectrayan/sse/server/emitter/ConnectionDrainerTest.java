@@ -0,0 +1,110 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.bridge.NoOpBroadcastBridge;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.session.SseSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionDrainerTest {
+
+    private static SseServerProperties props() {
+        SseServerProperties props = new SseServerProperties();
+        props.getDrain().setEnabled(true);
+        props.getDrain().setWaves(2);
+        props.getDrain().setRetry(Duration.ofSeconds(1));
+        props.getDrain().setRetryJitter(Duration.ZERO);
+        return props;
+    }
+
+    private static SseSession session(String topic, long createdAt, String lastEventId) {
+        return SseSession.builder().sessionId(topic + createdAt).topic(topic).createdAtEpochMillis(createdAt).lastEventId(lastEventId).build();
+    }
+
+    private static <T> ObjectProvider<T> emptyProvider() {
+        return new ObjectProvider<>() {
+            @Override public T getObject(Object... args) { return null; }
+            @Override public T getIfAvailable() { return null; }
+            @Override public T getIfUnique() { return null; }
+            @Override public java.util.stream.Stream<T> orderedStream() { return java.util.stream.Stream.empty(); }
+            @Override public java.util.Iterator<T> iterator() { return java.util.List.<T>of().iterator(); }
+        };
+    }
+
+    @Test
+    void drainClosesOldestStreamsFirstInWavesWithFinalEvent() {
+        VirtualTimeScheduler vts = VirtualTimeScheduler.getOrSet();
+        try {
+            ConnectionDrainer drainer = new ConnectionDrainer(props());
+            List<List<ServerSentEvent<Object>>> received = new ArrayList<>();
+            List<Boolean> completed = new ArrayList<>();
+            Sinks.Many<ServerSentEvent<Object>> upstream = Sinks.many().multicast().directBestEffort();
+            for (long age : new long[] {300, 100, 200}) {
+                List<ServerSentEvent<Object>> events = new ArrayList<>();
+                received.add(events);
+                int index = completed.size();
+                completed.add(false);
+                drainer.drainable("t", session("t", age, "resume-" + age), upstream.asFlux())
+                        .subscribe(events::add, e -> { }, () -> completed.set(index, true));
+            }
+            upstream.tryEmitNext(ServerSentEvent.<Object>builder("x").id("42").build());
+            assertEquals(3, drainer.openStreams());
+
+            drainer.drain(Duration.ofSeconds(10)).subscribe();
+            assertTrue(drainer.isDraining());
+            // First wave (size 3 / 2 waves -> 1 stream): the oldest connection (created at 100)
+            assertEquals(List.of(false, true, false), completed);
+            vts.advanceTimeBy(Duration.ofSeconds(5));
+            assertEquals(List.of(true, true, true), completed);
+            assertEquals(0, drainer.openStreams());
+
+            ServerSentEvent<Object> last = received.get(1).get(received.get(1).size() - 1);
+            assertEquals("drain", last.event());
+            assertEquals("::drain::", last.data());
+            assertEquals("42", last.id());
+            assertEquals(Duration.ofSeconds(1), last.retry());
+        } finally {
+            VirtualTimeScheduler.reset();
+        }
+    }
+
+    @Test
+    void streamCompletingOnItsOwnGetsNoFinalEvent() {
+        ConnectionDrainer drainer = new ConnectionDrainer(props());
+        StepVerifier.create(drainer.drainable("t", session("t", 1, null), Flux.just(ServerSentEvent.<Object>builder("a").build())))
+                .expectNextMatches(ev -> "a".equals(ev.data()))
+                .verifyComplete();
+        assertEquals(0, drainer.openStreams());
+    }
+
+    @Test
+    void connectWhileDrainingReceivesOnlyFinalEvent() {
+        SseServerProperties props = props();
+        DefaultSseEmitter emitter = new DefaultSseEmitter(props, emptyProvider(), emptyProvider(),
+                (exchange, topic) -> "sid", null, new NoOpBroadcastBridge());
+        // Connected before the drain, subscribed after it
+        Flux<ServerSentEvent<Object>> early = emitter.connect("early", session("early", 1, null));
+        StepVerifier.create(emitter.drain(Duration.ofSeconds(1))).verifyComplete();
+
+        StepVerifier.create(emitter.connect("demo", session("demo", 1, "7")))
+                .assertNext(ev -> {
+                    assertEquals("drain", ev.event());
+                    assertEquals("7", ev.id());
+                })
+                .verifyComplete();
+        assertEquals(0, emitter.subscriberCount("demo"));
+        StepVerifier.create(early).assertNext(ev -> assertEquals("drain", ev.event())).verifyComplete();
+        assertTrue(emitter.currentTopics().isEmpty(), "connects during the drain hold no topic");
+    }
+}
@@ -0,0 +1,117 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionLivenessTest {
+
+    private static SseServerProperties.Liveness liveness() {
+        SseServerProperties.Liveness l = new SseServerProperties.Liveness();
+        l.setEnabled(true);
+        l.setCheckInterval(Duration.ofSeconds(1));
+        return l;
+    }
+
+    private static EmbeddedChannel channel(SseServerProperties.Liveness l, io.netty.channel.ChannelHandler... before) {
+        return channel(new ConnectionLiveness(l), before);
+    }
+
+    private static EmbeddedChannel channel(ConnectionLiveness liveness, io.netty.channel.ChannelHandler... before) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.freezeTime();
+        channel.pipeline().addLast(before);
+        channel.pipeline().addLast(new ConnectionLiveness.NettySupport.LivenessHandler(liveness));
+        return channel;
+    }
+
+    private static void advance(EmbeddedChannel channel, long seconds) {
+        channel.advanceTimeBy(seconds, TimeUnit.SECONDS);
+        channel.runScheduledPendingTasks();
+    }
+
+    @Test
+    void closesConnectionWithoutCompletedWrites() {
+        SseServerProperties.Liveness l = liveness();
+        l.setWriteIdleTimeout(Duration.ofSeconds(10));
+        ConnectionLiveness liveness = new ConnectionLiveness(l);
+        EmbeddedChannel channel = channel(liveness);
+
+        advance(channel, 6);
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[]{1}));
+        advance(channel, 6);
+        assertTrue(channel.isActive(), "a completed write resets the idle timer");
+
+        advance(channel, 5);
+        assertFalse(channel.isActive());
+        assertEquals(1, liveness.reclaimedConnections(ConnectionLiveness.Reason.WRITE_IDLE));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void closesConnectionWithoutReads() {
+        SseServerProperties.Liveness l = liveness();
+        l.setReadIdleTimeout(Duration.ofSeconds(10));
+        EmbeddedChannel channel = channel(l);
+
+        advance(channel, 6);
+        channel.writeInbound(Unpooled.wrappedBuffer(new byte[]{1}));
+        advance(channel, 6);
+        assertTrue(channel.isActive());
+
+        advance(channel, 5);
+        assertFalse(channel.isActive());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void closesConnectionWhosePendingWritesMakeNoProgress() {
+        SseServerProperties.Liveness l = liveness();
+        l.setMaxUnacknowledgedTime(Duration.ofSeconds(5));
+        EmbeddedChannel channel = channel(l);
+
+        advance(channel, 10);
+        assertTrue(channel.isActive(), "nothing pending, nothing to acknowledge");
+
+        channel.write(Unpooled.wrappedBuffer(new byte[]{1}));
+        advance(channel, 6);
+        assertFalse(channel.isActive());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void closesConnectionOnWriteFailure() {
+        ChannelOutboundHandlerAdapter failing = new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                io.netty.util.ReferenceCountUtil.release(msg);
+                promise.setFailure(new IOException("Connection reset by peer"));
+            }
+        };
+        ConnectionLiveness liveness = new ConnectionLiveness(liveness());
+        EmbeddedChannel channel = channel(liveness, failing);
+
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[]{1}));
+
+        assertFalse(channel.isActive());
+        assertEquals(1, liveness.reclaimedConnections(ConnectionLiveness.Reason.WRITE_FAILURE));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void rejectsNonPositiveCheckInterval() {
+        SseServerProperties.Liveness l = liveness();
+        l.setCheckInterval(Duration.ZERO);
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionLiveness(l));
+    }
+}
@@ -0,0 +1,95 @@
+package com.spectrayan.sse.server.emitter;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionWritabilityTest {
+
+    private final ConnectionWritability tracker = new ConnectionWritability();
+
+    private ConnectionWritability.NettySupport.ChannelGate gate(EmbeddedChannel channel) {
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        ConnectionWritability.NettySupport.ChannelGate[] holder = new ConnectionWritability.NettySupport.ChannelGate[1];
+        holder[0] = new ConnectionWritability.NettySupport.ChannelGate(channel, tracker,
+                () -> channel.pipeline().remove(holder[0]));
+        channel.pipeline().addLast(holder[0]);
+        tracker.register(holder[0]);
+        return holder[0];
+    }
+
+    @Test
+    void tracksWritabilityAndResumesOnDrain() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ConnectionWritability.NettySupport.ChannelGate gate = gate(channel);
+        AtomicInteger resumed = new AtomicInteger();
+        gate.onWritable(resumed::incrementAndGet);
+
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        assertFalse(gate.isWritable());
+        assertTrue(gate.pendingOutboundBytes() >= 32);
+        assertEquals(1, tracker.unwritableConnections());
+        assertEquals(gate.pendingOutboundBytes(), tracker.pendingOutboundBytes());
+        assertEquals(gate.pendingOutboundBytes(), tracker.maxPendingOutboundBytes());
+
+        Thread.sleep(2);
+        channel.flush();
+        channel.runPendingTasks();
+        assertTrue(gate.isWritable());
+        assertEquals(1, resumed.get());
+        assertEquals(0, tracker.unwritableConnections());
+        assertEquals(0, tracker.pendingOutboundBytes());
+        assertTrue(tracker.unwritableNanos() > 0);
+
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void closeStopsTrackingAndRemovesHandler() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ConnectionWritability.NettySupport.ChannelGate gate = gate(channel);
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        assertEquals(1, tracker.unwritableConnections());
+
+        gate.close();
+
+        assertEquals(0, tracker.unwritableConnections());
+        assertNull(channel.pipeline().context(gate));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void attachWithoutNettyExchangeReturnsNoGate() {
+        assertNull(tracker.attach(null));
+        var exchange = org.springframework.mock.web.server.MockServerWebExchange.from(
+                org.springframework.mock.http.server.reactive.MockServerHttpRequest.get("/sse/t"));
+        assertNull(tracker.attach(exchange));
+    }
+
+    @Test
+    void disconnectSlowestClosesMostBackedUpConnections() {
+        EmbeddedChannel idle = new EmbeddedChannel();
+        EmbeddedChannel slow = new EmbeddedChannel();
+        EmbeddedChannel slower = new EmbeddedChannel();
+        gate(idle);
+        gate(slow);
+        gate(slower);
+        slow.write(Unpooled.wrappedBuffer(new byte[32]));
+        slower.write(Unpooled.wrappedBuffer(new byte[64]));
+
+        assertEquals(1, tracker.disconnectSlowest(1));
+        assertFalse(slower.isOpen());
+        assertTrue(slow.isOpen());
+        assertTrue(idle.isOpen());
+
+        assertEquals(1, tracker.disconnectSlowest(5), "connections without backlog are kept");
+        assertFalse(slow.isOpen());
+        assertTrue(idle.isOpen());
+        idle.finishAndReleaseAll();
+    }
+}
@@ -1,14 +1,22 @@
 package com.spectrayan.sse.server.emitter;
 
 import com.spectrayan.sse.server.bridge.NoOpBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
 import com.spectrayan.sse.server.config.SseServerProperties;
 import com.spectrayan.sse.server.customize.SseEmitterCustomizer;
+import com.spectrayan.sse.server.session.SseSession;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.codec.ServerSentEvent;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class DefaultSseEmitterIntegrationTest {
@@ -49,4 +57,103 @@ class DefaultSseEmitterIntegrationTest {
         emitter.connect("demo");
         assertTrue(emitter.currentTopics().contains("demo"));
     }
+
+    @Test
+    void reconnectWithLastEventIdReplaysBridgeHistoryBeforeLiveEventsWithoutDuplicates() {
+        AtomicReference<SseBroadcastListener> listener = new AtomicReference<>();
+        Sinks.One<Void> historyRead = Sinks.one();
+        SseBroadcastBridge bridge = new SseBroadcastBridge() {
+            @Override public void publish(SseBridgeMessage message) { }
+            @Override public void subscribe(SseBroadcastListener l) { listener.set(l); }
+            @Override public Flux<SseBridgeMessage> replay(String topic, String lastEventId) {
+                assertEquals("1", lastEventId);
+                return Flux.just(remote(topic, "2"), remote(topic, "3")).delaySubscription(historyRead.asMono());
+            }
+        };
+        DefaultSseEmitter emitter = new DefaultSseEmitter(new SseServerProperties(), emptyProvider(), emptyProvider(),
+                (exchange, topic) -> "sid", null, bridge);
+        SseSession session = SseSession.builder().sessionId("sid").topic("demo").lastEventId("1").build();
+
+        Flux<String> ids = emitter.connect("demo", session)
+                .filter(event -> event.id() != null)
+                .map(ServerSentEvent::id);
+
+        StepVerifier.create(ids)
+                .then(() -> {
+                    // Live events arriving while the history is read; "3" is also part of the history
+                    listener.get().onRemoteEvent(remote("demo", "3"));
+                    listener.get().onRemoteEvent(remote("demo", "4"));
+                    historyRead.tryEmitEmpty();
+                })
+                .expectNext("2", "3", "4")
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void liveEventsBeyondThePrefetchAreKeptWhileTheHistoryIsRead() {
+        AtomicReference<SseBroadcastListener> listener = new AtomicReference<>();
+        Sinks.One<Void> historyRead = Sinks.one();
+        SseBroadcastBridge bridge = new SseBroadcastBridge() {
+            @Override public void publish(SseBridgeMessage message) { }
+            @Override public void subscribe(SseBroadcastListener l) { listener.set(l); }
+            @Override public Flux<SseBridgeMessage> replay(String topic, String lastEventId) {
+                return Flux.just(remote(topic, "2"), remote(topic, "3")).delaySubscription(historyRead.asMono());
+            }
+        };
+        SseServerProperties props = new SseServerProperties();
+        props.getStream().setHeartbeatEnabled(false);
+        DefaultSseEmitter emitter = new DefaultSseEmitter(props, emptyProvider(), emptyProvider(),
+                (exchange, topic) -> "sid", null, bridge);
+        SseSession session = SseSession.builder().sessionId("sid").topic("demo").lastEventId("1").build();
+
+        Flux<String> ids = emitter.connect("demo", session)
+                .filter(event -> event.id() != null)
+                .map(ServerSentEvent::id);
+
+        StepVerifier.create(ids)
+                .then(() -> {
+                    // The history's last event arrives live, followed by more events than any operator prefetch
+                    listener.get().onRemoteEvent(remote("demo", "3"));
+                    for (int i = 4; i < 504; i++) {
+                        listener.get().onRemoteEvent(remote("demo", String.valueOf(i)));
+                    }
+                    historyRead.tryEmitEmpty();
+                })
+                .expectNext("2", "3")
+                .expectNextCount(500)
+                .then(() -> listener.get().onRemoteEvent(remote("demo", "2")))
+                .expectNext("2")
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void connectionSlotIsReleasedWhenTheStreamCannotBeBuilt() {
+        SseBroadcastBridge bridge = new SseBroadcastBridge() {
+            @Override public void publish(SseBridgeMessage message) { }
+            @Override public void subscribe(SseBroadcastListener l) { }
+            @Override public Flux<SseBridgeMessage> replay(String topic, String lastEventId) {
+                throw new IllegalStateException("history unavailable");
+            }
+        };
+        SseServerProperties props = new SseServerProperties();
+        props.getCapacity().setMaxConnections(1);
+        DefaultSseEmitter emitter = new DefaultSseEmitter(props, emptyProvider(), emptyProvider(),
+                (exchange, topic) -> "sid", null, bridge);
+        SseSession resuming = SseSession.builder().sessionId("sid").topic("demo").lastEventId("1").build();
+
+        StepVerifier.create(emitter.connect("demo", resuming))
+                .verifyErrorMessage("history unavailable");
+        // Rejected for node capacity if the failed connect had kept its slot
+        StepVerifier.create(emitter.connect("demo", SseSession.anonymous("demo")))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private static SseBridgeMessage remote(String topic, String id) {
+        return new SseBridgeMessage("node-b", topic, "evt", "data-" + id, id, System.currentTimeMillis());
+    }
 }
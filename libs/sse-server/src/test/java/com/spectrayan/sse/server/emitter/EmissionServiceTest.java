@@ -1,5 +1,8 @@
 package com.spectrayan.sse.server.emitter;
 
+import com.spectrayan.sse.server.bridge.SseBridgeMessage;
+import com.spectrayan.sse.server.bridge.SseBroadcastBridge;
+import com.spectrayan.sse.server.bridge.SseBroadcastListener;
 import com.spectrayan.sse.server.config.SseServerProperties;
 import com.spectrayan.sse.server.error.EmissionRejectedException;
 import com.spectrayan.sse.server.error.TopicNotFoundException;
@@ -9,6 +12,7 @@ import org.springframework.http.codec.ServerSentEvent;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -180,4 +184,133 @@ class EmissionServiceTest {
         assertTrue(failures.get() <= totalAttempted * 0.05,
                 "Too many serialization failures: " + failures.get() + " out of " + totalAttempted);
     }
+
+    @Test
+    void topicLifecycleIsReportedToBridgeAndUninterestingTopicsAreNotPublished() {
+        List<String> calls = new ArrayList<>();
+        List<String> published = new ArrayList<>();
+        SseBroadcastBridge bridge = new SseBroadcastBridge() {
+            @Override public void publish(SseBridgeMessage message) { published.add(message.topic()); }
+            @Override public void subscribe(SseBroadcastListener listener) { }
+            @Override public void topicActivated(String topic) { calls.add("+" + topic); }
+            @Override public void topicDeactivated(String topic) { calls.add("-" + topic); }
+            @Override public boolean hasRemoteInterest(String topic) { return topic.equals("shared"); }
+        };
+        TopicManager manager = new TopicManager(sinkFactory, null, bridge);
+        EmissionService service = new EmissionService(null, SseServerProperties.Emitter.DEFAULT_EMIT_RETRIES, bridge, "node-a");
+
+        for (String topic : List.of("shared", "private")) {
+            TopicChannel channel = manager.getOrCreate(topic);
+            channel.sink.asFlux().subscribe();
+            service.emitToTopic(manager, topic, null, "data", null);
+        }
+        manager.getOrCreate("shared");
+        manager.remove("private");
+        manager.shutdownAll();
+
+        assertEquals(List.of("shared"), published);
+        assertEquals(List.of("+shared", "+private", "-private", "-shared"), calls);
+    }
+
+    @Test
+    void bridgeMessagesAreSequencedPerTopicAndKeepIncreasingWhenTheTopicIsCreatedAnew() {
+        List<SseBridgeMessage> published = new ArrayList<>();
+        SseBroadcastBridge bridge = new SseBroadcastBridge() {
+            @Override public void publish(SseBridgeMessage message) { published.add(message); }
+            @Override public void subscribe(SseBroadcastListener listener) { }
+        };
+        EmissionService service = new EmissionService(null, SseServerProperties.Emitter.DEFAULT_EMIT_RETRIES, bridge, "node-a");
+        topicManager.getOrCreate("a").sink.asFlux().subscribe();
+        topicManager.getOrCreate("b").sink.asFlux().subscribe();
+
+        service.emitToTopic(topicManager, "a", null, "1", null);
+        service.emitToTopic(topicManager, "a", null, "2", null);
+        service.emitToTopic(topicManager, "b", null, "1", null);
+        topicManager.remove("a");
+        topicManager.getOrCreate("a").sink.asFlux().subscribe();
+        service.emitToTopic(topicManager, "a", null, "1", null);
+
+        long first = published.get(0).sequence();
+        assertTrue(first > 0);
+        assertEquals(first + 1, published.get(1).sequence());
+        assertNotEquals(first + 2, published.get(2).sequence());
+        assertTrue(published.get(3).sequence() > first + 1);
+    }
+
+    @Test
+    void clusterModeSequencesOwnedTopicsAndForwardsOthersToTheirOwner() {
+        List<SseBridgeMessage> published = new ArrayList<>();
+        List<SseBridgeMessage> forwarded = new ArrayList<>();
+        SseBroadcastBridge bridge = new SseBroadcastBridge() {
+            @Override public void publish(SseBridgeMessage message) { published.add(message); }
+            @Override public void subscribe(SseBroadcastListener listener) { }
+            @Override public boolean ownsTopic(String topic) { return !topic.equals("theirs"); }
+            @Override public void forward(SseBridgeMessage message) { forwarded.add(message); }
+        };
+        EmissionService service = new EmissionService(null, SseServerProperties.Emitter.DEFAULT_EMIT_RETRIES, bridge, "node-a", true);
+        List<Object> mine = new ArrayList<>();
+        List<Object> theirs = new ArrayList<>();
+        topicManager.getOrCreate("mine").sink.asFlux().subscribe(sse -> mine.add(sse.data()));
+        topicManager.getOrCreate("theirs").sink.asFlux().subscribe(sse -> theirs.add(sse.data()));
+
+        service.emitToTopic(topicManager, "mine", null, "1", null);
+        service.emitToTopic(topicManager, "theirs", null, "x", null);
+        service.emitForwarded(topicManager, new SseBridgeMessage("node-b", "mine", null, "2", null, 1L));
+        service.emitForwarded(topicManager, new SseBridgeMessage("node-b", "unserved", null, "3", null, 1L));
+
+        assertEquals(List.of("1", "2"), mine);
+        assertTrue(theirs.isEmpty(), "non-owners leave delivery to the owner");
+        assertEquals(1, forwarded.size());
+        assertEquals("theirs", forwarded.get(0).topic());
+        assertEquals(0, forwarded.get(0).sequence());
+
+        assertEquals(List.of("mine", "mine", "unserved"), published.stream().map(SseBridgeMessage::topic).toList());
+        assertTrue(published.stream().allMatch(m -> m.originInstanceId().equals("node-a")));
+        assertEquals(published.get(0).sequence() + 1, published.get(1).sequence());
+        assertTrue(published.get(2).sequence() > 0);
+        assertThrows(TopicNotFoundException.class, () -> service.emitToTopic(topicManager, "unserved", null, "4", null));
+    }
+
+    @Test
+    void clusterModeCallsTheBrokerOutsideTheTopicLock() throws Exception {
+        List<SseBridgeMessage> published = new java.util.concurrent.CopyOnWriteArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        EmissionService[] service = new EmissionService[1];
+        SseBroadcastBridge bridge = new SseBroadcastBridge() {
+            @Override public void publish(SseBridgeMessage message) {
+                if (calls.incrementAndGet() == 1) {
+                    // Another emitter of the topic gets through while the broker is still being called
+                    java.util.concurrent.CompletableFuture.runAsync(
+                                    () -> service[0].emitToTopic(topicManager, "mine", null, "2", null))
+                            .orTimeout(5, java.util.concurrent.TimeUnit.SECONDS)
+                            .join();
+                }
+                published.add(message);
+            }
+            @Override public void subscribe(SseBroadcastListener listener) { }
+        };
+        service[0] = new EmissionService(null, SseServerProperties.Emitter.DEFAULT_EMIT_RETRIES, bridge, "node-a", true);
+        topicManager.getOrCreate("mine").sink.asFlux().subscribe();
+
+        service[0].emitToTopic(topicManager, "mine", null, "1", null);
+
+        assertEquals(List.of("2", "1"), published.stream().map(m -> (String) m.payload()).toList());
+        assertEquals(published.get(1).sequence() + 1, published.get(0).sequence(), "numbered in delivery order");
+    }
+
+    @Test
+    void clusterModeRejectsEventsTheBridgeFailedToForward() {
+        SseBroadcastBridge bridge = new SseBroadcastBridge() {
+            @Override public void publish(SseBridgeMessage message) { }
+            @Override public void subscribe(SseBroadcastListener listener) { }
+            @Override public boolean ownsTopic(String topic) { return false; }
+            @Override public void forward(SseBridgeMessage message) { throw new IllegalStateException("broker down"); }
+        };
+        EmissionService service = new EmissionService(null, SseServerProperties.Emitter.DEFAULT_EMIT_RETRIES, bridge, "node-a", true);
+        topicManager.getOrCreate("theirs").sink.asFlux().subscribe();
+
+        EmissionRejectedException rejected = assertThrows(EmissionRejectedException.class,
+                () -> service.emitToTopic(topicManager, "theirs", null, "x", null));
+        assertEquals("FAIL_CANCELLED", rejected.getDetails().get("emitResult"));
+    }
 }
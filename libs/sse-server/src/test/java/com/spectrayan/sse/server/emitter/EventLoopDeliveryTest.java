@@ -0,0 +1,146 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLoopDeliveryTest {
+
+    private final ExecutorService loopThread = Executors.newSingleThreadExecutor(r -> new Thread(r, "loop"));
+    private final AtomicInteger submissions = new AtomicInteger();
+    private final Executor loop = task -> {
+        submissions.incrementAndGet();
+        loopThread.execute(task);
+    };
+
+    @AfterEach
+    void stop() {
+        loopThread.shutdownNow();
+    }
+
+    @Test
+    void deliversOnTheLoopInOrder() {
+        EventLoopDelivery delivery = new EventLoopDelivery(16);
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(delivery.deliverOn(Flux.range(1, 100), loop)
+                        .doOnNext(v -> threads.add(Thread.currentThread().getName())))
+                .expectNextSequence(java.util.stream.IntStream.rangeClosed(1, 100).boxed().toList())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertTrue(threads.stream().allMatch("loop"::equals));
+    }
+
+    @Test
+    void wakesEachLoopOncePerBatchOfReadySubscribers() throws Exception {
+        EventLoopDelivery delivery = new EventLoopDelivery(16);
+        Sinks.Many<String> sink = Sinks.many().multicast().directBestEffort();
+        int subscribers = 50;
+        CountDownLatch received = new CountDownLatch(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            delivery.deliverOn(sink.asFlux(), loop).subscribe(v -> received.countDown());
+        }
+        // Let subscription-time drains settle, then block the loop so the broadcast queues up
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        loopThread.execute(() -> {
+            blocked.countDown();
+            try { gate.await(5, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        });
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        int before = submissions.get();
+
+        assertEquals(Sinks.EmitResult.OK, sink.tryEmitNext("event"));
+        gate.countDown();
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertEquals(1, submissions.get() - before, "one loop task for all ready subscribers");
+    }
+
+    @Test
+    void respectsDownstreamDemandAndPropagatesErrors() {
+        EventLoopDelivery delivery = new EventLoopDelivery(4);
+        StepVerifier.create(delivery.deliverOn(Flux.range(1, 10).concatWith(Flux.error(new IllegalStateException("boom"))), loop), 2)
+                .expectNext(1, 2)
+                .thenRequest(8)
+                .expectNextCount(8)
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void cancelStopsDeliveryAndUpstream() {
+        EventLoopDelivery delivery = new EventLoopDelivery(4);
+        AtomicInteger cancelled = new AtomicInteger();
+        StepVerifier.create(delivery.deliverOn(Flux.<Integer>never().doOnCancel(cancelled::incrementAndGet), loop))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void holdsEventsWhileUnwritableAndResumesOnWritabilityChange() throws Exception {
+        EventLoopDelivery delivery = new EventLoopDelivery(4);
+        TestGate gate = new TestGate();
+        gate.writable = false;
+        Sinks.Many<Integer> sink = Sinks.many().multicast().directBestEffort();
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        delivery.deliverOn(sink.asFlux(), loop, gate).subscribe(received::add);
+
+        for (int i = 1; i <= 10; i++) {
+            sink.tryEmitNext(i);
+        }
+        // Drain on the loop once so queued events had their chance to be delivered
+        CountDownLatch drained = new CountDownLatch(1);
+        loopThread.execute(drained::countDown);
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        assertTrue(received.isEmpty(), "nothing delivered while unwritable");
+
+        gate.writable = true;
+        CountDownLatch resumed = new CountDownLatch(1);
+        loopThread.execute(() -> {
+            gate.callback.run();
+            // The callback schedules the drain on the loop; count down behind it
+            loopThread.execute(resumed::countDown);
+        });
+        assertTrue(resumed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3, 4), received, "bounded queue held the first prefetch events");
+
+        sink.tryEmitNext(11);
+        CountDownLatch next = new CountDownLatch(1);
+        loopThread.execute(next::countDown);
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3, 4, 11), received);
+    }
+
+    @Test
+    void rejectsNonPositivePrefetch() {
+        assertThrows(IllegalArgumentException.class, () -> new EventLoopDelivery(0));
+    }
+
+    private static final class TestGate implements ConnectionWritability.Gate {
+        volatile boolean writable = true;
+        volatile Runnable callback;
+
+        @Override public boolean isWritable() { return writable; }
+        @Override public long pendingOutboundBytes() { return 0; }
+        @Override public void onWritable(Runnable callback) { this.callback = callback; }
+        @Override public void disconnect() { }
+        @Override public void close() { }
+    }
+}
@@ -0,0 +1,80 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Sinks;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares {@code LIGHTWEIGHT} and {@code MULTICAST} topic sinks at 1M topics with one subscriber each: heap
+ * allocated per topic (sink and subscription), measured on the subscribing thread, and events delivered by one
+ * emit into every topic.
+ */
+class LightweightTopicSinkBenchmarkTest {
+
+    private static final int TOPICS = 1_000_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void lightweightTopicsAllocateLessAndDeliverEveryEvent() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled());
+
+        Result multicast = run(() -> Sinks.many().multicast().directBestEffort());
+        Result lightweight = run(LightweightTopicSink::new);
+
+        assertEquals(TOPICS, multicast.delivered());
+        assertEquals(TOPICS, lightweight.delivered());
+        assertTrue(lightweight.bytesPerTopic() < multicast.bytesPerTopic(),
+                "lightweight " + lightweight.bytesPerTopic() + " vs multicast " + multicast.bytesPerTopic());
+    }
+
+    private static Result run(Supplier<Sinks.Many<String>> factory) {
+        @SuppressWarnings("unchecked")
+        Sinks.Many<String>[] topics = new Sinks.Many[TOPICS];
+        Counter counter = new Counter();
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < TOPICS; i++) {
+            topics[i] = factory.get();
+            topics[i].asFlux().subscribe(counter);
+        }
+        long bytesPerTopic = (THREADS.getCurrentThreadAllocatedBytes() - before) / TOPICS;
+
+        for (Sinks.Many<String> topic : topics) {
+            assertEquals(Sinks.EmitResult.OK, topic.tryEmitNext("event"));
+        }
+        return new Result(bytesPerTopic, counter.received);
+    }
+
+    /** Stateless subscriber shared by all topics, so only the sinks' own per-topic state is counted. */
+    private static final class Counter implements CoreSubscriber<String> {
+        long received;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String event) {
+            received++;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private record Result(long bytesPerTopic, long delivered) {}
+}
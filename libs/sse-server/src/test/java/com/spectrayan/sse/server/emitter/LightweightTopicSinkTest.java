@@ -0,0 +1,162 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LightweightTopicSinkTest {
+
+    @Test
+    void singleSubscriberReceivesWithoutUpgrade() {
+        LightweightTopicSink<String> sink = new LightweightTopicSink<>();
+        assertEquals(Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER, sink.tryEmitNext("dropped"));
+
+        StepVerifier.create(sink.asFlux())
+                .then(() -> {
+                    assertEquals(1, sink.currentSubscriberCount());
+                    assertEquals(Sinks.EmitResult.OK, sink.tryEmitNext("a"));
+                })
+                .expectNext("a")
+                .then(() -> assertEquals(Sinks.EmitResult.OK, sink.tryEmitComplete()))
+                .verifyComplete();
+
+        assertFalse(sink.isUpgraded());
+        assertEquals(Sinks.EmitResult.FAIL_TERMINATED, sink.tryEmitNext("late"));
+        StepVerifier.create(sink.asFlux()).verifyComplete();
+    }
+
+    @Test
+    void eventsWithoutDemandAreDropped() {
+        LightweightTopicSink<String> sink = new LightweightTopicSink<>();
+        StepVerifier.create(sink.asFlux(), 0)
+                .then(() -> assertEquals(Sinks.EmitResult.FAIL_OVERFLOW, sink.tryEmitNext("a")))
+                .thenRequest(1)
+                .then(() -> assertEquals(Sinks.EmitResult.OK, sink.tryEmitNext("b")))
+                .expectNext("b")
+                .thenCancel()
+                .verify();
+        assertEquals(0, sink.currentSubscriberCount());
+    }
+
+    @Test
+    void secondSubscriberUpgradesToMulticast() {
+        LightweightTopicSink<String> sink = new LightweightTopicSink<>();
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        AtomicBoolean firstDone = new AtomicBoolean();
+
+        sink.asFlux().subscribe(first::add, e -> {}, () -> firstDone.set(true));
+        sink.tryEmitNext("solo");
+        var secondSub = sink.asFlux().subscribe(second::add);
+
+        assertTrue(sink.isUpgraded());
+        assertEquals(2, sink.currentSubscriberCount());
+        sink.tryEmitNext("both");
+        secondSub.dispose();
+        sink.tryEmitNext("first-only");
+        sink.tryEmitComplete();
+
+        assertEquals(List.of("solo", "both", "first-only"), first);
+        assertEquals(List.of("both"), second);
+        assertTrue(firstDone.get());
+    }
+
+    @Test
+    void cancelledSingleSubscriberIsReplacedWithoutUpgrade() {
+        LightweightTopicSink<String> sink = new LightweightTopicSink<>();
+        sink.asFlux().subscribe().dispose();
+        assertEquals(Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER, sink.tryEmitNext("x"));
+
+        StepVerifier.create(sink.asFlux())
+                .then(() -> sink.tryEmitNext("y"))
+                .expectNext("y")
+                .thenCancel()
+                .verify();
+        assertFalse(sink.isUpgraded());
+    }
+
+    @Test
+    void errorIsDeliveredToCurrentAndLateSubscribers() {
+        LightweightTopicSink<String> sink = new LightweightTopicSink<>();
+        StepVerifier.create(sink.asFlux())
+                .then(() -> sink.tryEmitError(new IllegalStateException("boom")))
+                .verifyError(IllegalStateException.class);
+        StepVerifier.create(sink.asFlux()).verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    void concurrentEmittersNeverOverlapAndUpgradeKeepsOrder() throws Exception {
+        LightweightTopicSink<Integer> sink = new LightweightTopicSink<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicBoolean overlap = new AtomicBoolean();
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        sink.asFlux().subscribe(new BaseSubscriber<>() {
+            @Override protected void hookOnNext(Integer v) {
+                if (inFlight.incrementAndGet() > 1) overlap.set(true);
+                received.add(v);
+                inFlight.decrementAndGet();
+            }
+        });
+
+        int threads = 4;
+        int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        while (sink.tryEmitNext(base + i) == Sinks.EmitResult.FAIL_NON_SERIALIZED) Thread.onSpinWait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        // Upgrade while emissions are running
+        sink.asFlux().subscribe();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertFalse(overlap.get(), "onNext must never be called concurrently");
+        assertEquals(threads * perThread, received.size());
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            List<Integer> own = received.stream().filter(v -> v >= base && v < base + perThread).toList();
+            for (int i = 1; i < own.size(); i++) {
+                assertTrue(own.get(i) > own.get(i - 1), "per-producer order must be preserved");
+            }
+        }
+    }
+
+    @Test
+    void lightweightSinkTypeWorksThroughEmitter() {
+        com.spectrayan.sse.server.config.SseServerProperties props = new com.spectrayan.sse.server.config.SseServerProperties();
+        props.getEmitter().setSinkType(com.spectrayan.sse.server.config.SseServerProperties.SinkType.LIGHTWEIGHT);
+        props.getStream().setHeartbeatEnabled(false);
+        props.getStream().setConnectedEventEnabled(false);
+        DefaultSseEmitter emitter = new DefaultSseEmitter(props, null, null, (exchange, topic) -> "sid", null, null);
+
+        StepVerifier.create(emitter.connect("user-1").map(e -> String.valueOf(e.data())))
+                .then(() -> emitter.emit("user-1", "hello"))
+                .expectNext("hello")
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertFalse(emitter.currentTopics().contains("user-1"));
+    }
+}
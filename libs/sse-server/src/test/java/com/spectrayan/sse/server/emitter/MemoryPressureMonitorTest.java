@@ -0,0 +1,116 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryPressureMonitorTest {
+
+    private final List<String> actions = new ArrayList<>();
+    private volatile double usage;
+    private final AtomicLong buffered = new AtomicLong();
+
+    private MemoryPressureMonitor monitor(SseServerProperties.Capacity config, NodeCapacity capacity) {
+        return new MemoryPressureMonitor(config, capacity, () -> usage, buffered::get,
+                () -> { actions.add("trim"); return 2; },
+                count -> { actions.add("disconnect:" + count); return count; });
+    }
+
+    private static SseServerProperties.Capacity shedding() {
+        SseServerProperties.Capacity config = new SseServerProperties.Capacity();
+        config.setShedding(true);
+        config.setDisconnectBatch(3);
+        return config;
+    }
+
+    @Test
+    void escalatesInOrderAsUsageGrows() {
+        SseServerProperties.Capacity config = shedding();
+        NodeCapacity capacity = new NodeCapacity(config);
+        MemoryPressureMonitor monitor = monitor(config, capacity);
+
+        usage = 0.5;
+        monitor.check();
+        assertFalse(capacity.isShedding());
+        assertTrue(actions.isEmpty());
+
+        usage = 0.86;
+        monitor.check();
+        assertTrue(capacity.isShedding(), "connects rejected first");
+        assertTrue(actions.isEmpty());
+
+        usage = 0.91;
+        monitor.check();
+        assertEquals(List.of("trim"), actions);
+
+        usage = 0.96;
+        monitor.check();
+        assertEquals(List.of("trim", "trim", "disconnect:3"), actions);
+        assertEquals(1, monitor.shed(MemoryPressureMonitor.Action.REJECT_CONNECTS));
+        assertEquals(4, monitor.shed(MemoryPressureMonitor.Action.TRIM_REPLAY));
+        assertEquals(3, monitor.shed(MemoryPressureMonitor.Action.DISCONNECT_SLOW));
+        assertEquals(0.96, monitor.memoryUsage());
+    }
+
+    @Test
+    void admitsConnectsAgainOnlyBelowRecoveryMargin() {
+        SseServerProperties.Capacity config = shedding();
+        NodeCapacity capacity = new NodeCapacity(config);
+        MemoryPressureMonitor monitor = monitor(config, capacity);
+
+        usage = 0.9;
+        monitor.check();
+        assertTrue(capacity.isShedding());
+        usage = 0.82;
+        monitor.check();
+        assertTrue(capacity.isShedding(), "still within the recovery margin");
+        usage = 0.79;
+        monitor.check();
+        assertFalse(capacity.isShedding());
+    }
+
+    @Test
+    void bufferedBytesAboveLimitRejectConnectsAndDisconnectSlowest() {
+        SseServerProperties.Capacity config = new SseServerProperties.Capacity();
+        config.setMaxBufferedBytes(DataSize.ofMegabytes(1));
+        config.setDisconnectBatch(5);
+        NodeCapacity capacity = new NodeCapacity(config);
+        MemoryPressureMonitor monitor = monitor(config, capacity);
+
+        buffered.set(DataSize.ofMegabytes(2).toBytes());
+        usage = 0.99; // ignored: memory shedding disabled
+        monitor.check();
+        assertTrue(capacity.isShedding());
+        assertEquals(List.of("disconnect:5"), actions);
+
+        buffered.set(0);
+        monitor.check();
+        assertFalse(capacity.isShedding());
+        assertEquals(List.of("disconnect:5"), actions);
+    }
+
+    @Test
+    void heapUsageSumsThePoolsSoAFullSurvivorSpaceDoesNotReadAsAFullHeap() {
+        List<MemoryUsage> pools = List.of(
+                new MemoryUsage(0, 0, 64, 64),      // eden, emptied by the collection
+                new MemoryUsage(0, 16, 16, 16),     // survivor, full after a young collection
+                new MemoryUsage(0, 96, 384, 432),   // old generation
+                new MemoryUsage(0, 10, 10, -1));    // no maximum size
+
+        assertEquals(112.0 / 512, MemoryPressureMonitor.collectionUsage(pools), 1e-9);
+        assertEquals(-1, MemoryPressureMonitor.collectionUsage(List.of(new MemoryUsage(0, 10, 10, -1))));
+    }
+
+    @Test
+    void samplesJvmMemoryUsage() {
+        double sampled = MemoryPressureMonitor.jvmMemoryUsage();
+        assertTrue(sampled >= 0 && sampled <= 1, "usage " + sampled);
+    }
+}
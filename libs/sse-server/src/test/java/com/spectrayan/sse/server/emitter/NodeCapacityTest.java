@@ -0,0 +1,89 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.bridge.NoOpBroadcastBridge;
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.error.SseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeCapacityTest {
+
+    private static <T> ObjectProvider<T> emptyProvider() {
+        return new ObjectProvider<>() {
+            @Override public T getObject(Object... args) { return null; }
+            @Override public T getIfAvailable() { return null; }
+            @Override public T getIfUnique() { return null; }
+            @Override public java.util.stream.Stream<T> orderedStream() { return java.util.stream.Stream.empty(); }
+            @Override public java.util.Iterator<T> iterator() { return java.util.List.<T>of().iterator(); }
+        };
+    }
+
+    private static DefaultSseEmitter emitter(SseServerProperties props) {
+        return new DefaultSseEmitter(props, emptyProvider(), emptyProvider(), (exchange, topic) -> "sid", null, new NoOpBroadcastBridge());
+    }
+
+    @Test
+    void boundsConnectionsAndTopics() {
+        SseServerProperties.Capacity config = new SseServerProperties.Capacity();
+        config.setMaxConnections(2);
+        config.setMaxTopics(1);
+        NodeCapacity capacity = new NodeCapacity(config);
+
+        assertNull(capacity.tryAcquireConnection());
+        assertNull(capacity.tryAcquireConnection());
+        assertEquals(NodeCapacity.Reason.MAX_CONNECTIONS, capacity.tryAcquireConnection());
+        capacity.releaseConnection();
+        assertNull(capacity.tryAcquireConnection());
+        assertEquals(1, capacity.rejected(NodeCapacity.Reason.MAX_CONNECTIONS));
+
+        assertNull(capacity.tryAcquireTopic());
+        assertEquals(NodeCapacity.Reason.MAX_TOPICS, capacity.tryAcquireTopic());
+        capacity.releaseTopic();
+        assertEquals(0, capacity.topics());
+        assertEquals(1, capacity.rejected(NodeCapacity.Reason.MAX_TOPICS));
+    }
+
+    @Test
+    void rejectsEveryConnectWhileShedding() {
+        NodeCapacity capacity = new NodeCapacity(new SseServerProperties.Capacity());
+        capacity.setShedding(true);
+        assertEquals(NodeCapacity.Reason.SHEDDING, capacity.tryAcquireConnection());
+        capacity.setShedding(false);
+        assertNull(capacity.tryAcquireConnection());
+        assertEquals(1, capacity.connections());
+    }
+
+    @Test
+    void emitterRejectsConnectsBeyondNodeLimitAndReleasesOnDisconnect() {
+        SseServerProperties props = new SseServerProperties();
+        props.getCapacity().setMaxConnections(1);
+        DefaultSseEmitter emitter = emitter(props);
+
+        Disposable first = emitter.connect("a").subscribe();
+        StepVerifier.create(emitter.connect("b"))
+                .expectErrorSatisfies(ex -> assertInstanceOf(SseException.class, ex))
+                .verify();
+
+        first.dispose();
+        Disposable second = emitter.connect("b").subscribe();
+        assertEquals(1, emitter.subscriberCount("b"));
+        second.dispose();
+    }
+
+    @Test
+    void emitterRejectsTopicsBeyondNodeLimit() {
+        SseServerProperties props = new SseServerProperties();
+        props.getCapacity().setMaxTopics(1);
+        DefaultSseEmitter emitter = emitter(props);
+
+        Disposable first = emitter.connect("a").subscribe();
+        assertThrows(SseException.class, () -> emitter.connect("b"));
+        // Cancelling the last subscriber removes the topic and frees its slot
+        first.dispose();
+        assertDoesNotThrow(() -> emitter.connect("b"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fans out a hot topic with 100k subscribers spread over 1, 2 and 4 event loops through a
+ * {@link PartitionedTopicSink}: every event reaches every subscriber in order, on its own loop, and the
+ * per-subscriber work is split evenly between the loops while the emitting thread delivers nothing.
+ */
+class PartitionedTopicSinkBenchmarkTest {
+
+    private static final int SUBSCRIBERS = 100_000;
+    private static final int EVENTS = 20;
+
+    @Test
+    void fanOutIsSpreadAcrossEventLoops() throws Exception {
+        for (int loops : new int[] {1, 2, 4}) {
+            Map<String, Long> perThread = run(loops);
+
+            assertFalse(perThread.containsKey(Thread.currentThread().getName()));
+            assertEquals(loops, perThread.size());
+            for (long deliveries : perThread.values()) {
+                assertEquals((long) SUBSCRIBERS / loops * EVENTS, deliveries);
+            }
+        }
+    }
+
+    private static Map<String, Long> run(int loopCount) throws InterruptedException {
+        List<ExecutorService> loops = new ArrayList<>();
+        for (int i = 0; i < loopCount; i++) {
+            String name = "loop-" + i;
+            loops.add(Executors.newSingleThreadExecutor(r -> new Thread(r, name)));
+        }
+        try {
+            PartitionedTopicSink<Integer> sink = new PartitionedTopicSink<>();
+            Map<String, LongAdder> perThread = new ConcurrentHashMap<>();
+            CountDownLatch done = new CountDownLatch(SUBSCRIBERS);
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                sink.asFlux().subscribe(new Subscriber(loops.get(i % loopCount), perThread, done));
+            }
+            assertEquals(loopCount, sink.shardCount());
+
+            for (int i = 0; i < EVENTS; i++) {
+                assertEquals(Sinks.EmitResult.OK, sink.tryEmitNext(i));
+            }
+            assertTrue(done.await(30, TimeUnit.SECONDS));
+
+            Map<String, Long> result = new ConcurrentHashMap<>();
+            perThread.forEach((thread, count) -> result.put(thread, count.sum()));
+            return result;
+        } finally {
+            loops.forEach(ExecutorService::shutdownNow);
+        }
+    }
+
+    /** Subscriber bound to one loop, checking that it sees the events in emission order. */
+    private static final class Subscriber implements CoreSubscriber<Integer> {
+        private final Context context;
+        private final Map<String, LongAdder> perThread;
+        private final CountDownLatch done;
+        private int next;
+
+        Subscriber(ExecutorService loop, Map<String, LongAdder> perThread, CountDownLatch done) {
+            this.context = Context.of(EventLoopAffinity.CONTEXT_KEY, loop);
+            this.perThread = perThread;
+            this.done = done;
+        }
+
+        @Override
+        public Context currentContext() {
+            return context;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Integer event) {
+            assertEquals(next++, event);
+            perThread.computeIfAbsent(Thread.currentThread().getName(), t -> new LongAdder()).increment();
+            if (next == EVENTS) done.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedTopicSinkTest {
+
+    private final ExecutorService loopA = Executors.newSingleThreadExecutor(r -> new Thread(r, "loop-a"));
+    private final ExecutorService loopB = Executors.newSingleThreadExecutor(r -> new Thread(r, "loop-b"));
+
+    @AfterEach
+    void stopLoops() {
+        loopA.shutdownNow();
+        loopB.shutdownNow();
+    }
+
+    private static <T> Flux<T> on(PartitionedTopicSink<T> sink, java.util.concurrent.Executor loop) {
+        return sink.asFlux().contextWrite(ctx -> ctx.put(EventLoopAffinity.CONTEXT_KEY, loop));
+    }
+
+    @Test
+    void eachShardIsDeliveredOnItsOwnLoop() throws Exception {
+        PartitionedTopicSink<String> sink = new PartitionedTopicSink<>();
+        List<String> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(4);
+        for (int i = 0; i < 2; i++) {
+            on(sink, loopA).subscribe(v -> { seen.add(Thread.currentThread().getName()); latch.countDown(); });
+        }
+        on(sink, loopB).subscribe(v -> { seen.add(Thread.currentThread().getName()); latch.countDown(); });
+        sink.asFlux().subscribe(v -> { seen.add("caller:" + Thread.currentThread().getName()); latch.countDown(); });
+
+        assertEquals(2, sink.shardCount());
+        assertEquals(4, sink.currentSubscriberCount());
+        assertEquals(Sinks.EmitResult.OK, sink.tryEmitNext("e"));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, seen.stream().filter("loop-a"::equals).count());
+        assertEquals(1, seen.stream().filter("loop-b"::equals).count());
+        assertTrue(seen.contains("caller:" + Thread.currentThread().getName()));
+    }
+
+    @Test
+    void orderIsPreservedPerShard() {
+        PartitionedTopicSink<Integer> sink = new PartitionedTopicSink<>();
+        StepVerifier.create(on(sink, loopA))
+                .then(() -> {
+                    for (int i = 0; i < 100; i++) sink.tryEmitNext(i);
+                    sink.tryEmitComplete();
+                })
+                .expectNextSequence(java.util.stream.IntStream.range(0, 100).boxed().toList())
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void reportsZeroSubscribersAndTerminatesLateSubscribers() {
+        PartitionedTopicSink<String> sink = new PartitionedTopicSink<>();
+        assertEquals(Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER, sink.tryEmitNext("x"));
+
+        StepVerifier.create(on(sink, loopB))
+                .then(() -> sink.tryEmitError(new IllegalStateException("boom")))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(Sinks.EmitResult.FAIL_TERMINATED, sink.tryEmitNext("y"));
+        StepVerifier.create(on(sink, loopA)).expectError(IllegalStateException.class).verify(Duration.ofSeconds(5));
+        StepVerifier.create(sink.asFlux()).expectError(IllegalStateException.class).verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void cancelledSubscribersLeaveTheirShardEmpty() {
+        PartitionedTopicSink<String> sink = new PartitionedTopicSink<>();
+        on(sink, loopA).subscribe().dispose();
+        assertEquals(0, sink.currentSubscriberCount());
+        assertEquals(Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER, sink.tryEmitNext("x"));
+    }
+
+    @Test
+    void resultReflectsInlineDeliveryAndDispatch() {
+        PartitionedTopicSink<String> sink = new PartitionedTopicSink<>();
+        StepVerifier.create(sink.asFlux(), 0)
+                .then(() -> assertEquals(Sinks.EmitResult.FAIL_OVERFLOW, sink.tryEmitNext("no demand")))
+                .then(() -> on(sink, loopA).subscribe())
+                .then(() -> assertEquals(Sinks.EmitResult.OK, sink.tryEmitNext("enqueued")))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void aProducerRacingAStalledDeliveryOnTheCallerShardGivesUp() throws Exception {
+        PartitionedTopicSink<String> sink = new PartitionedTopicSink<>();
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        sink.asFlux().subscribe(value -> {
+            delivering.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        loopA.execute(() -> sink.tryEmitNext("a"));
+        assertTrue(delivering.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertTrue(sink.tryEmitNext("b").isFailure()));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void anEmitFromWithinADeliveryOnALoopIsDeliveredAfterIt() throws Exception {
+        io.netty.channel.DefaultEventLoop loop = new io.netty.channel.DefaultEventLoop();
+        try {
+            PartitionedTopicSink<String> sink = new PartitionedTopicSink<>();
+            List<String> received = new CopyOnWriteArrayList<>();
+            CountDownLatch delivered = new CountDownLatch(2);
+            on(sink, loop).subscribe(value -> {
+                received.add(value);
+                if (value.equals("a")) sink.tryEmitNext("b");
+                delivered.countDown();
+            });
+
+            loop.submit(() -> sink.tryEmitNext("a")).get(5, TimeUnit.SECONDS);
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("a", "b"), received);
+        } finally {
+            loop.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+}
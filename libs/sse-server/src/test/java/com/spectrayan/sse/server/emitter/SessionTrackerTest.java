@@ -34,7 +34,7 @@ class SessionTrackerTest {
         SinkFactory sinkFactory = new SinkFactory(props, null);
         topicManager = new TopicManager(sinkFactory);
         hook = new RecordingHook();
-        tracker = new SessionTracker(List.of(hook), topicManager, null);
+        tracker = new SessionTracker(List.of(hook), topicManager, null, null, null);
     }
 
     @Test
@@ -51,7 +51,7 @@ class SessionTrackerTest {
                 .then(() -> {
                     // After subscription
                     assertEquals(1, ch.subscribers.get());
-                    assertTrue(ch.sessions.containsKey("s1"));
+                    assertTrue(ch.sessionsSnapshot().containsKey("s1"));
                     assertEquals(List.of("s1"), hook.joined);
                 })
                 .thenCancel()
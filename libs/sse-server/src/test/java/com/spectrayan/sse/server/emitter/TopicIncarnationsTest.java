@@ -0,0 +1,46 @@
+package com.spectrayan.sse.server.emitter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicIncarnationsTest {
+
+    private final AtomicLong seconds = new AtomicLong(1_000);
+    private final TopicIncarnations incarnations = new TopicIncarnations(seconds::get);
+
+    @Test
+    void incarnationsAreNumberedPerTopicFromTheClock() {
+        assertEquals(BridgeSequencer.epochBase(1_000), incarnations.nextEpochBase("a"));
+        for (int i = 0; i < 5_000; i++) {
+            incarnations.nextEpochBase("other-" + i);
+        }
+        assertEquals(BridgeSequencer.epochBase(1_001), incarnations.nextEpochBase("a"));
+        assertEquals(BridgeSequencer.epochBase(1_000), incarnations.nextEpochBase("b"));
+    }
+
+    @Test
+    void topicsRenewedFasterThanTheClockStayAheadOfIt() {
+        for (int i = 0; i < 3; i++) {
+            incarnations.nextEpochBase("a");
+        }
+        seconds.addAndGet(1);
+
+        assertEquals(BridgeSequencer.epochBase(1_003), incarnations.nextEpochBase("a"));
+        seconds.addAndGet(60);
+        assertEquals(BridgeSequencer.epochBase(1_061), incarnations.nextEpochBase("a"));
+    }
+
+    @Test
+    void incarnationsWrapAroundAndStayNewer() {
+        seconds.set(BridgeSequencer.EPOCH_MASK);
+        long last = incarnations.nextEpochBase("a");
+        long wrapped = incarnations.nextEpochBase("a");
+
+        assertEquals(BridgeSequencer.epochBase(BridgeSequencer.EPOCH_MASK), last);
+        assertEquals(0, wrapped);
+        assertTrue(BridgeSequencer.newer(0, BridgeSequencer.EPOCH_MASK));
+    }
+}
@@ -0,0 +1,132 @@
+package com.spectrayan.sse.server.emitter;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.topic.TopicSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicSourceBinderTest {
+
+    private TopicManager topicManager;
+    private EmissionService emissionService;
+    private AtomicInteger opened;
+    private AtomicInteger cancelled;
+    private Sinks.Many<String> upstream;
+
+    @BeforeEach
+    void setUp() {
+        SseServerProperties props = new SseServerProperties();
+        topicManager = new TopicManager(new SinkFactory(props, null));
+        emissionService = new EmissionService(null, SseServerProperties.Emitter.DEFAULT_EMIT_RETRIES, null, null);
+        opened = new AtomicInteger();
+        cancelled = new AtomicInteger();
+        upstream = Sinks.many().multicast().directBestEffort();
+    }
+
+    private TopicSource source() {
+        return TopicSource.of("^prices\\..+$", topic -> {
+            opened.incrementAndGet();
+            return upstream.asFlux().map(v -> topic + ":" + v).doOnCancel(cancelled::incrementAndGet);
+        });
+    }
+
+    private Flux<ServerSentEvent<Object>> subscribe(TopicSourceBinder binder, SessionTracker tracker, String topic) {
+        TopicChannel channel = topicManager.getOrCreate(topic);
+        return binder.bind(topic, tracker.decorate(topic, channel.sink.asFlux(), channel, null));
+    }
+
+    @Test
+    void activatesOnFirstSubscriberAndCancelsAfterLast() {
+        TopicSourceBinder binder = new TopicSourceBinder(List.of(source()), topicManager, emissionService, Duration.ZERO);
+        SessionTracker tracker = new SessionTracker(null, topicManager, null, binder, null);
+
+        assertFalse(binder.isActive("prices.eur"));
+        StepVerifier.create(subscribe(binder, tracker, "prices.eur"))
+                .then(() -> {
+                    assertTrue(binder.isActive("prices.eur"));
+                    upstream.tryEmitNext("1");
+                })
+                .assertNext(e -> assertEquals("prices.eur:1", e.data()))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, opened.get());
+        assertEquals(1, cancelled.get());
+        assertFalse(binder.isActive("prices.eur"));
+    }
+
+    @Test
+    void sharesUpstreamBetweenSubscribers() {
+        TopicSourceBinder binder = new TopicSourceBinder(List.of(source()), topicManager, emissionService, Duration.ZERO);
+        SessionTracker tracker = new SessionTracker(null, topicManager, null, binder, null);
+
+        var first = subscribe(binder, tracker, "prices.usd").subscribe();
+        var second = subscribe(binder, tracker, "prices.usd").subscribe();
+        assertEquals(1, opened.get());
+
+        first.dispose();
+        assertTrue(binder.isActive("prices.usd"), "upstream must survive while a subscriber remains");
+        second.dispose();
+        assertFalse(binder.isActive("prices.usd"));
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void lingerKeepsUpstreamForReturningSubscriber() {
+        VirtualTimeScheduler vts = VirtualTimeScheduler.create();
+        TopicSourceBinder binder = new TopicSourceBinder(List.of(source()), topicManager, emissionService,
+                Duration.ofSeconds(5), vts);
+        SessionTracker tracker = new SessionTracker(null, topicManager, null, binder, null);
+
+        subscribe(binder, tracker, "prices.gbp").subscribe().dispose();
+        vts.advanceTimeBy(Duration.ofSeconds(2));
+        assertTrue(binder.isActive("prices.gbp"));
+
+        var again = subscribe(binder, tracker, "prices.gbp").subscribe();
+        vts.advanceTimeBy(Duration.ofSeconds(10));
+        assertTrue(binder.isActive("prices.gbp"));
+        assertEquals(1, opened.get());
+
+        again.dispose();
+        vts.advanceTimeBy(Duration.ofSeconds(5));
+        assertFalse(binder.isActive("prices.gbp"));
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void nonMatchingTopicIsUnchanged() {
+        TopicSourceBinder binder = new TopicSourceBinder(List.of(source()), topicManager, emissionService, Duration.ZERO);
+        Flux<ServerSentEvent<Object>> stream = Flux.empty();
+        assertSame(stream, binder.bind("orders", stream));
+    }
+
+    @Test
+    void completedUpstreamIsReopenedByNextActivation() {
+        TopicSourceBinder binder = new TopicSourceBinder(List.of(TopicSource.of("^once$", t -> {
+            opened.incrementAndGet();
+            return Flux.just("a");
+        })), topicManager, emissionService, Duration.ofMinutes(1));
+        SessionTracker tracker = new SessionTracker(null, topicManager, null, binder, null);
+
+        StepVerifier.create(subscribe(binder, tracker, "once"))
+                .assertNext(e -> assertEquals("a", e.data()))
+                .then(() -> assertFalse(binder.isActive("once")))
+                .thenCancel()
+                .verify();
+
+        subscribe(binder, tracker, "once").subscribe().dispose();
+        assertEquals(2, opened.get());
+        binder.shutdown();
+    }
+}
@@ -0,0 +1,196 @@
+package com.spectrayan.sse.server.lifecycle;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.customize.SseSessionBatchHook;
+import com.spectrayan.sse.server.customize.SseSessionHook;
+import com.spectrayan.sse.server.events.SseSubscribedEvent;
+import com.spectrayan.sse.server.events.SseUnsubscribedEvent;
+import com.spectrayan.sse.server.session.SseSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.GenericApplicationContext;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseLifecycleDispatcherTest {
+
+    private static SseSession session(String id) {
+        return SseSession.builder().sessionId(id).topic("t").build();
+    }
+
+    private static SseServerProperties.Lifecycle asyncConfig() {
+        SseServerProperties.Lifecycle cfg = new SseServerProperties.Lifecycle();
+        cfg.setMode(SseServerProperties.Lifecycle.Mode.ASYNC);
+        return cfg;
+    }
+
+    private static class RecordingBatchHook implements SseSessionBatchHook {
+        final List<List<String>> joinBatches = new CopyOnWriteArrayList<>();
+        final List<String> order = new CopyOnWriteArrayList<>();
+        @Override public void onJoinBatch(List<SseSession> sessions) {
+            joinBatches.add(sessions.stream().map(SseSession::getSessionId).toList());
+            sessions.forEach(s -> order.add("join:" + s.getSessionId()));
+        }
+        @Override public void onLeaveBatch(List<Departure> departures) {
+            departures.forEach(d -> order.add("leave:" + d.session().getSessionId() + ":" + d.signal().name()));
+        }
+    }
+
+    @Test
+    void syncModeInvokesHooksOnCallerThread() {
+        SseLifecycleDispatcher dispatcher = SseLifecycleDispatcher.sync(null);
+        List<String> threads = new ArrayList<>();
+        SseSessionHook hook = new SseSessionHook() {
+            @Override public void onJoin(SseSession s) { threads.add(Thread.currentThread().getName()); }
+            @Override public void onLeave(SseSession s, SignalType sig) { threads.add(Thread.currentThread().getName()); }
+        };
+        dispatcher.join(List.of(hook), session("a"));
+        dispatcher.leave(List.of(hook), session("a"), SignalType.CANCEL);
+        String caller = Thread.currentThread().getName();
+        assertEquals(List.of(caller, caller), threads);
+        assertFalse(dispatcher.isAsync());
+    }
+
+    @Test
+    void asyncModeRunsOffCallerAndPreservesOrder() throws Exception {
+        SseLifecycleDispatcher dispatcher = new SseLifecycleDispatcher(null, asyncConfig());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        RecordingBatchHook recorder = new RecordingBatchHook();
+        SseSessionHook blocker = new SseSessionHook() {
+            @Override public void onJoin(SseSession s) {
+                if (s.getSessionId().equals("a")) {
+                    entered.countDown();
+                    try { gate.await(5, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                }
+            }
+            @Override public void onLeave(SseSession s, SignalType sig) {
+                if (s.getSessionId().equals("c")) done.countDown();
+            }
+        };
+        List<SseSessionHook> hooks = List.of(recorder, blocker);
+
+        dispatcher.join(hooks, session("a"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        // While the drain is blocked in "a", the rest queues up and is coalesced
+        dispatcher.join(hooks, session("b"));
+        dispatcher.join(hooks, session("c"));
+        dispatcher.leave(hooks, session("b"), SignalType.CANCEL);
+        dispatcher.leave(hooks, session("c"), SignalType.ON_COMPLETE);
+        gate.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("join:a", "join:b", "join:c", "leave:b:CANCEL", "leave:c:ON_COMPLETE"), recorder.order);
+        assertEquals(List.of("b", "c"), recorder.joinBatches.get(1));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void queueOverflowDropsJoinsWithTheirLeavesAndNeverRunsOnCaller() throws Exception {
+        SseServerProperties.Lifecycle cfg = asyncConfig();
+        cfg.setQueueCapacity(1);
+        SseLifecycleDispatcher dispatcher = new SseLifecycleDispatcher(null, cfg);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        List<String> order = new CopyOnWriteArrayList<>();
+        AtomicInteger inline = new AtomicInteger();
+        SseSessionHook hook = new SseSessionHook() {
+            @Override public void onJoin(SseSession s) {
+                if (Thread.currentThread() == caller) inline.incrementAndGet();
+                order.add("join:" + s.getSessionId());
+                if (s.getSessionId().equals("a")) {
+                    entered.countDown();
+                    try { gate.await(5, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                }
+            }
+            @Override public void onLeave(SseSession s, SignalType sig) {
+                if (Thread.currentThread() == caller) inline.incrementAndGet();
+                order.add("leave:" + s.getSessionId());
+                if (s.getSessionId().equals("b")) done.countDown();
+            }
+        };
+        List<SseSessionHook> hooks = List.of(hook);
+        SseSession b = session("b");
+        SseSession c = session("c");
+
+        dispatcher.join(hooks, session("a"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        // The drain is blocked in "a": "b" fills the queue, "c" is dropped together with its leave
+        dispatcher.join(hooks, b);
+        dispatcher.join(hooks, c);
+        dispatcher.leave(hooks, c, SignalType.CANCEL);
+        // A leave whose join was accepted is queued even though the queue is full
+        dispatcher.leave(hooks, b, SignalType.CANCEL);
+        gate.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("join:a", "join:b", "leave:b"), order);
+        assertEquals(0, inline.get());
+        assertEquals(2, dispatcher.dropped());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shutdownFlushesAndLaterCallsRunInline() {
+        SseLifecycleDispatcher dispatcher = new SseLifecycleDispatcher(null, asyncConfig());
+        List<String> seen = new CopyOnWriteArrayList<>();
+        SseSessionHook hook = new SseSessionHook() {
+            @Override public void onJoin(SseSession s) { seen.add(s.getSessionId()); }
+        };
+        dispatcher.join(List.of(hook), session("a"));
+        dispatcher.shutdown();
+        assertEquals(List.of("a"), seen);
+        dispatcher.join(List.of(hook), session("b"));
+        assertEquals(List.of("a", "b"), seen);
+    }
+
+    static class SubscribedListener {
+        final List<Object> received = new CopyOnWriteArrayList<>();
+        @EventListener
+        void on(SseSubscribedEvent event) { received.add(event); }
+    }
+
+    @Test
+    void skipsAllocationWhenNoListenerForType() {
+        try (GenericApplicationContext ctx = new GenericApplicationContext()) {
+            ctx.registerBean(SubscribedListener.class);
+            org.springframework.context.annotation.AnnotationConfigUtils.registerAnnotationConfigProcessors(ctx);
+            ctx.refresh();
+            SseLifecycleDispatcher dispatcher = SseLifecycleDispatcher.sync(ctx);
+
+            AtomicInteger allocated = new AtomicInteger();
+            dispatcher.publish(SseUnsubscribedEvent.class, () -> {
+                allocated.incrementAndGet();
+                return new SseUnsubscribedEvent("s", "t", "r");
+            });
+            assertEquals(0, allocated.get(), "event without listeners must not be created");
+
+            dispatcher.publish(SseSubscribedEvent.class, () -> {
+                allocated.incrementAndGet();
+                return new SseSubscribedEvent("s", "t", "r");
+            });
+            assertEquals(1, allocated.get());
+            assertEquals(1, ctx.getBean(SubscribedListener.class).received.size());
+        }
+    }
+
+    @Test
+    void asyncPublishDeliversEvents() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        SseLifecycleDispatcher dispatcher = new SseLifecycleDispatcher(event -> latch.countDown(), asyncConfig());
+        dispatcher.publish(SseSubscribedEvent.class, () -> new SseSubscribedEvent("s", "t", "r"));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,64 @@
+package com.spectrayan.sse.server.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Heap footprint of 100k and 1M simulated sessions from a handful of clients: bytes allocated per session,
+ * measured on the building thread, and distinct {@code User-Agent} instances the sessions retain.
+ */
+class SessionFootprintBenchmarkTest {
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_4) AppleWebKit/605.1.15 (KHTML, like Gecko) Safari/605.1.15",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:125.0) Gecko/20100101 Firefox/125.0",
+            "okhttp/4.12.0"
+    };
+    /** Header copies as a server would read them: equal strings, distinct instances. */
+    private static final String[] HEADERS = new String[1024];
+
+    static {
+        for (int i = 0; i < HEADERS.length; i++) {
+            HEADERS[i] = new String(USER_AGENTS[i % USER_AGENTS.length]);
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void sessionsShareUserAgentsAndAllocateNoAttributeMaps() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled());
+
+        for (int sessions : new int[] {100_000, 1_000_000}) {
+            SseSession[] retained = new SseSession[sessions];
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < sessions; i++) {
+                retained[i] = SseSession.builder()
+                        .sessionId("s")
+                        .topic("prices")
+                        .remoteAddress("/10.0.0.1:50000")
+                        .userAgent(HEADERS[i & (HEADERS.length - 1)])
+                        .createdAtEpochMillis(1_700_000_000_000L + i)
+                        .build();
+            }
+            long bytesPerSession = (THREADS.getCurrentThreadAllocatedBytes() - before) / sessions;
+
+            Set<String> userAgents = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (SseSession session : retained) {
+                userAgents.add(session.getUserAgent());
+            }
+            assertEquals(USER_AGENTS.length, userAgents.size());
+            // The session and its builder, without an Instant or attribute map
+            assertTrue(bytesPerSession <= 128, sessions + " sessions: " + bytesPerSession + " bytes per session");
+        }
+    }
+}
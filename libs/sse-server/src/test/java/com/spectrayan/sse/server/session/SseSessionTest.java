@@ -0,0 +1,74 @@
+package com.spectrayan.sse.server.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseSessionTest {
+
+    @Test
+    void repeatedUserAgentsShareOneInstance() {
+        String ua1 = new String("Mozilla/5.0 (X11; Linux x86_64)");
+        String ua2 = new String("Mozilla/5.0 (X11; Linux x86_64)");
+        SseSession a = SseSession.builder().sessionId("a").topic("t").userAgent(ua1).principal(new String("alice")).build();
+        SseSession b = SseSession.builder().sessionId("b").topic("t").userAgent(ua2).principal(new String("alice")).build();
+
+        assertSame(a.getUserAgent(), b.getUserAgent());
+        assertEquals(a.getPrincipal(), b.getPrincipal());
+    }
+
+    @Test
+    void createdAtIsStoredAsEpochMillis() {
+        Instant at = Instant.parse("2024-05-01T10:15:30.123456Z");
+        SseSession s = SseSession.builder().sessionId("a").topic("t").createdAt(at).build();
+
+        assertEquals(at.toEpochMilli(), s.getCreatedAtEpochMillis());
+        assertEquals(Instant.parse("2024-05-01T10:15:30.123Z"), s.getCreatedAt());
+
+        long before = System.currentTimeMillis();
+        long created = SseSession.anonymous("t").getCreatedAtEpochMillis();
+        assertTrue(created >= before && created <= System.currentTimeMillis());
+    }
+
+    @Test
+    void attributesAreReadOnlyAndEmptyByDefault() {
+        assertTrue(SseSession.anonymous("t").getAttributes().isEmpty());
+
+        Map<String, Object> attrs = new HashMap<>();
+        attrs.put("tenant", "acme");
+        SseSession s = SseSession.builder().sessionId("a").topic("t").attributes(attrs).build();
+        assertEquals("acme", s.getAttributes().get("tenant"));
+        assertThrows(UnsupportedOperationException.class, () -> s.getAttributes().put("x", 1));
+    }
+
+    @Test
+    void deduplicatorIsBounded() {
+        StringDeduplicator dedup = new StringDeduplicator(2);
+        String first = dedup.dedupe(new String("a"));
+        dedup.dedupe("b");
+        String overflow = new String("c");
+
+        assertSame(first, dedup.dedupe(new String("a")));
+        assertSame(overflow, dedup.dedupe(overflow));
+        assertEquals(2, dedup.size());
+        assertNull(dedup.dedupe(null));
+    }
+
+    @Test
+    void deduplicatorEvictsValuesNoLongerSeen() {
+        StringDeduplicator dedup = new StringDeduplicator(4);
+        String hot = dedup.dedupe(new String("hot"));
+        for (int i = 0; i < 100; i++) {
+            dedup.dedupe("cold-" + i);
+            assertSame(hot, dedup.dedupe(new String("hot")));
+        }
+
+        String cold = new String("cold-0");
+        assertSame(cold, dedup.dedupe(cold));
+        assertTrue(dedup.size() <= 4);
+    }
+}
@@ -308,4 +308,54 @@ class DefaultSseTemplateTest {
                 .expectError(RuntimeException.class)
                 .verify();
     }
+
+    private DefaultSseTemplate newReactiveTemplate(SseEmitter emitter, ReactiveClientFilter filter) {
+        SseServerProperties props = new SseServerProperties();
+        return new DefaultSseTemplate(
+                emitter,
+                new SseHeaderHandler(props),
+                props,
+                emptyProvider(),
+                emptyProvider(),
+                emptyProvider(),
+                com.spectrayan.sse.server.lifecycle.SseLifecycleDispatcher.sync(null),
+                (exchange, topic) -> "sid",
+                new com.spectrayan.sse.server.template.impl.DefaultEventSerializer(),
+                ctx -> true,
+                filter,
+                ctx -> java.util.Optional.empty(),
+                ctx -> Flux.never(),
+                new com.spectrayan.sse.server.template.impl.DefaultErrorMapper(),
+                null
+        );
+    }
+
+    @Test
+    void reactiveClientFilterAllowsAfterDecision() {
+        FakeEmitter emitter = new FakeEmitter();
+        Sinks.One<Boolean> decision = Sinks.one();
+        DefaultSseTemplate tpl = newReactiveTemplate(emitter, ctx -> decision.asMono());
+
+        SseConnectContext ctx = new SseConnectContext("t", "s", null, "r", Map.of(), Map.of(), "alice");
+        StepVerifier.create(tpl.connect("t", ctx))
+                .then(() -> decision.tryEmitValue(true))
+                .then(() -> emitter.sink.tryEmitNext(ServerSentEvent.builder((Object) "core").build()))
+                .assertNext(sse -> assertEquals("core", sse.data()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void reactiveClientFilterDenyOrEmptyRejects() {
+        FakeEmitter emitter = new FakeEmitter();
+        SseConnectContext ctx = new SseConnectContext("t", "s", null, "r", Map.of(), Map.of());
+
+        StepVerifier.create(newReactiveTemplate(emitter, c -> reactor.core.publisher.Mono.just(false)).connect("t", ctx))
+                .expectErrorSatisfies(ex -> assertEquals(com.spectrayan.sse.server.error.ErrorCode.SUBSCRIPTION_REJECTED,
+                        ((com.spectrayan.sse.server.error.SseException) ex).getCode()))
+                .verify();
+        StepVerifier.create(newReactiveTemplate(emitter, c -> reactor.core.publisher.Mono.empty()).connect("t", ctx))
+                .expectError(com.spectrayan.sse.server.error.SseException.class)
+                .verify();
+    }
 }
@@ -0,0 +1,132 @@
+package com.spectrayan.sse.server.template.impl;
+
+import com.spectrayan.sse.server.template.SseConnectContext;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingReactiveClientFilterTest {
+
+    private static SseConnectContext ctx(String principal, String topic) {
+        return new SseConnectContext(topic, "sid", null, "r", Map.of(), Map.of(), principal);
+    }
+
+    @Test
+    void concurrentIdenticalChecksAreCoalesced() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<Boolean> decision = Sinks.one();
+        CachingReactiveClientFilter filter = new CachingReactiveClientFilter(c -> {
+            calls.incrementAndGet();
+            return decision.asMono();
+        }, Duration.ofMinutes(1), 100);
+
+        List<Boolean> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            filter.allow(ctx("alice", "orders")).subscribe(results::add);
+        }
+        assertEquals(1, calls.get());
+        assertTrue(results.isEmpty());
+
+        decision.tryEmitValue(true);
+        assertEquals(50, results.size());
+        assertTrue(results.stream().allMatch(Boolean::booleanValue));
+    }
+
+    @Test
+    void decisionsExpireAfterTtl() {
+        AtomicLong now = new AtomicLong(1);
+        AtomicInteger calls = new AtomicInteger();
+        CachingReactiveClientFilter filter = new CachingReactiveClientFilter(
+                c -> Mono.fromSupplier(() -> calls.incrementAndGet() > 1),
+                Duration.ofSeconds(10), 100, now::get);
+
+        StepVerifier.create(filter.allow(ctx("bob", "t"))).expectNext(false).verifyComplete();
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        StepVerifier.create(filter.allow(ctx("bob", "t"))).expectNext(false).verifyComplete();
+        assertEquals(1, calls.get(), "denials are cached too");
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        StepVerifier.create(filter.allow(ctx("bob", "t"))).expectNext(true).verifyComplete();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void keysAreScopedByPrincipalAndTopic() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingReactiveClientFilter filter = new CachingReactiveClientFilter(
+                c -> Mono.fromSupplier(() -> { calls.incrementAndGet(); return c.principal().equals("alice"); }),
+                Duration.ofMinutes(1), 100);
+
+        StepVerifier.create(filter.allow(ctx("alice", "a"))).expectNext(true).verifyComplete();
+        StepVerifier.create(filter.allow(ctx("alice", "b"))).expectNext(true).verifyComplete();
+        StepVerifier.create(filter.allow(ctx("mallory", "a"))).expectNext(false).verifyComplete();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void errorsAndAnonymousCallsAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingReactiveClientFilter filter = new CachingReactiveClientFilter(c -> {
+            calls.incrementAndGet();
+            return c.topic().equals("boom") ? Mono.error(new IllegalStateException("down")) : Mono.just(true);
+        }, Duration.ofMinutes(1), 100);
+
+        StepVerifier.create(filter.allow(ctx("alice", "boom"))).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(filter.allow(ctx("alice", "boom"))).expectError(IllegalStateException.class).verify();
+        assertEquals(2, calls.get());
+
+        StepVerifier.create(filter.allow(ctx(null, "t"))).expectNext(true).verifyComplete();
+        StepVerifier.create(filter.allow(ctx(null, "t"))).expectNext(true).verifyComplete();
+        assertEquals(4, calls.get());
+        assertEquals(0, filter.size());
+    }
+
+    @Test
+    void emptyDecisionDeniesAndSizeIsBounded() {
+        CachingReactiveClientFilter filter = new CachingReactiveClientFilter(c -> Mono.empty(), Duration.ofMinutes(1), 3);
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(filter.allow(ctx("user" + i, "t"))).expectNext(false).verifyComplete();
+        }
+        assertTrue(filter.size() <= 3);
+        filter.invalidateAll();
+        assertEquals(0, filter.size());
+    }
+
+    @Test
+    void inFlightDecisionsAreNeverEvicted() {
+        AtomicInteger aliceCalls = new AtomicInteger();
+        Sinks.One<Boolean> aliceDecision = Sinks.one();
+        CachingReactiveClientFilter filter = new CachingReactiveClientFilter(c -> {
+            if (!c.principal().equals("alice")) return Mono.just(true);
+            aliceCalls.incrementAndGet();
+            return aliceDecision.asMono();
+        }, Duration.ofMinutes(1), 1);
+
+        List<Boolean> results = new ArrayList<>();
+        filter.allow(ctx("alice", "t")).subscribe(results::add);
+        StepVerifier.create(filter.allow(ctx("bob", "t"))).expectNext(true).verifyComplete();
+        StepVerifier.create(filter.allow(ctx("carol", "t"))).expectNext(true).verifyComplete();
+        filter.allow(ctx("alice", "t")).subscribe(results::add);
+
+        assertEquals(1, aliceCalls.get(), "the pending lookup is still shared");
+        assertEquals(2, filter.size(), "bob was evicted, alice's lookup was not");
+        aliceDecision.tryEmitValue(true);
+        assertEquals(List.of(true, true), results);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingReactiveClientFilter(c -> Mono.just(true), Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CachingReactiveClientFilter(c -> Mono.just(true), Duration.ofSeconds(1), 0));
+    }
+}
@@ -0,0 +1,136 @@
+package com.spectrayan.sse.server.template.impl;
+
+import com.spectrayan.sse.server.config.SseServerProperties;
+import com.spectrayan.sse.server.controller.SseStreamOrchestrator;
+import com.spectrayan.sse.server.template.ReconnectPolicy;
+import com.spectrayan.sse.server.template.SseConnectContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadAwareReconnectPolicyTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private static SseConnectContext ctx() {
+        return new SseConnectContext("orders", "sid-1", null, "remote", java.util.Map.of(), java.util.Map.of());
+    }
+
+    private static SseServerProperties props(double jitter) {
+        SseServerProperties props = new SseServerProperties();
+        props.getStream().setRetry(Duration.ofSeconds(1));
+        SseServerProperties.Reconnect r = props.getReconnect();
+        r.setPolicy(SseServerProperties.Reconnect.Policy.LOAD_AWARE);
+        r.setJitter(jitter);
+        r.setMaxMultiplier(4);
+        r.setTargetConnections(100);
+        r.setTargetConnectRate(10);
+        r.setCpuThreshold(0);
+        return props;
+    }
+
+    private LoadAwareReconnectPolicy policy(SseServerProperties props) {
+        return new LoadAwareReconnectPolicy(props, active::get, () -> -1, clock::get);
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void jitterSpreadsDelaysAroundTheBase() {
+        LoadAwareReconnectPolicy p = policy(props(0.3));
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            long delay = p.retryDelayMillis(ctx()).orElseThrow();
+            assertTrue(delay >= 700 && delay <= 1300, "delay=" + delay);
+            seen.add(delay);
+        }
+        assertTrue(seen.size() > 10, "delays are spread, not in lockstep");
+    }
+
+    @Test
+    void scalesWithActiveConnections() {
+        LoadAwareReconnectPolicy p = policy(props(0));
+        assertEquals(1000L, p.retryDelayMillis(ctx()).orElseThrow());
+
+        active.set(50);
+        advanceSeconds(1);
+        assertEquals(0.5, p.load(), 1e-9);
+        assertEquals(2500L, p.retryDelayMillis(ctx()).orElseThrow());
+
+        active.set(500);
+        advanceSeconds(1);
+        assertEquals(4000L, p.retryDelayMillis(ctx()).orElseThrow(), "capped at max-multiplier");
+    }
+
+    @Test
+    void scalesWithConnectRate() {
+        LoadAwareReconnectPolicy p = policy(props(0));
+        for (int i = 0; i < 20; i++) {
+            p.retryDelayMillis(ctx());
+        }
+        advanceSeconds(1);
+        assertEquals(2.0, p.load(), 1e-9);
+
+        advanceSeconds(1);
+        assertEquals(0.0, p.load(), 1e-9, "rate measured per sample window");
+    }
+
+    @Test
+    void sendsRetryUpdatesWhenLoadBandChanges() {
+        SseServerProperties props = props(0);
+        props.getReconnect().setUpdateInterval(Duration.ofSeconds(10));
+        LoadAwareReconnectPolicy p = policy(props);
+
+        StepVerifier.withVirtualTime(() -> p.retryUpdates(ctx()))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofSeconds(20))
+                .then(() -> {
+                    active.set(100);
+                    advanceSeconds(1);
+                })
+                .thenAwait(Duration.ofSeconds(10))
+                .expectNext(4000L)
+                .expectNoEvent(Duration.ofSeconds(30))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void noRetryWhenDisabled() {
+        SseServerProperties props = props(0.3);
+        props.getStream().setRetryEnabled(false);
+        LoadAwareReconnectPolicy p = policy(props);
+        assertTrue(p.retryDelayMillis(ctx()).isEmpty());
+        StepVerifier.create(p.retryUpdates(ctx())).verifyComplete();
+    }
+
+    @Test
+    void streamIsLeftUnwrappedWithoutRetryUpdates() {
+        SseServerProperties props = props(0.3);
+        props.getReconnect().setUpdateInterval(Duration.ZERO);
+        LoadAwareReconnectPolicy p = policy(props);
+        Flux<ServerSentEvent<Object>> stream = Flux.never();
+
+        assertSame(stream, SseStreamOrchestrator.withRetryUpdates(stream, p.retryUpdates(ctx())));
+        assertSame(stream, SseStreamOrchestrator.withRetryUpdates(stream, new ReconnectPolicy() {
+            @Override
+            public Optional<Long> retryDelayMillis(SseConnectContext ctx) {
+                return Optional.empty();
+            }
+        }.retryUpdates(ctx())));
+    }
+}